@@ -0,0 +1,33 @@
+package org.infinispan.client.hotrod;
+
+import java.util.Map;
+
+/**
+ * Defines the statistics collected locally by the Hot Rod client for a remote cache, without contacting the server.
+ * Can be obtained through {@link RemoteCache#clientStatistics()}
+ *
+ * @since 9.4
+ */
+public interface ClientStatistics {
+
+   /**
+    * Number of reads served by the near cache.
+    */
+   String NEAR_CACHE_HITS = "nearCacheHits";
+
+   /**
+    * Number of reads not found in the near cache, which had to be sent to the server.
+    */
+   String NEAR_CACHE_MISSES = "nearCacheMisses";
+
+   /**
+    * Number of entries evicted from the near cache because it reached its maximum number of entries or size.
+    */
+   String NEAR_CACHE_EVICTIONS = "nearCacheEvictions";
+
+   Map<String, String> getStatsMap();
+
+   String getStatistic(String statsName);
+
+   Long getLongStatistic(String statsName);
+}
@@ -407,6 +407,13 @@
 
    ServerStatistics stats();
 
+   /**
+    * Returns the statistics collected locally by this client for the cache, such as the hits, misses and evictions of
+    * the near cache. Unlike {@link #stats()}, it doesn't contact the server.
+    * @since 9.4
+    */
+   ClientStatistics clientStatistics();
+
    /**
     * Applies one or more {@link Flag}s to the scope of a single invocation.  See the {@link Flag} enumeration to for
     * information on available flags.
@@ -458,6 +465,56 @@
     */
    public Map<K, V> getAll(Set<? extends K> keys);
 
+   /**
+    * Removes all the entries for the provided keys. The keys are sent to each server that owns them in a single
+    * request, instead of one request per key.
+    * @param keys The keys to remove
+    * @since 9.4
+    */
+   void removeAll(Set<? extends K> keys);
+
+   /**
+    * @see #removeAll(Set)
+    * @since 9.4
+    */
+   CompletableFuture<Void> removeAllAsync(Set<? extends K> keys);
+
+   /**
+    * Replaces the values of the given entries if they haven't been modified since the versions in {@code versions}
+    * were read, usually with {@link #getWithMetadata(Object)}. Every key is checked and replaced independently, as
+    * {@link #replaceWithVersion(Object, Object, long)} does, but the entries owned by the same server are sent in a
+    * single request.
+    *
+    * @param map the entries to replace
+    * @param versions the version of each entry in {@code map}
+    * @return the keys whose value wasn't replaced, because the entry was modified or removed
+    * @throws IllegalArgumentException if {@code versions} doesn't contain the version of a key
+    * @since 9.4
+    */
+   Set<K> replaceAllWithVersion(Map<? extends K, ? extends V> map, Map<? extends K, Long> versions);
+
+   /**
+    * A overloaded form of {@link #replaceAllWithVersion(Map, Map)} which takes in lifespan and maximum idle time
+    * parameters.
+    * @since 9.4
+    */
+   Set<K> replaceAllWithVersion(Map<? extends K, ? extends V> map, Map<? extends K, Long> versions, long lifespan,
+                                TimeUnit lifespanTimeUnit, long maxIdle, TimeUnit maxIdleTimeUnit);
+
+   /**
+    * @see #replaceAllWithVersion(Map, Map)
+    * @since 9.4
+    */
+   CompletableFuture<Set<K>> replaceAllWithVersionAsync(Map<? extends K, ? extends V> map, Map<? extends K, Long> versions);
+
+   /**
+    * @see #replaceAllWithVersion(Map, Map, long, TimeUnit, long, TimeUnit)
+    * @since 9.4
+    */
+   CompletableFuture<Set<K>> replaceAllWithVersionAsync(Map<? extends K, ? extends V> map, Map<? extends K, Long> versions,
+                                                        long lifespan, TimeUnit lifespanTimeUnit, long maxIdle,
+                                                        TimeUnit maxIdleTimeUnit);
+
    /**
     * Returns the HotRod protocol version supported by this RemoteCache implementation
     */
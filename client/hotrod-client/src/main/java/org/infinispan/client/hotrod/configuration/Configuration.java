@@ -293,6 +293,10 @@ public Properties properties() {
       properties.setProperty("minEvictableIdleTimeMillis", connectionPool().minEvictableIdleTime());
       properties.setProperty(ConfigurationProperties.CONNECTION_POOL_MAX_PENDING_REQUESTS, connectionPool().maxPendingRequests());
 
+      properties.setProperty(ConfigurationProperties.CONNECTION_POOL_WRITE_BATCH_SIZE, connectionPool().writeBatchSize());
+
+      properties.setProperty(ConfigurationProperties.CONNECTION_POOL_WRITE_BATCH_WINDOW, connectionPool().writeBatchWindow());
+
       // Deprecated properties
       properties.setProperty("maxIdle", connectionPool().maxIdle());
       properties.setProperty("maxTotal", connectionPool().maxTotal());
@@ -363,6 +367,9 @@ public Properties properties() {
 
       properties.setProperty(ConfigurationProperties.NEAR_CACHE_MODE, nearCache.mode().name());
       properties.setProperty(ConfigurationProperties.NEAR_CACHE_MAX_ENTRIES, Integer.toString(nearCache.maxEntries()));
+      properties.setProperty(ConfigurationProperties.NEAR_CACHE_MAX_SIZE, Long.toString(nearCache.maxSize()));
+      properties.setProperty(ConfigurationProperties.NEAR_CACHE_BLOOM_FILTER, Boolean.toString(nearCache.bloomFilter()));
+      properties.setProperty(ConfigurationProperties.NEAR_CACHE_BLOOM_FILTER_REFRESH_INTERVAL, Long.toString(nearCache.bloomFilterRefreshInterval()));
       if (nearCache.cacheNamePattern() != null)
          properties.setProperty(ConfigurationProperties.NEAR_CACHE_NAME_PATTERN, nearCache.cacheNamePattern().pattern());
 
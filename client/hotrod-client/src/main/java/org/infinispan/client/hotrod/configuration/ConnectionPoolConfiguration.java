@@ -21,9 +21,12 @@ public class ConnectionPoolConfiguration {
    private final boolean testOnReturn;
    private final boolean testWhileIdle;
    private final int maxPendingRequests;
+   private final int writeBatchSize;
+   private final long writeBatchWindow;
 
    ConnectionPoolConfiguration(ExhaustedAction exhaustedAction, boolean lifo, int maxActive, int maxTotal, long maxWait, int maxIdle, int minIdle, int numTestsPerEvictionRun,
-                               long timeBetweenEvictionRuns, long minEvictableIdleTime, boolean testOnBorrow, boolean testOnReturn, boolean testWhileIdle, int maxPendingRequests) {
+                               long timeBetweenEvictionRuns, long minEvictableIdleTime, boolean testOnBorrow, boolean testOnReturn, boolean testWhileIdle, int maxPendingRequests,
+                               int writeBatchSize, long writeBatchWindow) {
       this.exhaustedAction = exhaustedAction;
       this.lifo = lifo;
       this.maxActive = maxActive;
@@ -38,6 +41,8 @@ public class ConnectionPoolConfiguration {
       this.testOnReturn = testOnReturn;
       this.testWhileIdle = testWhileIdle;
       this.maxPendingRequests = maxPendingRequests;
+      this.writeBatchSize = writeBatchSize;
+      this.writeBatchWindow = writeBatchWindow;
    }
 
    public ExhaustedAction exhaustedAction() {
@@ -96,11 +101,19 @@ public int maxPendingRequests() {
       return maxPendingRequests;
    }
 
+   public int writeBatchSize() {
+      return writeBatchSize;
+   }
+
+   public long writeBatchWindow() {
+      return writeBatchWindow;
+   }
+
    @Override
    public String toString() {
       return "ConnectionPoolConfiguration [exhaustedAction=" + exhaustedAction + ", lifo=" + lifo + ", maxActive=" + maxActive + ", maxTotal=" + maxTotal + ", maxWait=" + maxWait
             + ", maxIdle=" + maxIdle + ", minIdle=" + minIdle + ", numTestsPerEvictionRun=" + numTestsPerEvictionRun + ", timeBetweenEvictionRuns=" + timeBetweenEvictionRuns
             + ", minEvictableIdleTime=" + minEvictableIdleTime + ", testOnBorrow=" + testOnBorrow + ", testOnReturn=" + testOnReturn + ", testWhileIdle=" + testWhileIdle
-            + ", maxPendingRequests=" + maxPendingRequests + "]";
+            + ", maxPendingRequests=" + maxPendingRequests + ", writeBatchSize=" + writeBatchSize + ", writeBatchWindow=" + writeBatchWindow + "]";
    }
 }
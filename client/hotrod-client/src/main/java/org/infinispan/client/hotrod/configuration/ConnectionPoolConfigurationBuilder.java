@@ -3,6 +3,8 @@
 import java.util.Properties;
 
 import org.infinispan.client.hotrod.impl.ConfigurationProperties;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.util.TypedProperties;
 
@@ -13,6 +15,7 @@
  * @since 5.3
  */
 public class ConnectionPoolConfigurationBuilder extends AbstractConfigurationChildBuilder implements Builder<ConnectionPoolConfiguration> {
+   private static final Log log = LogFactory.getLog(ConnectionPoolConfigurationBuilder.class, Log.class);
    private ExhaustedAction exhaustedAction = ExhaustedAction.WAIT;
    private boolean lifo = true;
    private int maxActive = -1;
@@ -27,6 +30,8 @@ public class ConnectionPoolConfigurationBuilder extends AbstractConfigurationChi
    private boolean testOnReturn = false;
    private boolean testWhileIdle = true;
    private int maxPendingRequests = 5;
+   private int writeBatchSize = 1;
+   private long writeBatchWindow = 0;
 
    ConnectionPoolConfigurationBuilder(ConfigurationBuilder builder) {
       super(builder);
@@ -207,6 +212,29 @@ public ConnectionPoolConfigurationBuilder maxPendingRequests(int maxPendingReque
       return this;
    }
 
+   /**
+    * Specifies the maximum number of requests written to a connection before they are flushed to the socket.
+    * With a value greater than one, the requests sent concurrently over the same connection are coalesced into a
+    * single socket write, which saves a system call and a network packet per request when the values are small.
+    * A batch is flushed when it is full or when the {@link #writeBatchWindow(long) write batch window} has elapsed.
+    * Default setting for this parameter is 1, which flushes every request on its own.
+    */
+   public ConnectionPoolConfigurationBuilder writeBatchSize(int writeBatchSize) {
+      this.writeBatchSize = writeBatchSize;
+      return this;
+   }
+
+   /**
+    * Specifies the time in microseconds that a request waits for other requests to be written to the same connection
+    * before the batch is flushed, when the {@link #writeBatchSize(int) write batch size} is greater than one.
+    * With 0 the batch is flushed as soon as the I/O thread has written the requests queued for the connection.
+    * Default setting for this parameter is 0.
+    */
+   public ConnectionPoolConfigurationBuilder writeBatchWindow(long writeBatchWindow) {
+      this.writeBatchWindow = writeBatchWindow;
+      return this;
+   }
+
    /**
     * Configures the connection pool parameter according to properties
     */
@@ -230,6 +258,8 @@ public ConnectionPoolConfigurationBuilder withPoolProperties(Properties properti
       maxPendingRequests(typed.getIntProperty(ConfigurationProperties.CONNECTION_POOL_MAX_PENDING_REQUESTS,
             typed.getIntProperty("maxPendingRequests", maxPendingRequests, true),
             true));
+      writeBatchSize(typed.getIntProperty(ConfigurationProperties.CONNECTION_POOL_WRITE_BATCH_SIZE, writeBatchSize, true));
+      writeBatchWindow(typed.getLongProperty(ConfigurationProperties.CONNECTION_POOL_WRITE_BATCH_WINDOW, writeBatchWindow, true));
 
       lifo(typed.getBooleanProperty("lifo", lifo, true));
       maxTotal(typed.getIntProperty("maxTotal", maxTotal, true));
@@ -245,12 +275,18 @@ public ConnectionPoolConfigurationBuilder withPoolProperties(Properties properti
 
    @Override
    public void validate() {
+      if (writeBatchSize < 1) {
+         throw log.invalidWriteBatchSize(writeBatchSize);
+      }
+      if (writeBatchWindow < 0) {
+         throw log.invalidWriteBatchWindow(writeBatchWindow);
+      }
    }
 
    @Override
    public ConnectionPoolConfiguration create() {
       return new ConnectionPoolConfiguration(exhaustedAction, lifo, maxActive, maxTotal, maxWait, maxIdle, minIdle, numTestsPerEvictionRun, timeBetweenEvictionRuns,
-            minEvictableIdleTime, testOnBorrow, testOnReturn, testWhileIdle, maxPendingRequests);
+            minEvictableIdleTime, testOnBorrow, testOnReturn, testWhileIdle, maxPendingRequests, writeBatchSize, writeBatchWindow);
    }
 
    @Override
@@ -269,6 +305,8 @@ public ConnectionPoolConfigurationBuilder read(ConnectionPoolConfiguration templ
       testOnReturn = template.testOnReturn();
       testWhileIdle = template.testWhileIdle();
       maxPendingRequests = template.maxPendingRequests();
+      writeBatchSize = template.writeBatchSize();
+      writeBatchWindow = template.writeBatchWindow();
       return this;
    }
 
@@ -3,14 +3,31 @@
 import java.util.regex.Pattern;
 
 public class NearCacheConfiguration {
+   public static final long DEFAULT_BLOOM_FILTER_REFRESH_INTERVAL = 1000;
+
    // TODO: Consider an option to configure key equivalence function for near cache (e.g. for byte arrays)
    private final NearCacheMode mode;
    private final int maxEntries;
+   private final long maxSize;
+   private final boolean bloomFilter;
+   private final long bloomFilterRefreshInterval;
    private final Pattern cacheNamePattern;
 
    public NearCacheConfiguration(NearCacheMode mode, int maxEntries, Pattern cacheNamePattern) {
+      this(mode, maxEntries, -1, cacheNamePattern);
+   }
+
+   public NearCacheConfiguration(NearCacheMode mode, int maxEntries, long maxSize, Pattern cacheNamePattern) {
+      this(mode, maxEntries, maxSize, false, DEFAULT_BLOOM_FILTER_REFRESH_INTERVAL, cacheNamePattern);
+   }
+
+   public NearCacheConfiguration(NearCacheMode mode, int maxEntries, long maxSize, boolean bloomFilter,
+                                 long bloomFilterRefreshInterval, Pattern cacheNamePattern) {
       this.mode = mode;
       this.maxEntries = maxEntries;
+      this.maxSize = maxSize;
+      this.bloomFilter = bloomFilter;
+      this.bloomFilterRefreshInterval = bloomFilterRefreshInterval;
       this.cacheNamePattern = cacheNamePattern;
    }
 
@@ -18,6 +35,30 @@ public int maxEntries() {
       return maxEntries;
    }
 
+   /**
+    * @return the maximum size in bytes of the near cache entries, or a negative value if the size is not bounded.
+    * @since 9.4
+    */
+   public long maxSize() {
+      return maxSize;
+   }
+
+   /**
+    * @return whether a Bloom filter of the near cached keys is sent to the server to filter the invalidations.
+    * @since 9.4
+    */
+   public boolean bloomFilter() {
+      return bloomFilter;
+   }
+
+   /**
+    * @return how often, in milliseconds, the Bloom filter of the near cached keys is sent to the server.
+    * @since 9.4
+    */
+   public long bloomFilterRefreshInterval() {
+      return bloomFilterRefreshInterval;
+   }
+
    public NearCacheMode mode() {
       return mode;
    }
@@ -31,6 +72,9 @@ public String toString() {
       return "NearCacheConfiguration{" +
             "mode=" + mode +
             ", maxEntries=" + maxEntries +
+            ", maxSize=" + maxSize +
+            ", bloomFilter=" + bloomFilter +
+            ", bloomFilterRefreshInterval=" + bloomFilterRefreshInterval +
             ", cacheNamePattern=" + cacheNamePattern +
             '}';
    }
@@ -15,6 +15,9 @@ public class NearCacheConfigurationBuilder extends AbstractConfigurationChildBui
 
    private NearCacheMode mode = NearCacheMode.DISABLED;
    private Integer maxEntries = null; // undefined
+   private long maxSize = -1; // undefined
+   private boolean bloomFilter = false;
+   private long bloomFilterRefreshInterval = NearCacheConfiguration.DEFAULT_BLOOM_FILTER_REFRESH_INTERVAL;
    private Pattern cacheNamePattern = null; // matches all
 
    protected NearCacheConfigurationBuilder(ConfigurationBuilder builder) {
@@ -32,6 +35,47 @@ public NearCacheConfigurationBuilder maxEntries(int maxEntries) {
       return this;
    }
 
+   /**
+    * Specifies the maximum size in bytes of the entries held in the near cache, as an alternative to
+    * {@link #maxEntries(int)}. The size of each entry is estimated by marshalling its key and value when the entry is
+    * added to the near cache.
+    *
+    * @param maxSize maximum size in bytes of the near cache entries.
+    * @return an instance of the builder
+    * @since 9.4
+    */
+   public NearCacheConfigurationBuilder maxSize(long maxSize) {
+      this.maxSize = maxSize;
+      return this;
+   }
+
+   /**
+    * Enables sending a Bloom filter of the keys held in the near cache to the server, so that the server only sends
+    * the invalidations of the keys that may be cached by this client. Requires a server supporting the protocol
+    * version 2.9 or later.
+    *
+    * @param enabled whether the Bloom filter is enabled. Defaults to {@code false}.
+    * @return an instance of the builder
+    * @since 9.4
+    */
+   public NearCacheConfigurationBuilder bloomFilter(boolean enabled) {
+      this.bloomFilter = enabled;
+      return this;
+   }
+
+   /**
+    * Specifies how often the Bloom filter of the near cached keys is rebuilt and sent to the server. Keys that are not
+    * in the filter known by the server are not near cached until the next refresh.
+    *
+    * @param interval the refresh interval in milliseconds. Defaults to 1 second.
+    * @return an instance of the builder
+    * @since 9.4
+    */
+   public NearCacheConfigurationBuilder bloomFilterRefreshInterval(long interval) {
+      this.bloomFilterRefreshInterval = interval;
+      return this;
+   }
+
    /**
     * Specifies the near caching mode. See {@link NearCacheMode} for details on the available modes.
     *
@@ -68,19 +112,27 @@ public NearCacheConfigurationBuilder cacheNamePattern(Pattern pattern) {
 
    @Override
    public void validate() {
-      if (mode.enabled() && maxEntries == null)
+      if (mode.enabled() && maxEntries == null && maxSize <= 0)
          throw log.nearCacheMaxEntriesUndefined();
+      if (maxEntries != null && maxEntries > 0 && maxSize > 0)
+         throw log.nearCacheMaxEntriesAndMaxSize(maxEntries, maxSize);
+      if (bloomFilter && bloomFilterRefreshInterval <= 0)
+         throw log.invalidNearCacheBloomFilterRefreshInterval(bloomFilterRefreshInterval);
    }
 
    @Override
    public NearCacheConfiguration create() {
-      return new NearCacheConfiguration(mode, maxEntries == null ? -1 : maxEntries, cacheNamePattern);
+      return new NearCacheConfiguration(mode, maxEntries == null ? -1 : maxEntries, maxSize, bloomFilter,
+            bloomFilterRefreshInterval, cacheNamePattern);
    }
 
    @Override
    public Builder<?> read(NearCacheConfiguration template) {
       mode = template.mode();
       maxEntries = template.maxEntries();
+      maxSize = template.maxSize();
+      bloomFilter = template.bloomFilter();
+      bloomFilterRefreshInterval = template.bloomFilterRefreshInterval();
       cacheNamePattern = template.cacheNamePattern();
       return this;
    }
@@ -91,6 +143,16 @@ public ConfigurationBuilder withProperties(Properties properties) {
       if (typed.containsKey(ConfigurationProperties.NEAR_CACHE_MAX_ENTRIES)) {
          this.maxEntries(typed.getIntProperty(ConfigurationProperties.NEAR_CACHE_MAX_ENTRIES, -1));
       }
+      if (typed.containsKey(ConfigurationProperties.NEAR_CACHE_MAX_SIZE)) {
+         this.maxSize(typed.getLongProperty(ConfigurationProperties.NEAR_CACHE_MAX_SIZE, -1));
+      }
+      if (typed.containsKey(ConfigurationProperties.NEAR_CACHE_BLOOM_FILTER)) {
+         this.bloomFilter(typed.getBooleanProperty(ConfigurationProperties.NEAR_CACHE_BLOOM_FILTER, false));
+      }
+      if (typed.containsKey(ConfigurationProperties.NEAR_CACHE_BLOOM_FILTER_REFRESH_INTERVAL)) {
+         this.bloomFilterRefreshInterval(typed.getLongProperty(ConfigurationProperties.NEAR_CACHE_BLOOM_FILTER_REFRESH_INTERVAL,
+               NearCacheConfiguration.DEFAULT_BLOOM_FILTER_REFRESH_INTERVAL));
+      }
       if (typed.containsKey(ConfigurationProperties.NEAR_CACHE_MODE)) {
          this.mode(NearCacheMode.valueOf(typed.getProperty(ConfigurationProperties.NEAR_CACHE_MODE)));
       }
@@ -121,6 +121,18 @@
  *          <td>Specifies maximum number of {@link org.infinispan.client.hotrod.configuration.ConnectionPoolConfigurationBuilder#maxPendingRequests(int) requests} sent over single connection at one instant.</td>
  *       </tr>
  *       <tr>
+ *          <td><b>infinispan.client.hotrod.connection_pool.write_batch_size</b></td>
+ *          <td>Integer</td>
+ *          <td>1 (no batching)</td>
+ *          <td>Specifies maximum number of {@link org.infinispan.client.hotrod.configuration.ConnectionPoolConfigurationBuilder#writeBatchSize(int) requests} written to a connection before they are flushed to the socket.</td>
+ *       </tr>
+ *       <tr>
+ *          <td><b>infinispan.client.hotrod.connection_pool.write_batch_window</b></td>
+ *          <td>Long</td>
+ *          <td>0</td>
+ *          <td>The {@link org.infinispan.client.hotrod.configuration.ConnectionPoolConfigurationBuilder#writeBatchWindow(long) time} in microseconds that a request waits for other requests to the same connection before the batch is flushed.</td>
+ *       </tr>
+ *       <tr>
  *          <th colspan="4">Thread pool properties</th>
  *       </tr>
  *       <tr>
@@ -337,6 +349,24 @@
  *          <td>The {@link org.infinispan.client.hotrod.configuration.NearCacheConfigurationBuilder#maxEntries(int) maximum} number of entries to keep in the local cache.</td>
  *       </tr>
  *       <tr>
+ *          <td><b>infinispan.client.hotrod.near_cache.max_size</b></td>
+ *          <td>Long</td>
+ *          <td>-1 (no limit)</td>
+ *          <td>The {@link org.infinispan.client.hotrod.configuration.NearCacheConfigurationBuilder#maxSize(long) maximum} size in bytes of the entries kept in the local cache. It can't be used together with max_entries.</td>
+ *       </tr>
+ *       <tr>
+ *          <td><b>infinispan.client.hotrod.near_cache.bloom_filter</b></td>
+ *          <td>Boolean</td>
+ *          <td>false</td>
+ *          <td>Whether a {@link org.infinispan.client.hotrod.configuration.NearCacheConfigurationBuilder#bloomFilter(boolean) Bloom filter} of the near cached keys is sent to the server, so that it only sends the invalidations of keys that may be near cached.</td>
+ *       </tr>
+ *       <tr>
+ *          <td><b>infinispan.client.hotrod.near_cache.bloom_filter_refresh_interval</b></td>
+ *          <td>Long</td>
+ *          <td>1000</td>
+ *          <td>How often, in milliseconds, the {@link org.infinispan.client.hotrod.configuration.NearCacheConfigurationBuilder#bloomFilterRefreshInterval(long) Bloom filter} of the near cached keys is sent to the server.</td>
+ *       </tr>
+ *       <tr>
  *          <td><b>infinispan.client.hotrod.near_cache.name_pattern</b></td>
  *          <td>String (regex pattern, see {@link java.util.regex.Pattern})</td>
  *          <td>null (matches all cache names)</td>
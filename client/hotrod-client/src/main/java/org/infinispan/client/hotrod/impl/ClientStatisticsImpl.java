@@ -0,0 +1,35 @@
+package org.infinispan.client.hotrod.impl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.infinispan.client.hotrod.ClientStatistics;
+
+/**
+ * @since 9.4
+ */
+public class ClientStatisticsImpl implements ClientStatistics {
+
+   private Map<String, String> stats = new HashMap<>();
+
+   @Override
+   public Map<String, String> getStatsMap() {
+      return Collections.unmodifiableMap(stats);
+   }
+
+   @Override
+   public String getStatistic(String statsName) {
+      return stats.get(statsName);
+   }
+
+   public void addStats(String name, long value) {
+      stats.put(name, Long.toString(value));
+   }
+
+   @Override
+   public Long getLongStatistic(String statsName) {
+      String value = stats.get(statsName);
+      return value == null ? null : Long.parseLong(value);
+   }
+}
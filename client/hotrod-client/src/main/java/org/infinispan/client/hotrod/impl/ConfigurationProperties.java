@@ -8,6 +8,7 @@
 import org.infinispan.client.hotrod.configuration.ClientIntelligence;
 import org.infinispan.client.hotrod.configuration.Configuration;
 import org.infinispan.client.hotrod.configuration.ExhaustedAction;
+import org.infinispan.client.hotrod.configuration.NearCacheConfiguration;
 import org.infinispan.client.hotrod.configuration.NearCacheMode;
 import org.infinispan.client.hotrod.configuration.TransactionConfigurationBuilder;
 import org.infinispan.client.hotrod.configuration.TransactionMode;
@@ -82,7 +83,10 @@ public class ConfigurationProperties {
    public static final String TRANSACTION_TIMEOUT = ICH + "transaction.timeout";
    // Near cache properties
    public static final String NEAR_CACHE_MAX_ENTRIES = ICH + "near_cache.max_entries";
+   public static final String NEAR_CACHE_MAX_SIZE = ICH + "near_cache.max_size";
    public static final String NEAR_CACHE_MODE = ICH + "near_cache.mode";
+   public static final String NEAR_CACHE_BLOOM_FILTER = ICH + "near_cache.bloom_filter";
+   public static final String NEAR_CACHE_BLOOM_FILTER_REFRESH_INTERVAL = ICH + "near_cache.bloom_filter_refresh_interval";
    public static final String NEAR_CACHE_NAME_PATTERN = ICH + "near_cache.name_pattern";
    // Pool properties
    public static final String CONNECTION_POOL_MAX_ACTIVE = ICH + "connection_pool.max_active";
@@ -91,6 +95,8 @@ public class ConfigurationProperties {
    public static final String CONNECTION_POOL_MAX_PENDING_REQUESTS = ICH + "connection_pool.max_pending_requests";
    public static final String CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME = ICH + "connection_pool.min_evictable_idle_time";
    public static final String CONNECTION_POOL_EXHAUSTED_ACTION = ICH + "connection_pool.exhausted_action";
+   public static final String CONNECTION_POOL_WRITE_BATCH_SIZE = ICH + "connection_pool.write_batch_size";
+   public static final String CONNECTION_POOL_WRITE_BATCH_WINDOW = ICH + "connection_pool.write_batch_window";
    // XSite properties
    public static final String CLUSTER_PROPERTIES_PREFIX = ICH + "cluster";
    public static final Pattern CLUSTER_PROPERTIES_PREFIX_REGEX =
@@ -417,6 +423,30 @@ public void setNearCacheMaxEntries(int nearCacheMaxEntries) {
       props.setProperty(NEAR_CACHE_MAX_ENTRIES, nearCacheMaxEntries);
    }
 
+   public long getNearCacheMaxSize() {
+      return props.getLongProperty(NEAR_CACHE_MAX_SIZE, -1);
+   }
+
+   public void setNearCacheMaxSize(long nearCacheMaxSize) {
+      props.setProperty(NEAR_CACHE_MAX_SIZE, nearCacheMaxSize);
+   }
+
+   public boolean isNearCacheBloomFilter() {
+      return props.getBooleanProperty(NEAR_CACHE_BLOOM_FILTER, false);
+   }
+
+   public void setNearCacheBloomFilter(boolean nearCacheBloomFilter) {
+      props.setProperty(NEAR_CACHE_BLOOM_FILTER, nearCacheBloomFilter);
+   }
+
+   public long getNearCacheBloomFilterRefreshInterval() {
+      return props.getLongProperty(NEAR_CACHE_BLOOM_FILTER_REFRESH_INTERVAL, NearCacheConfiguration.DEFAULT_BLOOM_FILTER_REFRESH_INTERVAL);
+   }
+
+   public void setNearCacheBloomFilterRefreshInterval(long nearCacheBloomFilterRefreshInterval) {
+      props.setProperty(NEAR_CACHE_BLOOM_FILTER_REFRESH_INTERVAL, nearCacheBloomFilterRefreshInterval);
+   }
+
    public String getNearCacheNamePattern() {
       return props.getProperty(NEAR_CACHE_NAME_PATTERN);
    }
@@ -473,6 +503,22 @@ public void setConnectionPoolExhaustedAction(String connectionPoolExhaustedActio
       props.setProperty(CONNECTION_POOL_EXHAUSTED_ACTION, connectionPoolExhaustedAction);
    }
 
+   public int getConnectionPoolWriteBatchSize() {
+      return props.getIntProperty(CONNECTION_POOL_WRITE_BATCH_SIZE, 1);
+   }
+
+   public void setConnectionPoolWriteBatchSize(int connectionPoolWriteBatchSize) {
+      props.setProperty(CONNECTION_POOL_WRITE_BATCH_SIZE, connectionPoolWriteBatchSize);
+   }
+
+   public long getConnectionPoolWriteBatchWindow() {
+      return props.getLongProperty(CONNECTION_POOL_WRITE_BATCH_WINDOW, 0);
+   }
+
+   public void setConnectionPoolWriteBatchWindow(long connectionPoolWriteBatchWindow) {
+      props.setProperty(CONNECTION_POOL_WRITE_BATCH_WINDOW, connectionPoolWriteBatchWindow);
+   }
+
    /**
     * Is version previous to, and not including, 1.2?
     */
@@ -1,9 +1,11 @@
 package org.infinispan.client.hotrod.impl;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
+import org.infinispan.client.hotrod.ClientStatistics;
 import org.infinispan.client.hotrod.Flag;
 import org.infinispan.client.hotrod.MetadataValue;
 import org.infinispan.client.hotrod.RemoteCacheManager;
@@ -106,6 +108,26 @@ public CompletableFuture<Boolean> removeWithVersionAsync(K key, long version) {
             });
    }
 
+   @Override
+   public CompletableFuture<Void> removeAllAsync(Set<? extends K> keys) {
+      return super.removeAllAsync(keys).thenRun(() -> keys.forEach(nearcache::remove));
+   }
+
+   @Override
+   public CompletableFuture<Set<K>> replaceAllWithVersionAsync(Map<? extends K, ? extends V> map, Map<? extends K, Long> versions,
+                                                               long lifespan, TimeUnit lifespanTimeUnit, long maxIdleTime,
+                                                               TimeUnit maxIdleTimeUnit) {
+      if (maxIdleTime > 0)
+         log.nearCacheMaxIdleUnsupported();
+      return super.replaceAllWithVersionAsync(map, versions, lifespan, lifespanTimeUnit, maxIdleTime, maxIdleTimeUnit)
+            .thenApply(notReplaced -> {
+               map.keySet().forEach(key -> {
+                  if (!notReplaced.contains(key)) nearcache.remove(key);
+               });
+               return notReplaced;
+            });
+   }
+
    @Override
    public CompletableFuture<Void> clearAsync() {
       return super.clearAsync().thenRun(() -> nearcache.clear());
@@ -120,6 +142,11 @@ CompletableFuture<V> invalidateNearCacheIfNeeded(boolean hasForceReturnValue, Ob
       });
    }
 
+   @Override
+   public ClientStatistics clientStatistics() {
+      return nearcache.statistics();
+   }
+
    @Override
    public void start() {
       nearcache.start(this);
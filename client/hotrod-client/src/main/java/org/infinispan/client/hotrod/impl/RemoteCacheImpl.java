@@ -18,6 +18,7 @@
 import java.util.stream.Stream;
 
 import org.infinispan.client.hotrod.CacheTopologyInfo;
+import org.infinispan.client.hotrod.ClientStatistics;
 import org.infinispan.client.hotrod.DataFormat;
 import org.infinispan.client.hotrod.Flag;
 import org.infinispan.client.hotrod.MetadataValue;
@@ -45,9 +46,11 @@
 import org.infinispan.client.hotrod.impl.operations.PutAllParallelOperation;
 import org.infinispan.client.hotrod.impl.operations.PutIfAbsentOperation;
 import org.infinispan.client.hotrod.impl.operations.PutOperation;
+import org.infinispan.client.hotrod.impl.operations.RemoveAllParallelOperation;
 import org.infinispan.client.hotrod.impl.operations.RemoveClientListenerOperation;
 import org.infinispan.client.hotrod.impl.operations.RemoveIfUnmodifiedOperation;
 import org.infinispan.client.hotrod.impl.operations.RemoveOperation;
+import org.infinispan.client.hotrod.impl.operations.ReplaceAllWithVersionParallelOperation;
 import org.infinispan.client.hotrod.impl.operations.ReplaceIfUnmodifiedOperation;
 import org.infinispan.client.hotrod.impl.operations.ReplaceOperation;
 import org.infinispan.client.hotrod.impl.operations.SizeOperation;
@@ -247,6 +250,11 @@ public boolean isEmpty() {
       return size() == 0;
    }
 
+   @Override
+   public ClientStatistics clientStatistics() {
+      return new ClientStatisticsImpl();
+   }
+
    @Override
    public ServerStatistics stats() {
       assertRemoteCacheManagerIsStarted();
@@ -361,6 +369,53 @@ public Map<K, V> getAll(Set<? extends K> keys) {
       return await(op.execute().thenApply(Collections::unmodifiableMap));
    }
 
+   @Override
+   public void removeAll(Set<? extends K> keys) {
+      await(removeAllAsync(keys));
+   }
+
+   @Override
+   public CompletableFuture<Void> removeAllAsync(Set<? extends K> keys) {
+      assertRemoteCacheManagerIsStarted();
+      if (trace) {
+         log.tracef("About to removeAll entries (%s)", keys);
+      }
+      Set<byte[]> byteKeys = new HashSet<>(keys.size());
+      for (K key : keys) {
+         byteKeys.add(keyToBytes(key));
+      }
+      RemoveAllParallelOperation op = operationsFactory.newRemoveAllOperation(byteKeys, dataFormat);
+      return op.execute();
+   }
+
+   @Override
+   public Set<K> replaceAllWithVersion(Map<? extends K, ? extends V> map, Map<? extends K, Long> versions, long lifespan,
+                                       TimeUnit lifespanTimeUnit, long maxIdle, TimeUnit maxIdleTimeUnit) {
+      return await(replaceAllWithVersionAsync(map, versions, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit));
+   }
+
+   @Override
+   public CompletableFuture<Set<K>> replaceAllWithVersionAsync(Map<? extends K, ? extends V> map, Map<? extends K, Long> versions,
+                                                               long lifespan, TimeUnit lifespanTimeUnit, long maxIdle,
+                                                               TimeUnit maxIdleTimeUnit) {
+      assertRemoteCacheManagerIsStarted();
+      if (trace) {
+         log.tracef("About to replaceAllWithVersion entries (%s) versions (%s) lifespan:%d (%s), maxIdle:%d (%s)", map,
+               versions, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit);
+      }
+      Map<byte[], VersionedValue<byte[]>> byteMap = new HashMap<>();
+      for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+         Long version = versions.get(entry.getKey());
+         if (version == null) {
+            throw new IllegalArgumentException("No version for key " + entry.getKey());
+         }
+         byteMap.put(keyToBytes(entry.getKey()), new VersionedValueImpl<>(version, valueToBytes(entry.getValue())));
+      }
+      ReplaceAllWithVersionParallelOperation<K> op = operationsFactory.newReplaceAllWithVersionOperation(byteMap,
+            lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit, dataFormat);
+      return op.execute().thenApply(Collections::unmodifiableSet);
+   }
+
    @Override
    public Map<K, V> getBulk() {
       return getBulk(0);
@@ -3,6 +3,7 @@
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
@@ -98,6 +99,16 @@ public CompletableFuture<V> putAsync(K key, V value, long lifespan, TimeUnit uni
       return putAsync(key, value, lifespan, unit, defaultMaxIdleTime, MILLISECONDS);
    }
 
+   @Override
+   public Set<K> replaceAllWithVersion(Map<? extends K, ? extends V> map, Map<? extends K, Long> versions) {
+      return replaceAllWithVersion(map, versions, defaultLifespan, MILLISECONDS, defaultMaxIdleTime, MILLISECONDS);
+   }
+
+   @Override
+   public CompletableFuture<Set<K>> replaceAllWithVersionAsync(Map<? extends K, ? extends V> map, Map<? extends K, Long> versions) {
+      return replaceAllWithVersionAsync(map, versions, defaultLifespan, MILLISECONDS, defaultMaxIdleTime, MILLISECONDS);
+   }
+
    @Override
    public CompletableFuture<Boolean> replaceWithVersionAsync(K key, V newValue, long version) {
       return replaceWithVersionAsync(key, newValue, version, 0);
@@ -12,6 +12,7 @@
 import org.infinispan.client.hotrod.DataFormat;
 import org.infinispan.client.hotrod.Flag;
 import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.VersionedValue;
 import org.infinispan.client.hotrod.configuration.Configuration;
 import org.infinispan.client.hotrod.event.impl.ClientListenerNotifier;
 import org.infinispan.client.hotrod.impl.iteration.KeyTracker;
@@ -91,6 +92,18 @@ public <K, V> GetAllParallelOperation<K, V> newGetAllOperation(Set<byte[]> keys,
             cfg, dataFormat);
    }
 
+   public RemoveAllParallelOperation newRemoveAllOperation(Set<byte[]> keys, DataFormat dataFormat) {
+      return new RemoveAllParallelOperation(codec, channelFactory, keys, cacheNameBytes, topologyId, flags(),
+            cfg, dataFormat);
+   }
+
+   public <K> ReplaceAllWithVersionParallelOperation<K> newReplaceAllWithVersionOperation(
+         Map<byte[], VersionedValue<byte[]>> entries, long lifespan, TimeUnit lifespanTimeUnit, long maxIdle,
+         TimeUnit maxIdleTimeUnit, DataFormat dataFormat) {
+      return new ReplaceAllWithVersionParallelOperation<>(codec, channelFactory, entries, cacheNameBytes, topologyId,
+            flags(lifespan, maxIdle), cfg, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit, dataFormat);
+   }
+
    public <V> RemoveOperation<V> newRemoveOperation(Object key, byte[] keyBytes, DataFormat dataFormat) {
       return new RemoveOperation<>(
             codec, channelFactory, key, keyBytes, cacheNameBytes, topologyId, flags(), cfg, dataFormat);
@@ -191,6 +204,11 @@ public RemoveClientListenerOperation newRemoveClientListenerOperation(Object lis
             cacheNameBytes, topologyId, flags(), cfg, listenerNotifier, listener);
    }
 
+   public UpdateBloomFilterOperation newUpdateBloomFilterOperation(byte[] listenerId, byte[] bloomFilter) {
+      return new UpdateBloomFilterOperation(codec, channelFactory,
+            cacheNameBytes, topologyId, flags(), cfg, listenerNotifier, listenerId, bloomFilter);
+   }
+
    /**
     * Construct a ping request directed to a particular node.
     *
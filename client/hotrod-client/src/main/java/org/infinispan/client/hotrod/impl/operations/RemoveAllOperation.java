@@ -0,0 +1,68 @@
+package org.infinispan.client.hotrod.impl.operations;
+
+import java.net.SocketAddress;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.client.hotrod.DataFormat;
+import org.infinispan.client.hotrod.configuration.Configuration;
+import org.infinispan.client.hotrod.exceptions.InvalidResponseException;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
+import org.infinispan.client.hotrod.impl.transport.netty.ByteBufUtil;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
+import org.infinispan.client.hotrod.impl.transport.netty.HeaderDecoder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import net.jcip.annotations.Immutable;
+
+/**
+ * Implements "removeAll" as defined by  <a href="http://community.jboss.org/wiki/HotRodProtocol">Hot Rod protocol specification</a>.
+ *
+ * @since 9.4
+ */
+@Immutable
+public class RemoveAllOperation extends RetryOnFailureOperation<Void> {
+
+   protected final Set<byte[]> keys;
+
+   public RemoveAllOperation(Codec codec, ChannelFactory channelFactory,
+                             Set<byte[]> keys, byte[] cacheName, AtomicInteger topologyId,
+                             int flags, Configuration cfg, DataFormat dataFormat) {
+      super(REMOVE_ALL_REQUEST, REMOVE_ALL_RESPONSE, codec, channelFactory, cacheName, topologyId, flags, cfg, dataFormat);
+      this.keys = keys;
+   }
+
+   @Override
+   protected void executeOperation(Channel channel) {
+      scheduleRead(channel);
+
+      int bufSize = codec.estimateHeaderSize(header) + ByteBufUtil.estimateVIntSize(keys.size());
+      for (byte[] key : keys) {
+         bufSize += ByteBufUtil.estimateArraySize(key);
+      }
+      ByteBuf buf = channel.alloc().buffer(bufSize);
+
+      codec.writeHeader(buf, header);
+      ByteBufUtil.writeVInt(buf, keys.size());
+      for (byte[] key : keys) {
+         ByteBufUtil.writeArray(buf, key);
+      }
+      channel.writeAndFlush(buf);
+   }
+
+   @Override
+   protected void fetchChannelAndInvoke(int retryCount, Set<SocketAddress> failedServers) {
+      channelFactory.fetchChannelAndInvoke(keys.iterator().next(), failedServers, cacheName, this);
+   }
+
+   @Override
+   public void acceptResponse(ByteBuf buf, short status, HeaderDecoder decoder) {
+      if (HotRodConstants.isSuccess(status)) {
+         complete(null);
+         return;
+      }
+      throw new InvalidResponseException("Unexpected response status: " + Integer.toHexString(status));
+   }
+}
@@ -0,0 +1,55 @@
+package org.infinispan.client.hotrod.impl.operations;
+
+import java.net.SocketAddress;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.infinispan.client.hotrod.DataFormat;
+import org.infinispan.client.hotrod.configuration.Configuration;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
+
+/**
+ * Removes the keys with one {@link RemoveAllOperation} per server, each one with the keys owned by the server.
+ *
+ * @since 9.4
+ */
+public class RemoveAllParallelOperation extends ParallelHotRodOperation<Void, RemoveAllOperation> {
+
+   private final Set<byte[]> keys;
+
+   protected RemoveAllParallelOperation(Codec codec, ChannelFactory channelFactory, Set<byte[]> keys, byte[]
+         cacheName, AtomicInteger topologyId, int flags, Configuration cfg, DataFormat dataFormat) {
+      super(codec, channelFactory, cacheName, topologyId, flags, cfg, dataFormat);
+      this.keys = keys;
+   }
+
+   @Override
+   protected List<RemoveAllOperation> mapOperations() {
+      Map<SocketAddress, Set<byte[]>> splittedKeys = new HashMap<>();
+
+      for (byte[] key : keys) {
+         SocketAddress socketAddress = channelFactory.getSocketAddress(key, cacheName);
+         splittedKeys.computeIfAbsent(socketAddress, k -> new HashSet<>()).add(key);
+      }
+
+      return splittedKeys.values().stream().map(
+            keysSubset -> new RemoveAllOperation(codec, channelFactory, keysSubset, cacheName, header.topologyId(),
+                  flags, cfg, dataFormat)).collect(Collectors.toList());
+   }
+
+   @Override
+   protected Void createCollector() {
+      return null;
+   }
+
+   @Override
+   protected void combine(Void collector, Void result) {
+      // Nothing to do
+   }
+}
@@ -0,0 +1,104 @@
+package org.infinispan.client.hotrod.impl.operations;
+
+import java.net.SocketAddress;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.client.hotrod.DataFormat;
+import org.infinispan.client.hotrod.VersionedValue;
+import org.infinispan.client.hotrod.configuration.Configuration;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.transport.netty.ByteBufUtil;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
+import org.infinispan.client.hotrod.impl.transport.netty.HeaderDecoder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import net.jcip.annotations.Immutable;
+
+/**
+ * Implements "replaceAllWithVersion" as defined by  <a href="http://community.jboss.org/wiki/HotRodProtocol">Hot Rod
+ * protocol specification</a>. The result are the keys whose value was not replaced.
+ *
+ * @since 9.4
+ */
+@Immutable
+public class ReplaceAllWithVersionOperation<K> extends RetryOnFailureOperation<Set<K>> {
+
+   protected final Map<byte[], VersionedValue<byte[]>> entries;
+   protected final long lifespan;
+   private final TimeUnit lifespanTimeUnit;
+   protected final long maxIdle;
+   private final TimeUnit maxIdleTimeUnit;
+
+   private Set<K> result;
+   private int size = -1;
+
+   public ReplaceAllWithVersionOperation(Codec codec, ChannelFactory channelFactory,
+                                         Map<byte[], VersionedValue<byte[]>> entries, byte[] cacheName,
+                                         AtomicInteger topologyId, int flags, Configuration cfg,
+                                         long lifespan, TimeUnit lifespanTimeUnit, long maxIdle,
+                                         TimeUnit maxIdleTimeUnit, DataFormat dataFormat) {
+      super(REPLACE_ALL_WITH_VERSION_REQUEST, REPLACE_ALL_WITH_VERSION_RESPONSE, codec, channelFactory, cacheName,
+            topologyId, flags, cfg, dataFormat);
+      this.entries = entries;
+      this.lifespan = lifespan;
+      this.lifespanTimeUnit = lifespanTimeUnit;
+      this.maxIdle = maxIdle;
+      this.maxIdleTimeUnit = maxIdleTimeUnit;
+   }
+
+   @Override
+   protected void executeOperation(Channel channel) {
+      scheduleRead(channel);
+
+      int bufSize = codec.estimateHeaderSize(header) + ByteBufUtil.estimateVIntSize(entries.size()) +
+            codec.estimateExpirationSize(lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit);
+      for (Entry<byte[], VersionedValue<byte[]>> entry : entries.entrySet()) {
+         bufSize += ByteBufUtil.estimateArraySize(entry.getKey());
+         bufSize += 8;
+         bufSize += ByteBufUtil.estimateArraySize(entry.getValue().getValue());
+      }
+      ByteBuf buf = channel.alloc().buffer(bufSize);
+
+      codec.writeHeader(buf, header);
+      codec.writeExpirationParams(buf, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit);
+      ByteBufUtil.writeVInt(buf, entries.size());
+      for (Entry<byte[], VersionedValue<byte[]>> entry : entries.entrySet()) {
+         ByteBufUtil.writeArray(buf, entry.getKey());
+         buf.writeLong(entry.getValue().getVersion());
+         ByteBufUtil.writeArray(buf, entry.getValue().getValue());
+      }
+      channel.writeAndFlush(buf);
+   }
+
+   @Override
+   protected void reset() {
+      super.reset();
+      result = null;
+      size = -1;
+   }
+
+   @Override
+   protected void fetchChannelAndInvoke(int retryCount, Set<SocketAddress> failedServers) {
+      channelFactory.fetchChannelAndInvoke(entries.keySet().iterator().next(), failedServers, cacheName, this);
+   }
+
+   @Override
+   public void acceptResponse(ByteBuf buf, short status, HeaderDecoder decoder) {
+      if (size < 0) {
+         size = ByteBufUtil.readVInt(buf);
+         result = new HashSet<>(size);
+         decoder.checkpoint();
+      }
+      while (result.size() < size) {
+         result.add(dataFormat.keyToObj(ByteBufUtil.readArray(buf), cfg.getClassWhiteList()));
+         decoder.checkpoint();
+      }
+      complete(result);
+   }
+}
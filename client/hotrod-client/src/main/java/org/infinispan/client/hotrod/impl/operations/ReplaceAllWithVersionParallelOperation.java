@@ -0,0 +1,70 @@
+package org.infinispan.client.hotrod.impl.operations;
+
+import java.net.SocketAddress;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.infinispan.client.hotrod.DataFormat;
+import org.infinispan.client.hotrod.VersionedValue;
+import org.infinispan.client.hotrod.configuration.Configuration;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
+
+/**
+ * Replaces the entries with one {@link ReplaceAllWithVersionOperation} per server, each one with the entries owned by
+ * the server.
+ *
+ * @since 9.4
+ */
+public class ReplaceAllWithVersionParallelOperation<K> extends ParallelHotRodOperation<Set<K>, ReplaceAllWithVersionOperation<K>> {
+
+   private final Map<byte[], VersionedValue<byte[]>> entries;
+   private final long lifespan;
+   private final TimeUnit lifespanTimeUnit;
+   private final long maxIdle;
+   private final TimeUnit maxIdleTimeUnit;
+
+   protected ReplaceAllWithVersionParallelOperation(Codec codec, ChannelFactory channelFactory,
+                                                    Map<byte[], VersionedValue<byte[]>> entries, byte[] cacheName,
+                                                    AtomicInteger topologyId, int flags, Configuration cfg,
+                                                    long lifespan, TimeUnit lifespanTimeUnit, long maxIdle,
+                                                    TimeUnit maxIdleTimeUnit, DataFormat dataFormat) {
+      super(codec, channelFactory, cacheName, topologyId, flags, cfg, dataFormat);
+      this.entries = entries;
+      this.lifespan = lifespan;
+      this.lifespanTimeUnit = lifespanTimeUnit;
+      this.maxIdle = maxIdle;
+      this.maxIdleTimeUnit = maxIdleTimeUnit;
+   }
+
+   @Override
+   protected List<ReplaceAllWithVersionOperation<K>> mapOperations() {
+      Map<SocketAddress, Map<byte[], VersionedValue<byte[]>>> splittedMaps = new HashMap<>();
+
+      for (Map.Entry<byte[], VersionedValue<byte[]>> entry : entries.entrySet()) {
+         SocketAddress socketAddress = channelFactory.getSocketAddress(entry.getKey(), cacheName);
+         splittedMaps.computeIfAbsent(socketAddress, k -> new HashMap<>()).put(entry.getKey(), entry.getValue());
+      }
+
+      return splittedMaps.values().stream().map(
+            mapSubset -> new ReplaceAllWithVersionOperation<K>(codec, channelFactory, mapSubset, cacheName,
+                  header.topologyId(), flags, cfg, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit, dataFormat))
+            .collect(Collectors.toList());
+   }
+
+   @Override
+   protected Set<K> createCollector() {
+      return new HashSet<>();
+   }
+
+   @Override
+   protected void combine(Set<K> collector, Set<K> result) {
+      collector.addAll(result);
+   }
+}
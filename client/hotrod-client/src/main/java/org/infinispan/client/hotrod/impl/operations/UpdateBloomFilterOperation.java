@@ -0,0 +1,83 @@
+package org.infinispan.client.hotrod.impl.operations;
+
+import java.net.SocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.client.hotrod.configuration.Configuration;
+import org.infinispan.client.hotrod.event.impl.ClientListenerNotifier;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
+import org.infinispan.client.hotrod.impl.transport.netty.ByteBufUtil;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelOperation;
+import org.infinispan.client.hotrod.impl.transport.netty.HeaderDecoder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+
+/**
+ * Sends the Bloom filter of the keys held by a near cache to the server where its client listener is registered, so
+ * that the server only sends the events of the keys in the filter. Like removing a client listener, it must go to the
+ * same node where the listener has been added.
+ *
+ * @since 9.4
+ */
+public class UpdateBloomFilterOperation extends HotRodOperation<Boolean> implements ChannelOperation {
+
+   private final ClientListenerNotifier listenerNotifier;
+   private final byte[] listenerId;
+   private final byte[] bloomFilter;
+
+   protected UpdateBloomFilterOperation(Codec codec, ChannelFactory channelFactory,
+                                        byte[] cacheName, AtomicInteger topologyId, int flags,
+                                        Configuration cfg, ClientListenerNotifier listenerNotifier,
+                                        byte[] listenerId, byte[] bloomFilter) {
+      super(UPDATE_BLOOM_FILTER_REQUEST, UPDATE_BLOOM_FILTER_RESPONSE, codec, flags, cfg, cacheName, topologyId, channelFactory);
+      this.listenerNotifier = listenerNotifier;
+      this.listenerId = listenerId;
+      this.bloomFilter = bloomFilter;
+   }
+
+   protected void fetchChannelAndInvoke() {
+      SocketAddress address = listenerNotifier.findAddress(listenerId);
+      if (address != null) {
+         channelFactory.fetchChannelAndInvoke(address, this);
+      } else {
+         complete(false);
+      }
+   }
+
+   @Override
+   public void invoke(Channel channel) {
+      scheduleRead(channel);
+      // 1) write [header][listener id][bloom filter]
+      ByteBuf buf = channel.alloc().buffer(codec.estimateHeaderSize(header) +
+            ByteBufUtil.estimateArraySize(listenerId) + ByteBufUtil.estimateArraySize(bloomFilter));
+      codec.writeHeader(buf, header);
+      ByteBufUtil.writeArray(buf, listenerId);
+      ByteBufUtil.writeArray(buf, bloomFilter);
+      channel.writeAndFlush(buf);
+      releaseChannel(channel);
+   }
+
+   @Override
+   public void cancel(SocketAddress address, Throwable cause) {
+      completeExceptionally(cause);
+   }
+
+   @Override
+   public void acceptResponse(ByteBuf buf, short status, HeaderDecoder decoder) {
+      complete(HotRodConstants.isSuccess(status));
+   }
+
+   @Override
+   public CompletableFuture<Boolean> execute() {
+      try {
+         fetchChannelAndInvoke();
+      } catch (Exception e) {
+         completeExceptionally(e);
+      }
+      return this;
+   }
+}
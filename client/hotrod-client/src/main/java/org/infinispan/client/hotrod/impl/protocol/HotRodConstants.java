@@ -68,6 +68,9 @@ public interface HotRodConstants {
    byte PREPARE_REQUEST = 0x3B;
    byte COMMIT_REQUEST = 0x3D;
    byte ROLLBACK_REQUEST = 0x3F;
+   byte REMOVE_ALL_REQUEST = 0x41;
+   byte REPLACE_ALL_WITH_VERSION_REQUEST = 0x43;
+   byte UPDATE_BLOOM_FILTER_REQUEST = 0x45;
    byte FORGET_TX_REQUEST = 0x79;
    byte FETCH_TX_RECOVERY_REQUEST = 0x7B;
    byte PREPARE_TX_2_REQUEST = 0x7D;
@@ -117,6 +120,9 @@ public interface HotRodConstants {
    byte PREPARE_RESPONSE = 0x3C;
    byte COMMIT_RESPONSE = 0x3E;
    byte ROLLBACK_RESPONSE = 0x40;
+   byte REMOVE_ALL_RESPONSE = 0x42;
+   byte REPLACE_ALL_WITH_VERSION_RESPONSE = 0x44;
+   byte UPDATE_BLOOM_FILTER_RESPONSE = 0x46;
    byte FORGET_TX_RESPONSE = 0x7A;
    byte FETCH_TX_RECOVERY_RESPONSE = 0x7C;
    byte PREPARE_TX_2_RESPONSE = 0x7E;
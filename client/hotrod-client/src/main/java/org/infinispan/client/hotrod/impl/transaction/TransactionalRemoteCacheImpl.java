@@ -3,7 +3,9 @@
 import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
@@ -99,6 +101,48 @@ public CompletableFuture<Boolean> replaceWithVersionAsync(K key, V newValue, lon
                   remoteGet);
    }
 
+   @Override
+   public CompletableFuture<Void> removeAllAsync(Set<? extends K> keys) {
+      TransactionContext<K, V> txContext = getTransactionContext();
+      if (txContext == null) {
+         return super.removeAllAsync(keys);
+      } else {
+         //this is local only
+         keys.forEach(key -> txContext.compute(key, this::removeEntry));
+         return CompletableFuture.completedFuture(null);
+      }
+   }
+
+   @Override
+   public CompletableFuture<Set<K>> replaceAllWithVersionAsync(Map<? extends K, ? extends V> map,
+         Map<? extends K, Long> versions, long lifespan, TimeUnit lifespanTimeUnit, long maxIdle,
+         TimeUnit maxIdleTimeUnit) {
+      TransactionContext<K, V> txContext = getTransactionContext();
+      if (txContext == null) {
+         return super.replaceAllWithVersionAsync(map, versions, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit);
+      }
+      for (K key : map.keySet()) {
+         if (versions.get(key) == null) {
+            throw new IllegalArgumentException("No version for key " + key);
+         }
+      }
+      Set<K> notReplaced = ConcurrentHashMap.newKeySet();
+      CompletableFuture<?>[] futures = new CompletableFuture[map.size()];
+      int i = 0;
+      for (Map.Entry<? extends K, ? extends V> e : map.entrySet()) {
+         K key = e.getKey();
+         long version = versions.get(key);
+         futures[i++] = txContext.compute(key,
+               entry -> replaceEntryIfSameVersion(entry, e.getValue(), version, lifespan, lifespanTimeUnit, maxIdle,
+                     maxIdleTimeUnit),
+               remoteGet)
+               .thenAccept(replaced -> {
+                  if (!replaced) notReplaced.add(key);
+               });
+      }
+      return CompletableFuture.allOf(futures).thenApply(v -> Collections.unmodifiableSet(notReplaced));
+   }
+
    @Override
    public VersionedValue<V> getVersioned(K key) {
       TransactionContext<K, V> txContext = getTransactionContext();
@@ -21,6 +21,7 @@
 
 import org.infinispan.client.hotrod.configuration.AuthenticationConfiguration;
 import org.infinispan.client.hotrod.configuration.Configuration;
+import org.infinispan.client.hotrod.configuration.ConnectionPoolConfiguration;
 import org.infinispan.client.hotrod.configuration.SslConfiguration;
 import org.infinispan.client.hotrod.impl.operations.OperationsFactory;
 import org.infinispan.client.hotrod.logging.Log;
@@ -95,6 +96,12 @@ protected void initChannel(Channel channel) throws Exception {
          channel.pipeline().addLast(ActivationHandler.NAME, ActivationHandler.INSTANCE);
       }
       channel.pipeline().addLast(HeaderDecoder.NAME, new HeaderDecoder(operationsFactory.getCodec(), channelFactory, configuration, operationsFactory.getListenerNotifier()));
+      ConnectionPoolConfiguration connectionPool = configuration.connectionPool();
+      if (connectionPool.writeBatchSize() > 1) {
+         // Outbound only, it coalesces the flushes of all the requests written to the channel
+         channel.pipeline().addLast(WriteBatchingHandler.NAME,
+               new WriteBatchingHandler(connectionPool.writeBatchSize(), connectionPool.writeBatchWindow()));
+      }
       if (configuration.connectionPool().minEvictableIdleTime() > 0) {
          // This handler needs to be the last so that HeaderDecoder has the chance to cancel the idle event
          channel.pipeline().addLast(IdleStateHandlerProvider.NAME,
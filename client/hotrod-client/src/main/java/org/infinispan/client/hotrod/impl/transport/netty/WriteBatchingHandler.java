@@ -0,0 +1,92 @@
+package org.infinispan.client.hotrod.impl.transport.netty;
+
+import java.util.concurrent.TimeUnit;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.ScheduledFuture;
+
+/**
+ * Coalesces the flushes of the requests written to a channel, so that the requests sent concurrently over the channel
+ * reach the socket in a single write. The requests are flushed when the batch is full, or when the batch window
+ * elapses after the first request of the batch. Without a window the batch is flushed once the event loop has written
+ * the requests that were queued for the channel.
+ * <p>
+ * All the methods are invoked in the event loop of the channel.
+ *
+ * @since 9.4
+ */
+class WriteBatchingHandler extends ChannelOutboundHandlerAdapter {
+   static final String NAME = "write-batching-handler";
+
+   private final int batchSize;
+   private final long windowNanos;
+   private final Runnable flushTask = this::flushPending;
+
+   private ChannelHandlerContext ctx;
+   private int pendingFlushes;
+   private boolean flushScheduled;
+   private ScheduledFuture<?> scheduledFlush;
+
+   WriteBatchingHandler(int batchSize, long windowMicros) {
+      this.batchSize = batchSize;
+      this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+   }
+
+   @Override
+   public void handlerAdded(ChannelHandlerContext ctx) {
+      this.ctx = ctx;
+   }
+
+   @Override
+   public void handlerRemoved(ChannelHandlerContext ctx) {
+      flushPending();
+   }
+
+   @Override
+   public void flush(ChannelHandlerContext ctx) {
+      if (++pendingFlushes >= batchSize) {
+         flushNow();
+      } else if (!flushScheduled) {
+         flushScheduled = true;
+         if (windowNanos > 0) {
+            scheduledFlush = ctx.executor().schedule(flushTask, windowNanos, TimeUnit.NANOSECONDS);
+         } else {
+            // Runs after the writes already queued in the event loop
+            ctx.executor().execute(flushTask);
+         }
+      }
+   }
+
+   @Override
+   public void disconnect(ChannelHandlerContext ctx, ChannelPromise promise) {
+      flushPending();
+      ctx.disconnect(promise);
+   }
+
+   @Override
+   public void close(ChannelHandlerContext ctx, ChannelPromise promise) {
+      flushPending();
+      ctx.close(promise);
+   }
+
+   private void flushPending() {
+      if (pendingFlushes > 0) {
+         flushNow();
+      } else {
+         flushScheduled = false;
+      }
+   }
+
+   private void flushNow() {
+      if (scheduledFlush != null) {
+         scheduledFlush.cancel(false);
+         scheduledFlush = null;
+      }
+      // A task that is still queued finds nothing to flush
+      flushScheduled = false;
+      pendingFlushes = 0;
+      ctx.flush();
+   }
+}
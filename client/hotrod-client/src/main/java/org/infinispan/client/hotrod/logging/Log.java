@@ -314,4 +314,16 @@ public interface Log extends BasicLogger {
 
    @Message(value = "Transactions timeout must be positive", id = 4088)
    HotRodClientException invalidTransactionTimeout();
+
+   @Message(value = "Invalid write batch size (value=%s). Value should be greater or equal than one.", id = 4089)
+   CacheConfigurationException invalidWriteBatchSize(int writeBatchSize);
+
+   @Message(value = "Invalid write batch window (value=%s). Value should be greater or equal than zero.", id = 4090)
+   CacheConfigurationException invalidWriteBatchWindow(long writeBatchWindow);
+
+   @Message(value = "The near cache can be bounded either by max entries (value=%s) or by max size (value=%s), not both", id = 4091)
+   CacheConfigurationException nearCacheMaxEntriesAndMaxSize(int maxEntries, long maxSize);
+
+   @Message(value = "Invalid near cache Bloom filter refresh interval (value=%s). Value should be greater than zero.", id = 4092)
+   CacheConfigurationException invalidNearCacheBloomFilterRefreshInterval(long interval);
 }
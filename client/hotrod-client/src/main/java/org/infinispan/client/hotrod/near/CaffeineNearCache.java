@@ -0,0 +1,75 @@
+package org.infinispan.client.hotrod.near;
+
+import java.util.Set;
+
+import org.infinispan.client.hotrod.MetadataValue;
+import org.infinispan.client.hotrod.configuration.NearCacheConfiguration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+
+/**
+ * Bounded near cache based on a Caffeine {@link Cache}. Reads don't take any lock and the entries are admitted and
+ * evicted based on how frequently they are used (W-TinyLFU), so that a burst of one-off reads doesn't flush the most
+ * used entries. The cache is bounded either by the number of entries or by the estimated size in bytes of the entries.
+ * <p>
+ * The maintenance, including the evictions, runs in the thread that writes to the near cache instead of the common
+ * fork join pool, so the near cache never holds more entries than its bound once a write returns.
+ *
+ * @since 9.4
+ */
+final class CaffeineNearCache<K, V> implements NearCache<K, V> {
+
+   private final Cache<K, MetadataValue<V>> cache;
+
+   private CaffeineNearCache(Cache<K, MetadataValue<V>> cache) {
+      this.cache = cache;
+   }
+
+   public static <K, V> NearCache<K, V> create(NearCacheConfiguration config, Weigher<K, MetadataValue<V>> weigher) {
+      Caffeine<Object, Object> caffeine = Caffeine.newBuilder().executor(Runnable::run).recordStats();
+      if (config.maxSize() > 0) {
+         caffeine.maximumWeight(config.maxSize()).weigher(weigher);
+      } else {
+         caffeine.maximumSize(config.maxEntries());
+      }
+      return new CaffeineNearCache<>(caffeine.build());
+   }
+
+   @Override
+   public void put(K key, MetadataValue<V> value) {
+      cache.put(key, value);
+   }
+
+   @Override
+   public void putIfAbsent(K key, MetadataValue<V> value) {
+      cache.asMap().putIfAbsent(key, value);
+   }
+
+   @Override
+   public void remove(K key) {
+      cache.invalidate(key);
+   }
+
+   @Override
+   public MetadataValue<V> get(K key) {
+      return cache.getIfPresent(key);
+   }
+
+   @Override
+   public void clear() {
+      cache.invalidateAll();
+   }
+
+   @Override
+   public Set<K> keySet() {
+      return cache.asMap().keySet();
+   }
+
+   @Override
+   public long evictions() {
+      return cache.stats().evictionCount();
+   }
+
+}
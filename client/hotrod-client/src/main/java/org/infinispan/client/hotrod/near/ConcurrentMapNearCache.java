@@ -1,5 +1,6 @@
 package org.infinispan.client.hotrod.near;
 
+import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 
 import org.infinispan.client.hotrod.MetadataValue;
@@ -40,6 +41,11 @@ public void clear() {
       cache.clear();
    }
 
+   @Override
+   public Set<K> keySet() {
+      return cache.keySet();
+   }
+
    public static <K, V> NearCache<K, V> create() {
       return new ConcurrentMapNearCache<K, V>();
    }
@@ -1,5 +1,7 @@
 package org.infinispan.client.hotrod.near;
 
+import java.util.Set;
+
 import org.infinispan.client.hotrod.MetadataValue;
 
 /**
@@ -13,4 +15,16 @@
    void remove(K key);
    MetadataValue<V> get(K key);
    void clear();
+
+   /**
+    * @return a weakly consistent view of the keys in the near cache
+    */
+   Set<K> keySet();
+
+   /**
+    * @return the number of entries evicted because the near cache reached its bounds
+    */
+   default long evictions() {
+      return 0;
+   }
 }
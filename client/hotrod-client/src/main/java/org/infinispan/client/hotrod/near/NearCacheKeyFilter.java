@@ -0,0 +1,256 @@
+package org.infinispan.client.hotrod.near;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import org.infinispan.client.hotrod.exceptions.HotRodClientException;
+import org.infinispan.client.hotrod.exceptions.TransportException;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
+import org.infinispan.commons.marshall.Marshaller;
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.util.BloomFilter;
+
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * Keeps the server informed of the keys held in a near cache with a {@link BloomFilter} of their marshalled bytes, so
+ * that the server only sends the invalidations of the keys in the filter.
+ * <p>
+ * A key is only added to the near cache if every filter the server may be using contains it, otherwise its
+ * invalidations could be lost. The keys that were not added are remembered and included in the next filter, which is
+ * sent periodically, or sooner if many keys are waiting.
+ *
+ * @since 9.4
+ */
+final class NearCacheKeyFilter<K> {
+   private static final Log log = LogFactory.getLog(NearCacheKeyFilter.class);
+   private static final boolean trace = log.isTraceEnabled();
+   private static final int MIN_CAPACITY = 64;
+   private static final int PENDING_REFRESH_THRESHOLD = 64;
+
+   private final NearCache<K, ?> cache;
+   private final Marshaller marshaller;
+   private final Function<byte[], CompletableFuture<Boolean>> sender;
+   private final ScheduledExecutorService executor;
+   private final ReadWriteLock lock = new ReentrantReadWriteLock();
+   private final Set<WrappedByteArray> pending = ConcurrentHashMap.newKeySet();
+   private final AtomicBoolean refreshing = new AtomicBoolean();
+   private final LongAdder removals = new LongAdder();
+
+   // The filter used by the server, or null if the server sends the events of every key
+   @GuardedBy("lock")
+   private BloomFilter acknowledged;
+   // The filters sent to the server that it may or may not be using
+   @GuardedBy("lock")
+   private final List<BloomFilter> unconfirmed = new ArrayList<>();
+   // The keys added to the near cache while the next filter is built
+   @GuardedBy("lock")
+   private Set<WrappedByteArray> recording;
+   @GuardedBy("lock")
+   private int generation;
+   // The removals and evictions when the last filter was built
+   private long removalsAtRefresh;
+
+   NearCacheKeyFilter(NearCache<K, ?> cache, Marshaller marshaller, Function<byte[], CompletableFuture<Boolean>> sender,
+                      String cacheName) {
+      this.cache = cache;
+      this.marshaller = marshaller;
+      this.sender = sender;
+      ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+         Thread th = new Thread(r, "HotRod-client-near-cache-bloom-filter-" + cacheName);
+         th.setDaemon(true);
+         return th;
+      });
+      executor.setRemoveOnCancelPolicy(true);
+      this.executor = executor;
+   }
+
+   void start(long refreshInterval) {
+      executor.scheduleWithFixedDelay(this::refresh, refreshInterval, refreshInterval, TimeUnit.MILLISECONDS);
+   }
+
+   void stop() {
+      executor.shutdownNow();
+   }
+
+   /**
+    * Adds the key to the near cache with the given action if the server sends its invalidations.
+    *
+    * @return whether the key was added
+    */
+   boolean cacheIfFiltered(K key, Runnable action) {
+      byte[] bytes = toBytes(key);
+      if (bytes == null) {
+         return false;
+      }
+      lock.readLock().lock();
+      try {
+         if (!mightBeSent(bytes)) {
+            pending.add(new WrappedByteArray(bytes));
+            if (pending.size() >= PENDING_REFRESH_THRESHOLD && !refreshing.get()) {
+               refreshSoon();
+            }
+            if (trace)
+               log.tracef("Not caching key=%s until the server knows about it", key);
+            return false;
+         }
+         if (recording != null) {
+            recording.add(new WrappedByteArray(bytes));
+         }
+         action.run();
+         return true;
+      } finally {
+         lock.readLock().unlock();
+      }
+   }
+
+   /**
+    * A key was removed from the near cache, the filter of the server will contain one more stale key.
+    */
+   void removed() {
+      removals.increment();
+   }
+
+   private void refreshSoon() {
+      try {
+         executor.execute(this::refresh);
+      } catch (RejectedExecutionException e) {
+         // Stopped
+      }
+   }
+
+   @GuardedBy("lock")
+   private boolean mightBeSent(byte[] key) {
+      if (acknowledged != null && !acknowledged.mightContain(key)) {
+         return false;
+      }
+      for (BloomFilter filter : unconfirmed) {
+         if (!filter.mightContain(key)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * The listener failed over to a server that doesn't have a filter yet and sends the events of every key.
+    */
+   void reset() {
+      lock.writeLock().lock();
+      try {
+         acknowledged = null;
+         generation++;
+      } finally {
+         lock.writeLock().unlock();
+      }
+   }
+
+   void refresh() {
+      if (!refreshing.compareAndSet(false, true)) {
+         return;
+      }
+      try {
+         Set<WrappedByteArray> added = ConcurrentHashMap.newKeySet();
+         long currentRemovals = removals.sum() + cache.evictions();
+         lock.writeLock().lock();
+         try {
+            if (!isStale(currentRemovals)) {
+               refreshing.set(false);
+               return;
+            }
+            recording = added;
+         } finally {
+            lock.writeLock().unlock();
+         }
+         removalsAtRefresh = currentRemovals;
+         // The keys added from now on are recorded, so the iteration only has to see the keys added before
+         List<byte[]> keys = new ArrayList<>();
+         for (K key : cache.keySet()) {
+            byte[] bytes = toBytes(key);
+            if (bytes != null) {
+               keys.add(bytes);
+            }
+         }
+         BloomFilter filter;
+         int sentGeneration;
+         lock.writeLock().lock();
+         try {
+            recording = null;
+            filter = new BloomFilter(Math.max(MIN_CAPACITY, keys.size() + added.size() + pending.size()));
+            keys.forEach(filter::add);
+            added.forEach(key -> filter.add(key.getBytes()));
+            pending.forEach(key -> filter.add(key.getBytes()));
+            pending.clear();
+            unconfirmed.add(filter);
+            sentGeneration = generation;
+         } finally {
+            lock.writeLock().unlock();
+         }
+         if (trace)
+            log.tracef("Sending near cache Bloom filter of %d keys (%d bytes)", filter.size(), filter.memory());
+         sender.apply(filter.toByteArray()).whenComplete((applied, t) -> {
+            try {
+               onResponse(filter, sentGeneration, applied, t);
+            } finally {
+               refreshing.set(false);
+            }
+         });
+      } catch (Throwable t) {
+         refreshing.set(false);
+         log.debug("Unable to send the near cache Bloom filter", t);
+      }
+   }
+
+   @GuardedBy("lock")
+   private boolean isStale(long currentRemovals) {
+      // Rebuild the filter for new keys, or to forget the removed keys once they are a good part of the filter
+      return acknowledged == null || !unconfirmed.isEmpty() || !pending.isEmpty() ||
+            currentRemovals - removalsAtRefresh > acknowledged.size() / 4;
+   }
+
+   private void onResponse(BloomFilter filter, int sentGeneration, Boolean applied, Throwable t) {
+      lock.writeLock().lock();
+      try {
+         if (t == null && applied) {
+            if (sentGeneration == generation) {
+               // The refreshes are sequential, so the server replaced any filter sent before
+               acknowledged = filter;
+               unconfirmed.clear();
+            }
+            // Otherwise the listener failed over, and the filter stays unconfirmed until the next refresh
+         } else if (t == null || (t instanceof HotRodClientException && !(t instanceof TransportException))) {
+            // The server did not apply the filter
+            unconfirmed.remove(filter);
+            if (t != null)
+               log.debug("The server rejected the near cache Bloom filter", t);
+         } else {
+            log.debug("Unable to send the near cache Bloom filter", t);
+         }
+      } finally {
+         lock.writeLock().unlock();
+      }
+   }
+
+   private byte[] toBytes(K key) {
+      try {
+         return marshaller.objectToByteBuffer(key);
+      } catch (Exception e) {
+         if (trace)
+            log.tracef(e, "Unable to marshall key=%s for the near cache Bloom filter", key);
+         return null;
+      }
+   }
+}
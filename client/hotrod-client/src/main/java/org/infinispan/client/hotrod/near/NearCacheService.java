@@ -1,7 +1,10 @@
 package org.infinispan.client.hotrod.near;
 
 import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
+import org.infinispan.client.hotrod.ClientStatistics;
 import org.infinispan.client.hotrod.MetadataValue;
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.annotation.ClientCacheEntryCreated;
@@ -16,7 +19,10 @@
 import org.infinispan.client.hotrod.event.ClientCacheEntryRemovedEvent;
 import org.infinispan.client.hotrod.event.ClientCacheFailoverEvent;
 import org.infinispan.client.hotrod.event.impl.ClientListenerNotifier;
+import org.infinispan.client.hotrod.impl.ClientStatisticsImpl;
 import org.infinispan.client.hotrod.impl.MetadataValueImpl;
+import org.infinispan.client.hotrod.impl.RemoteCacheImpl;
+import org.infinispan.client.hotrod.impl.operations.OperationsFactory;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
 import org.infinispan.commons.io.UnsignedNumeric;
@@ -34,9 +40,13 @@
 
    private final NearCacheConfiguration config;
    private final ClientListenerNotifier listenerNotifier;
+   private final LongAdder hits = new LongAdder();
+   private final LongAdder misses = new LongAdder();
    private Object listener;
    private byte[] listenerId;
+   private Marshaller marshaller;
    private NearCache<K, V> cache;
+   private NearCacheKeyFilter<K> keyFilter;
 
    protected NearCacheService(NearCacheConfiguration config, ClientListenerNotifier listenerNotifier) {
       this.config = config;
@@ -44,6 +54,7 @@ protected NearCacheService(NearCacheConfiguration config, ClientListenerNotifier
    }
 
    public void start(RemoteCache<K, V> remote) {
+      marshaller = remote.getRemoteCacheManager().getMarshaller();
       // Create near cache
       cache = createNearCache(config);
       // Add a listener that updates the near cache
@@ -51,11 +62,19 @@ public void start(RemoteCache<K, V> remote) {
       remote.addClientListener(listener);
       // Get the listener ID for faster listener connected lookups
       listenerId = listenerNotifier.findListenerId(listener);
+      if (config.bloomFilter()) {
+         // Let the server know which keys are near cached, so that it only sends their invalidations
+         OperationsFactory operationsFactory = ((RemoteCacheImpl<K, V>) remote).getOperationsFactory();
+         keyFilter = new NearCacheKeyFilter<>(cache, marshaller,
+               bloomFilter -> operationsFactory.newUpdateBloomFilterOperation(listenerId, bloomFilter).execute(),
+               remote.getName());
+         keyFilter.start(config.bloomFilterRefreshInterval());
+      }
    }
 
    private Object createListener(RemoteCache<K, V> remote) {
       return config.mode().invalidated()
-            ? new InvalidatedNearCacheListener(this)
+            ? new InvalidatedNearCacheListener<>(this)
             : new EagerNearCacheListener(this, remote.getRemoteCacheManager().getMarshaller());
    }
 
@@ -63,6 +82,8 @@ public void stop(RemoteCache<K, V> remote) {
       if (trace)
          log.tracef("Stop near cache, remove underlying listener id %s", Util.printArray(listenerId));
 
+      if (keyFilter != null)
+         keyFilter.stop();
       // Remove listener
       remote.removeClientListener(listener);
       // Empty cache
@@ -70,11 +91,29 @@ public void stop(RemoteCache<K, V> remote) {
    }
 
    protected NearCache<K, V> createNearCache(NearCacheConfiguration config) {
-      return config.maxEntries() > 0
-            ? BoundedConcurrentMapNearCache.create(config)
+      return config.maxEntries() > 0 || config.maxSize() > 0
+            ? CaffeineNearCache.create(config, this::estimateSize)
             : ConcurrentMapNearCache.create();
    }
 
+   private int estimateSize(K key, MetadataValue<V> value) {
+      try {
+         return marshaller.objectToBuffer(key).getLength() + marshaller.objectToBuffer(value.getValue()).getLength();
+      } catch (Exception e) {
+         if (trace)
+            log.tracef(e, "Unable to estimate the size of key=%s in near cache, counting it as 1 byte", key);
+         return 1;
+      }
+   }
+
+   public ClientStatistics statistics() {
+      ClientStatisticsImpl stats = new ClientStatisticsImpl();
+      stats.addStats(ClientStatistics.NEAR_CACHE_HITS, hits.sum());
+      stats.addStats(ClientStatistics.NEAR_CACHE_MISSES, misses.sum());
+      stats.addStats(ClientStatistics.NEAR_CACHE_EVICTIONS, cache == null ? 0 : cache.evictions());
+      return stats;
+   }
+
    public static <K, V> NearCacheService<K, V> create(
          NearCacheConfiguration config, ClientListenerNotifier listenerNotifier) {
       return new NearCacheService(config, listenerNotifier);
@@ -91,7 +130,13 @@ public void put(K key, MetadataValue<V> value) {
 
    @Override
    public void putIfAbsent(K key, MetadataValue<V> value) {
-      cache.putIfAbsent(key, value);
+      if (keyFilter != null) {
+         // Only cache the key if the server sends its invalidations
+         if (!keyFilter.cacheIfFiltered(key, () -> cache.putIfAbsent(key, value)))
+            return;
+      } else {
+         cache.putIfAbsent(key, value);
+      }
 
       if (trace)
          log.tracef("Conditionally put key=%s and value=%s if absent in near cache (listenerId=%s)",
@@ -101,6 +146,8 @@ public void putIfAbsent(K key, MetadataValue<V> value) {
    @Override
    public void remove(K key) {
       cache.remove(key);
+      if (keyFilter != null)
+         keyFilter.removed();
 
       if (trace)
          log.tracef("Removed key=%s from near cache (listenedId=%s)", key, Util.printArray(listenerId));
@@ -111,12 +158,18 @@ public MetadataValue<V> get(K key) {
       boolean listenerConnected = isConnected();
       if (listenerConnected) {
          MetadataValue<V> value = cache.get(key);
+         if (value != null) {
+            hits.increment();
+         } else {
+            misses.increment();
+         }
          if (trace)
             log.tracef("Get key=%s returns value=%s (listenerId=%s)", key, value, Util.printArray(listenerId));
 
          return value;
       }
 
+      misses.increment();
       if (trace)
          log.tracef("Near cache disconnected from server, returning null for key=%s (listenedId=%s)",
                key, Util.printArray(listenerId));
@@ -130,6 +183,20 @@ public void clear() {
       if (trace) log.tracef("Cleared near cache (listenerId=%s)", Util.printArray(listenerId));
    }
 
+   @Override
+   public Set<K> keySet() {
+      return cache.keySet();
+   }
+
+   /**
+    * The listener failed over to another server, which has no Bloom filter yet.
+    */
+   void failover() {
+      clear();
+      if (keyFilter != null)
+         keyFilter.reset();
+   }
+
    private boolean isConnected() {
       return listenerNotifier.isListenerConnected(listenerId);
    }
@@ -137,9 +204,9 @@ private boolean isConnected() {
    @ClientListener
    private static class InvalidatedNearCacheListener<K, V> {
       private static final Log log = LogFactory.getLog(InvalidatedNearCacheListener.class);
-      private final NearCache<K, V> cache;
+      private final NearCacheService<K, V> cache;
 
-      private InvalidatedNearCacheListener(NearCache<K, V> cache) {
+      private InvalidatedNearCacheListener(NearCacheService<K, V> cache) {
          this.cache = cache;
       }
 
@@ -166,7 +233,7 @@ public void handleRemovedEvent(ClientCacheEntryRemovedEvent<K> event) {
       @SuppressWarnings("unused")
       public void handleFailover(ClientCacheFailoverEvent e) {
          if (trace) log.trace("Clear near cache after fail-over of server");
-         cache.clear();
+         cache.failover();
       }
 
 
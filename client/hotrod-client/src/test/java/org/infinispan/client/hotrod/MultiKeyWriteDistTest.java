@@ -0,0 +1,119 @@
+package org.infinispan.client.hotrod;
+
+import static org.infinispan.client.hotrod.test.HotRodClientTestingUtil.killRemoteCacheManager;
+import static org.infinispan.client.hotrod.test.HotRodClientTestingUtil.killServers;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.hotRodCacheConfiguration;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.infinispan.client.hotrod.test.HotRodClientTestingUtil;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.server.hotrod.HotRodServer;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the removeAll and replaceAllWithVersion operations against a distributed cache, where the keys are split
+ * between several servers.
+ *
+ * @since 9.4
+ */
+@Test(testName = "client.hotrod.MultiKeyWriteDistTest", groups = "functional")
+public class MultiKeyWriteDistTest extends MultipleCacheManagersTest {
+
+   private static final int NUM_SERVERS = 3;
+   private static final int NUM_ENTRIES = 100;
+
+   private HotRodServer[] hotrodServers;
+   private RemoteCacheManager remoteCacheManager;
+   private RemoteCache<Integer, String> remoteCache;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      createCluster(hotRodCacheConfiguration(getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false)), NUM_SERVERS);
+
+      hotrodServers = new HotRodServer[NUM_SERVERS];
+      for (int i = 0; i < NUM_SERVERS; i++) {
+         hotrodServers[i] = HotRodClientTestingUtil.startHotRodServer(manager(i));
+      }
+
+      org.infinispan.client.hotrod.configuration.ConfigurationBuilder clientBuilder =
+            new org.infinispan.client.hotrod.configuration.ConfigurationBuilder();
+      clientBuilder.addServers(HotRodClientTestingUtil.getServersString(hotrodServers));
+      remoteCacheManager = new RemoteCacheManager(clientBuilder.build());
+      remoteCache = remoteCacheManager.getCache();
+   }
+
+   @AfterClass(alwaysRun = true)
+   public void release() {
+      killRemoteCacheManager(remoteCacheManager);
+      killServers(hotrodServers);
+   }
+
+   private Map<Integer, String> populate(String prefix) {
+      Map<Integer, String> entries = new HashMap<>();
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         entries.put(i, prefix + i);
+      }
+      remoteCache.putAll(entries);
+      return entries;
+   }
+
+   public void testRemoveAll() {
+      populate("v");
+      Set<Integer> removed = new HashSet<>();
+      for (int i = 0; i < NUM_ENTRIES; i += 2) {
+         removed.add(i);
+      }
+      remoteCache.removeAll(removed);
+
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         if (removed.contains(i)) {
+            assertNull(remoteCache.get(i));
+         } else {
+            assertEquals("v" + i, remoteCache.get(i));
+         }
+      }
+   }
+
+   public void testReplaceAllWithVersion() {
+      populate("v");
+      Map<Integer, String> newValues = new HashMap<>();
+      Map<Integer, Long> versions = new HashMap<>();
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+         newValues.put(i, "new" + i);
+         versions.put(i, remoteCache.getWithMetadata(i).getVersion());
+      }
+      // Modify one entry and remove another after their versions were read
+      remoteCache.put(1, "modified");
+      remoteCache.remove(2);
+
+      Set<Integer> notReplaced = remoteCache.replaceAllWithVersion(newValues, versions);
+
+      assertEquals(2, notReplaced.size());
+      assertTrue(notReplaced.contains(1));
+      assertTrue(notReplaced.contains(2));
+      assertEquals("modified", remoteCache.get(1));
+      assertNull(remoteCache.get(2));
+      for (int i = 3; i < NUM_ENTRIES; i++) {
+         assertEquals("new" + i, remoteCache.get(i));
+      }
+
+      // The versions of the replaced entries changed, so the same request replaces nothing
+      assertEquals(NUM_ENTRIES, remoteCache.replaceAllWithVersion(newValues, versions).size());
+   }
+
+   @Test(expectedExceptions = IllegalArgumentException.class)
+   public void testReplaceAllWithVersionMissingVersion() {
+      Map<Integer, String> newValues = new HashMap<>();
+      newValues.put(1, "v1");
+      remoteCache.replaceAllWithVersion(newValues, new HashMap<>());
+   }
+}
@@ -0,0 +1,61 @@
+package org.infinispan.client.hotrod;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.test.InternalRemoteCacheManager;
+import org.infinispan.client.hotrod.test.SingleHotRodServerTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the requests sent concurrently over a single connection complete when their flushes are coalesced.
+ *
+ * @since 9.4
+ */
+@Test(testName = "client.hotrod.WriteBatchingTest", groups = "functional")
+public class WriteBatchingTest extends SingleHotRodServerTest {
+   private static final int BATCH_SIZE = 16;
+   private static final int OPERATIONS = 500;
+
+   @Override
+   protected RemoteCacheManager getRemoteCacheManager() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      builder.connectionPool()
+            .maxActive(1)
+            .maxPendingRequests(OPERATIONS)
+            .writeBatchSize(BATCH_SIZE)
+            .writeBatchWindow(100);
+      return new InternalRemoteCacheManager(builder.build());
+   }
+
+   public void testConcurrentOperations() throws Exception {
+      RemoteCache<String, String> remoteCache = remoteCacheManager.getCache();
+      List<CompletableFuture<String>> puts = new ArrayList<>();
+      for (int i = 0; i < OPERATIONS; i++) {
+         puts.add(remoteCache.putAsync("k" + i, "v" + i));
+      }
+      CompletableFuture.allOf(puts.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+      List<CompletableFuture<String>> gets = new ArrayList<>();
+      for (int i = 0; i < OPERATIONS; i++) {
+         gets.add(remoteCache.getAsync("k" + i));
+      }
+      for (int i = 0; i < OPERATIONS; i++) {
+         assertEquals("v" + i, gets.get(i).get(10, TimeUnit.SECONDS));
+      }
+      assertEquals(OPERATIONS, cache.size());
+   }
+
+   public void testSingleOperationIsFlushedAfterWindow() {
+      RemoteCache<String, String> remoteCache = remoteCacheManager.getCache();
+      // Alone in its batch, the request is only flushed when the window elapses
+      remoteCache.put("single", "value");
+      assertEquals("value", remoteCache.get("single"));
+   }
+}
@@ -11,6 +11,8 @@
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MAX_WAIT;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_MIN_IDLE;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_WRITE_BATCH_SIZE;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECTION_POOL_WRITE_BATCH_WINDOW;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.CONNECT_TIMEOUT;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.HASH_FUNCTION_PREFIX;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.KEY_SIZE_ESTIMATE;
@@ -18,7 +20,10 @@
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.KEY_STORE_FILE_NAME;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.KEY_STORE_PASSWORD;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.MAX_RETRIES;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.NEAR_CACHE_BLOOM_FILTER;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.NEAR_CACHE_BLOOM_FILTER_REFRESH_INTERVAL;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.NEAR_CACHE_MAX_ENTRIES;
+import static org.infinispan.client.hotrod.impl.ConfigurationProperties.NEAR_CACHE_MAX_SIZE;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.NEAR_CACHE_MODE;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.NEAR_CACHE_NAME_PATTERN;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.PROTOCOL_VERSION;
@@ -95,6 +100,8 @@ public class ConfigurationTest {
       OPTIONS.put("minEvictableIdleTimeMillis", c -> c.connectionPool().minEvictableIdleTime());
       OPTIONS.put(CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME, c -> c.connectionPool().minEvictableIdleTime());
       OPTIONS.put(CONNECTION_POOL_MAX_PENDING_REQUESTS, c -> c.connectionPool().maxPendingRequests());
+      OPTIONS.put(CONNECTION_POOL_WRITE_BATCH_SIZE, c -> c.connectionPool().writeBatchSize());
+      OPTIONS.put(CONNECTION_POOL_WRITE_BATCH_WINDOW, c -> c.connectionPool().writeBatchWindow());
       OPTIONS.put("testOnBorrow", c -> c.connectionPool().testOnBorrow());
       OPTIONS.put("testOnReturn", c -> c.connectionPool().testOnReturn());
       OPTIONS.put("testWhileIdle", c -> c.connectionPool().testWhileIdle());
@@ -126,6 +133,9 @@ public class ConfigurationTest {
       OPTIONS.put(JAVA_SERIAL_WHITELIST, Configuration::serialWhitelist);
       OPTIONS.put(NEAR_CACHE_MODE, c -> c.nearCache().mode());
       OPTIONS.put(NEAR_CACHE_MAX_ENTRIES, c -> c.nearCache().maxEntries());
+      OPTIONS.put(NEAR_CACHE_MAX_SIZE, c -> c.nearCache().maxSize());
+      OPTIONS.put(NEAR_CACHE_BLOOM_FILTER, c -> c.nearCache().bloomFilter());
+      OPTIONS.put(NEAR_CACHE_BLOOM_FILTER_REFRESH_INTERVAL, c -> c.nearCache().bloomFilterRefreshInterval());
       OPTIONS.put(NEAR_CACHE_NAME_PATTERN, c -> c.nearCache().cacheNamePattern().pattern());
 
       TYPES.put(Boolean.class, b -> Boolean.toString((Boolean) b));
@@ -185,6 +195,8 @@ public void testConfiguration() {
             .minEvictableIdleTime(12000)
             .exhaustedAction(ExhaustedAction.WAIT)
             .maxPendingRequests(12)
+            .writeBatchSize(16)
+            .writeBatchWindow(50)
             .maxIdle(20)
             .maxTotal(150)
             .numTestsPerEvictionRun(5)
@@ -255,6 +267,8 @@ public void testWithProperties() {
       p.setProperty("timeBetweenEvictionRunsMillis", "15000");
       p.setProperty(CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME, "12000");
       p.setProperty(CONNECTION_POOL_MAX_PENDING_REQUESTS, "12");
+      p.setProperty(CONNECTION_POOL_WRITE_BATCH_SIZE, "16");
+      p.setProperty(CONNECTION_POOL_WRITE_BATCH_WINDOW, "50");
       p.setProperty("testOnBorrow", "true");
       p.setProperty("testOnReturn", "true");
       p.setProperty("testWhileIdle", "false");
@@ -441,6 +455,56 @@ public void testNegativeRetriesPerServer() {
       builder.build();
    }
 
+   @Test(expectedExceptions = CacheConfigurationException.class,
+         expectedExceptionsMessageRegExp = "ISPN(\\d)*: Invalid write batch size \\(value=0\\). " +
+               "Value should be greater or equal than one.")
+   public void testInvalidWriteBatchSize() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.connectionPool().writeBatchSize(0);
+      builder.build();
+   }
+
+   public void testNearCacheMaxSize() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.nearCache().mode(NearCacheMode.INVALIDATED).maxSize(1_000_000);
+      Configuration configuration = builder.build();
+      assertEqualsConfig(1_000_000L, NEAR_CACHE_MAX_SIZE, configuration);
+      assertEqualsConfig(-1, NEAR_CACHE_MAX_ENTRIES, configuration);
+
+      Configuration fromProperties = new ConfigurationBuilder().withProperties(configuration.properties()).build();
+      assertEqualsConfig(1_000_000L, NEAR_CACHE_MAX_SIZE, fromProperties);
+   }
+
+   public void testNearCacheBloomFilter() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.nearCache().mode(NearCacheMode.INVALIDATED).maxEntries(100).bloomFilter(true).bloomFilterRefreshInterval(500);
+      Configuration configuration = builder.build();
+      assertEqualsConfig(true, NEAR_CACHE_BLOOM_FILTER, configuration);
+      assertEqualsConfig(500L, NEAR_CACHE_BLOOM_FILTER_REFRESH_INTERVAL, configuration);
+
+      Configuration fromProperties = new ConfigurationBuilder().withProperties(configuration.properties()).build();
+      assertEqualsConfig(true, NEAR_CACHE_BLOOM_FILTER, fromProperties);
+      assertEqualsConfig(500L, NEAR_CACHE_BLOOM_FILTER_REFRESH_INTERVAL, fromProperties);
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class,
+         expectedExceptionsMessageRegExp = "ISPN(\\d)*: Invalid near cache Bloom filter refresh interval \\(value=0\\). " +
+               "Value should be greater than zero.")
+   public void testInvalidNearCacheBloomFilterRefreshInterval() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.nearCache().mode(NearCacheMode.INVALIDATED).maxEntries(100).bloomFilter(true).bloomFilterRefreshInterval(0);
+      builder.build();
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class,
+         expectedExceptionsMessageRegExp = "ISPN(\\d)*: The near cache can be bounded either by max entries \\(value=10\\) " +
+               "or by max size \\(value=1000\\), not both")
+   public void testNearCacheMaxEntriesAndMaxSize() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.nearCache().mode(NearCacheMode.INVALIDATED).maxEntries(10).maxSize(1000);
+      builder.build();
+   }
+
    @Test(expectedExceptions = CacheConfigurationException.class)
    public void testMissingClusterNameDefinition() {
       ConfigurationBuilder builder = new ConfigurationBuilder();
@@ -531,6 +595,8 @@ private void validateConfiguration(Configuration configuration) {
       assertEqualsConfig(12000L, "minEvictableIdleTimeMillis", configuration);
       assertEqualsConfig(12000L, CONNECTION_POOL_MIN_EVICTABLE_IDLE_TIME, configuration);
       assertEqualsConfig(12, CONNECTION_POOL_MAX_PENDING_REQUESTS, configuration);
+      assertEqualsConfig(16, CONNECTION_POOL_WRITE_BATCH_SIZE, configuration);
+      assertEqualsConfig(50L, CONNECTION_POOL_WRITE_BATCH_WINDOW, configuration);
       assertEqualsConfig(true, "testOnBorrow", configuration);
       assertEqualsConfig(true, "testOnReturn", configuration);
       assertEqualsConfig(false, "testWhileIdle", configuration);
@@ -1,5 +1,8 @@
 package org.infinispan.client.hotrod.near;
 
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.infinispan.client.hotrod.ClientStatistics;
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
 import org.infinispan.client.hotrod.configuration.NearCacheMode;
@@ -35,8 +38,10 @@ public void testEvictAfterReachingMax() {
       assertClient.get(2, "v1").expectNearGetNull(2).expectNearPutIfAbsent(2, "v1");
       assertClient.put(3, "v1").expectNearRemove(3);
       assertClient.get(3, "v1").expectNearGetNull(3).expectNearPutIfAbsent(3, "v1");
-      assertClient.get(2, "v1").expectNearGetValue(2, "v1");
+      // Entries are evicted by frequency, and keys 1 and 2 were used as often, so either of them may be evicted.
+      // The new entry is always kept.
       assertClient.get(3, "v1").expectNearGetValue(3, "v1");
+      assertEquals(1, assertClient.remote.clientStatistics().getLongStatistic(ClientStatistics.NEAR_CACHE_EVICTIONS));
    }
 
 
@@ -0,0 +1,103 @@
+package org.infinispan.client.hotrod.near;
+
+import static org.infinispan.client.hotrod.test.HotRodClientTestingUtil.killRemoteCacheManager;
+import static org.infinispan.test.TestingUtil.sleepThread;
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.configuration.NearCacheConfiguration;
+import org.infinispan.client.hotrod.configuration.NearCacheMode;
+import org.infinispan.client.hotrod.near.MockNearCacheService.MockEvent;
+import org.infinispan.client.hotrod.near.MockNearCacheService.MockRemoveEvent;
+import org.infinispan.client.hotrod.test.SingleHotRodServerTest;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the server only sends the invalidations of the keys in the Bloom filter of a near cache, and that the
+ * near cached keys are still invalidated.
+ *
+ * @since 9.4
+ */
+@Test(groups = "functional", testName = "client.hotrod.near.NearCacheBloomFilterTest")
+public class NearCacheBloomFilterTest extends SingleHotRodServerTest {
+
+   private final BlockingQueue<MockEvent> events = new LinkedBlockingQueue<>();
+   private RemoteCacheManager writerManager;
+
+   @Override
+   protected RemoteCacheManager getRemoteCacheManager() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      builder.nearCache().mode(NearCacheMode.INVALIDATED).maxEntries(-1).bloomFilter(true).bloomFilterRefreshInterval(50);
+      RemoteCacheManager manager = new RemoteCacheManager(builder.build()) {
+         @Override
+         protected <K, V> NearCacheService<K, V> createNearCacheService(NearCacheConfiguration cfg) {
+            return new MockNearCacheService<>(cfg, events, listenerNotifier);
+         }
+      };
+
+      ConfigurationBuilder writerBuilder = new ConfigurationBuilder();
+      writerBuilder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      writerManager = new RemoteCacheManager(writerBuilder.build());
+      return manager;
+   }
+
+   @AfterClass(alwaysRun = true)
+   public void release() {
+      killRemoteCacheManager(writerManager);
+   }
+
+   public void testInvalidationsOfOtherKeysAreNotSent() {
+      RemoteCache<String, String> near = remoteCacheManager.getCache();
+      RemoteCache<String, String> writer = writerManager.getCache();
+      writer.put("cached", "v0");
+      writer.put("other", "v0");
+
+      // Until the server uses the filter, the invalidation of the key that is not near cached arrives first
+      int[] version = {0};
+      eventually(() -> {
+         near.get("cached");
+         events.clear();
+         version[0]++;
+         writer.put("other", "v" + version[0]);
+         writer.put("cached", "v" + version[0]);
+         MockEvent event;
+         while ((event = events.poll(1, TimeUnit.SECONDS)) != null) {
+            if (event instanceof MockRemoveEvent) {
+               return "cached".equals(((MockRemoveEvent) event).key);
+            }
+         }
+         return false;
+      });
+   }
+
+   public void testNearCachedKeysAreInvalidated() {
+      RemoteCache<Integer, String> near = remoteCacheManager.getCache();
+      RemoteCache<Integer, String> writer = writerManager.getCache();
+      for (int i = 0; i < 200; i++) {
+         writer.put(i, "v" + i);
+      }
+      // Let some of the keys wait for the next filter, and cache the rest
+      for (int round = 0; round < 3; round++) {
+         for (int i = 0; i < 200; i++) {
+            assertEquals("v" + i, near.get(i));
+         }
+         sleepThread(100);
+      }
+
+      for (int i = 0; i < 200; i++) {
+         writer.put(i, "new" + i);
+      }
+      for (int i = 0; i < 200; i++) {
+         int key = i;
+         eventually(() -> ("new" + key).equals(near.get(key)));
+      }
+   }
+}
@@ -0,0 +1,55 @@
+package org.infinispan.client.hotrod.near;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.infinispan.client.hotrod.ClientStatistics;
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.configuration.NearCacheMode;
+import org.infinispan.client.hotrod.test.InternalRemoteCacheManager;
+import org.infinispan.client.hotrod.test.SingleHotRodServerTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the near cache bounded by size in bytes and the near cache statistics.
+ *
+ * @since 9.4
+ */
+@Test(groups = "functional", testName = "client.hotrod.near.NearCacheStatisticsTest")
+public class NearCacheStatisticsTest extends SingleHotRodServerTest {
+
+   @Override
+   protected RemoteCacheManager getRemoteCacheManager() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      builder.nearCache().mode(NearCacheMode.INVALIDATED).maxSize(4096);
+      return new InternalRemoteCacheManager(builder.build());
+   }
+
+   public void testHitsAndMisses() {
+      RemoteCache<String, String> remote = remoteCacheManager.getCache();
+      ClientStatistics before = remote.clientStatistics();
+      remote.put("k", "v");
+      assertEquals("v", remote.get("k"));
+      assertEquals("v", remote.get("k"));
+      assertEquals("v", remote.get("k"));
+
+      ClientStatistics after = remote.clientStatistics();
+      assertEquals(2, after.getLongStatistic(ClientStatistics.NEAR_CACHE_HITS) -
+            before.getLongStatistic(ClientStatistics.NEAR_CACHE_HITS));
+      assertEquals(1, after.getLongStatistic(ClientStatistics.NEAR_CACHE_MISSES) -
+            before.getLongStatistic(ClientStatistics.NEAR_CACHE_MISSES));
+   }
+
+   public void testEvictionBySize() {
+      RemoteCache<Integer, byte[]> remote = remoteCacheManager.getCache();
+      for (int i = 0; i < 20; i++) {
+         remote.put(i, new byte[1024]);
+         remote.get(i);
+      }
+      // Each entry weighs more than 1 KB, so a 4 KB near cache can't hold all of them
+      assertTrue(remote.clientStatistics().getLongStatistic(ClientStatistics.NEAR_CACHE_EVICTIONS) > 0);
+   }
+}
@@ -0,0 +1,116 @@
+package org.infinispan.client.hotrod.profiling;
+
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.hotRodCacheConfiguration;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.test.HotRodClientTestingUtil;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.server.hotrod.HotRodServer;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Measures the throughput of small gets and puts issued by many threads, for several connection pool sizes, with every
+ * request flushed on its own or with the flushes of the concurrent requests coalesced.
+ *
+ * @since 9.4
+ */
+@Test(groups = "profiling", testName = "client.hotrod.profiling.WriteBatchingBenchmark")
+public class WriteBatchingBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 5;
+   private static final int THREADS = 32;
+
+   public void performWriteBatchingTest() throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(this.getClass().getName() + ".*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.SECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .threads(THREADS)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @State(Scope.Benchmark)
+   public static class BenchmarkState {
+      private static final int KEYS = 1000;
+
+      @Param({"1", "2", "4", "8", "32"})
+      public int poolSize;
+
+      /**
+       * Every request flushed on its own versus coalesced flushes
+       */
+      @Param({"1", "64"})
+      public int writeBatchSize;
+
+      private EmbeddedCacheManager cacheManager;
+      private HotRodServer server;
+      private RemoteCacheManager remoteCacheManager;
+      private RemoteCache<String, byte[]> remoteCache;
+      private String[] keys;
+
+      @Setup
+      public void setup() {
+         cacheManager = TestCacheManagerFactory.createCacheManager(hotRodCacheConfiguration());
+         server = HotRodClientTestingUtil.startHotRodServer(cacheManager);
+         ConfigurationBuilder builder = new ConfigurationBuilder();
+         builder.addServer().host(server.getHost()).port(server.getPort());
+         builder.connectionPool()
+               .maxActive(poolSize)
+               .maxPendingRequests(THREADS)
+               .writeBatchSize(writeBatchSize);
+         remoteCacheManager = new RemoteCacheManager(builder.build());
+         remoteCache = remoteCacheManager.getCache();
+
+         keys = new String[KEYS];
+         for (int i = 0; i < KEYS; ++i) {
+            keys[i] = "key" + i;
+            remoteCache.put(keys[i], new byte[64]);
+         }
+      }
+
+      @TearDown
+      public void tearDown() {
+         HotRodClientTestingUtil.killRemoteCacheManager(remoteCacheManager);
+         HotRodClientTestingUtil.killServers(server);
+         cacheManager.stop();
+      }
+
+      String randomKey() {
+         return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+      }
+   }
+
+   @Benchmark
+   public Object get(BenchmarkState state) {
+      return state.remoteCache.get(state.randomKey());
+   }
+
+   @Benchmark
+   public Object put(BenchmarkState state) {
+      return state.remoteCache.put(state.randomKey(), new byte[64]);
+   }
+}
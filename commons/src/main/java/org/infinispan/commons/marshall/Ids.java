@@ -201,6 +201,8 @@ public interface Ids {
    int STATS_ENVELOPE = 137;
    int BIAS_REVOCATION_RESPONSE = 138;
 
+   int COMPRESSED_BYTE_ARRAY = 139;
+
    int COUNTER_CONFIGURATION = 2000; //from counter
    int COUNTER_STATE = 2001; //from counter
 }
@@ -0,0 +1,143 @@
+package org.infinispan.commons.util;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.infinispan.commons.hash.MurmurHash3;
+
+/**
+ * A thread-safe Bloom filter of a fixed size, sized for a 1% false positive probability at its capacity.
+ * <p>
+ * Keys can only be added, never removed. Adding more keys than the capacity is allowed, but increases the false
+ * positive probability.
+ * <p>
+ * The filter can be converted to bytes with {@link #toByteArray()} and back with {@link #fromByteArray(byte[])}, so a
+ * filter of marshalled keys built on one JVM answers the same on another.
+ *
+ * @since 9.4
+ */
+public class BloomFilter {
+   // -ln(0.01) / ln(2)^2 bits and ln(2) * bitsPerKey hash functions for a 1% false positive probability
+   private static final double BITS_PER_KEY = 9.6;
+   private static final int HASH_FUNCTIONS = 7;
+
+   private final MurmurHash3 hash = MurmurHash3.getInstance();
+   private final AtomicLongArray words;
+   private final long bits;
+   private final int capacity;
+   private final AtomicInteger size = new AtomicInteger();
+
+   public BloomFilter(int capacity) {
+      this(capacity, new AtomicLongArray((int) Math.max(1, Math.ceil(capacity * BITS_PER_KEY / Long.SIZE))));
+   }
+
+   private BloomFilter(int capacity, AtomicLongArray words) {
+      this.capacity = capacity;
+      this.words = words;
+      this.bits = (long) words.length() * Long.SIZE;
+   }
+
+   /**
+    * Reads a filter written by {@link #toByteArray()}.
+    *
+    * @throws IllegalArgumentException if the bytes are not a filter
+    */
+   public static BloomFilter fromByteArray(byte[] bytes) {
+      int wordBytes = bytes.length - 2 * Integer.BYTES;
+      if (wordBytes < Long.BYTES || wordBytes % Long.BYTES != 0) {
+         throw new IllegalArgumentException("Invalid Bloom filter of " + bytes.length + " bytes");
+      }
+      ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      int capacity = buffer.getInt();
+      int size = buffer.getInt();
+      long[] words = new long[wordBytes / Long.BYTES];
+      for (int i = 0; i < words.length; i++) {
+         words[i] = buffer.getLong();
+      }
+      BloomFilter filter = new BloomFilter(capacity, new AtomicLongArray(words));
+      filter.size.set(size);
+      return filter;
+   }
+
+   /**
+    * @return the capacity, the approximate number of keys and the bits of the filter
+    */
+   public byte[] toByteArray() {
+      ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES + words.length() * Long.BYTES);
+      buffer.putInt(capacity);
+      buffer.putInt(size.get());
+      for (int i = 0; i < words.length(); i++) {
+         buffer.putLong(words.get(i));
+      }
+      return buffer.array();
+   }
+
+   /**
+    * @return {@code true} if the key was not in the filter before
+    */
+   public boolean add(Object key) {
+      long h = mix(hash.hash(key));
+      int h1 = (int) h;
+      int h2 = (int) (h >>> 32);
+      boolean added = false;
+      for (int i = 1; i <= HASH_FUNCTIONS; i++) {
+         long bit = Math.floorMod(h1 + (long) i * h2, bits);
+         int word = (int) (bit >>> 6);
+         long mask = 1L << bit;
+         long current;
+         while (((current = words.get(word)) & mask) == 0) {
+            if (words.compareAndSet(word, current, current | mask)) {
+               added = true;
+               break;
+            }
+         }
+      }
+      if (added) {
+         size.incrementAndGet();
+      }
+      return added;
+   }
+
+   public boolean mightContain(Object key) {
+      long h = mix(hash.hash(key));
+      int h1 = (int) h;
+      int h2 = (int) (h >>> 32);
+      for (int i = 1; i <= HASH_FUNCTIONS; i++) {
+         long bit = Math.floorMod(h1 + (long) i * h2, bits);
+         if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * @return whether the filter holds more keys than it was sized for
+    */
+   public boolean isSaturated() {
+      return size.get() > capacity;
+   }
+
+   /**
+    * @return the approximate number of distinct keys in the filter
+    */
+   public int size() {
+      return size.get();
+   }
+
+   public long memory() {
+      return bits / Byte.SIZE;
+   }
+
+   private static long mix(int hash) {
+      // The 64-bit finalizer of MurmurHash3, to derive two independent hashes from a 32-bit hash
+      long h = hash;
+      h ^= h >>> 33;
+      h *= 0xff51afd7ed558ccdL;
+      h ^= h >>> 33;
+      h *= 0xc4ceb9fe1a85ec53L;
+      h ^= h >>> 33;
+      return h;
+   }
+}
@@ -0,0 +1,65 @@
+package org.infinispan.commons.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * @since 9.4
+ */
+public class BloomFilterTest {
+
+   @Test
+   public void testAddedKeysAreContained() {
+      BloomFilter filter = new BloomFilter(1000);
+      for (int i = 0; i < 1000; i++) {
+         filter.add(key(i));
+      }
+      for (int i = 0; i < 1000; i++) {
+         assertTrue(filter.mightContain(key(i)));
+         assertFalse(filter.add(key(i)));
+      }
+      assertFalse(filter.isSaturated());
+   }
+
+   @Test
+   public void testFalsePositiveRate() {
+      BloomFilter filter = new BloomFilter(10_000);
+      for (int i = 0; i < 10_000; i++) {
+         filter.add(key(i));
+      }
+      int falsePositives = 0;
+      for (int i = 10_000; i < 20_000; i++) {
+         if (filter.mightContain(key(i))) {
+            falsePositives++;
+         }
+      }
+      // Sized for 1%, allow for some variance
+      assertTrue("False positives: " + falsePositives, falsePositives < 200);
+   }
+
+   @Test
+   public void testByteArrayRoundTrip() {
+      BloomFilter filter = new BloomFilter(100);
+      for (int i = 0; i < 100; i++) {
+         filter.add(key(i));
+      }
+      BloomFilter copy = BloomFilter.fromByteArray(filter.toByteArray());
+      assertEquals(filter.size(), copy.size());
+      assertEquals(filter.memory(), copy.memory());
+      for (int i = 0; i < 1000; i++) {
+         assertEquals(filter.mightContain(key(i)), copy.mightContain(key(i)));
+      }
+   }
+
+   @Test(expected = IllegalArgumentException.class)
+   public void testInvalidByteArray() {
+      BloomFilter.fromByteArray(new byte[10]);
+   }
+
+   private static byte[] key(int i) {
+      return ("key" + i).getBytes();
+   }
+}
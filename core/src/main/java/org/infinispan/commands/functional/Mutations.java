@@ -11,6 +11,7 @@
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.encoding.DataConversion;
+import org.infinispan.encoding.ValueCompressor;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.functional.EntryView;
 import org.infinispan.manager.EmbeddedCacheManager;
@@ -90,8 +91,9 @@ public void inject(ComponentRegistry registry) {
          EncoderRegistry encoderRegistry = registry.getComponent(EncoderRegistry.class);
          Configuration configuration = registry.getComponent(Configuration.class);
          EmbeddedCacheManager cacheManager = registry.getComponent(EmbeddedCacheManager.class);
-         keyDataConversion.injectDependencies(globalConfiguration, encoderRegistry, configuration, cacheManager);
-         valueDataConversion.injectDependencies(globalConfiguration, encoderRegistry, configuration, cacheManager);
+         ValueCompressor compressor = registry.getComponent(ValueCompressor.class);
+         keyDataConversion.injectDependencies(globalConfiguration, encoderRegistry, configuration, cacheManager, compressor);
+         valueDataConversion.injectDependencies(globalConfiguration, encoderRegistry, configuration, cacheManager, compressor);
       }
    }
 
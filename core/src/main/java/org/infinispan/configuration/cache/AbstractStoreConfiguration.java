@@ -16,12 +16,13 @@ public class AbstractStoreConfiguration implements StoreConfiguration {
    public static final AttributeDefinition<Boolean> TRANSACTIONAL = AttributeDefinition.builder("transactional", false).immutable().build();
    public static final AttributeDefinition<Integer> MAX_BATCH_SIZE = AttributeDefinition.builder("maxBatchSize", 100).immutable().build();
    public static final AttributeDefinition<Boolean> SEGMENTED = AttributeDefinition.builder("segmented", false).immutable().build();
+   public static final AttributeDefinition<Boolean> BLOOM_FILTER = AttributeDefinition.builder("bloomFilter", false).xmlName("bloom-filter").immutable().build();
    public static final AttributeDefinition<TypedProperties> PROPERTIES = AttributeDefinition.builder("properties", null, TypedProperties.class)
          .initializer(() -> new TypedProperties()).autoPersist(false).immutable().build();
 
    public static AttributeSet attributeDefinitionSet() {
       return new AttributeSet(AbstractStoreConfiguration.class, FETCH_PERSISTENT_STATE, PURGE_ON_STARTUP,
-            IGNORE_MODIFICATIONS, PRELOAD, SHARED, TRANSACTIONAL, MAX_BATCH_SIZE, SEGMENTED, PROPERTIES);
+            IGNORE_MODIFICATIONS, PRELOAD, SHARED, TRANSACTIONAL, MAX_BATCH_SIZE, SEGMENTED, BLOOM_FILTER, PROPERTIES);
    }
 
    private final Attribute<Boolean> fetchPersistentState;
@@ -32,6 +33,7 @@ public static AttributeSet attributeDefinitionSet() {
    private final Attribute<Boolean> transactional;
    private final Attribute<Integer> maxBatchSize;
    private final Attribute<Boolean> segmented;
+   private final Attribute<Boolean> bloomFilter;
    private final Attribute<TypedProperties> properties;
 
    protected final AttributeSet attributes;
@@ -52,6 +54,7 @@ public AbstractStoreConfiguration(boolean purgeOnStartup, boolean fetchPersisten
       attributes.attribute(SHARED).set(shared);
       attributes.attribute(TRANSACTIONAL).set(false);
       attributes.attribute(SEGMENTED).set(false);
+      attributes.attribute(BLOOM_FILTER).set(false);
       attributes.attribute(PROPERTIES).set(TypedProperties.toTypedProperties(properties));
 
       this.async = async;
@@ -64,6 +67,7 @@ public AbstractStoreConfiguration(boolean purgeOnStartup, boolean fetchPersisten
       this.transactional = attributes.attribute(TRANSACTIONAL);
       this.maxBatchSize = attributes.attribute(MAX_BATCH_SIZE);
       this.segmented = attributes.attribute(SEGMENTED);
+      this.bloomFilter = attributes.attribute(BLOOM_FILTER);
       this.properties = attributes.attribute(PROPERTIES);
    }
 
@@ -80,6 +84,7 @@ public AbstractStoreConfiguration(AttributeSet attributes, AsyncStoreConfigurati
       this.transactional = attributes.attribute(TRANSACTIONAL);
       this.maxBatchSize = attributes.attribute(MAX_BATCH_SIZE);
       this.segmented = attributes.attribute(SEGMENTED);
+      this.bloomFilter = attributes.attribute(BLOOM_FILTER);
       this.properties = attributes.attribute(PROPERTIES);
    }
 
@@ -131,6 +136,11 @@ public boolean segmented() {
       return segmented.get();
    }
 
+   @Override
+   public boolean bloomFilter() {
+      return bloomFilter.get();
+   }
+
    /**
     * If true, fetch persistent state when joining a cluster. If multiple cache stores are chained,
     * only one of them can have this property enabled. Persistent state transfer with a shared cache
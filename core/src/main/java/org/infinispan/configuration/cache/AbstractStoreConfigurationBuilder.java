@@ -1,5 +1,6 @@
 package org.infinispan.configuration.cache;
 
+import static org.infinispan.configuration.cache.AbstractStoreConfiguration.BLOOM_FILTER;
 import static org.infinispan.configuration.cache.AbstractStoreConfiguration.FETCH_PERSISTENT_STATE;
 import static org.infinispan.configuration.cache.AbstractStoreConfiguration.IGNORE_MODIFICATIONS;
 import static org.infinispan.configuration.cache.AbstractStoreConfiguration.MAX_BATCH_SIZE;
@@ -195,6 +196,12 @@ public S segmented(boolean b) {
       return self();
    }
 
+   @Override
+   public S bloomFilter(boolean b) {
+      attributes.attribute(BLOOM_FILTER).set(b);
+      return self();
+   }
+
    @Override
    public void validate() {
       validate(false);
@@ -234,6 +241,9 @@ private void validateStoreAttributes() {
 
       if (transactional && builder.persistence().passivation())
          throw log.transactionalStoreInPassivatedCache();
+
+      if (attributes.attribute(BLOOM_FILTER).get() && (shared || transactional))
+         throw log.bloomFilterOnSharedOrTransactionalStore();
    }
 
    private void validateStoreWithAnnotations() {
@@ -65,6 +65,11 @@ public S segmented(boolean b) {
       return (S)builder.segmented(b);
    }
 
+   @Override
+   public S bloomFilter(boolean b) {
+      return (S)builder.bloomFilter(b);
+   }
+
    @Override
    public S addProperty(String key, String value) {
       return (S)builder.addProperty(key, value);
@@ -16,15 +16,17 @@ public class AsyncStoreConfiguration {
    public static final AttributeDefinition<Integer> MODIFICATION_QUEUE_SIZE  = AttributeDefinition.builder("modificationQueueSize", 1024).immutable().build();
    public static final AttributeDefinition<Integer> THREAD_POOL_SIZE = AttributeDefinition.builder("threadPoolSize", 1).immutable().build();
    public static final AttributeDefinition<Boolean> FAIL_SILENTLY = AttributeDefinition.builder("failSilently", false).immutable().build();
+   public static final AttributeDefinition<Integer> SHARDS = AttributeDefinition.builder("shards", 0).immutable().build();
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(AsyncStoreConfiguration.class, ENABLED, MODIFICATION_QUEUE_SIZE, THREAD_POOL_SIZE, FAIL_SILENTLY);
+      return new AttributeSet(AsyncStoreConfiguration.class, ENABLED, MODIFICATION_QUEUE_SIZE, THREAD_POOL_SIZE, FAIL_SILENTLY, SHARDS);
    }
 
    private final Attribute<Boolean> enabled;
    private final Attribute<Integer> modificationQueueSize;
    private final Attribute<Integer> threadPoolSize;
    private final Attribute<Boolean> failSilently;
+   private final Attribute<Integer> shards;
 
    private final AttributeSet attributes;
 
@@ -34,6 +36,7 @@ static AttributeSet attributeDefinitionSet() {
       this.modificationQueueSize = attributes.attribute(MODIFICATION_QUEUE_SIZE);
       this.threadPoolSize = attributes.attribute(THREAD_POOL_SIZE);
       this.failSilently = attributes.attribute(FAIL_SILENTLY);
+      this.shards = attributes.attribute(SHARDS);
    }
 
    /**
@@ -96,6 +99,15 @@ public boolean failSilently() {
       return failSilently.get();
    }
 
+   /**
+    * Number of shards of the modification queue. When greater than 0, the modifications are buffered by a
+    * {@link org.infinispan.persistence.async.ShardedAsyncCacheWriter}, otherwise by the single queue of the
+    * {@link org.infinispan.persistence.async.AsyncCacheWriter}.
+    */
+   public int shards() {
+      return shards.get();
+   }
+
    public AttributeSet attributes() {
       return attributes;
    }
@@ -3,6 +3,7 @@
 import static org.infinispan.configuration.cache.AsyncStoreConfiguration.ENABLED;
 import static org.infinispan.configuration.cache.AsyncStoreConfiguration.FAIL_SILENTLY;
 import static org.infinispan.configuration.cache.AsyncStoreConfiguration.MODIFICATION_QUEUE_SIZE;
+import static org.infinispan.configuration.cache.AsyncStoreConfiguration.SHARDS;
 import static org.infinispan.configuration.cache.AsyncStoreConfiguration.THREAD_POOL_SIZE;
 
 import java.util.concurrent.TimeUnit;
@@ -10,6 +11,8 @@
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.attributes.AttributeSet;
 import org.infinispan.configuration.global.GlobalConfiguration;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
 
 /**
  * Configuration for the async cache store. If enabled, this provides you with asynchronous writes
@@ -19,6 +22,7 @@
  *
  */
 public class AsyncStoreConfigurationBuilder<S> extends AbstractStoreConfigurationChildBuilder<S> implements Builder<AsyncStoreConfiguration> {
+   private static final Log log = LogFactory.getLog(AsyncStoreConfigurationBuilder.class);
    private final AttributeSet attributes;
 
    AsyncStoreConfigurationBuilder(AbstractStoreConfigurationBuilder<? extends AbstractStoreConfiguration, ?> builder) {
@@ -109,9 +113,23 @@ public AsyncStoreConfigurationBuilder<S> failSilently(boolean failSilently) {
       return this;
    }
 
+   /**
+    * Number of shards of the modification queue. When greater than 0, each shard coalesces the modifications of its
+    * keys and is flushed independently by the threads of the pool, so concurrent writers do not contend on a single
+    * queue. Defaults to 0, which buffers all the modifications in a single queue.
+    */
+   public AsyncStoreConfigurationBuilder<S> shards(int shards) {
+      attributes.attribute(SHARDS).set(shards);
+      return this;
+   }
+
    @Override
    public
    void validate() {
+      int shards = attributes.attribute(SHARDS).get();
+      if (shards < 0) {
+         throw log.invalidWriteBehindShards(shards);
+      }
    }
 
    @Override
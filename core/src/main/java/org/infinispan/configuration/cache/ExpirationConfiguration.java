@@ -15,15 +15,17 @@ public class ExpirationConfiguration implements Matchable<ExpirationConfiguratio
    public static final AttributeDefinition<Long> MAX_IDLE = AttributeDefinition.builder("maxIdle", -1l).build();
    public static final AttributeDefinition<Boolean> REAPER_ENABLED = AttributeDefinition.builder("reaperEnabled", true).immutable().autoPersist(false).build();
    public static final AttributeDefinition<Long> WAKEUP_INTERVAL = AttributeDefinition.builder("wakeUpInterval", TimeUnit.MINUTES.toMillis(1)).xmlName("interval").build();
+   public static final AttributeDefinition<Boolean> INDEX = AttributeDefinition.builder("index", false).immutable().build();
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(ExpirationConfiguration.class, LIFESPAN, MAX_IDLE, REAPER_ENABLED, WAKEUP_INTERVAL);
+      return new AttributeSet(ExpirationConfiguration.class, LIFESPAN, MAX_IDLE, REAPER_ENABLED, WAKEUP_INTERVAL, INDEX);
    }
 
    private final Attribute<Long> lifespan;
    private final Attribute<Long> maxIdle;
    private final Attribute<Boolean> reaperEnabled;
    private final Attribute<Long> wakeUpInterval;
+   private final Attribute<Boolean> index;
    private final AttributeSet attributes;
 
    ExpirationConfiguration(AttributeSet attributes) {
@@ -32,6 +34,7 @@ static AttributeSet attributeDefinitionSet() {
       maxIdle = attributes.attribute(MAX_IDLE);
       reaperEnabled = attributes.attribute(REAPER_ENABLED);
       wakeUpInterval = attributes.attribute(WAKEUP_INTERVAL);
+      index = attributes.attribute(INDEX);
    }
 
    /**
@@ -72,6 +75,14 @@ public long wakeUpInterval() {
       return wakeUpInterval.get();
    }
 
+   /**
+    * Determines whether the data container keeps track of when entries expire, so that the reaper only has to
+    * look at the entries that are due instead of iterating over the entire container.
+    */
+   public boolean indexEnabled() {
+      return index.get();
+   }
+
    @Override
    public String toString() {
       return "ExpirationConfiguration [attributes=" + attributes + "]";
@@ -1,5 +1,6 @@
 package org.infinispan.configuration.cache;
 
+import static org.infinispan.configuration.cache.ExpirationConfiguration.INDEX;
 import static org.infinispan.configuration.cache.ExpirationConfiguration.LIFESPAN;
 import static org.infinispan.configuration.cache.ExpirationConfiguration.MAX_IDLE;
 import static org.infinispan.configuration.cache.ExpirationConfiguration.REAPER_ENABLED;
@@ -123,6 +124,38 @@ public ExpirationConfigurationBuilder wakeUpInterval(long l, TimeUnit unit) {
       return wakeUpInterval(unit.toMillis(l));
    }
 
+   /**
+    * Keep track of when entries expire, so that the background reaper only has to look at the entries that are due
+    * instead of iterating over the entire data container. This uses some additional memory for every entry that can
+    * expire and is only useful if the reaper is enabled.
+    */
+   public ExpirationConfigurationBuilder enableIndex() {
+      attributes.attribute(INDEX).set(true);
+      return this;
+   }
+
+   /**
+    * Keep track of when entries expire, so that the background reaper only has to look at the entries that are due
+    * instead of iterating over the entire data container. This uses some additional memory for every entry that can
+    * expire and is only useful if the reaper is enabled.
+    */
+   public ExpirationConfigurationBuilder index(boolean enabled) {
+      attributes.attribute(INDEX).set(enabled);
+      return this;
+   }
+
+   /**
+    * The background reaper iterates over the entire data container to find the expired entries.
+    */
+   public ExpirationConfigurationBuilder disableIndex() {
+      attributes.attribute(INDEX).set(false);
+      return this;
+   }
+
+   public boolean indexEnabled() {
+      return attributes.attribute(INDEX).get();
+   }
+
    @Override
    public void validate() {
    }
@@ -21,10 +21,17 @@ public class MemoryConfiguration implements Matchable<MemoryConfiguration> {
    public static final AttributeDefinition<Long> SIZE  = AttributeDefinition.builder("size", -1L).build();
    public static final AttributeDefinition<EvictionType> EVICTION_TYPE  = AttributeDefinition.builder("type", EvictionType.COUNT).build();
    public static final AttributeDefinition<EvictionStrategy> EVICTION_STRATEGY = AttributeDefinition.builder("strategy", EvictionStrategy.NONE).build();
+   public static final AttributeDefinition<OffHeapAllocatorType> ALLOCATOR = AttributeDefinition.builder("allocator", OffHeapAllocatorType.UNPOOLED).immutable().build();
+   public static final AttributeDefinition<Integer> SLAB_SIZE = AttributeDefinition.builder("slab-size", 1_048_576).immutable().build();
+   public static final AttributeDefinition<OffHeapEvictionPolicy> EVICTION_POLICY = AttributeDefinition.builder("eviction-policy", OffHeapEvictionPolicy.LRU).immutable().build();
+   public static final AttributeDefinition<Long> OFF_HEAP_TIER_SIZE = AttributeDefinition.builder("off-heap-tier-size", -1L).immutable().build();
+   public static final AttributeDefinition<Integer> COMPRESSION_THRESHOLD = AttributeDefinition.builder("compression-threshold", -1).immutable().build();
+   public static final AttributeDefinition<String> COMPRESSION_DICTIONARY = AttributeDefinition.builder("compression-dictionary", null, String.class).immutable().build();
 
    static public AttributeSet attributeDefinitionSet() {
       return new AttributeSet(MemoryConfiguration.class, AbstractTypedPropertiesConfiguration.attributeSet(),
-            STORAGE_TYPE, SIZE, EVICTION_TYPE, EVICTION_STRATEGY, ADDRESS_COUNT);
+            STORAGE_TYPE, SIZE, EVICTION_TYPE, EVICTION_STRATEGY, ADDRESS_COUNT, ALLOCATOR, SLAB_SIZE, EVICTION_POLICY,
+            OFF_HEAP_TIER_SIZE, COMPRESSION_THRESHOLD, COMPRESSION_DICTIONARY);
    }
 
    private final Attribute<Long> size;
@@ -32,6 +39,12 @@ static public AttributeSet attributeDefinitionSet() {
    private final Attribute<EvictionStrategy> evictionStrategy;
    private final Attribute<StorageType> storageType;
    private final Attribute<Integer> addressCount;
+   private final Attribute<OffHeapAllocatorType> allocator;
+   private final Attribute<Integer> slabSize;
+   private final Attribute<OffHeapEvictionPolicy> evictionPolicy;
+   private final Attribute<Long> offHeapTierSize;
+   private final Attribute<Integer> compressionThreshold;
+   private final Attribute<String> compressionDictionary;
    private final AttributeSet attributes;
 
    MemoryConfiguration(AttributeSet attributes) {
@@ -41,6 +54,12 @@ static public AttributeSet attributeDefinitionSet() {
       evictionType = attributes.attribute(EVICTION_TYPE);
       evictionStrategy = attributes.attribute(EVICTION_STRATEGY);
       addressCount = attributes.attribute(ADDRESS_COUNT);
+      allocator = attributes.attribute(ALLOCATOR);
+      slabSize = attributes.attribute(SLAB_SIZE);
+      evictionPolicy = attributes.attribute(EVICTION_POLICY);
+      offHeapTierSize = attributes.attribute(OFF_HEAP_TIER_SIZE);
+      compressionThreshold = attributes.attribute(COMPRESSION_THRESHOLD);
+      compressionDictionary = attributes.attribute(COMPRESSION_DICTIONARY);
    }
 
    /**
@@ -95,6 +114,70 @@ public int addressCount() {
       return addressCount.get();
    }
 
+   /**
+    * The allocator used to obtain native memory for off-heap entries
+    * @return
+    */
+   public OffHeapAllocatorType allocator() {
+      return allocator.get();
+   }
+
+   /**
+    * The size in bytes of each slab reserved by the {@link OffHeapAllocatorType#SLAB} allocator
+    * @return
+    */
+   public int slabSize() {
+      return slabSize.get();
+   }
+
+   /**
+    * The policy used to choose which entries to evict when off-heap eviction is enabled
+    * @return
+    */
+   public OffHeapEvictionPolicy evictionPolicy() {
+      return evictionPolicy.get();
+   }
+
+   /**
+    * The size in bytes of the off-heap tier that entries evicted from the heap are moved to, -1 if disabled
+    * @return
+    */
+   public long offHeapTierSize() {
+      return offHeapTierSize.get();
+   }
+
+   /**
+    * Returns whether entries evicted from the heap are moved to an off-heap tier before being passivated
+    * @return
+    */
+   public boolean isTiered() {
+      return offHeapTierSize.get() > 0;
+   }
+
+   /**
+    * The size in bytes from which values are stored compressed, -1 if disabled
+    * @return
+    */
+   public int compressionThreshold() {
+      return compressionThreshold.get();
+   }
+
+   /**
+    * The path of the file holding the preset dictionary used to compress values, or null if there is none
+    * @return
+    */
+   public String compressionDictionary() {
+      return compressionDictionary.get();
+   }
+
+   /**
+    * Returns whether values are stored compressed
+    * @return
+    */
+   public boolean isCompressionEnabled() {
+      return compressionThreshold.get() >= 0;
+   }
+
    public AttributeSet attributes() {
       return attributes;
    }
@@ -1,9 +1,15 @@
 package org.infinispan.configuration.cache;
 
 import static org.infinispan.configuration.cache.MemoryConfiguration.ADDRESS_COUNT;
+import static org.infinispan.configuration.cache.MemoryConfiguration.ALLOCATOR;
+import static org.infinispan.configuration.cache.MemoryConfiguration.COMPRESSION_DICTIONARY;
+import static org.infinispan.configuration.cache.MemoryConfiguration.COMPRESSION_THRESHOLD;
+import static org.infinispan.configuration.cache.MemoryConfiguration.EVICTION_POLICY;
 import static org.infinispan.configuration.cache.MemoryConfiguration.EVICTION_STRATEGY;
 import static org.infinispan.configuration.cache.MemoryConfiguration.EVICTION_TYPE;
+import static org.infinispan.configuration.cache.MemoryConfiguration.OFF_HEAP_TIER_SIZE;
 import static org.infinispan.configuration.cache.MemoryConfiguration.SIZE;
+import static org.infinispan.configuration.cache.MemoryConfiguration.SLAB_SIZE;
 import static org.infinispan.configuration.cache.MemoryConfiguration.STORAGE_TYPE;
 
 import org.infinispan.commons.configuration.Builder;
@@ -11,6 +17,7 @@
 import org.infinispan.commons.logging.LogFactory;
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.container.offheap.OffHeapDataContainer;
+import org.infinispan.container.offheap.SlabOffHeapMemoryAllocator;
 import org.infinispan.container.offheap.UnpooledOffHeapMemoryAllocator;
 import org.infinispan.eviction.EvictionStrategy;
 import org.infinispan.eviction.EvictionType;
@@ -128,7 +135,9 @@ public EvictionStrategy evictionStrategy() {
     * Configuration setting when using off-heap that defines how many address pointers there are.
     * This number will be rounded up to the next power of two.  This helps performance in that the
     * more address pointers there are the less collisions there will be which improve performance of
-    * both read and write operations. This is only used when OFF_HEAP storage type is configured
+    * both read and write operations. This is only the initial amount, as the address pointers are split between the
+    * lock stripes of the container and the pointers of a stripe are doubled whenever it holds more entries than
+    * pointers. This is only used when OFF_HEAP storage type is configured
     * {@link MemoryConfigurationBuilder#storageType(StorageType)}.
     * @param addressCount
     * @return this
@@ -147,6 +156,135 @@ public int addressCount() {
       return attributes.attribute(ADDRESS_COUNT).get();
    }
 
+   /**
+    * Configuration setting when using off-heap that defines how native memory is obtained for entries. The default
+    * {@link OffHeapAllocatorType#UNPOOLED} allocates and frees every entry directly, whereas
+    * {@link OffHeapAllocatorType#SLAB} carves entries out of larger slabs and reuses freed memory for new entries of a
+    * similar size. This is only used when OFF_HEAP storage type is configured
+    * {@link MemoryConfigurationBuilder#storageType(StorageType)}.
+    * @param allocator the allocator type to use
+    * @return this
+    */
+   public MemoryConfigurationBuilder allocator(OffHeapAllocatorType allocator) {
+      attributes.attribute(ALLOCATOR).set(allocator);
+      return this;
+   }
+
+   /**
+    * The configured off-heap allocator, please see {@link MemoryConfigurationBuilder#allocator(OffHeapAllocatorType)}.
+    * @return the configured allocator type
+    */
+   public OffHeapAllocatorType allocator() {
+      return attributes.attribute(ALLOCATOR).get();
+   }
+
+   /**
+    * Configuration setting when using the {@link OffHeapAllocatorType#SLAB} allocator that defines how many bytes are
+    * reserved from the operating system at a time. Entries larger than an eighth of the slab size are not pooled and
+    * are allocated directly instead.
+    * @param slabSize the size of each slab in bytes
+    * @return this
+    */
+   public MemoryConfigurationBuilder slabSize(int slabSize) {
+      attributes.attribute(SLAB_SIZE).set(slabSize);
+      return this;
+   }
+
+   /**
+    * How many bytes each slab uses, please see {@link MemoryConfigurationBuilder#slabSize(int)}.
+    * @return the configured slab size
+    */
+   public int slabSize() {
+      return attributes.attribute(SLAB_SIZE).get();
+   }
+
+   /**
+    * Configuration setting when using off-heap with eviction that defines how the entries to evict are chosen. The
+    * default {@link OffHeapEvictionPolicy#LRU} evicts the least recently used entry, but has to take a lock shared by
+    * all threads on every read. {@link OffHeapEvictionPolicy#CLOCK} approximates LRU while letting reads proceed
+    * without that lock. This is only used when OFF_HEAP storage type is configured
+    * {@link MemoryConfigurationBuilder#storageType(StorageType)} and eviction is enabled.
+    * @param evictionPolicy the eviction policy to use
+    * @return this
+    */
+   public MemoryConfigurationBuilder evictionPolicy(OffHeapEvictionPolicy evictionPolicy) {
+      attributes.attribute(EVICTION_POLICY).set(evictionPolicy);
+      return this;
+   }
+
+   /**
+    * The configured off-heap eviction policy, please see
+    * {@link MemoryConfigurationBuilder#evictionPolicy(OffHeapEvictionPolicy)}.
+    * @return the configured eviction policy
+    */
+   public OffHeapEvictionPolicy evictionPolicy() {
+      return attributes.attribute(EVICTION_POLICY).get();
+   }
+
+   /**
+    * Configuration setting when using OBJECT storage with eviction that adds an off-heap tier between the heap and the
+    * stores. Entries evicted from the heap, whose size is bounded by {@link #size(long)}, are moved to the off-heap tier
+    * in their marshalled form, and are moved back to the heap when they are accessed. Entries evicted from the
+    * off-heap tier are passivated, or removed if passivation is disabled. The off-heap tier uses the
+    * {@link #addressCount(int)} and {@link #evictionPolicy(OffHeapEvictionPolicy)} settings.
+    * @param offHeapTierSize the maximum size in bytes of the off-heap tier, or -1 to disable it
+    * @return this
+    */
+   public MemoryConfigurationBuilder offHeapTierSize(long offHeapTierSize) {
+      attributes.attribute(OFF_HEAP_TIER_SIZE).set(offHeapTierSize);
+      return this;
+   }
+
+   /**
+    * The configured size of the off-heap tier, please see {@link MemoryConfigurationBuilder#offHeapTierSize(long)}.
+    * @return the configured size of the off-heap tier
+    */
+   public long offHeapTierSize() {
+      return attributes.attribute(OFF_HEAP_TIER_SIZE).get();
+   }
+
+   /**
+    * Configuration setting when using BINARY or OFF_HEAP storage that stores values compressed with Deflate. Values
+    * whose binary form is at least this many bytes long are compressed when they are written, and only kept compressed
+    * if that makes them smaller. The compressed values are also written to the stores, and are decompressed when they
+    * are read. Strings and primitive values are not marshalled with BINARY storage, so they are never compressed.
+    * @param compressionThreshold the size in bytes from which values are compressed, or -1 to disable compression
+    * @return this
+    */
+   public MemoryConfigurationBuilder compressionThreshold(int compressionThreshold) {
+      attributes.attribute(COMPRESSION_THRESHOLD).set(compressionThreshold);
+      return this;
+   }
+
+   /**
+    * The configured compression threshold, please see {@link MemoryConfigurationBuilder#compressionThreshold(int)}.
+    * @return the configured compression threshold
+    */
+   public int compressionThreshold() {
+      return attributes.attribute(COMPRESSION_THRESHOLD).get();
+   }
+
+   /**
+    * The path of a file holding a preset dictionary to compress values with. Small values compress much better with a
+    * dictionary made of content that is common in the values, such as a few typical values concatenated, with the most
+    * common content at the end. Only the last 32 KB of the dictionary are used. Values compressed with a dictionary can
+    * only be read by caches that are configured with the same dictionary.
+    * @param path the path of the dictionary file
+    * @return this
+    */
+   public MemoryConfigurationBuilder compressionDictionary(String path) {
+      attributes.attribute(COMPRESSION_DICTIONARY).set(path);
+      return this;
+   }
+
+   /**
+    * The configured compression dictionary, please see {@link MemoryConfigurationBuilder#compressionDictionary(String)}.
+    * @return the path of the configured compression dictionary
+    */
+   public String compressionDictionary() {
+      return attributes.attribute(COMPRESSION_DICTIONARY).get();
+   }
+
    @Override
    public void validate() {
       StorageType type = attributes.attribute(STORAGE_TYPE).get();
@@ -154,6 +292,11 @@ public void validate() {
          throw log.compatibilityModeOnlyCompatibleWithObjectStorage(type);
       }
 
+      int slabSize = attributes.attribute(SLAB_SIZE).get();
+      if (slabSize < SlabOffHeapMemoryAllocator.MINIMUM_SLAB_SIZE) {
+         throw log.offHeapSlabSizeTooSmall(slabSize, SlabOffHeapMemoryAllocator.MINIMUM_SLAB_SIZE);
+      }
+
       long size = attributes.attribute(SIZE).get();
       EvictionType evictionType = attributes.attribute(EVICTION_TYPE).get();
       if (evictionType == EvictionType.MEMORY) {
@@ -171,6 +314,26 @@ public void validate() {
          }
       }
 
+      long offHeapTierSize = attributes.attribute(OFF_HEAP_TIER_SIZE).get();
+      if (offHeapTierSize > 0) {
+         if (type != StorageType.OBJECT) {
+            throw log.offHeapTierRequiresObjectStorage(type);
+         }
+         if (size <= 0 || attributes.attribute(EVICTION_STRATEGY).get().isExceptionBased()) {
+            throw log.offHeapTierRequiresEviction();
+         }
+         int addressCount = attributes.attribute(ADDRESS_COUNT).get();
+         long addressesSize = UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(
+               OffHeapDataContainer.getActualAddressCount(addressCount << 3));
+         if (offHeapTierSize < addressesSize) {
+            throw log.offHeapTierSizeNotLargeEnoughForAddresses(offHeapTierSize, addressesSize, addressCount);
+         }
+      }
+
+      if (attributes.attribute(COMPRESSION_THRESHOLD).get() >= 0 && type == StorageType.OBJECT) {
+         throw log.compressionRequiresBinaryStorage();
+      }
+
       EvictionStrategy strategy = attributes.attribute(EVICTION_STRATEGY).get();
       if (!strategy.isEnabled()) {
          if (size > 0) {
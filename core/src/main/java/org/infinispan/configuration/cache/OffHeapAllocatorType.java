@@ -0,0 +1,19 @@
+package org.infinispan.configuration.cache;
+
+/**
+ * Enumeration defining the various allocators that can be used to obtain native memory when the
+ * {@link StorageType#OFF_HEAP} storage type is in use.
+ * @since 9.4
+ */
+public enum OffHeapAllocatorType {
+   /**
+    * Every entry is allocated and freed directly from the operating system. This has the least memory overhead for
+    * caches that rarely change, but write heavy caches will spend a lot of time in native allocation.
+    */
+   UNPOOLED,
+   /**
+    * Entries are carved out of larger slabs of native memory, grouped by size class. Freed entries are reused for new
+    * entries of the same size class instead of being returned to the operating system.
+    */
+   SLAB
+}
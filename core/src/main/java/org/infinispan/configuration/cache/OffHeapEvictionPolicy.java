@@ -0,0 +1,18 @@
+package org.infinispan.configuration.cache;
+
+/**
+ * Enumeration defining how a bounded {@link StorageType#OFF_HEAP} container keeps track of which entries to evict.
+ * @since 9.4
+ */
+public enum OffHeapEvictionPolicy {
+   /**
+    * Entries are kept in a single least recently used list, so every read has to take a lock shared by all threads
+    * to move the entry to the end of the list.
+    */
+   LRU,
+   /**
+    * Second chance (CLOCK) approximation of LRU. Reads only mark the entry as referenced without taking any
+    * additional lock, referenced entries are given another pass instead of being evicted.
+    */
+   CLOCK
+}
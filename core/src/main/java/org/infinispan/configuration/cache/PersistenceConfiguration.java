@@ -16,14 +16,19 @@ public class PersistenceConfiguration implements Matchable<PersistenceConfigurat
    public static final AttributeDefinition<Integer> AVAILABILITY_INTERVAL = AttributeDefinition.builder("availabilityInterval", 1000).immutable().build();
    public static final AttributeDefinition<Integer> CONNECTION_ATTEMPTS = AttributeDefinition.builder("connectionAttempts", 10).immutable().build();
    public static final AttributeDefinition<Integer> CONNECTION_INTERVAL = AttributeDefinition.builder("connectionInterval", 50).immutable().build();
+   public static final AttributeDefinition<Integer> PASSIVATION_QUEUE_SIZE = AttributeDefinition.builder("passivationQueueSize", 0).immutable().build();
+   public static final AttributeDefinition<Integer> BLOCKING_STORE_THREADS = AttributeDefinition.builder("blockingStoreThreads", 0).immutable().build();
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(PersistenceConfiguration.class, PASSIVATION, AVAILABILITY_INTERVAL, CONNECTION_ATTEMPTS, CONNECTION_INTERVAL);
+      return new AttributeSet(PersistenceConfiguration.class, PASSIVATION, AVAILABILITY_INTERVAL, CONNECTION_ATTEMPTS, CONNECTION_INTERVAL,
+            PASSIVATION_QUEUE_SIZE, BLOCKING_STORE_THREADS);
    }
 
    private final Attribute<Boolean> passivation;
    private final Attribute<Integer> availabilityInterval;
    private final Attribute<Integer> connectionAttempts;
    private final Attribute<Integer> connectionInterval;
+   private final Attribute<Integer> passivationQueueSize;
+   private final Attribute<Integer> blockingStoreThreads;
    private final AttributeSet attributes;
    private final List<StoreConfiguration> stores;
 
@@ -33,6 +38,8 @@ static AttributeSet attributeDefinitionSet() {
       this.availabilityInterval = attributes.attribute(AVAILABILITY_INTERVAL);
       this.connectionAttempts = attributes.attribute(CONNECTION_ATTEMPTS);
       this.connectionInterval = attributes.attribute(CONNECTION_INTERVAL);
+      this.passivationQueueSize = attributes.attribute(PASSIVATION_QUEUE_SIZE);
+      this.blockingStoreThreads = attributes.attribute(BLOCKING_STORE_THREADS);
       this.stores = stores;
    }
 
@@ -61,6 +68,23 @@ public int connectionInterval() {
       return connectionInterval.get();
    }
 
+   /**
+    * The maximum number of evicted entries that are waiting to be written to the stores in the background when
+    * passivation is enabled. If 0, the entries are written to the stores by the thread that evicts them.
+    */
+   public int passivationQueueSize() {
+      return passivationQueueSize.get();
+   }
+
+   /**
+    * The number of threads of the cache on which the single key loads and writes of the stores that do not implement
+    * {@link org.infinispan.persistence.spi.NonBlockingStore} are performed, so that they do not block the invoking
+    * thread. If 0, they are performed by the invoking thread.
+    */
+   public int blockingStoreThreads() {
+      return blockingStoreThreads.get();
+   }
+
    public List<StoreConfiguration> stores() {
       return stores;
    }
@@ -1,9 +1,11 @@
 package org.infinispan.configuration.cache;
 
 import static org.infinispan.configuration.cache.PersistenceConfiguration.AVAILABILITY_INTERVAL;
+import static org.infinispan.configuration.cache.PersistenceConfiguration.BLOCKING_STORE_THREADS;
 import static org.infinispan.configuration.cache.PersistenceConfiguration.CONNECTION_ATTEMPTS;
 import static org.infinispan.configuration.cache.PersistenceConfiguration.CONNECTION_INTERVAL;
 import static org.infinispan.configuration.cache.PersistenceConfiguration.PASSIVATION;
+import static org.infinispan.configuration.cache.PersistenceConfiguration.PASSIVATION_QUEUE_SIZE;
 
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
@@ -67,6 +69,29 @@ public PersistenceConfigurationBuilder connectionInterval(int interval) {
       return this;
    }
 
+   /**
+    * @param size The maximum number of evicted entries that are waiting to be written to the stores when passivation
+    *             is enabled. The entries are written in batches in the background, and remain readable until they
+    *             are written. Evictions wait for the stores once the queue is full. If 0, the default, the entries are
+    *             written to the stores by the thread that evicts them.
+    */
+   public PersistenceConfigurationBuilder passivationQueueSize(int size) {
+      attributes.attribute(PASSIVATION_QUEUE_SIZE).set(size);
+      return this;
+   }
+
+   /**
+    * @param threads The number of threads of the cache on which the single key loads and writes of the stores that do
+    *                not implement {@link org.infinispan.persistence.spi.NonBlockingStore} are performed, so that they
+    *                do not block the invoking thread. The operations that find all the threads busy and the queue of
+    *                the threads full fail instead of waiting. If 0, the default, they are performed by the invoking
+    *                thread.
+    */
+   public PersistenceConfigurationBuilder blockingStoreThreads(int threads) {
+      attributes.attribute(BLOCKING_STORE_THREADS).set(threads);
+      return this;
+   }
+
    /**
     * If true, data is only written to the cache store when it is evicted from memory, a phenomenon
     * known as 'passivation'. Next time the data is requested, it will be 'activated' which means
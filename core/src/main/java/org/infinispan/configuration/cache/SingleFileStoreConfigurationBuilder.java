@@ -3,9 +3,12 @@
 import static org.infinispan.configuration.cache.SingleFileStoreConfiguration.FRAGMENTATION_FACTOR;
 import static org.infinispan.configuration.cache.SingleFileStoreConfiguration.LOCATION;
 import static org.infinispan.configuration.cache.SingleFileStoreConfiguration.MAX_ENTRIES;
+import static org.infinispan.configuration.cache.SingleFileStoreConfiguration.OFF_HEAP_INDEX;
 
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.attributes.AttributeSet;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
 
 /**
  * Single file cache store configuration builder.
@@ -15,6 +18,7 @@
  */
 public class SingleFileStoreConfigurationBuilder
       extends AbstractStoreConfigurationBuilder<SingleFileStoreConfiguration, SingleFileStoreConfigurationBuilder> {
+   private static final Log log = LogFactory.getLog(SingleFileStoreConfigurationBuilder.class);
 
    public SingleFileStoreConfigurationBuilder(PersistenceConfigurationBuilder builder) {
       this(builder, SingleFileStoreConfiguration.attributeDefinitionSet());
@@ -72,6 +76,25 @@ public SingleFileStoreConfigurationBuilder fragmentationFactor(float fragmentati
       return this;
    }
 
+   /**
+    * Keeps the index of the store in native memory instead of the Java heap. Only a 128-bit fingerprint of every key
+    * is kept, together with the position of its entry in the file, so the heap used by the store doesn't depend on the
+    * number of entries it holds. Keys with the same fingerprint are treated as the same key, which is vanishingly
+    * unlikely for distinct keys. This cannot be combined with {@link #maxEntries(int)}.
+    */
+   public SingleFileStoreConfigurationBuilder offHeapIndex(boolean offHeapIndex) {
+      attributes.attribute(OFF_HEAP_INDEX).set(offHeapIndex);
+      return this;
+   }
+
+   @Override
+   public void validate() {
+      super.validate();
+      if (attributes.attribute(OFF_HEAP_INDEX).get() && attributes.attribute(MAX_ENTRIES).get() > 0) {
+         throw log.offHeapIndexWithMaxEntries();
+      }
+   }
+
    @Override
    public SingleFileStoreConfiguration create() {
       return new SingleFileStoreConfiguration(attributes.protect(), async.create(), singletonStore.create());
@@ -70,5 +70,14 @@ default boolean segmented() {
       return false;
    }
 
+   /**
+    * Whether the keys of this store are tracked in memory with Bloom filters, so that the loads of keys that are not in
+    * the store do not invoke the store.
+    * @return whether this store has a Bloom filter
+    */
+   default boolean bloomFilter() {
+      return false;
+   }
+
    Properties properties();
 }
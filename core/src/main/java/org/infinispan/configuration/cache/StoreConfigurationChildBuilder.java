@@ -101,6 +101,16 @@
     */
    S segmented(boolean b);
 
+   /**
+    * If true, the keys of this store are tracked in memory with a Bloom filter per segment, so that the loads of keys
+    * that are not in the store are answered without invoking the store. The filters are built from the keys of the store
+    * when the cache starts, and are kept up to date by the writes of the cache, so the store must not be shared, must
+    * not be transactional and must not be modified by anything other than the cache.
+    * @param b whether this store should have a Bloom filter
+    * @return this
+    */
+   S bloomFilter(boolean b);
+
    /**
     * <p>
     * Defines a single property. Can be used multiple times to define all needed properties, but the
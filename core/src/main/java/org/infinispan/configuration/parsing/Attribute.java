@@ -18,6 +18,7 @@ public enum Attribute {
     ADDRESS_COUNT("address-count"),
     AFTER("after"),
     ALIASES("aliases"),
+    ALLOCATOR("allocator"),
     ALLOW_DUPLICATE_DOMAINS("duplicate-domains"),
     ASYNC_EXECUTOR("async-executor"),
     @Deprecated
@@ -29,11 +30,15 @@ public enum Attribute {
     AWAIT_INITIAL_TRANSFER("await-initial-transfer"),
     BACKUP_FAILURE_POLICY("failure-policy"),
     BEFORE("before"),
+    BLOCKING_STORE_THREADS("blocking-store-threads"),
+    BLOOM_FILTER("bloom-filter"),
     CAPACITY_FACTOR("capacity"),
     CHUNK_SIZE("chunk-size"),
     CLASS("class"),
     CLUSTER("cluster"),
     COMPLETED_TX_TIMEOUT("complete-timeout"),
+    COMPRESSION_DICTIONARY("compression-dictionary"),
+    COMPRESSION_THRESHOLD("compression-threshold"),
     CONCURRENCY_LEVEL("concurrency-level"),
     CONFIGURATION("configuration"),
     CONNECTION_ATTEMPTS("connection-attempts"),
@@ -48,6 +53,7 @@ public enum Attribute {
     EVICTION("eviction"),
     @Deprecated
     EVICTION_EXECUTOR("eviction-executor"),
+    EVICTION_POLICY("eviction-policy"),
     EXPIRATION_EXECUTOR("expiration-executor"),
     FAIL_SILENTLY("fail-silently"),
     FAILURE_POLICY_CLASS("failure-policy-class"),
@@ -92,10 +98,13 @@ public enum Attribute {
     NAME("name"),
     NAMES("names"),
     NOTIFICATIONS("notifications"),
+    OFF_HEAP_INDEX("off-heap-index"),
+    OFF_HEAP_TIER_SIZE("off-heap-tier-size"),
     ON_REHASH("onRehash"),
     OWNERS("owners"),
     PATH("path"),
     PASSIVATION("passivation"),
+    PASSIVATION_QUEUE_SIZE("passivation-queue-size"),
     PERMISSIONS("permissions"),
     PERSISTENCE_EXECUTOR("persistence-executor"),
     POSITION("position"),
@@ -121,6 +130,7 @@ public enum Attribute {
     ROLES("roles"),
     SEGMENTED("segmented"),
     SEGMENTS("segments"),
+    SHARDS("shards"),
     SHARED("shared"),
     SHUTDOWN_HOOK("shutdown-hook"),
     @Deprecated
@@ -130,6 +140,7 @@ public enum Attribute {
     SINGLETON("singleton"),
     SITE("site"),
     SIZE("size"),
+    SLAB_SIZE("slab-size"),
     @Deprecated
     SPIN_DURATION("deadlock-detection-spin"),
     STATISTICS("statistics"),
@@ -49,6 +49,8 @@
 import org.infinispan.configuration.cache.InterceptorConfiguration;
 import org.infinispan.configuration.cache.InterceptorConfigurationBuilder;
 import org.infinispan.configuration.cache.MemoryConfigurationBuilder;
+import org.infinispan.configuration.cache.OffHeapAllocatorType;
+import org.infinispan.configuration.cache.OffHeapEvictionPolicy;
 import org.infinispan.configuration.cache.PartitionHandlingConfigurationBuilder;
 import org.infinispan.configuration.cache.SecurityConfigurationBuilder;
 import org.infinispan.configuration.cache.SingleFileStoreConfigurationBuilder;
@@ -1677,9 +1679,24 @@ private void parseOffHeapMemoryAttributes(final XMLExtendedStreamReader reader,
             case ADDRESS_COUNT:
                memoryBuilder.addressCount(Integer.parseInt(value));
                break;
+            case ALLOCATOR:
+               memoryBuilder.allocator(OffHeapAllocatorType.valueOf(value));
+               break;
+            case SLAB_SIZE:
+               memoryBuilder.slabSize(Integer.parseInt(value));
+               break;
+            case EVICTION_POLICY:
+               memoryBuilder.evictionPolicy(OffHeapEvictionPolicy.valueOf(value));
+               break;
             case STRATEGY:
                memoryBuilder.evictionStrategy(EvictionStrategy.valueOf(value));
                break;
+            case COMPRESSION_THRESHOLD:
+               memoryBuilder.compressionThreshold(Integer.parseInt(value));
+               break;
+            case COMPRESSION_DICTIONARY:
+               memoryBuilder.compressionDictionary(value);
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
@@ -1700,6 +1717,15 @@ private void parseObjectMemoryAttributes(final XMLExtendedStreamReader reader, f
             case STRATEGY:
                memoryBuilder.evictionStrategy(EvictionStrategy.valueOf(value));
                break;
+            case OFF_HEAP_TIER_SIZE:
+               memoryBuilder.offHeapTierSize(Long.parseLong(value));
+               break;
+            case ADDRESS_COUNT:
+               memoryBuilder.addressCount(Integer.parseInt(value));
+               break;
+            case EVICTION_POLICY:
+               memoryBuilder.evictionPolicy(OffHeapEvictionPolicy.valueOf(value));
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
@@ -1723,6 +1749,12 @@ private void parseBinaryMemoryAttributes(final XMLExtendedStreamReader reader, f
             case STRATEGY:
                memoryBuilder.evictionStrategy(EvictionStrategy.valueOf(value));
                break;
+            case COMPRESSION_THRESHOLD:
+               memoryBuilder.compressionThreshold(Integer.parseInt(value));
+               break;
+            case COMPRESSION_DICTIONARY:
+               memoryBuilder.compressionDictionary(value);
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
@@ -2015,6 +2047,10 @@ private void parseExpiration(XMLExtendedStreamReader reader, ConfigurationBuilde
                builder.expiration().wakeUpInterval(Long.parseLong(value));
                break;
             }
+            case INDEX: {
+               builder.expiration().index(Boolean.parseBoolean(value));
+               break;
+            }
             default: {
                throw ParseUtils.unexpectedAttribute(reader, i);
             }
@@ -2332,6 +2368,12 @@ private void parsePersistence(final XMLExtendedStreamReader reader, final Config
             case CONNECTION_INTERVAL:
                builder.persistence().connectionInterval(Integer.parseInt(value));
                break;
+            case PASSIVATION_QUEUE_SIZE:
+               builder.persistence().passivationQueueSize(Integer.parseInt(value));
+               break;
+            case BLOCKING_STORE_THREADS:
+               builder.persistence().blockingStoreThreads(Integer.parseInt(value));
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
@@ -2401,6 +2443,10 @@ protected void parseFileStore(XMLExtendedStreamReader reader, ConfigurationBuild
                storeBuilder.fragmentationFactor(Float.parseFloat(value));
                break;
             }
+            case OFF_HEAP_INDEX: {
+               storeBuilder.offHeapIndex(Boolean.parseBoolean(value));
+               break;
+            }
             default: {
                parseStoreAttribute(reader, i, storeBuilder);
             }
@@ -2452,6 +2498,10 @@ public static void parseStoreAttribute(XMLExtendedStreamReader reader, int index
             storeBuilder.segmented(Boolean.parseBoolean(value));
             break;
          }
+         case BLOOM_FILTER: {
+            storeBuilder.bloomFilter(Boolean.parseBoolean(value));
+            break;
+         }
          default: {
             throw ParseUtils.unexpectedAttribute(reader, index);
          }
@@ -2513,6 +2563,10 @@ public static void parseStoreWriteBehind(XMLExtendedStreamReader reader, AsyncSt
                storeBuilder.threadPoolSize(Integer.parseInt(value));
                break;
             }
+            case SHARDS: {
+               storeBuilder.shards(Integer.parseInt(value));
+               break;
+            }
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
@@ -37,6 +37,7 @@ private void writeStoreWriteBehind(XMLExtendedStreamWriter writer, StoreConfigur
          writeBehind.write(writer, AsyncStoreConfiguration.MODIFICATION_QUEUE_SIZE, Attribute.MODIFICATION_QUEUE_SIZE);
          writeBehind.write(writer, AsyncStoreConfiguration.THREAD_POOL_SIZE, Attribute.THREAD_POOL_SIZE);
          writeBehind.write(writer, AsyncStoreConfiguration.FAIL_SILENTLY, Attribute.FAIL_SILENTLY);
+         writeBehind.write(writer, AsyncStoreConfiguration.SHARDS, Attribute.SHARDS);
          writer.writeEndElement();
       }
    }
@@ -568,11 +568,21 @@ private void writeMemory(XMLExtendedStreamWriter writer, Configuration configura
          switch (memory.storageType()) {
             case OFF_HEAP:
                attributes.write(writer, MemoryConfiguration.ADDRESS_COUNT, Attribute.ADDRESS_COUNT);
+               attributes.write(writer, MemoryConfiguration.ALLOCATOR, Attribute.ALLOCATOR);
+               attributes.write(writer, MemoryConfiguration.SLAB_SIZE, Attribute.SLAB_SIZE);
+               attributes.write(writer, MemoryConfiguration.EVICTION_POLICY, Attribute.EVICTION_POLICY);
                attributes.write(writer, MemoryConfiguration.EVICTION_STRATEGY, Attribute.STRATEGY);
             case BINARY:
+               attributes.write(writer, MemoryConfiguration.COMPRESSION_THRESHOLD, Attribute.COMPRESSION_THRESHOLD);
+               attributes.write(writer, MemoryConfiguration.COMPRESSION_DICTIONARY, Attribute.COMPRESSION_DICTIONARY);
                attributes.write(writer, MemoryConfiguration.EVICTION_TYPE, Attribute.EVICTION);
             case OBJECT:
                attributes.write(writer, MemoryConfiguration.SIZE, Attribute.SIZE);
+               if (memory.isTiered()) {
+                  attributes.write(writer, MemoryConfiguration.OFF_HEAP_TIER_SIZE, Attribute.OFF_HEAP_TIER_SIZE);
+                  attributes.write(writer, MemoryConfiguration.ADDRESS_COUNT, Attribute.ADDRESS_COUNT);
+                  attributes.write(writer, MemoryConfiguration.EVICTION_POLICY, Attribute.EVICTION_POLICY);
+               }
          }
          writer.writeEndElement();
          writer.writeEndElement();
@@ -600,6 +610,8 @@ private void writePersistence(XMLExtendedStreamWriter writer, Configuration conf
          attributes.write(writer, PersistenceConfiguration.AVAILABILITY_INTERVAL, Attribute.AVAILABILITY_INTERVAL);
          attributes.write(writer, PersistenceConfiguration.CONNECTION_ATTEMPTS, Attribute.CONNECTION_ATTEMPTS);
          attributes.write(writer, PersistenceConfiguration.CONNECTION_INTERVAL, Attribute.CONNECTION_INTERVAL);
+         attributes.write(writer, PersistenceConfiguration.PASSIVATION_QUEUE_SIZE, Attribute.PASSIVATION_QUEUE_SIZE);
+         attributes.write(writer, PersistenceConfiguration.BLOCKING_STORE_THREADS, Attribute.BLOCKING_STORE_THREADS);
          for (StoreConfiguration store : persistence.stores()) {
             writeStore(writer, store);
          }
@@ -142,6 +142,13 @@ public void put(int segment, K k, V v, Metadata metadata) {
             activator.onUpdate(key, entry == null);
             return copy;
          });
+         if (copy.canExpire()) {
+            expirationManager.registerExpiration(copy.getKey(), copy.getExpiryTime());
+         } else {
+            expirationManager.unregisterExpiration(copy.getKey());
+         }
+         // The write may have evicted entries
+         passivator.awaitPassivationCapacity();
       } else {
          log.tracef("Insertion attempted for key: %s but there was no map created for it at segment: %d", k, segment);
       }
@@ -188,6 +195,9 @@ public InternalCacheEntry<K, V> remove(int segment, Object k) {
          if (trace) {
             log.tracef("Removed %s from container", e);
          }
+         if (e != null && e.canExpire()) {
+            expirationManager.unregisterExpiration((K) k);
+         }
 
          return e == null || (e.canExpire() && e.isExpired(timeService.wallClockTime())) ? null : e;
       }
@@ -206,8 +216,12 @@ public void evict(int segment, K key) {
          entries.computeIfPresent(key, (o, entry) -> {
             passivator.passivate(entry);
             computeEntryRemoved(o, entry);
+            if (entry.canExpire()) {
+               expirationManager.unregisterExpiration(o);
+            }
             return null;
          });
+         passivator.awaitPassivationCapacity();
       }
    }
 
@@ -219,21 +233,35 @@ public void evict(K key) {
    @Override
    public InternalCacheEntry<K, V> compute(int segment, K key, DataContainer.ComputeAction<K, V> action) {
       ConcurrentMap<K, InternalCacheEntry<K, V>> entries = getMapForSegment(segment);
-      return entries != null ? entries.compute(key, (k, oldEntry) -> {
+      if (entries == null) {
+         return null;
+      }
+      InternalCacheEntry<K, V> result = entries.compute(key, (k, oldEntry) -> {
          InternalCacheEntry<K, V> newEntry = action.compute(k, oldEntry, entryFactory);
          if (newEntry == oldEntry) {
             return oldEntry;
          } else if (newEntry == null) {
             computeEntryRemoved(k, oldEntry);
             activator.onRemove(k, false);
+            if (oldEntry != null && oldEntry.canExpire()) {
+               expirationManager.unregisterExpiration(k);
+            }
             return null;
          }
          computeEntryWritten(k, newEntry);
          activator.onUpdate(k, oldEntry == null);
+         if (newEntry.canExpire()) {
+            expirationManager.registerExpiration(k, newEntry.getExpiryTime());
+         } else if (oldEntry != null && oldEntry.canExpire()) {
+            expirationManager.unregisterExpiration(k);
+         }
          if (trace)
             log.tracef("Store %s in container", newEntry);
          return newEntry;
-      }) : null;
+      });
+      // The write may have evicted entries
+      passivator.awaitPassivationCapacity();
+      return result;
    }
 
    @Override
@@ -481,6 +509,11 @@ final class DefaultEvictionListener implements EvictionListener<K, InternalCache
       @Override
       public void onEntryEviction(Map<K, InternalCacheEntry<K, V>> evicted) {
          evictionManager.onEntryEviction(evicted);
+         evicted.forEach((k, entry) -> {
+            if (entry.canExpire()) {
+               expirationManager.unregisterExpiration(k);
+            }
+         });
       }
 
       @Override
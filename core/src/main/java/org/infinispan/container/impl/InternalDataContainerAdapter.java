@@ -15,10 +15,12 @@
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.expiration.impl.InternalExpirationManager;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
 import org.infinispan.metadata.Metadata;
+import org.infinispan.util.TimeService;
 
 /**
  * Wrapper around a {@link DataContainer} to provide operations for use with a {@link InternalDataContainer}. Single
@@ -39,6 +41,10 @@
    private KeyPartitioner keyPartitioner;
    @Inject
    private ComponentRegistry registry;
+   @Inject
+   private InternalExpirationManager<K, V> expirationManager;
+   @Inject
+   private TimeService timeService;
 
    public InternalDataContainerAdapter(DataContainer<K, V> container) {
       this.container = container;
@@ -64,6 +70,35 @@ public InternalCacheEntry<K, V> peek(int segment, Object k) {
       return peek(k);
    }
 
+   @Override
+   public void put(K k, V v, Metadata metadata) {
+      super.put(k, v, metadata);
+      long lifespan = metadata.lifespan();
+      long maxIdle = metadata.maxIdle();
+      if (lifespan >= 0 || maxIdle >= 0) {
+         // The delegate may not store entries on heap, so we estimate the expiration from the metadata
+         long expiration = lifespan >= 0 && maxIdle >= 0 ? Math.min(lifespan, maxIdle) : Math.max(lifespan, maxIdle);
+         expirationManager.registerExpiration(k, timeService.wallClockTime() + expiration);
+      } else {
+         expirationManager.unregisterExpiration(k);
+      }
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> remove(Object k) {
+      InternalCacheEntry<K, V> entry = super.remove(k);
+      if (entry != null && entry.canExpire()) {
+         expirationManager.unregisterExpiration((K) k);
+      }
+      return entry;
+   }
+
+   @Override
+   public void evict(K key) {
+      super.evict(key);
+      expirationManager.unregisterExpiration(key);
+   }
+
    @Override
    public void put(int segment, K k, V v, Metadata metadata) {
       put(k, v, metadata);
@@ -84,6 +119,17 @@ public void evict(int segment, K key) {
       evict(key);
    }
 
+   @Override
+   public InternalCacheEntry<K, V> compute(K key, ComputeAction<K, V> action) {
+      InternalCacheEntry<K, V> entry = super.compute(key, action);
+      if (entry != null && entry.canExpire()) {
+         expirationManager.registerExpiration(key, entry.getExpiryTime());
+      } else {
+         expirationManager.unregisterExpiration(key);
+      }
+      return entry;
+   }
+
    @Override
    public InternalCacheEntry<K, V> compute(int segment, K key, ComputeAction<K, V> action) {
       return compute(key, action);
@@ -0,0 +1,555 @@
+package org.infinispan.container.impl;
+
+import static org.infinispan.commons.util.Util.toStr;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.function.ObjIntConsumer;
+
+import org.infinispan.commons.CacheException;
+import org.infinispan.commons.logging.Log;
+import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.commons.util.ByRef;
+import org.infinispan.commons.util.ConcatIterator;
+import org.infinispan.commons.util.EvictionListener;
+import org.infinispan.commons.util.FilterIterator;
+import org.infinispan.commons.util.FilterSpliterator;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IteratorMapper;
+import org.infinispan.configuration.cache.OffHeapEvictionPolicy;
+import org.infinispan.container.DataContainer;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.offheap.BoundedOffHeapDataContainer;
+import org.infinispan.eviction.EvictionType;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.annotations.Stop;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.metadata.impl.L1Metadata;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Data container that keeps the most recently used entries on the heap and demotes the entries evicted from the heap
+ * to a bounded off-heap tier, in marshalled form. Only the entries evicted from the off-heap tier are passivated to the
+ * stores and notified as evicted.
+ * <p>
+ * Reading or writing an entry of the off-heap tier promotes it back to the heap. Entries keep their creation and last
+ * access times when they move between the tiers, so their expiration is not affected. An entry is moved while the heap
+ * lock of its key is held, so it is always in exactly one of the tiers for the other operations of the container.
+ * Iteration is weakly consistent though: an entry that moves between the tiers during an iteration may be returned
+ * twice or not at all, and only the entries of the heap tier can be removed through an iterator.
+ * <p>
+ * L1 entries are never demoted, they are evicted from the heap directly.
+ *
+ * @since 9.4
+ */
+@ThreadSafe
+public class TieredDataContainer<K, V> extends AbstractInternalDataContainer<K, V> {
+
+   private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass());
+   private static final boolean trace = log.isTraceEnabled();
+
+   @Inject private StreamingMarshaller marshaller;
+
+   private final ConcurrentMap<K, InternalCacheEntry<K, V>> entries;
+   private final Cache<K, InternalCacheEntry<K, V>> evictionCache;
+   private final OffHeapTier offHeapTier;
+
+   public TieredDataContainer(long maxEntries, int addressCount, long offHeapTierSize,
+                              OffHeapEvictionPolicy offHeapEvictionPolicy) {
+      evictionCache = applyListener(TieredDataContainer.<K, InternalCacheEntry<K, V>>caffeineBuilder()
+            .maximumSize(maxEntries), new DemotingEvictionListener(), null).build();
+      entries = evictionCache.asMap();
+      offHeapTier = new OffHeapTier(addressCount, offHeapTierSize, offHeapEvictionPolicy);
+   }
+
+   @Inject
+   public void injectOffHeapTier(ComponentRegistry registry) {
+      registry.wireDependencies(offHeapTier);
+   }
+
+   @Start
+   public void start() {
+      offHeapTier.start();
+   }
+
+   /**
+    * Releases the off-heap tier. This runs just before the allocator is stopped, like the off-heap containers.
+    */
+   @Stop(priority = Integer.MAX_VALUE - 1)
+   public void stop() {
+      offHeapTier.stop();
+   }
+
+   @Override
+   protected ConcurrentMap<K, InternalCacheEntry<K, V>> getMapForSegment(int segment) {
+      return entries;
+   }
+
+   @Override
+   protected int getSegmentForKey(Object key) {
+      // We always map to same map, so no reason to waste finding out segment
+      return -1;
+   }
+
+   /**
+    * @return the number of entries in the heap tier, including the expired ones
+    */
+   public int heapSize() {
+      return entries.size();
+   }
+
+   /**
+    * @return the number of entries in the off-heap tier, including the expired ones
+    */
+   public int offHeapSize() {
+      return offHeapTier.sizeIncludingExpired();
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> get(int segment, Object k) {
+      InternalCacheEntry<K, V> e = entries.get(k);
+      if (e == null && offHeapTier.sizeIncludingExpired() > 0) {
+         e = entries.compute((K) k, (key, entry) -> entry != null ? entry : takeFromOffHeapTier(key));
+      }
+      if (e != null && e.canExpire()) {
+         long currentTimeMillis = timeService.wallClockTime();
+         if (e.isExpired(currentTimeMillis) &&
+               expirationManager.entryExpiredInMemory(e, currentTimeMillis).join() == Boolean.TRUE) {
+            e = null;
+         } else {
+            e.touch(currentTimeMillis);
+         }
+      }
+      return e;
+   }
+
+   /**
+    * Does not promote the entry: an entry of the off-heap tier is returned as a copy.
+    */
+   @Override
+   public InternalCacheEntry<K, V> peek(int segment, Object k) {
+      InternalCacheEntry<K, V> e = entries.get(k);
+      if (e == null && offHeapTier.sizeIncludingExpired() > 0) {
+         InternalCacheEntry<WrappedBytes, WrappedBytes> offHeapEntry = offHeapTier.peek(marshall(k));
+         if (offHeapEntry != null) {
+            e = toObjectEntry((K) k, offHeapEntry);
+         }
+      }
+      return e;
+   }
+
+   @Override
+   public void put(int segment, K k, V v, Metadata metadata) {
+      boolean l1Entry = false;
+      if (metadata instanceof L1Metadata) {
+         metadata = ((L1Metadata) metadata).metadata();
+         l1Entry = true;
+      }
+      boolean l1 = l1Entry;
+      Metadata m = metadata;
+      ByRef<InternalCacheEntry<K, V>> reference = new ByRef<>(null);
+      entries.compute(k, (key, entry) -> {
+         if (entry == null) {
+            entry = takeFromOffHeapTier(key);
+         }
+         if (trace) {
+            log.tracef("Creating new ICE for writing. Existing=%s, metadata=%s, new value=%s", entry, m, toStr(v));
+         }
+         InternalCacheEntry<K, V> copy;
+         if (l1) {
+            copy = entryFactory.createL1(key, v, m);
+         } else if (entry != null) {
+            copy = entryFactory.update(entry, v, m);
+         } else {
+            // this is a brand-new entry
+            copy = entryFactory.create(key, v, m);
+         }
+         if (trace)
+            log.tracef("Store %s in container", copy);
+
+         computeEntryWritten(key, copy);
+         activator.onUpdate(key, entry == null);
+         reference.set(copy);
+         return copy;
+      });
+      InternalCacheEntry<K, V> copy = reference.get();
+      if (copy.canExpire()) {
+         expirationManager.registerExpiration(copy.getKey(), copy.getExpiryTime());
+      } else {
+         expirationManager.unregisterExpiration(copy.getKey());
+      }
+      // The write may have demoted entries, and the off-heap tier may have evicted entries
+      passivator.awaitPassivationCapacity();
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> remove(int segment, Object k) {
+      ByRef<InternalCacheEntry<K, V>> reference = new ByRef<>(null);
+      entries.compute((K) k, (key, entry) -> {
+         if (entry == null) {
+            entry = takeFromOffHeapTier(key);
+         }
+         activator.onRemove(key, entry == null);
+         if (entry != null) {
+            computeEntryRemoved(key, entry);
+         }
+         reference.set(entry);
+         return null;
+      });
+      InternalCacheEntry<K, V> e = reference.get();
+      if (trace) {
+         log.tracef("Removed %s from container", e);
+      }
+      if (e != null && e.canExpire()) {
+         expirationManager.unregisterExpiration((K) k);
+      }
+      return e == null || (e.canExpire() && e.isExpired(timeService.wallClockTime())) ? null : e;
+   }
+
+   @Override
+   public void evict(int segment, K key) {
+      entries.compute(key, (k, entry) -> {
+         if (entry == null) {
+            entry = takeFromOffHeapTier(k);
+         }
+         if (entry != null) {
+            passivator.passivate(entry);
+            computeEntryRemoved(k, entry);
+            if (entry.canExpire()) {
+               expirationManager.unregisterExpiration(k);
+            }
+         }
+         return null;
+      });
+      passivator.awaitPassivationCapacity();
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> compute(int segment, K key, DataContainer.ComputeAction<K, V> action) {
+      InternalCacheEntry<K, V> result = entries.compute(key, (k, oldEntry) -> {
+         if (oldEntry == null) {
+            oldEntry = takeFromOffHeapTier(k);
+         }
+         InternalCacheEntry<K, V> newEntry = action.compute(k, oldEntry, entryFactory);
+         if (newEntry == oldEntry) {
+            return oldEntry;
+         } else if (newEntry == null) {
+            computeEntryRemoved(k, oldEntry);
+            activator.onRemove(k, false);
+            if (oldEntry != null && oldEntry.canExpire()) {
+               expirationManager.unregisterExpiration(k);
+            }
+            return null;
+         }
+         computeEntryWritten(k, newEntry);
+         activator.onUpdate(k, oldEntry == null);
+         if (newEntry.canExpire()) {
+            expirationManager.registerExpiration(k, newEntry.getExpiryTime());
+         } else if (oldEntry != null && oldEntry.canExpire()) {
+            expirationManager.unregisterExpiration(k);
+         }
+         if (trace)
+            log.tracef("Store %s in container", newEntry);
+         return newEntry;
+      });
+      // The write may have demoted entries, and the off-heap tier may have evicted entries
+      passivator.awaitPassivationCapacity();
+      return result;
+   }
+
+   @Override
+   public int sizeIncludingExpired() {
+      return (int) Math.min((long) entries.size() + offHeapTier.sizeIncludingExpired(), Integer.MAX_VALUE);
+   }
+
+   @Override
+   public void clear() {
+      log.tracef("Clearing data container");
+      entries.clear();
+      offHeapTier.clear();
+   }
+
+   @Override
+   public void clear(IntSet segments) {
+      removeSegments(segments, null);
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iterator() {
+      return new EntryIterator(iteratorIncludingExpired());
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iterator(IntSet segments) {
+      return new FilterIterator<>(iterator(), ice -> segments.contains(keyPartitioner.getSegment(ice.getKey())));
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iteratorIncludingExpired() {
+      return new ConcatIterator<>(Arrays.<Iterable<InternalCacheEntry<K, V>>>asList(entries.values(),
+            () -> new IteratorMapper<>(offHeapTier.iteratorIncludingExpired(), this::toObjectEntry)));
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iteratorIncludingExpired(IntSet segments) {
+      return new FilterIterator<>(iteratorIncludingExpired(),
+            ice -> segments.contains(keyPartitioner.getSegment(ice.getKey())));
+   }
+
+   @Override
+   public Spliterator<InternalCacheEntry<K, V>> spliterator() {
+      return filterExpiredEntries(spliteratorIncludingExpired());
+   }
+
+   @Override
+   public Spliterator<InternalCacheEntry<K, V>> spliterator(IntSet segments) {
+      return new FilterSpliterator<>(spliterator(),
+            ice -> segments.contains(keyPartitioner.getSegment(ice.getKey())));
+   }
+
+   @Override
+   public Spliterator<InternalCacheEntry<K, V>> spliteratorIncludingExpired() {
+      return Spliterators.spliteratorUnknownSize(iteratorIncludingExpired(), Spliterator.CONCURRENT);
+   }
+
+   @Override
+   public Spliterator<InternalCacheEntry<K, V>> spliteratorIncludingExpired(IntSet segments) {
+      return new FilterSpliterator<>(spliteratorIncludingExpired(),
+            ice -> segments.contains(keyPartitioner.getSegment(ice.getKey())));
+   }
+
+   @Override
+   public void forEachIncludingExpired(ObjIntConsumer<? super InternalCacheEntry<K, V>> action) {
+      iteratorIncludingExpired().forEachRemaining(ice -> action.accept(ice, keyPartitioner.getSegment(ice.getKey())));
+   }
+
+   private Policy.Eviction<K, InternalCacheEntry<K, V>> eviction() {
+      Optional<Policy.Eviction<K, InternalCacheEntry<K, V>>> eviction = evictionCache.policy().eviction();
+      if (eviction.isPresent()) {
+         return eviction.get();
+      }
+      throw new UnsupportedOperationException();
+   }
+
+   /**
+    * The capacity of the heap tier, the off-heap tier cannot be resized.
+    */
+   @Override
+   public long capacity() {
+      return eviction().getMaximum();
+   }
+
+   @Override
+   public void resize(long newSize) {
+      eviction().setMaximum(newSize);
+   }
+
+   @Override
+   public long evictionSize() {
+      return eviction().weightedSize().orElse(entries.size());
+   }
+
+   @Override
+   public void addSegments(IntSet segments) {
+      // Don't have to do anything here
+   }
+
+   @Override
+   public void removeSegments(IntSet segments) {
+      if (!segments.isEmpty()) {
+         List<InternalCacheEntry<K, V>> removedEntries = listeners.isEmpty() ? null : new ArrayList<>();
+         removeSegments(segments, removedEntries);
+         if (removedEntries != null) {
+            List<InternalCacheEntry<K, V>> unmod = Collections.unmodifiableList(removedEntries);
+            listeners.forEach(c -> c.accept(unmod));
+         }
+      }
+   }
+
+   private void removeSegments(IntSet segments, List<InternalCacheEntry<K, V>> removedEntries) {
+      Iterator<InternalCacheEntry<K, V>> iter = new FilterIterator<>(entries.values().iterator(),
+            ice -> segments.contains(keyPartitioner.getSegment(ice.getKey())));
+      while (iter.hasNext()) {
+         InternalCacheEntry<K, V> ice = iter.next();
+         if (removedEntries != null) {
+            removedEntries.add(ice);
+         }
+         iter.remove();
+      }
+      if (offHeapTier.sizeIncludingExpired() > 0) {
+         // The off-heap entries cannot be removed while iterating
+         List<K> keys = new ArrayList<>();
+         offHeapTier.keySet().forEach(wrappedKey -> {
+            K key = unmarshall(wrappedKey);
+            if (segments.contains(keyPartitioner.getSegment(key))) {
+               keys.add(key);
+            }
+         });
+         for (K key : keys) {
+            entries.compute(key, (k, entry) -> {
+               InternalCacheEntry<K, V> removed = entry != null ? entry : takeFromOffHeapTier(k);
+               if (removed != null && removedEntries != null) {
+                  removedEntries.add(removed);
+               }
+               return null;
+            });
+         }
+      }
+   }
+
+   /**
+    * Removes the entry from the off-heap tier, must be invoked with the heap lock of the key held.
+    */
+   private InternalCacheEntry<K, V> takeFromOffHeapTier(K key) {
+      InternalCacheEntry<WrappedBytes, WrappedBytes> ice = offHeapTier.take(marshall(key));
+      if (ice == null) {
+         return null;
+      }
+      if (trace) {
+         log.tracef("Promoted %s to the heap", toStr(key));
+      }
+      return toObjectEntry(key, ice);
+   }
+
+   /**
+    * Moves the entry to the off-heap tier, invoked with the heap lock of the key held.
+    */
+   private void demote(InternalCacheEntry<K, V> ice) {
+      if (trace) {
+         log.tracef("Demoting %s to the off-heap tier", ice);
+      }
+      offHeapTier.demote(marshall(ice.getKey()), marshall(ice.getValue()), ice.getMetadata(), ice.getCreated(),
+            ice.getLastUsed());
+   }
+
+   private InternalCacheEntry<K, V> toObjectEntry(InternalCacheEntry<WrappedBytes, WrappedBytes> ice) {
+      return toObjectEntry(unmarshall(ice.getKey()), ice);
+   }
+
+   private InternalCacheEntry<K, V> toObjectEntry(K key, InternalCacheEntry<WrappedBytes, WrappedBytes> ice) {
+      return entryFactory.create(key, unmarshall(ice.getValue()), ice);
+   }
+
+   private WrappedBytes marshall(Object obj) {
+      try {
+         return new WrappedByteArray(marshaller.objectToByteBuffer(obj));
+      } catch (IOException | InterruptedException e) {
+         throw new CacheException(e);
+      }
+   }
+
+   private <T> T unmarshall(WrappedBytes bytes) {
+      try {
+         return (T) marshaller.objectFromByteBuffer(bytes.getBytes(), bytes.backArrayOffset(), bytes.getLength());
+      } catch (IOException | ClassNotFoundException e) {
+         throw new CacheException(e);
+      }
+   }
+
+   /**
+    * Demotes the entries evicted from the heap instead of passivating them.
+    */
+   private class DemotingEvictionListener implements EvictionListener<K, InternalCacheEntry<K, V>> {
+
+      @Override
+      public void onEntryEviction(Map<K, InternalCacheEntry<K, V>> evicted) {
+         // Demoted entries are still in memory
+         InternalCacheEntry<K, V> ice = evicted.values().iterator().next();
+         if (ice.isL1Entry()) {
+            evictionManager.onEntryEviction(evicted);
+         }
+      }
+
+      @Override
+      public void onEntryChosenForEviction(Map.Entry<K, InternalCacheEntry<K, V>> entry) {
+         InternalCacheEntry<K, V> ice = entry.getValue();
+         if (ice.isL1Entry()) {
+            passivator.passivate(ice);
+         } else {
+            demote(ice);
+         }
+      }
+
+      @Override
+      public void onEntryActivated(Object key) {
+         activator.onUpdate(key, true);
+      }
+
+      @Override
+      public void onEntryRemoved(Map.Entry<K, InternalCacheEntry<K, V>> entry) {
+      }
+   }
+
+   /**
+    * The off-heap tier, the entries it evicts are passivated and notified in object form.
+    */
+   private class OffHeapTier extends BoundedOffHeapDataContainer {
+
+      OffHeapTier(int desiredSize, long maxSize, OffHeapEvictionPolicy evictionPolicy) {
+         super(desiredSize, maxSize, EvictionType.MEMORY, evictionPolicy);
+      }
+
+      InternalCacheEntry<WrappedBytes, WrappedBytes> take(WrappedBytes key) {
+         Lock lock = locks.getLock(key).writeLock();
+         lock.lock();
+         try {
+            checkDeallocation();
+            long bucketAddress = memoryLookup.getMemoryAddress(key);
+            // Expired entries are promoted as well, so that reading them notifies the expiration
+            long address = bucketAddress == 0 ? 0 : performGet(bucketAddress, key, true);
+            if (address == 0) {
+               return null;
+            }
+            InternalCacheEntry<WrappedBytes, WrappedBytes> ice = offHeapEntryFactory.fromMemory(address);
+            performRemove(bucketAddress, address, key, false);
+            return ice;
+         } finally {
+            lock.unlock();
+         }
+      }
+
+      void demote(WrappedBytes key, WrappedBytes value, Metadata metadata, long created, long lastUsed) {
+         Lock lock = locks.getLock(key).writeLock();
+         lock.lock();
+         try {
+            checkDeallocation();
+            long newAddress = offHeapEntryFactory.create(key, value, metadata, created, lastUsed);
+            performPut(memoryLookup.getMemoryAddress(key), 0, newAddress, key);
+         } finally {
+            lock.unlock();
+         }
+         ensureSize();
+      }
+
+      @Override
+      protected void onEntryChosenForEviction(InternalCacheEntry<WrappedBytes, WrappedBytes> ice) {
+         passivator.passivate(toObjectEntry(ice));
+      }
+
+      @Override
+      protected void onEntryEviction(InternalCacheEntry<WrappedBytes, WrappedBytes> ice) {
+         InternalCacheEntry<K, V> evicted = toObjectEntry(ice);
+         evictionManager.onEntryEviction(Collections.singletonMap(evicted.getKey(), evicted));
+      }
+   }
+}
@@ -9,6 +9,7 @@
 import java.util.function.LongUnaryOperator;
 
 import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.configuration.cache.OffHeapEvictionPolicy;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.eviction.EvictionType;
 import org.infinispan.metadata.Metadata;
@@ -19,6 +20,10 @@
  * Data Container implementation that stores entries in native memory (off-heap) that is also bounded.  This
  * implementation uses a simple LRU doubly linked list off-heap guarded by a single lock.
  * <p>
+ * With the {@link OffHeapEvictionPolicy#CLOCK} policy reads don't acquire the lock and don't reorder the list, they
+ * only mark the entry as referenced. When an entry has to be evicted, referenced entries at the head of the list have
+ * their mark cleared and are moved to the end instead, so the list is only modified by writes and evictions.
+ * <p>
  * The link list is represented by firstAddress as the had of the list and lastAddress as the tail of the list. Each
  * entry in the list consists of 28 bytes (3 longs and 1 int), the first long is the actual entry address, the second is
  * a pointer to the previous element in the list, the third is the next pointer and lastly the int is the hashCode of
@@ -33,14 +38,25 @@ public class BoundedOffHeapDataContainer extends OffHeapDataContainer {
    protected final Lock lruLock;
    protected final LongUnaryOperator sizeCalculator;
    protected final long initialSize;
+   protected final boolean memoryBased;
+   protected final OffHeapEvictionPolicy evictionPolicy;
 
    protected long currentSize;
+   // How much the estimated memory used by addresses grew since the container was created
+   protected long addressesGrowth;
    protected long firstAddress;
    protected long lastAddress;
 
    public BoundedOffHeapDataContainer(int desiredSize, long maxSize, EvictionType type) {
+      this(desiredSize, maxSize, type, OffHeapEvictionPolicy.LRU);
+   }
+
+   public BoundedOffHeapDataContainer(int desiredSize, long maxSize, EvictionType type,
+         OffHeapEvictionPolicy evictionPolicy) {
       super(desiredSize);
       this.maxSize = maxSize;
+      this.evictionPolicy = evictionPolicy;
+      this.memoryBased = type == EvictionType.MEMORY;
       if (type == EvictionType.COUNT) {
          sizeCalculator = i -> 1;
          initialSize = 0;
@@ -61,6 +77,7 @@ public void put(WrappedBytes key, WrappedBytes value, Metadata metadata) {
       // The following is called outside of the write lock specifically - since we may not have to evict and even
       // if we did it would quite possibly need a different lock
       ensureSize();
+      passivator.awaitPassivationCapacity();
    }
 
    @Override
@@ -72,6 +89,7 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> compute(WrappedBytes key,
          // The following is called outside of the write lock specifically - since we may not have to evict and even
          // if we did it would quite possibly need a different lock
          ensureSize();
+         passivator.awaitPassivationCapacity();
       }
       return result;
    }
@@ -122,6 +140,22 @@ protected void entryRemoved(long removedAddress) {
       }
    }
 
+   /**
+    * Invoked with the write lock of the entry held, before the entry is removed to reduce the size of the container
+    * @param ice the entry chosen for eviction
+    */
+   protected void onEntryChosenForEviction(InternalCacheEntry<WrappedBytes, WrappedBytes> ice) {
+      passivator.passivate(ice);
+   }
+
+   /**
+    * Invoked with the write lock of the entry held, after the entry was removed to reduce the size of the container
+    * @param ice the evicted entry
+    */
+   protected void onEntryEviction(InternalCacheEntry<WrappedBytes, WrappedBytes> ice) {
+      evictionManager.onEntryEviction(Collections.singletonMap(ice.getKey(), ice));
+   }
+
    /**
     * Removes the address node and updates previous and next lru node pointers properly
     * The {@link BoundedOffHeapDataContainer#lruLock} <b>must</b> be held when invoking this
@@ -165,8 +199,29 @@ private void removeNode(long address) {
       }
    }
 
+   @Override
+   protected void addressesResized(long allocatedDelta) {
+      if (!memoryBased) {
+         return;
+      }
+      lruLock.lock();
+      try {
+         // Addresses are never released until the container stops, so they are accounted for the same as entries
+         addressesGrowth += allocatedDelta;
+         currentSize += allocatedDelta;
+      } finally {
+         lruLock.unlock();
+      }
+   }
+
    @Override
    protected void entryRetrieved(long entryAddress) {
+      if (evictionPolicy == OffHeapEvictionPolicy.CLOCK) {
+         // The read lock for the entry is enough to set the mark
+         offHeapEntryFactory.setReferenced(entryAddress);
+         super.entryRetrieved(entryAddress);
+         return;
+      }
       lruLock.lock();
       try {
          if (trace) {
@@ -187,7 +242,8 @@ protected void performClear() {
       // Technically we don't need to do lruLock since clear obtains all write locks first
       lruLock.lock();
       try {
-         currentSize = initialSize;
+         // Grown addresses are kept on clear
+         currentSize = initialSize + addressesGrowth;
          firstAddress = 0;
          lastAddress = 0;
       } finally {
@@ -224,16 +280,17 @@ public long evictionSize() {
     * tolerate a LRU head change as long as the new head entry is in the same lock stripe.
     * If the LRU list head changes, we release both locks and try again.
     */
-   private void ensureSize() {
+   protected void ensureSize() {
 
       while (true) {
          long addressToRemove;
          Lock entryWriteLock;
          lruLock.lock();
          try {
-            if (currentSize <= maxSize) {
+            if (currentSize <= maxSize || firstAddress == 0) {
                break;
             }
+            advanceClock();
             int hashCode = offHeapEntryFactory.getHashCode(firstAddress);
             entryWriteLock = locks.getLockFromHashCode(hashCode).writeLock();
             if (!entryWriteLock.tryLock()) {
@@ -250,9 +307,10 @@ private void ensureSize() {
             try {
                lruLock.lock();
                try {
-                  if (currentSize <= maxSize) {
+                  if (currentSize <= maxSize || firstAddress == 0) {
                      break;
                   }
+                  advanceClock();
                   int hashCode = offHeapEntryFactory.getHashCode(firstAddress);
                   Lock innerLock = locks.getLockFromHashCode(hashCode).writeLock();
                   if (innerLock == entryWriteLock) {
@@ -277,9 +335,9 @@ private void ensureSize() {
             }
             try {
                InternalCacheEntry<WrappedBytes, WrappedBytes> ice = offHeapEntryFactory.fromMemory(addressToRemove);
-               passivator.passivate(ice);
+               onEntryChosenForEviction(ice);
                performRemove(memoryLookup.getMemoryAddress(ice.getKey()), addressToRemove, ice.getKey(), false);
-               evictionManager.onEntryEviction(Collections.singletonMap(ice.getKey(), ice));
+               onEntryEviction(ice);
             } finally {
                entryWriteLock.unlock();
             }
@@ -287,6 +345,26 @@ private void ensureSize() {
       }
    }
 
+   /**
+    * Gives the referenced entries at the head of the list a second chance by clearing their mark and moving them to
+    * the end, so that the head of the list is the entry to evict. This does nothing unless the
+    * {@link OffHeapEvictionPolicy#CLOCK} policy is used.
+    * This method should only be invoked after acquiring the lruLock and only if the list is not empty.
+    */
+   private void advanceClock() {
+      if (evictionPolicy != OffHeapEvictionPolicy.CLOCK) {
+         return;
+      }
+      // Every entry passed over has its mark cleared, so a single rotation is enough unless readers keep marking
+      // entries concurrently, in which case we just evict the head we end up with
+      for (long i = size.get(); i > 0 && offHeapEntryFactory.clearReferenced(firstAddress); --i) {
+         if (trace) {
+            getLog().tracef("Giving referenced entry 0x%016x a second chance", firstAddress);
+         }
+         moveToEnd(firstAddress);
+      }
+   }
+
    /**
     * Method to be invoked when adding a new entry address to the end of the lru nodes.  This occurs for newly created
     * entries.
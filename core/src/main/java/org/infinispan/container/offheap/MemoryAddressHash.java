@@ -1,10 +1,20 @@
 package org.infinispan.container.offheap;
 
+import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 
 import sun.misc.Unsafe;
 
 /**
+ * Table holding the address of the first entry of each bucket for the off-heap containers.
+ * <p>
+ * The table is split into one sub table per lock stripe, using the same calculation as {@link StripedLock}, so each sub
+ * table is only read while holding the read lock of its stripe and only modified while holding its write lock. All
+ * stripes start out sharing a single allocation where the buckets of the different stripes are interleaved. When a
+ * stripe holds more entries than it has buckets, it allocates a table twice as large for itself and moves its entries
+ * there, so lookups remain constant time as the container grows without ever having to block the other stripes.
+ * The interleaved slots of a stripe are not used anymore after it has grown, but the shared allocation is only released
+ * when this table is deallocated.
  * @author wburns
  * @since 9.0
  */
@@ -16,42 +26,186 @@ public class MemoryAddressHash {
 
    private final long memory;
    private final int pointerCount;
+   private final int lockMask;
+   private final int lockShift;
+   private final int maxStripeBuckets;
    private final OffHeapMemoryAllocator allocator;
+   private final OffHeapEntryFactory offHeapEntryFactory;
 
-   public MemoryAddressHash(int pointers, OffHeapMemoryAllocator allocator) {
+   // The following are indexed by stripe and must only be accessed while holding a lock of that stripe
+   private final long[] tables;
+   private final int[] firstOffsets;
+   private final int[] bucketShifts;
+   private final int[] bucketCounts;
+   private final int[] entryCounts;
+
+   public MemoryAddressHash(int pointers, int lockCount, OffHeapMemoryAllocator allocator,
+         OffHeapEntryFactory offHeapEntryFactory) {
       this.pointerCount = nextPowerOfTwo(pointers);
       long bytes = ((long) pointerCount) << 3;
       this.allocator = allocator;
+      this.offHeapEntryFactory = offHeapEntryFactory;
       memory = allocator.allocate(bytes);
       // Have to clear out bytes to make sure no bad stuff was read in
       UNSAFE.setMemory(memory, bytes, (byte) 0);
+
+      int stripes = nextPowerOfTwo(lockCount);
+      if (stripes > pointerCount) {
+         throw new IllegalArgumentException("Address count " + pointerCount + " must be at least lock count " + stripes);
+      }
+      lockMask = stripes - 1;
+      lockShift = Integer.numberOfTrailingZeros(stripes);
+      // The spread hash only has 31 usable bits and the lowest ones are used to find the stripe
+      maxStripeBuckets = lockShift == 0 ? MAXIMUM_CAPACITY : Math.min(MAXIMUM_CAPACITY, 1 << (31 - lockShift));
+      tables = new long[stripes];
+      firstOffsets = new int[stripes];
+      bucketShifts = new int[stripes];
+      bucketCounts = new int[stripes];
+      entryCounts = new int[stripes];
+      for (int i = 0; i < stripes; ++i) {
+         // Bucket k of stripe i is located at index (k << lockShift) | i of the shared memory
+         tables[i] = memory;
+         firstOffsets[i] = i << 3;
+         bucketShifts[i] = lockShift + 3;
+         bucketCounts[i] = pointerCount >>> lockShift;
+      }
+   }
+
+   private int stripe(int spreadHash) {
+      return spreadHash & lockMask;
+   }
+
+   private long findOffset(int stripe, int bucket) {
+      return firstOffsets[stripe] + (((long) bucket) << bucketShifts[stripe]);
+   }
+
+   private long findOffset(int stripe, Object instance) {
+      return findOffset(stripe, bucket(stripe, spread(instance.hashCode())));
    }
 
-   private long findOffset(Object instance) {
-      int h = spread(instance.hashCode());
-      int pointerMask = pointerCount - 1;
-      return h & pointerMask;
+   private int bucket(int stripe, int spreadHash) {
+      return (spreadHash >>> lockShift) & (bucketCounts[stripe] - 1);
    }
 
    public void putMemoryAddress(Object instance, long address) {
-      long offset = findOffset(instance);
-      MEMORY.putLong(memory, offset << 3, address);
+      int stripe = stripe(spread(instance.hashCode()));
+      MEMORY.putLong(tables[stripe], findOffset(stripe, instance), address);
    }
 
    public long getMemoryAddress(Object instance) {
-      return MEMORY.getLong(memory, findOffset(instance) << 3);
+      int stripe = stripe(spread(instance.hashCode()));
+      return MEMORY.getLong(tables[stripe], findOffset(stripe, instance));
+   }
+
+   /**
+    * @return how many stripes, and thus sub tables, there are
+    */
+   public int getStripeCount() {
+      return tables.length;
+   }
+
+   /**
+    * Returns how many buckets the given stripe currently has. The lock for the stripe must be held.
+    * @param stripe the stripe offset, the same as used for {@link StripedLock#getLockWithOffset(int)}
+    * @return the number of buckets in the stripe
+    */
+   public int getBucketCount(int stripe) {
+      return bucketCounts[stripe];
+   }
+
+   public long getMemoryAddressOffset(int stripe, int bucket) {
+      return MEMORY.getLong(tables[stripe], findOffset(stripe, bucket));
+   }
+
+   public long getMemoryAddressOffsetNoTraceIfAbsent(int stripe, int bucket) {
+      return MEMORY.getLongNoTraceIfAbsent(tables[stripe], findOffset(stripe, bucket));
+   }
+
+   /**
+    * Records that a new entry was added for the given key, growing the table of its stripe if it now holds more
+    * entries than buckets. The write lock for the given key <b>must</b> be held and the entry must already be linked
+    * into its bucket.
+    * @param instance the key of the entry that was added
+    * @return the change in the estimated amount of memory allocated for this table, 0 if it didn't grow
+    */
+   public long entryAdded(Object instance) {
+      int stripe = stripe(spread(instance.hashCode()));
+      int entries = ++entryCounts[stripe];
+      int buckets = bucketCounts[stripe];
+      if (entries > buckets && buckets < maxStripeBuckets) {
+         return resize(stripe, buckets << 1);
+      }
+      return 0;
    }
 
-   public long getMemoryAddressOffset(int offset) {
-      return MEMORY.getLong(memory,((long) offset) << 3);
+   /**
+    * Records that an entry was removed for the given key. The write lock for the given key <b>must</b> be held.
+    * @param instance the key of the entry that was removed
+    */
+   public void entryRemoved(Object instance) {
+      entryCounts[stripe(spread(instance.hashCode()))]--;
    }
 
-   public long getMemoryAddressOffsetNoTraceIfAbsent(int offset) {
-      return MEMORY.getLongNoTraceIfAbsent(memory,((long) offset) << 3);
+   private long resize(int stripe, int newBucketCount) {
+      long newBytes = ((long) newBucketCount) << 3;
+      long newTable = allocator.allocate(newBytes);
+      UNSAFE.setMemory(newTable, newBytes, (byte) 0);
+      int newMask = newBucketCount - 1;
+      int oldBucketCount = bucketCounts[stripe];
+      for (int i = 0; i < oldBucketCount; ++i) {
+         long offset = findOffset(stripe, i);
+         long address = MEMORY.getLongNoTraceIfAbsent(tables[stripe], offset);
+         if (address == 0) {
+            continue;
+         }
+         MEMORY.putLong(tables[stripe], offset, 0);
+         // An entry from bucket i can only move to bucket i or i + oldBucketCount, each of them receiving the entries
+         // in their previous relative order
+         long lowTail = 0;
+         long highTail = 0;
+         while (address != 0) {
+            long nextAddress = offHeapEntryFactory.getNext(address);
+            offHeapEntryFactory.setNext(address, 0);
+            int newBucket = (spread(offHeapEntryFactory.getHashCode(address)) >>> lockShift) & newMask;
+            long tail = newBucket == i ? lowTail : highTail;
+            if (tail == 0) {
+               MEMORY.putLong(newTable, ((long) newBucket) << 3, address);
+            } else {
+               offHeapEntryFactory.setNext(tail, address);
+            }
+            if (newBucket == i) {
+               lowTail = address;
+            } else {
+               highTail = address;
+            }
+            address = nextAddress;
+         }
+      }
+      long allocatedDelta = UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(newBytes);
+      if (tables[stripe] != memory) {
+         long oldBytes = ((long) oldBucketCount) << 3;
+         allocator.deallocate(tables[stripe], oldBytes);
+         allocatedDelta -= UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(oldBytes);
+      }
+      tables[stripe] = newTable;
+      firstOffsets[stripe] = 0;
+      bucketShifts[stripe] = 3;
+      bucketCounts[stripe] = newBucketCount;
+      return allocatedDelta;
    }
 
    public void deallocate() {
-      allocator.deallocate(memory, pointerCount << 3);
+      for (int i = 0; i < tables.length; ++i) {
+         if (tables[i] != memory) {
+            allocator.deallocate(tables[i], ((long) bucketCounts[i]) << 3);
+         }
+      }
+      allocator.deallocate(memory, ((long) pointerCount) << 3);
+   }
+
+   private LongStream stripeAddresses(int stripe) {
+      return IntStream.range(0, bucketCounts[stripe])
+            .mapToLong(i -> tables[stripe] + findOffset(stripe, i));
    }
 
    /**
@@ -59,20 +213,24 @@ public void deallocate() {
     * @return stream of the various memory locations
     */
    public LongStream toStream() {
-      return LongStream.iterate(memory, l -> l + 8)
-            .limit(pointerCount)
-            .map(UNSAFE::getLong)
+      return IntStream.range(0, tables.length)
+            .mapToObj(this::stripeAddresses)
+            .flatMapToLong(s -> s.map(UNSAFE::getLong))
             .filter(l -> l != 0);
    }
 
    /**
-    * Same as {@link MemoryAddressHash#toStream()} except that the memory addresses are also cleared out (set to 0)
+    * Same as {@link MemoryAddressHash#toStream()} except that the memory addresses are also cleared out (set to 0).
+    * All write locks <b>must</b> be held while consuming this stream.
     * @return stream with the valid memory pointers to stored values
     */
    public LongStream toStreamRemoved() {
-      return LongStream.iterate(memory, l -> l + 8)
-            .limit(pointerCount)
-            .map(l -> UNSAFE.getAndSetLong(null, l, 0))
+      return IntStream.range(0, tables.length)
+            .mapToObj(stripe -> {
+               entryCounts[stripe] = 0;
+               return stripeAddresses(stripe);
+            })
+            .flatMapToLong(s -> s.map(l -> UNSAFE.getAndSetLong(null, l, 0)))
             .filter(l -> l != 0);
    }
 
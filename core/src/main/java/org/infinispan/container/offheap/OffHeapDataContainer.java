@@ -75,15 +75,19 @@ static int nextPowerOfTwo(int target) {
       return (n < 0) ? 1 : n >= MAX_LOCK_COUNT ? MAX_LOCK_COUNT : n + 1;
    }
 
+   static int defaultLockCount() {
+      return nextPowerOfTwo(ProcessorInfo.availableProcessors()) << 1;
+   }
+
    public OffHeapDataContainer(int desiredSize) {
-      lockCount = nextPowerOfTwo(ProcessorInfo.availableProcessors()) << 1;
+      lockCount = defaultLockCount();
       memoryAddressCount = getActualAddressCount(desiredSize, lockCount);
       // Unfortunately desired size directly correlates to lock size
       locks = new StripedLock(lockCount);
    }
 
    public static int getActualAddressCount(int desiredSize) {
-      return getActualAddressCount(desiredSize, nextPowerOfTwo(ProcessorInfo.availableProcessors()) << 1);
+      return getActualAddressCount(desiredSize, defaultLockCount());
    }
 
    private static int getActualAddressCount(int desiredSize, int lockCount) {
@@ -96,13 +100,14 @@ private static int getActualAddressCount(int desiredSize, int lockCount) {
 
    @Start
    public void start() {
-      memoryLookup = new MemoryAddressHash(memoryAddressCount, allocator);
+      memoryLookup = new MemoryAddressHash(memoryAddressCount, lockCount, allocator, offHeapEntryFactory);
    }
 
    /**
-    * Clears the memory lookups and cache data.
+    * Clears the memory lookups and cache data. This runs just before the allocator is stopped, which may release
+    * the memory backing all entries.
     */
-   @Stop(priority = Integer.MAX_VALUE)
+   @Stop(priority = Integer.MAX_VALUE - 1)
    public void stop() {
       locks.lockAll();
       try {
@@ -215,6 +220,7 @@ protected boolean performPut(long bucketHeadAddress, long actualAddress, long ne
          memoryLookup.putMemoryAddress(key, newAddress);
          entryCreated(newAddress);
          size.incrementAndGet();
+         addressAdded(key);
          return true;
       } else {
          boolean replaceHead = false;
@@ -265,10 +271,38 @@ protected boolean performPut(long bucketHeadAddress, long actualAddress, long ne
             // Now prevAddress should be the last link so we fix our link
             offHeapEntryFactory.setNext(prevAddress, newAddress);
          }
+         if (!foundKey) {
+            addressAdded(key);
+         }
          return !foundKey;
       }
    }
 
+   /**
+    * Records a newly created entry in the address lookup, which may grow the addresses of the stripe the key maps to.
+    * This must only be invoked after the new entry is linked into its bucket.
+    * @param key the key of the new entry
+    */
+   private void addressAdded(WrappedBytes key) {
+      long allocatedDelta = memoryLookup.entryAdded(key);
+      if (allocatedDelta != 0) {
+         if (trace) {
+            getLog().tracef("Grew off heap addresses of lock stripe for key %s, allocated memory changed by %d bytes",
+                  key, allocatedDelta);
+         }
+         addressesResized(allocatedDelta);
+      }
+   }
+
+   /**
+    * Invoked after the addresses of a lock stripe were grown to hold more entries. The write lock will already be
+    * acquired for the stripe that was grown.
+    * @param allocatedDelta how much the estimated memory allocated for addresses changed
+    */
+   protected void addressesResized(long allocatedDelta) {
+
+   }
+
    /**
     * Invoked when an entry is about to be created.  The new address is fully addressable,
     * The write lock will already be acquired for the given segment the key mapped to.
@@ -386,6 +420,7 @@ protected InternalCacheEntry<WrappedBytes, WrappedBytes> performRemove(long buck
                memoryLookup.putMemoryAddress(key, nextAddress);
             }
             size.decrementAndGet();
+            memoryLookup.entryRemoved(key);
             break;
          }
          prevAddress = address;
@@ -545,6 +580,7 @@ public void evict(WrappedBytes key) {
       } finally {
          lock.unlock();
       }
+      passivator.awaitPassivationCapacity();
    }
 
    @Override
@@ -588,8 +624,9 @@ private void executeTask(Consumer<InternalCacheEntry<WrappedBytes, WrappedBytes>
          try {
             checkDeallocation();
             long now = timeService.wallClockTime();
-            for (int j = i; j < memoryAddressCount; j += lockCount) {
-               long address = memoryLookup.getMemoryAddressOffsetNoTraceIfAbsent(j);
+            int bucketCount = memoryLookup.getBucketCount(i);
+            for (int j = 0; j < bucketCount; ++j) {
+               long address = memoryLookup.getMemoryAddressOffsetNoTraceIfAbsent(i, j);
                while (address != 0) {
                   long nextAddress = offHeapEntryFactory.getNext(address);
                   InternalCacheEntry<WrappedBytes, WrappedBytes> ice = offHeapEntryFactory.fromMemory(address);
@@ -626,23 +663,49 @@ public void executeTask(KeyValueFilter<? super WrappedBytes, ? super WrappedByte
    }
 
    private Stream<InternalCacheEntry<WrappedBytes, WrappedBytes>> entryStreamIncludingExpired() {
-      return IntStream.range(0, memoryAddressCount)
+      return IntStream.range(0, lockCount)
+            .mapToObj(this::stripeEntryStream)
+            .flatMap(Function.identity());
+   }
+
+   /**
+    * Returns a lazy stream of the entries of a single lock stripe, only holding the lock while reading one bucket at a
+    * time. The stripe may grow while the stream is consumed, however growing only splits a bucket into the buckets that
+    * are congruent with it, modulo the bucket count when the stream was created. Reading all of those together
+    * guarantees every entry is returned exactly once.
+    */
+   private Stream<InternalCacheEntry<WrappedBytes, WrappedBytes>> stripeEntryStream(int stripe) {
+      Lock lock = locks.getLockWithOffset(stripe).readLock();
+      int initialBucketCount;
+      lock.lock();
+      try {
+         checkDeallocation();
+         initialBucketCount = memoryLookup.getBucketCount(stripe);
+      } finally {
+         lock.unlock();
+      }
+      return IntStream.range(0, initialBucketCount)
             .mapToObj(a -> {
-               Lock lock = locks.getLockWithOffset(a % lockCount).readLock();
                lock.lock();
                try {
                   checkDeallocation();
-                  long address = memoryLookup.getMemoryAddressOffsetNoTraceIfAbsent(a);
-                  if (address == 0) {
-                     return null;
+                  Stream.Builder<InternalCacheEntry<WrappedBytes, WrappedBytes>> builder = null;
+                  int bucketCount = memoryLookup.getBucketCount(stripe);
+                  for (int b = a; b < bucketCount; b += initialBucketCount) {
+                     long address = memoryLookup.getMemoryAddressOffsetNoTraceIfAbsent(stripe, b);
+                     if (address == 0) {
+                        continue;
+                     }
+                     if (builder == null) {
+                        builder = Stream.builder();
+                     }
+                     long nextAddress;
+                     do {
+                        nextAddress = offHeapEntryFactory.getNext(address);
+                        builder.accept(offHeapEntryFactory.fromMemory(address));
+                     } while ((address = nextAddress) != 0);
                   }
-                  Stream.Builder<InternalCacheEntry<WrappedBytes, WrappedBytes>> builder = Stream.builder();
-                  long nextAddress;
-                  do {
-                     nextAddress = offHeapEntryFactory.getNext(address);
-                     builder.accept(offHeapEntryFactory.fromMemory(address));
-                  } while ((address = nextAddress) != 0);
-                  return builder.build();
+                  return builder == null ? null : builder.build();
                } finally {
                   lock.unlock();
                }
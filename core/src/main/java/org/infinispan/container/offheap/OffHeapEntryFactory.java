@@ -21,6 +21,18 @@ public interface OffHeapEntryFactory extends KeyValueMetadataSizeCalculator<Wrap
     */
    long create(WrappedBytes key, WrappedBytes value, Metadata metadata);
 
+   /**
+    * Creates an off heap entry using the provided key value and metadata, keeping the given creation and last access
+    * times instead of the current time
+    * @param key the key to use
+    * @param value the value to use
+    * @param metadata the metadata to use
+    * @param created the creation time of the entry
+    * @param lastUsed the last access time of the entry
+    * @return the address of where the entry was created
+    */
+   long create(WrappedBytes key, WrappedBytes value, Metadata metadata, long created, long lastUsed);
+
    /**
     * Returns how many bytes in memory this address location uses assuming it is an {@link InternalCacheEntry}.
     * This will estimate the size assuming 8 byte alignment and 16 byte allocation overhead
@@ -51,6 +63,20 @@ public interface OffHeapEntryFactory extends KeyValueMetadataSizeCalculator<Wrap
     */
    int getHashCode(long address);
 
+   /**
+    * Marks the entry as having been read since the eviction policy last looked at it. Only the read lock for the
+    * entry needs to be held.
+    * @param address the address of the entry
+    */
+   void setReferenced(long address);
+
+   /**
+    * Clears the mark set by {@link #setReferenced(long)}.
+    * @param address the address of the entry
+    * @return whether the entry was marked as referenced
+    */
+   boolean clearReferenced(long address);
+
    /**
     * Create an entry from the off heap pointer
     * @param address the address of the entry to read
@@ -11,6 +11,7 @@
 import org.infinispan.container.entries.ExpiryHelper;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.versioning.EntryVersion;
+import org.infinispan.encoding.CompressedByteArray;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
 import org.infinispan.metadata.EmbeddedMetadata;
@@ -44,6 +45,10 @@ public class OffHeapEntryFactoryImpl implements OffHeapEntryFactory {
    private static final byte MORTAL = 1 << 3;
    private static final byte TRANSIENT = 1 << 4;
    private static final byte TRANSIENT_MORTAL = 1 << 5;
+   // Not part of the type, flipped by readers when the CLOCK eviction policy is in use
+   private static final byte REFERENCED = 1 << 6;
+   // Not part of the type, set when the value is a CompressedByteArray
+   private static final byte COMPRESSED = (byte) (1 << 7);
 
    /**
     * HEADER is composed of type (byte), hashCode (int), keyLength (int), valueLength (int)
@@ -65,6 +70,12 @@ public void start() {
     */
    @Override
    public long create(WrappedBytes key, WrappedBytes value, Metadata metadata) {
+      long now = timeService.wallClockTime();
+      return create(key, value, metadata, now, now);
+   }
+
+   @Override
+   public long create(WrappedBytes key, WrappedBytes value, Metadata metadata, long created, long lastUsed) {
       byte type;
       boolean shouldWriteMetadataSize = false;
       byte[] metadataBytes;
@@ -94,22 +105,21 @@ public long create(WrappedBytes key, WrappedBytes value, Metadata metadata) {
             type |= MORTAL;
             metadataBytes = new byte[16 + versionBytes.length];
             Bits.putLong(metadataBytes, 0, lifespan);
-            Bits.putLong(metadataBytes, 8, timeService.wallClockTime());
+            Bits.putLong(metadataBytes, 8, created);
             System.arraycopy(versionBytes, 0, metadataBytes, 16, versionBytes.length);
          } else if (lifespan < 0 && maxIdle > -1) {
             type |= TRANSIENT;
             metadataBytes = new byte[16 + versionBytes.length];
             Bits.putLong(metadataBytes, 0, maxIdle);
-            Bits.putLong(metadataBytes, 8, timeService.wallClockTime());
+            Bits.putLong(metadataBytes, 8, lastUsed);
             System.arraycopy(versionBytes, 0, metadataBytes, 16, versionBytes.length);
          } else {
             type |= TRANSIENT_MORTAL;
             metadataBytes = new byte[32 + versionBytes.length];
             Bits.putLong(metadataBytes, 0, lifespan);
             Bits.putLong(metadataBytes, 8, maxIdle);
-            long time = timeService.wallClockTime();
-            Bits.putLong(metadataBytes, 16, time);
-            Bits.putLong(metadataBytes, 24, time);
+            Bits.putLong(metadataBytes, 16, created);
+            Bits.putLong(metadataBytes, 24, lastUsed);
             System.arraycopy(versionBytes, 0, metadataBytes, 32, versionBytes.length);
          }
       } else {
@@ -121,6 +131,9 @@ public long create(WrappedBytes key, WrappedBytes value, Metadata metadata) {
             throw new CacheException(e);
          }
       }
+      if (value instanceof CompressedByteArray) {
+         type |= COMPRESSED;
+      }
       int keySize = key.getLength();
       int metadataSize = metadataBytes.length;
       int valueSize = value.getLength();
@@ -169,7 +182,7 @@ public long create(WrappedBytes key, WrappedBytes value, Metadata metadata) {
    public long getSize(long entryAddress) {
       int headerOffset = evictionEnabled ? 24 : 8;
 
-      byte type = MEMORY.getByte(entryAddress, headerOffset);
+      byte type = readType(entryAddress, headerOffset);
       headerOffset++;
       // Skip the hashCode
       headerOffset += 4;
@@ -219,7 +232,8 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address) {
       // 8 bytes for linked pointer
       int offset = evictionEnabled ? 24 : 8;
 
-      byte metadataType = MEMORY.getByte(address, offset);
+      byte metadataType = readType(address, offset);
+      boolean compressed = (MEMORY.getByte(address, offset) & COMPRESSED) != 0;
       offset += 1;
       int hashCode = MEMORY.getInt(address, offset);
       offset += 4;
@@ -255,6 +269,7 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address) {
       offset += metadataBytes.length;
       MEMORY.getBytes(address, offset, valueBytes, 0, valueBytes.length);
       offset += valueBytes.length;
+      WrappedBytes value = compressed ? new CompressedByteArray(valueBytes) : new WrappedByteArray(valueBytes);
 
       Metadata metadata;
       // This is a custom metadata
@@ -265,7 +280,7 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address) {
             throw new CacheException(e);
          }
          return internalEntryFactory.create(new WrappedByteArray(keyBytes, hashCode),
-               new WrappedByteArray(valueBytes), metadata);
+               value, metadata);
       } else {
          long lifespan;
          long maxIdle;
@@ -307,13 +322,13 @@ public InternalCacheEntry<WrappedBytes, WrappedBytes> fromMemory(long address) {
                EntryVersion version = (EntryVersion) marshaller.objectFromByteBuffer(metadataBytes, offset,
                      metadataBytes.length - offset);
                return internalEntryFactory.create(new WrappedByteArray(keyBytes, hashCode),
-                     new WrappedByteArray(valueBytes), version, created, lifespan, lastUsed, maxIdle);
+                     value, version, created, lifespan, lastUsed, maxIdle);
             } catch (IOException | ClassNotFoundException e) {
                throw new CacheException(e);
             }
          } else {
             return internalEntryFactory.create(new WrappedByteArray(keyBytes, hashCode),
-                  new WrappedByteArray(valueBytes), (Metadata) null, created, lifespan, lastUsed, maxIdle);
+                  value, (Metadata) null, created, lifespan, lastUsed, maxIdle);
          }
       }
    }
@@ -329,7 +344,7 @@ public boolean equalsKey(long address, WrappedBytes wrappedBytes) {
       // 16 bytes for eviction if needed (optional)
       // 8 bytes for linked pointer
       int headerOffset = evictionEnabled ? 24 : 8;
-      byte type = MEMORY.getByte(address, headerOffset);
+      byte type = readType(address, headerOffset);
       headerOffset++;
       // First if hashCode doesn't match then the key can't be equal
       int hashCode = wrappedBytes.hashCode();
@@ -369,7 +384,7 @@ public boolean isExpired(long address) {
       // 8 bytes for linked pointer
       int offset = evictionEnabled ? 24 : 8;
 
-      byte metadataType = MEMORY.getByte(address, offset);
+      byte metadataType = readType(address, offset);
       if ((metadataType & IMMORTAL) != 0) {
          return false;
       }
@@ -435,6 +450,32 @@ public boolean isExpired(long address) {
       }
    }
 
+   @Override
+   public void setReferenced(long address) {
+      // The rest of the type byte never changes after the entry is created, so concurrent updates can only lose
+      // a change to the referenced bit which is acceptable for an eviction hint
+      int offset = evictionEnabled ? 24 : 8;
+      byte type = MEMORY.getByte(address, offset);
+      if ((type & REFERENCED) == 0) {
+         MEMORY.putByte(address, offset, (byte) (type | REFERENCED));
+      }
+   }
+
+   @Override
+   public boolean clearReferenced(long address) {
+      int offset = evictionEnabled ? 24 : 8;
+      byte type = MEMORY.getByte(address, offset);
+      if ((type & REFERENCED) != 0) {
+         MEMORY.putByte(address, offset, (byte) (type & ~REFERENCED));
+         return true;
+      }
+      return false;
+   }
+
+   private static byte readType(long address, int offset) {
+      return (byte) (MEMORY.getByte(address, offset) & ~(REFERENCED | COMPRESSED));
+   }
+
    static private boolean requiresMetadataSize(byte type) {
       return (type & (CUSTOM | HAS_VERSION)) != 0;
    }
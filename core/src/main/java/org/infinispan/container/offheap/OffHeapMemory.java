@@ -141,4 +141,34 @@ void free(long address) {
       }
       UNSAFE.freeMemory(address);
    }
+
+   /**
+    * Allocates memory that will be carved into smaller blocks. The slab itself is never accessed directly, instead
+    * each block handed out must be registered via {@link #trackBlock(long, long)}.
+    */
+   long allocateSlab(long size) {
+      return UNSAFE.allocateMemory(size);
+   }
+
+   void freeSlab(long address) {
+      UNSAFE.freeMemory(address);
+   }
+
+   void trackBlock(long address, long size) {
+      if (trace) {
+         Long prev = allocatedBlocks.put(address, size);
+         if (prev != null) {
+            throw new IllegalArgumentException();
+         }
+      }
+   }
+
+   void untrackBlock(long address) {
+      if (trace) {
+         Long prev = allocatedBlocks.remove(address);
+         if (prev == null) {
+            throw new IllegalArgumentException();
+         }
+      }
+   }
 }
@@ -0,0 +1,349 @@
+package org.infinispan.container.offheap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongUnaryOperator;
+
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Stop;
+import org.infinispan.jmx.annotations.DisplayType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import sun.misc.Unsafe;
+
+/**
+ * Memory allocator that carves allocations out of larger slabs of native memory, grouping them by size class.
+ * <p>
+ * There is one arena per lock stripe of the data container, and a thread always uses the same arena, so concurrent
+ * writers rarely contend with each other. Each arena bump allocates from its current slab and keeps a free list per
+ * size class, so freed blocks are reused for the next allocation of the same class instead of going back to the
+ * operating system. A block is always freed to the arena owning its slab, whichever thread frees it, so the free lists
+ * of an arena only ever hold blocks of its own slabs. Slabs are only released when this allocator is stopped.
+ * <p>
+ * Size classes are chosen from the estimated size of an allocation (see
+ * {@link UnpooledOffHeapMemoryAllocator#estimateSizeOverhead(long)}), which is the same value
+ * {@link OffHeapEntryFactory#getSize(long)} returns for an entry. This allows an entry to be freed without storing any
+ * additional header in front of it, keeping the entry layout unchanged. Allocations too large for any size class are
+ * allocated directly, the same as {@link UnpooledOffHeapMemoryAllocator} does.
+ * <p>
+ * {@link #getAllocatedAmount()} reports the same estimated amount as {@link UnpooledOffHeapMemoryAllocator} so that
+ * memory based eviction works identically for both allocators.
+ * @since 9.4
+ */
+@MBean(objectName = "OffHeapAllocator", description = "Allocator that pools off-heap memory in slabs of size classes")
+public class SlabOffHeapMemoryAllocator implements OffHeapMemoryAllocator {
+   private static final Log log = LogFactory.getLog(SlabOffHeapMemoryAllocator.class, Log.class);
+   private static final boolean trace = log.isTraceEnabled();
+   private static final OffHeapMemory MEMORY = OffHeapMemory.INSTANCE;
+   private static final Unsafe UNSAFE = UnsafeHolder.UNSAFE;
+
+   public static final int MINIMUM_SLAB_SIZE = 4096;
+
+   // Blocks must be able to hold the free list pointer and are always 16 byte aligned
+   private static final int ALIGNMENT = 16;
+   private static final int MINIMUM_BLOCK_SIZE = 32;
+   // Classes grow by the alignment up to this size and by a quarter after it, to bound rounding waste to 25%
+   private static final int LINEAR_CLASS_LIMIT = 512;
+
+   private final int slabSize;
+   private final int[] classSizes;
+   private final int maxPooledSize;
+   private final Arena[] arenas;
+   // The arena owning each slab, by slab address
+   private final ConcurrentSkipListMap<Long, Arena> slabOwners = new ConcurrentSkipListMap<>();
+
+   private final LongAdder amountAllocated = new LongAdder();
+   private final LongAdder pooledAmountAllocated = new LongAdder();
+   private final LongAdder pooledBlockAmount = new LongAdder();
+   private final LongAdder reservedAmount = new LongAdder();
+   private final LongAdder slabCount = new LongAdder();
+   private final LongAdder reusedAllocations = new LongAdder();
+   private final LongAdder unpooledAllocations = new LongAdder();
+   private LongUnaryOperator sizeCalculator;
+
+   public SlabOffHeapMemoryAllocator(int slabSize) {
+      this(slabSize, OffHeapDataContainer.defaultLockCount());
+   }
+
+   public SlabOffHeapMemoryAllocator(int slabSize, int arenaCount) {
+      if (slabSize < MINIMUM_SLAB_SIZE) {
+         throw new IllegalArgumentException("Slab size " + slabSize + " must be at least " + MINIMUM_SLAB_SIZE);
+      }
+      this.slabSize = slabSize;
+      this.classSizes = sizeClasses(slabSize >>> 3);
+      this.maxPooledSize = classSizes[classSizes.length - 1];
+      this.arenas = new Arena[OffHeapDataContainer.nextPowerOfTwo(arenaCount)];
+      for (int i = 0; i < arenas.length; ++i) {
+         arenas[i] = new Arena();
+      }
+   }
+
+   @Inject
+   public void inject(OffHeapEntryFactory offHeapEntryFactory) {
+      sizeCalculator = offHeapEntryFactory::getSize;
+   }
+
+   /**
+    * Releases all slabs back to the operating system. This must run after the data container has released all of its
+    * entries, which is why it has the highest possible priority.
+    */
+   @Stop(priority = Integer.MAX_VALUE)
+   public void stop() {
+      for (Arena arena : arenas) {
+         arena.release();
+      }
+   }
+
+   @Override
+   public long allocate(long memoryLength) {
+      long estimatedMemoryLength = UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(memoryLength);
+      int sizeClass = sizeClassIndex(estimatedMemoryLength);
+      long memoryLocation;
+      if (sizeClass < 0) {
+         memoryLocation = MEMORY.allocate(memoryLength);
+         unpooledAllocations.increment();
+      } else {
+         int blockSize = classSizes[sizeClass];
+         memoryLocation = arena().allocate(sizeClass);
+         MEMORY.trackBlock(memoryLocation, blockSize);
+         pooledAmountAllocated.add(estimatedMemoryLength);
+         pooledBlockAmount.add(blockSize);
+      }
+      amountAllocated.add(estimatedMemoryLength);
+      if (trace) {
+         log.tracef("Allocated off heap memory at 0x%016x with %d bytes in size class %d. Total size: %d",
+               memoryLocation, estimatedMemoryLength, sizeClass, amountAllocated.sum());
+      }
+      return memoryLocation;
+   }
+
+   @Override
+   public void deallocate(long memoryAddress) {
+      // Size calculator already takes care of size estimate
+      innerDeallocate(memoryAddress, sizeCalculator.applyAsLong(memoryAddress));
+   }
+
+   @Override
+   public void deallocate(long memoryAddress, long size) {
+      innerDeallocate(memoryAddress, UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(size));
+   }
+
+   private void innerDeallocate(long memoryAddress, long estimatedSize) {
+      amountAllocated.add(-estimatedSize);
+      int sizeClass = sizeClassIndex(estimatedSize);
+      if (trace) {
+         log.tracef("Deallocating off heap memory at 0x%016x with %d bytes in size class %d. Total size: %d",
+               memoryAddress, estimatedSize, sizeClass, amountAllocated.sum());
+      }
+      if (sizeClass < 0) {
+         MEMORY.free(memoryAddress);
+      } else {
+         MEMORY.untrackBlock(memoryAddress);
+         pooledAmountAllocated.add(-estimatedSize);
+         pooledBlockAmount.add(-classSizes[sizeClass]);
+         slabOwner(memoryAddress).free(memoryAddress, sizeClass);
+      }
+   }
+
+   @Override
+   public long getAllocatedAmount() {
+      return amountAllocated.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Amount of off-heap memory in bytes reserved by slabs",
+         displayName = "Reserved slab memory",
+         displayType = DisplayType.SUMMARY
+   )
+   public long getReservedSlabMemory() {
+      return reservedAmount.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Number of slabs currently reserved",
+         displayName = "Slab count"
+   )
+   public long getSlabCount() {
+      return slabCount.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Amount of slab memory in bytes handed out to entries, including size class rounding",
+         displayName = "Slab memory in use"
+   )
+   public long getSlabMemoryInUse() {
+      return pooledBlockAmount.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Percentage of reserved slab memory handed out to entries",
+         displayName = "Slab utilisation",
+         units = Units.PERCENTAGE,
+         displayType = DisplayType.SUMMARY
+   )
+   public double getSlabUtilisation() {
+      double reserved = reservedAmount.sum();
+      if (reserved <= 0)
+         return 0;
+      return 100 * pooledBlockAmount.sum() / reserved;
+   }
+
+   @ManagedAttribute(
+         description = "Percentage of reserved slab memory not holding entry data, either because it is free or " +
+               "because of size class rounding",
+         displayName = "Slab fragmentation",
+         units = Units.PERCENTAGE,
+         displayType = DisplayType.SUMMARY
+   )
+   public double getFragmentation() {
+      double reserved = reservedAmount.sum();
+      if (reserved <= 0)
+         return 0;
+      return 100 * (1 - pooledAmountAllocated.sum() / reserved);
+   }
+
+   @ManagedAttribute(
+         description = "Number of allocations satisfied by reusing a previously freed block",
+         displayName = "Reused allocations",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getReusedAllocations() {
+      return reusedAllocations.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Number of allocations too large for any size class that were allocated directly",
+         displayName = "Unpooled allocations",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getUnpooledAllocations() {
+      return unpooledAllocations.sum();
+   }
+
+   public int getMaxPooledSize() {
+      return maxPooledSize;
+   }
+
+   private Arena arena() {
+      return arenas[(int) Thread.currentThread().getId() & (arenas.length - 1)];
+   }
+
+   private Arena slabOwner(long address) {
+      return slabOwners.floorEntry(address).getValue();
+   }
+
+   /**
+    * Returns the index of the smallest size class that can hold the given estimated size or -1 if the size is too large
+    * to be pooled. The estimated size is always a multiple of 16.
+    */
+   int sizeClassIndex(long estimatedSize) {
+      if (estimatedSize > maxPooledSize) {
+         return -1;
+      }
+      if (estimatedSize <= LINEAR_CLASS_LIMIT) {
+         return (int) (Math.max(estimatedSize, MINIMUM_BLOCK_SIZE) - MINIMUM_BLOCK_SIZE) / ALIGNMENT;
+      }
+      int index = Arrays.binarySearch(classSizes, (int) estimatedSize);
+      return index >= 0 ? index : -(index + 1);
+   }
+
+   int sizeClass(int index) {
+      return classSizes[index];
+   }
+
+   static int[] sizeClasses(int maxSize) {
+      List<Integer> sizes = new ArrayList<>();
+      int size = MINIMUM_BLOCK_SIZE;
+      while (size <= maxSize) {
+         sizes.add(size);
+         size += size < LINEAR_CLASS_LIMIT ? ALIGNMENT : roundUp(size >>> 2);
+      }
+      return sizes.stream().mapToInt(Integer::intValue).toArray();
+   }
+
+   private static int roundUp(int size) {
+      return (size + ALIGNMENT - 1) & -ALIGNMENT;
+   }
+
+   /**
+    * Slabs and free lists used by the threads mapping to it. All methods are synchronized, as threads from different
+    * lock stripes can share the same arena.
+    */
+   private final class Arena {
+      // Head of the free list for each size class, each free block holds the address of the next one
+      private final long[] freeLists = new long[classSizes.length];
+      private final List<Long> slabs = new ArrayList<>();
+      private long slabAddress;
+      private int slabOffset;
+
+      synchronized long allocate(int sizeClass) {
+         long address = freeLists[sizeClass];
+         if (address != 0) {
+            freeLists[sizeClass] = UNSAFE.getLong(address);
+            reusedAllocations.increment();
+            return address;
+         }
+         int blockSize = classSizes[sizeClass];
+         if (slabAddress == 0 || slabOffset + blockSize > slabSize) {
+            retireSlab();
+            slabAddress = MEMORY.allocateSlab(slabSize);
+            slabOffset = 0;
+            slabs.add(slabAddress);
+            slabOwners.put(slabAddress, this);
+            reservedAmount.add(slabSize);
+            slabCount.increment();
+            if (trace) {
+               log.tracef("Reserved new off heap slab at 0x%016x with %d bytes", slabAddress, slabSize);
+            }
+         }
+         address = slabAddress + slabOffset;
+         slabOffset += blockSize;
+         return address;
+      }
+
+      synchronized void free(long address, int sizeClass) {
+         UNSAFE.putLong(address, freeLists[sizeClass]);
+         freeLists[sizeClass] = address;
+      }
+
+      /**
+       * Hands the unused tail of the current slab to the free lists, so it isn't lost when a new slab is reserved
+       */
+      private void retireSlab() {
+         if (slabAddress == 0) {
+            return;
+         }
+         int sizeClass = classSizes.length - 1;
+         while (sizeClass >= 0) {
+            int blockSize = classSizes[sizeClass];
+            if (slabOffset + blockSize <= slabSize) {
+               free(slabAddress + slabOffset, sizeClass);
+               slabOffset += blockSize;
+            } else {
+               sizeClass--;
+            }
+         }
+      }
+
+      synchronized void release() {
+         for (long slab : slabs) {
+            slabOwners.remove(slab);
+            MEMORY.freeSlab(slab);
+         }
+         reservedAmount.add(-(long) slabSize * slabs.size());
+         slabCount.add(-slabs.size());
+         slabs.clear();
+         Arrays.fill(freeLists, 0);
+         slabAddress = 0;
+         slabOffset = 0;
+      }
+   }
+}
@@ -12,8 +12,8 @@
  * @author wburns
  * @since 9.0
  */
-class UnsafeHolder {
-   static Unsafe UNSAFE = UnsafeHolder.getUnsafe();
+public class UnsafeHolder {
+   public static Unsafe UNSAFE = UnsafeHolder.getUnsafe();
 
    @SuppressWarnings("restriction")
    private static Unsafe getUnsafe() {
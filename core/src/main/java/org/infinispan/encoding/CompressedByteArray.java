@@ -0,0 +1,186 @@
+package org.infinispan.encoding;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.Adler32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.infinispan.commons.CacheException;
+import org.infinispan.commons.marshall.AbstractExternalizer;
+import org.infinispan.commons.marshall.Ids;
+import org.infinispan.commons.marshall.MarshallUtil;
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.commons.util.Util;
+
+/**
+ * A value stored in its compressed form. The bytes hold the length of the uncompressed value followed by the value
+ * compressed in the zlib format, so a value compressed with a preset dictionary records the checksum of its dictionary
+ * and can be decompressed by any cache that registered the same dictionary.
+ * <p>
+ * Values are compressed deterministically, so two values are equal if and only if their compressed forms are equal.
+ *
+ * @since 9.4
+ */
+public final class CompressedByteArray implements WrappedBytes {
+   private static final int LENGTH_BYTES = 4;
+   private static final ConcurrentMap<Integer, byte[]> DICTIONARIES = new ConcurrentHashMap<>();
+   private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+   private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+   private final byte[] bytes;
+   private transient int hashCode;
+
+   public CompressedByteArray(byte[] bytes) {
+      this.bytes = bytes;
+   }
+
+   /**
+    * Compresses the bytes of a value.
+    * @param value the bytes to compress
+    * @param dictionary the preset dictionary to compress with, or {@code null}, must have been registered with
+    *                   {@link #registerDictionary(byte[])}
+    * @return the compressed value, or {@code null} if compressing does not make the value smaller
+    */
+   public static CompressedByteArray compress(byte[] value, byte[] dictionary) {
+      // Only keep the compressed value if it is smaller, so the output never grows
+      if (value.length <= LENGTH_BYTES + 1)
+         return null;
+      Deflater deflater = DEFLATER.get();
+      deflater.reset();
+      if (dictionary != null) {
+         deflater.setDictionary(dictionary);
+      }
+      deflater.setInput(value);
+      deflater.finish();
+      byte[] compressed = new byte[value.length - 1];
+      int length = deflater.deflate(compressed, LENGTH_BYTES, compressed.length - LENGTH_BYTES);
+      if (!deflater.finished())
+         return null;
+      compressed[0] = (byte) (value.length >>> 24);
+      compressed[1] = (byte) (value.length >>> 16);
+      compressed[2] = (byte) (value.length >>> 8);
+      compressed[3] = (byte) value.length;
+      return new CompressedByteArray(Arrays.copyOf(compressed, LENGTH_BYTES + length));
+   }
+
+   /**
+    * Makes a preset dictionary available to decompress the values compressed with it.
+    */
+   public static void registerDictionary(byte[] dictionary) {
+      Adler32 checksum = new Adler32();
+      checksum.update(dictionary);
+      DICTIONARIES.putIfAbsent((int) checksum.getValue(), dictionary);
+   }
+
+   /**
+    * @return the value before compression
+    */
+   public WrappedByteArray decompress() {
+      byte[] value = new byte[uncompressedLength()];
+      Inflater inflater = INFLATER.get();
+      inflater.reset();
+      inflater.setInput(bytes, LENGTH_BYTES, bytes.length - LENGTH_BYTES);
+      try {
+         int length = 0;
+         while (length < value.length) {
+            int inflated = inflater.inflate(value, length, value.length - length);
+            if (inflated == 0) {
+               if (!inflater.needsDictionary())
+                  throw new CacheException("Compressed value is truncated");
+               byte[] dictionary = DICTIONARIES.get(inflater.getAdler());
+               if (dictionary == null)
+                  throw new CacheException("Compressed value requires an unknown dictionary with checksum " +
+                        Integer.toHexString(inflater.getAdler()));
+               inflater.setDictionary(dictionary);
+            }
+            length += inflated;
+         }
+      } catch (DataFormatException e) {
+         throw new CacheException(e);
+      }
+      return new WrappedByteArray(value);
+   }
+
+   /**
+    * @return the length of the value before compression
+    */
+   public int uncompressedLength() {
+      return (bytes[0] & 0xFF) << 24 | (bytes[1] & 0xFF) << 16 | (bytes[2] & 0xFF) << 8 | (bytes[3] & 0xFF);
+   }
+
+   @Override
+   public byte[] getBytes() {
+      return bytes;
+   }
+
+   @Override
+   public int backArrayOffset() {
+      return 0;
+   }
+
+   @Override
+   public int getLength() {
+      return bytes.length;
+   }
+
+   @Override
+   public byte getByte(int offset) {
+      return bytes[offset];
+   }
+
+   @Override
+   public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      return Arrays.equals(bytes, ((CompressedByteArray) o).bytes);
+   }
+
+   @Override
+   public int hashCode() {
+      int h = hashCode;
+      if (h == 0) {
+         hashCode = h = Arrays.hashCode(bytes);
+      }
+      return h;
+   }
+
+   @Override
+   public String toString() {
+      return "CompressedByteArray{" +
+            "bytes=" + Util.printArray(bytes) +
+            ", uncompressedLength=" + uncompressedLength() +
+            '}';
+   }
+
+   public static final class Externalizer extends AbstractExternalizer<CompressedByteArray> {
+
+      @Override
+      public Set<Class<? extends CompressedByteArray>> getTypeClasses() {
+         return Collections.singleton(CompressedByteArray.class);
+      }
+
+      @Override
+      public Integer getId() {
+         return Ids.COMPRESSED_BYTE_ARRAY;
+      }
+
+      @Override
+      public void writeObject(ObjectOutput output, CompressedByteArray object) throws IOException {
+         MarshallUtil.marshallByteArray(object.bytes, output);
+      }
+
+      @Override
+      public CompressedByteArray readObject(ObjectInput input) throws IOException {
+         return new CompressedByteArray(MarshallUtil.unmarshallByteArray(input));
+      }
+   }
+}
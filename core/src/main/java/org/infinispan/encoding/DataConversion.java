@@ -64,6 +64,7 @@ public MediaType getRequestMediaType() {
    private boolean isKey;
    private Transcoder transcoder;
    private transient EncoderRegistry encoderRegistry;
+   private transient ValueCompressor compressor;
    private ClassWhiteList classWhiteList;
 
    private DataConversion(Class<? extends Encoder> encoderClass, Class<? extends Wrapper> wrapperClass,
@@ -156,8 +157,12 @@ public Object convertToRequestFormat(Object o, MediaType contentType) {
    }
 
    @Inject
-   public void injectDependencies(GlobalConfiguration gcr, EncoderRegistry encoderRegistry, Configuration configuration, EmbeddedCacheManager cacheManager) {
+   public void injectDependencies(GlobalConfiguration gcr, EncoderRegistry encoderRegistry, Configuration configuration,
+                                  EmbeddedCacheManager cacheManager, ValueCompressor compressor) {
       this.encoderRegistry = encoderRegistry;
+      // The shared default conversions can be wired by the commands of any cache, so they only decompress
+      boolean shared = this == DEFAULT_VALUE || this == IDENTITY_VALUE;
+      this.compressor = isKey || shared ? null : compressor;
       this.classWhiteList = cacheManager.getClassWhiteList();
       boolean embeddedMode = Configurations.isEmbeddedMode(gcr);
       this.storageMediaType = getStorageMediaType(configuration, embeddedMode);
@@ -232,6 +237,7 @@ private void lookupWrapper() {
 
    public Object fromStorage(Object stored) {
       if (stored == null) return null;
+      stored = decompress(stored);
       Object fromStorage = encoder.fromStorage(wrapper.unwrap(stored));
       return transcoder == null ? fromStorage : transcoder.transcode(fromStorage, storageMediaType, requestMediaType);
    }
@@ -239,17 +245,31 @@ public Object fromStorage(Object stored) {
    public Object toStorage(Object toStore) {
       if (toStore == null) return null;
       toStore = transcoder == null ? toStore : transcoder.transcode(toStore, requestMediaType, storageMediaType);
-      return wrapper.wrap(encoder.toStorage(toStore));
+      Object stored = wrapper.wrap(encoder.toStorage(toStore));
+      return compressor == null ? stored : compressor.compress(stored);
    }
 
    public Object extractIndexable(Object stored) {
       if (stored == null) return null;
+      stored = decompress(stored);
       if (encoder.isStorageFormatFilterable()) {
          return wrapper.isFilterable() ? stored : wrapper.unwrap(stored);
       }
       return encoder.fromStorage(wrapper.isFilterable() ? stored : wrapper.unwrap(stored));
    }
 
+   /**
+    * Values compressed by the {@link ValueCompressor} of a cache are decompressed before any other conversion, even
+    * when the conversion does not compress, so the compressed form is never visible outside the storage.
+    */
+   private Object decompress(Object stored) {
+      if (stored instanceof CompressedByteArray) {
+         CompressedByteArray compressed = (CompressedByteArray) stored;
+         return compressor != null ? compressor.decompress(compressed) : compressed.decompress();
+      }
+      return stored;
+   }
+
    public Encoder getEncoder() {
       return encoder;
    }
@@ -0,0 +1,197 @@
+package org.infinispan.encoding;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.MemoryConfiguration;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
+import org.infinispan.jmx.JmxStatisticsExposer;
+import org.infinispan.jmx.annotations.DataType;
+import org.infinispan.jmx.annotations.DisplayType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
+import org.infinispan.util.TimeService;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Compresses the binary values of a cache that enables compression, see
+ * {@link org.infinispan.configuration.cache.MemoryConfigurationBuilder#compressionThreshold(int)}. The value
+ * {@link DataConversion}s of the cache compress the values they convert to the storage format, and decompress them when
+ * they convert them back.
+ *
+ * @since 9.4
+ */
+@MBean(objectName = "Compression", description = "Compression of the values stored in memory and in the stores")
+public class ValueCompressor implements JmxStatisticsExposer {
+   private static final Log log = LogFactory.getLog(ValueCompressor.class);
+
+   @Inject private Configuration configuration;
+   @Inject private TimeService timeService;
+
+   private int threshold;
+   private byte[] dictionary;
+   private volatile boolean statisticsEnabled;
+
+   private final AtomicLong compressedValues = new AtomicLong();
+   private final AtomicLong incompressibleValues = new AtomicLong();
+   private final AtomicLong uncompressedBytes = new AtomicLong();
+   private final AtomicLong compressedBytes = new AtomicLong();
+   private final AtomicLong compressionTime = new AtomicLong();
+   private final AtomicLong decompressions = new AtomicLong();
+   private final AtomicLong decompressionTime = new AtomicLong();
+
+   @Start
+   public void start() {
+      MemoryConfiguration memory = configuration.memory();
+      threshold = memory.compressionThreshold();
+      String path = memory.compressionDictionary();
+      if (path != null) {
+         try {
+            dictionary = Files.readAllBytes(Paths.get(path));
+         } catch (IOException e) {
+            throw log.unableToReadCompressionDictionary(path, e);
+         }
+         CompressedByteArray.registerDictionary(dictionary);
+      }
+      statisticsEnabled = configuration.jmxStatistics().enabled();
+   }
+
+   /**
+    * Compresses a value in the storage format.
+    * @return the compressed value, or the value itself if it is not binary, smaller than the threshold or does not
+    * become smaller when compressed
+    */
+   public Object compress(Object value) {
+      if (!(value instanceof WrappedByteArray))
+         return value;
+      byte[] bytes = ((WrappedByteArray) value).getBytes();
+      if (bytes.length < threshold)
+         return value;
+      if (!statisticsEnabled) {
+         CompressedByteArray compressed = CompressedByteArray.compress(bytes, dictionary);
+         return compressed == null ? value : compressed;
+      }
+      long start = timeService.time();
+      CompressedByteArray compressed = CompressedByteArray.compress(bytes, dictionary);
+      compressionTime.addAndGet(timeService.timeDuration(start, TimeUnit.NANOSECONDS));
+      if (compressed == null) {
+         incompressibleValues.incrementAndGet();
+         return value;
+      }
+      compressedValues.incrementAndGet();
+      uncompressedBytes.addAndGet(bytes.length);
+      compressedBytes.addAndGet(compressed.getLength());
+      return compressed;
+   }
+
+   public WrappedByteArray decompress(CompressedByteArray value) {
+      if (!statisticsEnabled)
+         return value.decompress();
+      long start = timeService.time();
+      WrappedByteArray decompressed = value.decompress();
+      decompressionTime.addAndGet(timeService.timeDuration(start, TimeUnit.NANOSECONDS));
+      decompressions.incrementAndGet();
+      return decompressed;
+   }
+
+   @ManagedAttribute(
+         description = "Number of values compressed when converted to the storage format",
+         displayName = "Number of compressed values",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getCompressedValues() {
+      return compressedValues.get();
+   }
+
+   @ManagedAttribute(
+         description = "Number of values above the compression threshold that are stored uncompressed because " +
+               "compressing them did not make them smaller",
+         displayName = "Number of incompressible values",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getIncompressibleValues() {
+      return incompressibleValues.get();
+   }
+
+   @ManagedAttribute(
+         description = "Ratio of the size of the compressed values before and after their compression",
+         displayName = "Compression ratio",
+         displayType = DisplayType.SUMMARY
+   )
+   public double getCompressionRatio() {
+      long compressed = compressedBytes.get();
+      return compressed == 0 ? 0 : (double) uncompressedBytes.get() / compressed;
+   }
+
+   @ManagedAttribute(
+         description = "Average time taken to compress a value",
+         displayName = "Average compression time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getAverageCompressionTime() {
+      long compressions = compressedValues.get() + incompressibleValues.get();
+      return compressions == 0 ? 0 : compressionTime.get() / compressions;
+   }
+
+   @ManagedAttribute(
+         description = "Number of values decompressed when read",
+         displayName = "Number of decompressions",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getDecompressions() {
+      return decompressions.get();
+   }
+
+   @ManagedAttribute(
+         description = "Average time taken to decompress a value",
+         displayName = "Average decompression time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getAverageDecompressionTime() {
+      long count = decompressions.get();
+      return count == 0 ? 0 : decompressionTime.get() / count;
+   }
+
+   @ManagedAttribute(
+         description = "Enables or disables the gathering of statistics by this component",
+         displayName = "Statistics enabled",
+         dataType = DataType.TRAIT,
+         writable = true
+   )
+   @Override
+   public boolean getStatisticsEnabled() {
+      return statisticsEnabled;
+   }
+
+   @Override
+   public void setStatisticsEnabled(boolean enabled) {
+      statisticsEnabled = enabled;
+   }
+
+   @ManagedOperation(
+         description = "Resets statistics gathered by this component",
+         displayName = "Reset Statistics"
+   )
+   @Override
+   public void resetStatistics() {
+      compressedValues.set(0);
+      incompressibleValues.set(0);
+      uncompressedBytes.set(0);
+      compressedBytes.set(0);
+      compressionTime.set(0);
+      decompressions.set(0);
+      decompressionTime.set(0);
+   }
+}
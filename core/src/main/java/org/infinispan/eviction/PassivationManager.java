@@ -28,6 +28,13 @@ public interface PassivationManager extends JmxStatisticsExposer {
 
    void passivate(InternalCacheEntry entry);
 
+   /**
+    * Waits while the entries are passivated faster than the stores can write them. The data container invokes it
+    * after an operation that may have passivated entries, once the operation has released the locks of the container.
+    */
+   default void awaitPassivationCapacity() {
+   }
+
    @Stop(priority = 9)
    @ManagedOperation(
          description = "Passivate all entries to the CacheStore",
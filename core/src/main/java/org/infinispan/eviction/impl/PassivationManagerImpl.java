@@ -76,7 +76,7 @@ public void passivate(InternalCacheEntry entry) {
          try {
             MarshalledEntry marshalledEntry = marshalledEntryFactory.newMarshalledEntry(key, entry.getValue(),
                                                                                         internalMetadata(entry));
-            persistenceManager.writeToAllNonTxStores(marshalledEntry, keyPartitioner.getSegment(key), BOTH);
+            persistenceManager.passivateToAllNonTxStores(marshalledEntry, keyPartitioner.getSegment(key));
             if (statsEnabled) passivations.getAndIncrement();
          } catch (CacheException e) {
             log.unableToPassivateEntry(key, e);
@@ -86,6 +86,13 @@ public void passivate(InternalCacheEntry entry) {
       }
    }
 
+   @Override
+   public void awaitPassivationCapacity() {
+      if (enabled) {
+         persistenceManager.awaitPassivationCapacity();
+      }
+   }
+
    @Override
    public void passivateAll() throws PersistenceException {
       if (enabled && !skipOnStop) {
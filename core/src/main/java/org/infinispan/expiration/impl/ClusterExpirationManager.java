@@ -6,6 +6,7 @@
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.cache.impl.AbstractDelegatingCache;
@@ -76,7 +77,7 @@ public void processExpiration() {
             // We limit it so there is only so many async expiration removals done at the same time
             List<CompletableFuture> futures = new ArrayList<>(MAX_ASYNC_EXPIRATIONS);
             long currentTimeMillis = timeService.wallClockTime();
-            dataContainer.forEachIncludingExpired((ice, segment) -> {
+            Consumer<InternalCacheEntry<K, V>> purge = ice -> {
                if (ice.canExpire()) {
                   // Have to synchronize on the entry to make sure we see the value and metadata at the same time
                   boolean expiredMortal;
@@ -98,7 +99,12 @@ public void processExpiration() {
                      addAndWaitIfFull(actualRemoveMaxIdleExpireEntry(ice.getKey(), value, maxIdle), futures);
                   }
                }
-            });
+            };
+            if (index != null) {
+               forEachDueEntry(currentTimeMillis, purge);
+            } else {
+               dataContainer.forEachIncludingExpired((ice, segment) -> purge.accept(ice));
+            }
             if (!futures.isEmpty()) {
                // Make sure that all of the futures are complete before returning
                futures.forEach(CompletableFuture::join);
@@ -0,0 +1,115 @@
+package org.infinispan.expiration.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * Index of the keys that can expire, grouped in buckets ordered by the time they are expected to expire. This allows
+ * the reaper to only look at the keys whose bucket is due, instead of iterating over the entire data container.
+ * <p>
+ * Each key is only kept in the bucket of its latest expiry time, and {@link #remove(Object)} drops it when its entry is
+ * removed or can't expire anymore, so the index grows with the number of entries that can expire and not with the
+ * number of writes. The index is still only a hint, as an entry may be accessed or removed without the index knowing.
+ * Consumers of {@link #drainDue(long, Consumer)} must therefore look the entry up again and
+ * {@link #add(Object, long)} it back if it is still present but is not expired yet, for example because it was
+ * accessed since when using max idle.
+ * @since 9.4
+ */
+class ExpirationIndex<K> {
+   private final ConcurrentSkipListMap<Long, Bucket<K>> buckets = new ConcurrentSkipListMap<>();
+   // The bucket currently holding each key
+   private final ConcurrentMap<K, Bucket<K>> bucketOfKey = new ConcurrentHashMap<>();
+   private final long resolution;
+
+   /**
+    * @param resolution how many milliseconds each bucket spans
+    */
+   ExpirationIndex(long resolution) {
+      this.resolution = resolution;
+   }
+
+   /**
+    * Records that the key is expected to expire at the given time.
+    * @param key the key of the entry
+    * @param expiryTime the wall clock time in milliseconds at which the entry expires
+    */
+   void add(K key, long expiryTime) {
+      // The bucket is rounded down so that an entry is never examined later than a bucket resolution after it expired
+      long time = expiryTime - Math.floorMod(expiryTime, resolution);
+      // Writes of the same key are serialized, so the key is never left behind in the bucket of a previous write
+      bucketOfKey.compute(key, (k, previous) -> {
+         // If the reaper removes the bucket concurrently compute is retried with a new bucket, so the key is never lost
+         Bucket<K> bucket = buckets.compute(time, (t, existing) -> {
+            if (existing == null) {
+               existing = new Bucket<>();
+            }
+            existing.keys.add(k);
+            return existing;
+         });
+         if (previous != null && previous != bucket) {
+            previous.keys.remove(k);
+         }
+         return bucket;
+      });
+   }
+
+   /**
+    * Removes the key from the index, because its entry was removed or can't expire anymore.
+    * @param key the key of the entry
+    */
+   void remove(K key) {
+      bucketOfKey.computeIfPresent(key, (k, bucket) -> {
+         bucket.keys.remove(k);
+         return null;
+      });
+   }
+
+   /**
+    * Removes all the buckets that may contain keys expired at the given time and passes their keys to the consumer.
+    * The keys added by the consumer while draining are not passed to it again until the next invocation.
+    * @param currentTime the current wall clock time in milliseconds
+    * @param consumer the consumer of the keys that may have expired
+    */
+   void drainDue(long currentTime, Consumer<? super K> consumer) {
+      List<Bucket<K>> due = new ArrayList<>();
+      Map.Entry<Long, Bucket<K>> entry;
+      while ((entry = buckets.firstEntry()) != null && entry.getKey() <= currentTime) {
+         if (buckets.remove(entry.getKey(), entry.getValue())) {
+            due.add(entry.getValue());
+         }
+      }
+      for (Bucket<K> bucket : due) {
+         bucket.keys.forEach(key -> {
+            // Unless the key was written again and moved to another bucket meanwhile
+            bucketOfKey.remove(key, bucket);
+            consumer.accept(key);
+         });
+      }
+   }
+
+   /**
+    * @return how many keys are indexed
+    */
+   int size() {
+      return buckets.values().stream().mapToInt(bucket -> bucket.keys.size()).sum();
+   }
+
+   void clear() {
+      buckets.clear();
+      bucketOfKey.clear();
+   }
+
+   /**
+    * The keys expiring in the same time span. Buckets are compared by identity, so a key is only unmapped from the
+    * bucket that actually holds it.
+    */
+   private static final class Bucket<K> {
+      final Set<K> keys = ConcurrentHashMap.newKeySet();
+   }
+}
@@ -7,6 +7,7 @@
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.Configuration;
@@ -33,6 +34,8 @@
 public class ExpirationManagerImpl<K, V> implements InternalExpirationManager<K, V> {
    private static final Log log = LogFactory.getLog(ExpirationManagerImpl.class);
    private static final boolean trace = log.isTraceEnabled();
+   // Buckets of the expiration index never span more than a second
+   private static final long MAX_INDEX_RESOLUTION = TimeUnit.SECONDS.toMillis(1);
 
    @Inject @ComponentName(KnownComponentNames.EXPIRATION_SCHEDULED_EXECUTOR)
    protected ScheduledExecutorService executor;
@@ -54,6 +57,8 @@
     */
    protected ConcurrentMap<K, Object> expiring = new ConcurrentHashMap<>();
    protected ScheduledFuture<?> expirationTask;
+   // Only present when the reaper and the index are both enabled
+   protected volatile ExpirationIndex<K> index;
 
    // used only for testing
    void initialize(ScheduledExecutorService executor, String cacheName, Configuration cfg) {
@@ -74,6 +79,9 @@ public void start() {
             log.notStartingEvictionThread();
             enabled = false;
          } else {
+            if (configuration.expiration().indexEnabled()) {
+               index = new ExpirationIndex<>(Math.min(expWakeUpInt, MAX_INDEX_RESOLUTION));
+            }
             expirationTask = executor.scheduleWithFixedDelay(new ScheduledTask(),
                   expWakeUpInt, expWakeUpInt, TimeUnit.MILLISECONDS);
          }
@@ -90,11 +98,15 @@ public void processExpiration() {
                start = timeService.time();
             }
             long currentTimeMillis = timeService.wallClockTime();
-            for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = dataContainer.iteratorIncludingExpired();
-                 purgeCandidates.hasNext();) {
-               InternalCacheEntry<K, V> e = purgeCandidates.next();
-               if (e.isExpired(currentTimeMillis)) {
-                  entryExpiredInMemory(e, currentTimeMillis);
+            if (index != null) {
+               forEachDueEntry(currentTimeMillis, e -> entryExpiredInMemory(e, currentTimeMillis));
+            } else {
+               for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = dataContainer.iteratorIncludingExpired();
+                    purgeCandidates.hasNext();) {
+                  InternalCacheEntry<K, V> e = purgeCandidates.next();
+                  if (e.isExpired(currentTimeMillis)) {
+                     entryExpiredInMemory(e, currentTimeMillis);
+                  }
                }
             }
             if (trace) {
@@ -111,6 +123,49 @@ public void processExpiration() {
       }
    }
 
+   /**
+    * Looks up the entries the expiration index considers due and invokes the action for the ones that are expired.
+    * The index <b>must</b> be enabled.
+    * <p>
+    * Every entry that is still present afterwards is added back to the index, so that an entry that was accessed
+    * since it was indexed or that the action doesn't end up removing is looked at again later.
+    * @param currentTime the current wall clock time in milliseconds
+    * @param action the action to invoke for each expired entry
+    */
+   protected void forEachDueEntry(long currentTime, Consumer<InternalCacheEntry<K, V>> action) {
+      ExpirationIndex<K> index = this.index;
+      index.drainDue(currentTime, key -> {
+         InternalCacheEntry<K, V> ice = dataContainer.peek(key);
+         if (ice != null && ice.canExpire()) {
+            if (ice.isExpired(currentTime)) {
+               action.accept(ice);
+               // The removal may be asynchronous or not happen at all
+               ice = dataContainer.peek(key);
+               if (ice == null || !ice.canExpire()) {
+                  return;
+               }
+            }
+            index.add(key, ice.getExpiryTime());
+         }
+      });
+   }
+
+   @Override
+   public void registerExpiration(K key, long expiryTime) {
+      ExpirationIndex<K> index = this.index;
+      if (index != null) {
+         index.add(key, expiryTime);
+      }
+   }
+
+   @Override
+   public void unregisterExpiration(K key) {
+      ExpirationIndex<K> index = this.index;
+      if (index != null) {
+         index.remove(key);
+      }
+   }
+
    @Override
    public boolean isEnabled() {
       return enabled;
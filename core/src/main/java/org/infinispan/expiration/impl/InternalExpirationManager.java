@@ -55,6 +55,22 @@
     */
    void handleInStoreExpiration(MarshalledEntry<K, V> marshalledEntry);
 
+   /**
+    * Invoked by the data container whenever an entry that can expire is written. When the expiration index is
+    * enabled this records when the entry is expected to expire, so that the reaper only has to look at the entries
+    * that are due instead of iterating over the entire container.
+    * @param key the key of the entry that was written
+    * @param expiryTime the wall clock time in milliseconds at which the entry is expected to expire
+    */
+   void registerExpiration(K key, long expiryTime);
+
+   /**
+    * Invoked by the data container whenever an entry that could expire is removed, or is overwritten by an entry that
+    * can't expire. When the expiration index is enabled this removes the key from it.
+    * @param key the key of the entry that was removed or overwritten
+    */
+   void unregisterExpiration(K key);
+
    /**
     * Retrieves the last access time for the given key in the data container if it is using max idle.
     * If the entry is not in the container or it is expired it will return null.
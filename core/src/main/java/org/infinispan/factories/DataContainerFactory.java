@@ -11,6 +11,7 @@
 import org.infinispan.container.impl.L1SegmentedDataContainer;
 import org.infinispan.container.impl.InternalDataContainerAdapter;
 import org.infinispan.container.impl.InternalDataContainer;
+import org.infinispan.container.impl.TieredDataContainer;
 import org.infinispan.container.offheap.BoundedOffHeapDataContainer;
 import org.infinispan.container.offheap.OffHeapDataContainer;
 import org.infinispan.eviction.EvictionStrategy;
@@ -63,9 +64,12 @@ public <T> T construct(Class<T> componentType) {
          }
 
          DataContainer dataContainer;
-         if (memoryConfiguration.storageType() == StorageType.OFF_HEAP) {
+         if (memoryConfiguration.isTiered()) {
+            dataContainer = new TieredDataContainer<>(thresholdSize, memoryConfiguration.addressCount(),
+                  memoryConfiguration.offHeapTierSize(), memoryConfiguration.evictionPolicy());
+         } else if (memoryConfiguration.storageType() == StorageType.OFF_HEAP) {
             dataContainer = new InternalDataContainerAdapter<>(new BoundedOffHeapDataContainer(memoryConfiguration.addressCount(), thresholdSize,
-                  memoryConfiguration.evictionType()));
+                  memoryConfiguration.evictionType(), memoryConfiguration.evictionPolicy()));
          } else {
             ClusteringConfiguration clusteringConfiguration = configuration.clustering();
             if (clusteringConfiguration.cacheMode().needsStateTransfer()) {
@@ -19,6 +19,7 @@
 import org.infinispan.distribution.RemoteValueRetrievedListener;
 import org.infinispan.distribution.TriangleOrderManager;
 import org.infinispan.distribution.impl.L1ManagerImpl;
+import org.infinispan.encoding.ValueCompressor;
 import org.infinispan.eviction.ActivationManager;
 import org.infinispan.eviction.EvictionManager;
 import org.infinispan.eviction.PassivationManager;
@@ -79,7 +80,7 @@
                               XSiteStateTransferManager.class, XSiteStateConsumer.class, XSiteStateProvider.class,
                               FunctionalNotifier.class, CommandAckCollector.class, TriangleOrderManager.class,
                               OrderedUpdatesManager.class, ScatteredVersionManager.class, TransactionOriginatorChecker.class,
-                              BiasManager.class})
+                              BiasManager.class, ValueCompressor.class})
 public class EmptyConstructorNamedCacheFactory extends AbstractNamedCacheComponentFactory implements AutoInstantiableFactory {
 
    @Override
@@ -185,6 +186,8 @@ public <T> T construct(Class<T> componentType) {
             return configuration.clustering().cacheMode() == CacheMode.LOCAL ?
                   componentType.cast(TransactionOriginatorChecker.LOCAL) :
                   componentType.cast(new ClusteredTransactionOriginatorChecker());
+         } else if (componentType.equals(ValueCompressor.class)) {
+            return configuration.memory().isCompressionEnabled() ? componentType.cast(new ValueCompressor()) : null;
          } else if (componentType.equals(BiasManager.class)) {
             if (configuration.clustering().cacheMode().isScattered() &&
                   configuration.clustering().biasAcquisition() != BiasAcquisition.NEVER) {
@@ -0,0 +1,29 @@
+package org.infinispan.factories;
+
+import org.infinispan.configuration.cache.MemoryConfiguration;
+import org.infinispan.configuration.cache.OffHeapAllocatorType;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.container.offheap.OffHeapMemoryAllocator;
+import org.infinispan.container.offheap.SlabOffHeapMemoryAllocator;
+import org.infinispan.container.offheap.UnpooledOffHeapMemoryAllocator;
+import org.infinispan.factories.annotations.DefaultFactoryFor;
+
+/**
+ * Constructs the allocator used for off-heap memory
+ *
+ * @since 9.4
+ */
+@DefaultFactoryFor(classes = OffHeapMemoryAllocator.class)
+public class OffHeapMemoryAllocatorFactory extends AbstractNamedCacheComponentFactory implements
+         AutoInstantiableFactory {
+
+   @Override
+   public <T> T construct(Class<T> componentType) {
+      MemoryConfiguration memoryConfiguration = configuration.memory();
+      if (memoryConfiguration.storageType() == StorageType.OFF_HEAP &&
+            memoryConfiguration.allocator() == OffHeapAllocatorType.SLAB) {
+         return componentType.cast(new SlabOffHeapMemoryAllocator(memoryConfiguration.slabSize()));
+      }
+      return componentType.cast(new UnpooledOffHeapMemoryAllocator());
+   }
+}
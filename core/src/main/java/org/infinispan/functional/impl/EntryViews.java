@@ -96,6 +96,32 @@ public static <R> R snapshot(R ret) {
       return ret;
    }
 
+   /**
+    * Returns the version of the entry of the view. Unlike {@link ReadEntryView#findMetaParam(Class)}, it also finds
+    * the version of the entries written through the {@link org.infinispan.Cache} API, e.g. by the Hot Rod server, so
+    * that functions can replace the versioned operations of such entries.
+    */
+   public static Optional<EntryVersion> findVersion(ReadEntryView<?, ?> view) {
+      Optional<MetaParam.MetaEntryVersion> param = view.findMetaParam(MetaParam.MetaEntryVersion.class);
+      if (param.isPresent()) {
+         return param.map(MetaParam.MetaEntryVersion::get);
+      }
+
+      Metadata metadata = null;
+      if (view instanceof EntryBackedReadWriteView) {
+         metadata = ((EntryBackedReadWriteView) view).entry.getMetadata();
+      } else if (view instanceof EntryAndPreviousReadWriteView) {
+         metadata = ((EntryAndPreviousReadWriteView) view).prevMetadata; // Use previous metadata
+      } else if (view instanceof EntryBackedReadOnlyView) {
+         metadata = ((EntryBackedReadOnlyView) view).entry.getMetadata();
+      } else if (view instanceof ReadOnlySnapshotView) {
+         metadata = ((ReadOnlySnapshotView) view).metadata;
+      } else if (view instanceof ReadWriteSnapshotView) {
+         metadata = ((ReadWriteSnapshotView) view).metadata;
+      }
+      return metadata == null ? Optional.empty() : Optional.ofNullable(metadata.version());
+   }
+
    public interface AccessLoggingReadWriteView<K, V> extends ReadWriteEntryView<K, V> {
       boolean isRead();
    }
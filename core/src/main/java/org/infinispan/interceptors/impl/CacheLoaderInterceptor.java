@@ -7,6 +7,11 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
@@ -68,6 +73,7 @@
 import org.infinispan.notifications.cachelistener.CacheNotifier;
 import org.infinispan.persistence.internal.PersistenceUtil;
 import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.spi.PersistenceException;
 import org.infinispan.stream.impl.local.AbstractLocalCacheStream;
 import org.infinispan.stream.impl.local.EntryStreamSupplier;
 import org.infinispan.stream.impl.local.KeyStreamSupplier;
@@ -78,6 +84,7 @@
 import org.infinispan.util.EntryWrapper;
 import org.infinispan.util.LazyConcatIterator;
 import org.infinispan.util.TimeService;
+import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 import org.reactivestreams.Publisher;
@@ -94,6 +101,10 @@
 
    private final AtomicLong cacheLoads = new AtomicLong(0);
    private final AtomicLong cacheMisses = new AtomicLong(0);
+   private final AtomicLong cacheLoadsCoalesced = new AtomicLong(0);
+   // The store loads of read commands in progress, per origin as local invocations may load from more stores
+   private final ConcurrentMap<Object, CompletableFuture<LoadedEntry<K, V>>> localLoads = new ConcurrentHashMap<>();
+   private final ConcurrentMap<Object, CompletableFuture<LoadedEntry<K, V>>> remoteLoads = new ConcurrentHashMap<>();
 
    @Inject protected PersistenceManager persistenceManager;
    @Inject protected CacheNotifier notifier;
@@ -186,7 +197,14 @@ private Object visitDataCommand(InvocationContext ctx, AbstractDataCommand comma
          throws Throwable {
       Object key;
       if ((key = command.getKey()) != null) {
-         loadIfNeeded(ctx, key, command);
+         if (persistenceManager.isNonBlocking()) {
+            CompletionStage<Boolean> stage = loadIfNeededAsync(ctx, key, command);
+            if (stage != null) {
+               return asyncInvokeNext(ctx, command, stage);
+            }
+         } else {
+            loadIfNeeded(ctx, key, command);
+         }
       }
       return invokeNext(ctx, command);
    }
@@ -305,12 +323,121 @@ protected final Boolean loadIfNeeded(final InvocationContext ctx, Object key, fi
       return loadInContext(ctx, key, cmd);
    }
 
+   /**
+    * Same as {@link #loadIfNeeded(InvocationContext, Object, FlagAffectedCommand)}, except that the stores are
+    * loaded without blocking the invoking thread.
+    * @return a stage completed once the entry was loaded into the context, or null if the stores are not loaded
+    */
+   protected final CompletionStage<Boolean> loadIfNeededAsync(InvocationContext ctx, Object key,
+                                                              FlagAffectedCommand cmd) {
+      if (skipLoad(cmd, key, ctx)) {
+         return null;
+      }
+
+      if (cmd instanceof WriteCommand) {
+         return loadInDataContainerAsync(ctx, key, cmd)
+               .thenApply(loaded -> addLoadedEntryToContext(ctx, key, cmd, loaded.entry, loaded.isLoaded));
+      }
+      ConcurrentMap<Object, CompletableFuture<LoadedEntry<K, V>>> loads = inFlightLoads(ctx);
+      CompletableFuture<LoadedEntry<K, V>> load = new CompletableFuture<>();
+      CompletableFuture<LoadedEntry<K, V>> inFlight = loads.putIfAbsent(key, load);
+      if (inFlight != null) {
+         if (getStatisticsEnabled()) {
+            cacheLoadsCoalesced.incrementAndGet();
+         }
+         return inFlight.thenApply(loaded -> addCoalescedEntryToContext(ctx, key, cmd, loaded));
+      }
+      CompletionStage<LoadedEntry<K, V>> stage;
+      try {
+         stage = loadInDataContainerAsync(ctx, key, cmd);
+      } catch (Throwable t) {
+         loads.remove(key, load);
+         load.completeExceptionally(t);
+         throw t;
+      }
+      stage.whenComplete((loaded, t) -> {
+         loads.remove(key, load);
+         if (t != null) {
+            load.completeExceptionally(t);
+         } else {
+            load.complete(loaded);
+         }
+      });
+      return stage.thenApply(loaded -> addLoadedEntryToContext(ctx, key, cmd, loaded.entry, loaded.isLoaded));
+   }
+
+   /**
+    * Loads the entry into the context. Concurrent read commands of the same key share a single load of the stores:
+    * the first one loads the stores while the others wait for its result.
+    */
    private Boolean loadInContext(InvocationContext ctx, Object key, FlagAffectedCommand cmd) {
-      final AtomicReference<Boolean> isLoaded = new AtomicReference<>();
+      if (cmd instanceof WriteCommand) {
+         // Write commands hold the lock of the key, so they must not see the result of a load that started earlier
+         LoadedEntry<K, V> loaded = loadInDataContainer(ctx, key, cmd);
+         return addLoadedEntryToContext(ctx, key, cmd, loaded.entry, loaded.isLoaded);
+      }
+      ConcurrentMap<Object, CompletableFuture<LoadedEntry<K, V>>> loads = inFlightLoads(ctx);
+      CompletableFuture<LoadedEntry<K, V>> load = new CompletableFuture<>();
+      CompletableFuture<LoadedEntry<K, V>> inFlight = loads.putIfAbsent(key, load);
+      if (inFlight != null) {
+         if (getStatisticsEnabled()) {
+            cacheLoadsCoalesced.incrementAndGet();
+         }
+         return addCoalescedEntryToContext(ctx, key, cmd, join(inFlight));
+      }
+      LoadedEntry<K, V> loaded;
+      try {
+         loaded = loadInDataContainer(ctx, key, cmd);
+         load.complete(loaded);
+      } catch (Throwable t) {
+         load.completeExceptionally(t);
+         throw t;
+      } finally {
+         loads.remove(key, load);
+      }
+      return addLoadedEntryToContext(ctx, key, cmd, loaded.entry, loaded.isLoaded);
+   }
+
+   private LoadedEntry<K, V> loadInDataContainer(InvocationContext ctx, Object key, FlagAffectedCommand cmd) {
+      AtomicReference<Boolean> isLoaded = new AtomicReference<>();
       InternalCacheEntry<K, V> entry = PersistenceUtil.loadAndStoreInDataContainer(dataContainer,
             SegmentSpecificCommand.extractSegment(cmd, key, partitioner), persistenceManager, (K) key, ctx, timeService,
             isLoaded);
-      Boolean isLoadedValue = isLoaded.get();
+      return new LoadedEntry<>(entry, isLoaded.get());
+   }
+
+   private CompletionStage<LoadedEntry<K, V>> loadInDataContainerAsync(InvocationContext ctx, Object key,
+                                                                       FlagAffectedCommand cmd) {
+      AtomicReference<Boolean> isLoaded = new AtomicReference<>();
+      return PersistenceUtil.loadAndStoreInDataContainerAsync(dataContainer,
+            SegmentSpecificCommand.extractSegment(cmd, key, partitioner), persistenceManager, (K) key, ctx, timeService,
+            isLoaded).thenApply(entry -> new LoadedEntry<>(entry, isLoaded.get()));
+   }
+
+   private ConcurrentMap<Object, CompletableFuture<LoadedEntry<K, V>>> inFlightLoads(InvocationContext ctx) {
+      return ctx.isOriginLocal() ? localLoads : remoteLoads;
+   }
+
+   private static <T> T join(CompletableFuture<T> future) {
+      try {
+         return future.join();
+      } catch (CompletionException e) {
+         Throwable cause = CompletableFutures.extractException(e);
+         if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+         }
+         throw new PersistenceException(cause);
+      }
+   }
+
+   private Boolean addCoalescedEntryToContext(InvocationContext ctx, Object key, FlagAffectedCommand cmd,
+                                              LoadedEntry<K, V> loaded) {
+      // The entry was counted and notified by the read that loaded the stores
+      return addLoadedEntryToContext(ctx, key, cmd, loaded.entry, null);
+   }
+
+   private Boolean addLoadedEntryToContext(InvocationContext ctx, Object key, FlagAffectedCommand cmd,
+                                           InternalCacheEntry<K, V> entry, Boolean isLoadedValue) {
       if (trace) {
          log.tracef("Entry was loaded? %s", isLoadedValue);
       }
@@ -426,6 +553,16 @@ public long getCacheLoaderMisses() {
       return cacheMisses.get();
    }
 
+   @ManagedAttribute(
+         description = "Number of reads that shared the cache store load of a concurrent read of the same key",
+         displayName = "Number of coalesced cache store loads",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   @SuppressWarnings("unused")
+   public long getCacheLoaderCoalescedLoads() {
+      return cacheLoadsCoalesced.get();
+   }
+
    @Override
    @ManagedOperation(
          description = "Resets statistics gathered by this component",
@@ -434,6 +571,7 @@ public long getCacheLoaderMisses() {
    public void resetStatistics() {
       cacheLoads.set(0);
       cacheMisses.set(0);
+      cacheLoadsCoalesced.set(0);
    }
 
    @ManagedAttribute(
@@ -673,4 +811,14 @@ protected CacheStream<K> getStream(boolean parallel) {
                cacheSet.stream(), persistenceManager), parallel, cache.getAdvancedCache().getComponentRegistry());
       }
    }
+
+   private static final class LoadedEntry<K, V> {
+      final InternalCacheEntry<K, V> entry;
+      final Boolean isLoaded;
+
+      LoadedEntry(InternalCacheEntry<K, V> entry, Boolean isLoaded) {
+         this.entry = entry;
+         this.isLoaded = isLoaded;
+      }
+   }
 }
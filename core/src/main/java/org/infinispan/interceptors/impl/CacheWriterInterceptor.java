@@ -5,6 +5,8 @@
 import static org.infinispan.persistence.manager.PersistenceManager.AccessMode.PRIVATE;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 
@@ -151,15 +153,13 @@ private Transaction suspendRunningTx(TxInvocationContext ctx) throws SystemExcep
 
    @Override
    public Object visitRemoveCommand(InvocationContext ctx, RemoveCommand command) throws Throwable {
-      return invokeNextThenAccept(ctx, command, (rCtx, rCommand, rv) -> {
+      return invokeNextThenApply(ctx, command, (rCtx, rCommand, rv) -> {
          RemoveCommand removeCommand = (RemoveCommand) rCommand;
-         if (!isStoreEnabled(removeCommand) || rCtx.isInTxScope() || !removeCommand.isSuccessful()) return;
-         if (!isProperWriter(rCtx, removeCommand, removeCommand.getKey())) return;
+         if (!isStoreEnabled(removeCommand) || rCtx.isInTxScope() || !removeCommand.isSuccessful()) return rv;
+         if (!isProperWriter(rCtx, removeCommand, removeCommand.getKey())) return rv;
 
          Object key = removeCommand.getKey();
-         boolean resp = persistenceManager.deleteFromAllStores(key, command.getSegment(), BOTH);
-         if (trace)
-            getLog().tracef("Removed entry under key %s and got response %s from CacheStore", key, resp);
+         return deleteEntryThenReturn(key, command.getSegment(), BOTH, rv);
       });
    }
 
@@ -173,33 +173,33 @@ public Object visitClearCommand(InvocationContext ctx, ClearCommand command) thr
 
    @Override
    public Object visitPutKeyValueCommand(InvocationContext ctx, PutKeyValueCommand command) throws Throwable {
-      return invokeNextThenAccept(ctx, command, (rCtx, rCommand, rv) -> {
+      return invokeNextThenApply(ctx, command, (rCtx, rCommand, rv) -> {
          PutKeyValueCommand putKeyValueCommand = (PutKeyValueCommand) rCommand;
          if (!isStoreEnabled(putKeyValueCommand) || rCtx.isInTxScope() || !putKeyValueCommand.isSuccessful())
-            return;
+            return rv;
          if (!isProperWriter(rCtx, putKeyValueCommand, putKeyValueCommand.getKey()))
-            return;
+            return rv;
 
          Object key = putKeyValueCommand.getKey();
-         storeEntry(rCtx, key, putKeyValueCommand);
          if (getStatisticsEnabled())
             cacheStores.incrementAndGet();
+         return storeEntryThenReturn(rCtx, key, putKeyValueCommand, rv);
       });
    }
 
    @Override
    public Object visitReplaceCommand(InvocationContext ctx, ReplaceCommand command) throws Throwable {
-      return invokeNextThenAccept(ctx, command, (rCtx, rCommand, rv) -> {
+      return invokeNextThenApply(ctx, command, (rCtx, rCommand, rv) -> {
          ReplaceCommand replaceCommand = (ReplaceCommand) rCommand;
          if (!isStoreEnabled(replaceCommand) || rCtx.isInTxScope() || !replaceCommand.isSuccessful())
-            return;
+            return rv;
          if (!isProperWriter(rCtx, replaceCommand, replaceCommand.getKey()))
-            return;
+            return rv;
 
          Object key = replaceCommand.getKey();
-         storeEntry(rCtx, key, replaceCommand);
          if (getStatisticsEnabled())
             cacheStores.incrementAndGet();
+         return storeEntryThenReturn(rCtx, key, replaceCommand, rv);
       });
    }
 
@@ -466,6 +466,55 @@ void storeEntry(InvocationContext ctx, Object key, FlagAffectedCommand command)
       if (trace) getLog().tracef("Stored entry %s under key %s", entry.getValue(), key);
    }
 
+   /**
+    * Same as {@link #storeEntry(InvocationContext, Object, FlagAffectedCommand)}, except that the entry is stored
+    * without blocking the invoking thread if the persistence manager is non-blocking.
+    * @return the return value of the command, or a stage completed with it once the entry was stored
+    */
+   Object storeEntryThenReturn(InvocationContext ctx, Object key, FlagAffectedCommand command, Object rv) {
+      if (!persistenceManager.isNonBlocking()) {
+         storeEntry(ctx, key, command);
+         return rv;
+      }
+      MarshalledEntry entry = createMarshalledEntry(ctx, key);
+      CompletionStage<Void> stage = persistenceManager.writeToAllNonTxStoresAsync(entry,
+            SegmentSpecificCommand.extractSegment(command, key, keyPartitioner),
+            skipSharedStores(ctx, key, command) ? PRIVATE : BOTH, command.getFlagsBitSet());
+      if (trace) {
+         stage = stage.thenRun(() -> getLog().tracef("Stored entry %s under key %s", entry.getValue(), key));
+      }
+      return delayedValue(stage, rv);
+   }
+
+   /**
+    * Removes the entry from the stores, without blocking the invoking thread if the persistence manager is non-blocking.
+    * @return the return value of the command, or a stage completed with it once the entry was removed
+    */
+   Object deleteEntryThenReturn(Object key, int segment, PersistenceManager.AccessMode mode, Object rv) {
+      if (!persistenceManager.isNonBlocking()) {
+         boolean resp = persistenceManager.deleteFromAllStores(key, segment, mode);
+         if (trace)
+            getLog().tracef("Removed entry under key %s and got response %s from CacheStore", key, resp);
+         return rv;
+      }
+      CompletionStage<Boolean> stage = persistenceManager.deleteFromAllStoresAsync(key, segment, mode);
+      if (trace) {
+         stage = stage.thenApply(resp -> {
+            getLog().tracef("Removed entry under key %s and got response %s from CacheStore", key, resp);
+            return resp;
+         });
+      }
+      return delayedValue(stage, rv);
+   }
+
+   private static Object delayedValue(CompletionStage<?> stage, Object rv) {
+      CompletableFuture<?> future = stage.toCompletableFuture();
+      if (future.isDone() && !future.isCompletedExceptionally()) {
+         return rv;
+      }
+      return asyncValue(future.thenApply(ignore -> rv));
+   }
+
    MarshalledEntry createMarshalledEntry(InvocationContext ctx, Object key) {
       InternalCacheValue sv = entryFactory.getValueFromCtxOrCreateNew(key, ctx);
       return new MarshalledEntryImpl(key, sv.getValue(), internalMetadata(sv), marshaller);
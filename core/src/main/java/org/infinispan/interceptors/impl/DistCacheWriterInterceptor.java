@@ -67,10 +67,9 @@ public Object visitPutKeyValueCommand(InvocationContext ctx, PutKeyValueCommand
          if (!isProperWriter(rCtx, putKeyValueCommand, putKeyValueCommand.getKey()))
             return rv;
 
-         storeEntry(rCtx, key, putKeyValueCommand);
          if (getStatisticsEnabled())
             cacheStores.incrementAndGet();
-         return rv;
+         return storeEntryThenReturn(rCtx, key, putKeyValueCommand, rv);
       });
    }
 
@@ -112,12 +111,8 @@ public Object visitRemoveCommand(InvocationContext ctx, RemoveCommand command) t
          if (!isProperWriter(rCtx, removeCommand, key))
             return rv;
 
-         boolean resp = persistenceManager
-               .deleteFromAllStores(key, command.getSegment(), skipSharedStores(rCtx, key, removeCommand) ? PRIVATE : BOTH);
-         if (trace)
-            log.tracef("Removed entry under key %s and got response %s from CacheStore", key, resp);
-
-         return rv;
+         return deleteEntryThenReturn(key, command.getSegment(),
+               skipSharedStores(rCtx, key, removeCommand) ? PRIVATE : BOTH, rv);
       });
    }
 
@@ -132,11 +127,9 @@ public Object visitReplaceCommand(InvocationContext ctx, ReplaceCommand command)
          if (!isProperWriter(rCtx, replaceCommand, replaceCommand.getKey()))
             return rv;
 
-         storeEntry(rCtx, key, replaceCommand);
          if (getStatisticsEnabled())
             cacheStores.incrementAndGet();
-
-         return rv;
+         return storeEntryThenReturn(rCtx, key, replaceCommand, rv);
       });
    }
 
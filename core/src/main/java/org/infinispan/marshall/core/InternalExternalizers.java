@@ -51,6 +51,7 @@
 import org.infinispan.distribution.ch.impl.SyncReplicatedConsistentHashFactory;
 import org.infinispan.distribution.ch.impl.TopologyAwareConsistentHashFactory;
 import org.infinispan.distribution.ch.impl.TopologyAwareSyncConsistentHashFactory;
+import org.infinispan.encoding.CompressedByteArray;
 import org.infinispan.encoding.DataConversion;
 import org.infinispan.factories.GlobalComponentRegistry;
 import org.infinispan.filter.AcceptAllKeyValueFilter;
@@ -253,6 +254,7 @@ static ClassToExternalizerMap load(
       addInternalExternalizer(new VersionedResult.Externalizer(), exts);
       addInternalExternalizer(new VersionedResults.Externalizer(), exts);
       addInternalExternalizer(new WrappedByteArray.Externalizer(), exts);
+      addInternalExternalizer(new CompressedByteArray.Externalizer(), exts);
       addInternalExternalizer(new XSiteState.XSiteStateExternalizer(), exts);
       addInternalExternalizer(new TriangleAckExternalizer(), exts);
       addInternalExternalizer(new IteratorResponses.IteratorResponsesExternalizer(), exts);
@@ -3,9 +3,11 @@
 import org.infinispan.commons.marshall.WrappedByteArray;
 import org.infinispan.commons.util.AbstractEntrySizeCalculatorHelper;
 import org.infinispan.commons.util.EntrySizeCalculator;
+import org.infinispan.encoding.CompressedByteArray;
 
 /**
- * Size calculator that supports a {@link WrappedByteArray} by adding its size and the underlying byte[].
+ * Size calculator that supports a {@link WrappedByteArray} by adding its size and the underlying byte[]. Compressed
+ * values are counted by their compressed size.
  * @author wburns
  * @since 9.0
  */
@@ -32,6 +34,10 @@ public long calculateSize(K key, V value) {
          valueToUse = ((WrappedByteArray) value).getBytes();
          // WBA object, the class pointer and the pointer to the byte[]
          size += roundUpToNearest8(OBJECT_SIZE + POINTER_SIZE * 2);
+      } else if (value instanceof CompressedByteArray) {
+         valueToUse = ((CompressedByteArray) value).getBytes();
+         // CBA object, the class pointer, the pointer to the byte[] and the hash code
+         size += roundUpToNearest8(OBJECT_SIZE + POINTER_SIZE * 2 + 4);
       } else {
          valueToUse = value;
       }
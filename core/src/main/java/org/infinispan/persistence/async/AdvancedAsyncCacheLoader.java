@@ -28,11 +28,14 @@ public AdvancedAsyncCacheLoader(CacheLoader actual, AtomicReference<State> state
       super(actual, state);
    }
 
+   public AdvancedAsyncCacheLoader(CacheLoader actual, ShardedAsyncCacheWriter writer) {
+      super(actual, writer);
+   }
+
    @Override
    public Publisher<K> publishKeys(Predicate<? super K> filter) {
-      State state = this.state.get();
       ByRef<Boolean> hadClear = new ByRef<>(Boolean.FALSE);
-      Map<Object, Modification> modificationMap = state.flattenModifications(hadClear);
+      Map<Object, Modification> modificationMap = pending.flatten(hadClear);
       if (modificationMap.isEmpty()) {
          return advancedLoader().publishKeys(filter);
       }
@@ -55,9 +58,8 @@ public Publisher<K> publishKeys(Predicate<? super K> filter) {
 
    @Override
    public Publisher<MarshalledEntry<K, V>> publishEntries(Predicate<? super K> filter, boolean fetchValue, boolean fetchMetadata) {
-      State state = this.state.get();
       ByRef<Boolean> hadClear = new ByRef<>(Boolean.FALSE);
-      Map<Object, Modification> modificationMap = state.flattenModifications(hadClear);
+      Map<Object, Modification> modificationMap = pending.flatten(hadClear);
       if (modificationMap.isEmpty()) {
          return advancedLoader().publishEntries(filter, fetchValue, fetchMetadata);
       }
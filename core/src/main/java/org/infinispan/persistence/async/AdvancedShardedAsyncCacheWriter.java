@@ -0,0 +1,30 @@
+package org.infinispan.persistence.async;
+
+import java.util.concurrent.Executor;
+
+import org.infinispan.persistence.spi.AdvancedCacheWriter;
+import org.infinispan.persistence.spi.CacheWriter;
+
+/**
+ * @since 9.4
+ */
+public class AdvancedShardedAsyncCacheWriter extends ShardedAsyncCacheWriter implements AdvancedCacheWriter {
+
+   public AdvancedShardedAsyncCacheWriter(CacheWriter delegate) {
+      super(delegate);
+   }
+
+   @Override
+   public void purge(Executor threadPool, PurgeListener task) {
+      advancedWriter().purge(threadPool, task);
+   }
+
+   @Override
+   public void clear() {
+      clear(advancedWriter()::clear);
+   }
+
+   private AdvancedCacheWriter advancedWriter() {
+      return (AdvancedCacheWriter) actual;
+   }
+}
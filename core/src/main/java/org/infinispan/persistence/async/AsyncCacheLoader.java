@@ -1,7 +1,9 @@
 package org.infinispan.persistence.async;
 
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.infinispan.commons.util.ByRef;
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.persistence.modifications.Modification;
 import org.infinispan.persistence.modifications.Store;
@@ -18,10 +20,31 @@
 
    @GuardedBy("stateLock")
    protected final AtomicReference<State> state;
+   final PendingModifications pending;
 
    public AsyncCacheLoader(CacheLoader actual, AtomicReference<State> state) {
       super(actual);
       this.state = state;
+      this.pending = new PendingModifications() {
+         @Override
+         public Modification get(Object key) {
+            return state.get().get(key);
+         }
+
+         @Override
+         public Map<Object, Modification> flatten(ByRef<Boolean> containsClear) {
+            return state.get().flattenModifications(containsClear);
+         }
+      };
+   }
+
+   /**
+    * Creates a loader that takes into account the modifications buffered by a {@link ShardedAsyncCacheWriter}.
+    */
+   public AsyncCacheLoader(CacheLoader actual, ShardedAsyncCacheWriter writer) {
+      super(actual);
+      this.state = null;
+      this.pending = writer.pendingModifications();
    }
 
    @Override
@@ -32,7 +55,7 @@ public void stop() {}
 
    @Override
    public MarshalledEntry<K, V> load(Object key) {
-      Modification mod = state.get().get(key);
+      Modification mod = pending.get(key);
       if (mod != null) {
          switch (mod.getType()) {
             case REMOVE:
@@ -48,7 +71,7 @@ public MarshalledEntry<K, V> load(Object key) {
 
    @Override
    public boolean contains(Object key) {
-      Modification mod = state.get().get(key);
+      Modification mod = pending.get(key);
       if (mod != null)
          return mod.getType() == Modification.Type.STORE;
 
@@ -0,0 +1,26 @@
+package org.infinispan.persistence.async;
+
+import java.util.Map;
+
+import org.infinispan.commons.util.ByRef;
+import org.infinispan.persistence.modifications.Modification;
+
+/**
+ * The modifications buffered by a write-behind writer, which the loaders take into account before reading from the
+ * underlying store.
+ *
+ * @since 9.4
+ */
+interface PendingModifications {
+   /**
+    * @return the pending modification of the key, {@link State#CLEAR} if the store was cleared after the key was
+    *         last modified, or {@code null} if the key has no pending modification
+    */
+   Modification get(Object key);
+
+   /**
+    * @param containsClear set to {@code true} if the store has a pending clear, which precedes the returned modifications
+    * @return the pending modification of every key
+    */
+   Map<Object, Modification> flatten(ByRef<Boolean> containsClear);
+}
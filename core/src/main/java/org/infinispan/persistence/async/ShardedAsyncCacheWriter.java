@@ -0,0 +1,525 @@
+package org.infinispan.persistence.async;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.CacheException;
+import org.infinispan.commons.util.ByRef;
+import org.infinispan.configuration.cache.AsyncStoreConfiguration;
+import org.infinispan.configuration.cache.PersistenceConfiguration;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.factories.threads.DefaultThreadFactory;
+import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.persistence.modifications.Modification;
+import org.infinispan.persistence.modifications.Remove;
+import org.infinispan.persistence.modifications.Store;
+import org.infinispan.persistence.spi.CacheWriter;
+import org.infinispan.persistence.spi.InitializationContext;
+import org.infinispan.persistence.support.DelegatingCacheWriter;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * Write-behind writer that buffers the modifications in independent shards, instead of the single state of the
+ * {@link AsyncCacheWriter}, so that concurrent writers and the flushes of the shards do not contend on a global lock.
+ * <p/>
+ * The keys are mapped to the shards by their segment. Each shard keeps the last modification of each of its keys,
+ * so repeated writes of a key are coalesced and only its final state is written to the underlying store. A shard is
+ * flushed by a single thread of the pool at a time, which writes all its pending modifications as a batch, so the
+ * modifications of a key are never reordered. Different shards are flushed concurrently by up to
+ * {@link AsyncStoreConfiguration#threadPoolSize()} threads.
+ * <p/>
+ * The shards share a buffer of {@link AsyncStoreConfiguration#modificationQueueSize()} modifications. When it is full,
+ * writers block until a flush completes. Coalesced writes release the space they acquired right away.
+ * <p/>
+ * Enabled with {@link AsyncStoreConfiguration#shards()}.
+ *
+ * @since 9.4
+ */
+public class ShardedAsyncCacheWriter extends DelegatingCacheWriter {
+   private static final Log log = LogFactory.getLog(ShardedAsyncCacheWriter.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   protected AsyncStoreConfiguration asyncConfiguration;
+   private PersistenceConfiguration persistenceConfiguration;
+   private KeyPartitioner keyPartitioner;
+   private String nodeName;
+   private WriteBehindStatistics statistics;
+
+   private Shard[] shards;
+   private Capacity capacity;
+   private ExecutorService executor;
+   private volatile boolean stopped;
+
+   private final Lock availabilityLock = new ReentrantLock();
+   private final Condition availability = availabilityLock.newCondition();
+   @GuardedBy("availabilityLock")
+   private volatile boolean delegateAvailable = true;
+
+   private final PendingModifications pendingModifications = new PendingModifications() {
+      @Override
+      public Modification get(Object key) {
+         return shard(key).get(key);
+      }
+
+      @Override
+      public Map<Object, Modification> flatten(ByRef<Boolean> containsClear) {
+         // Clearing the store is synchronous
+         Map<Object, Modification> map = new HashMap<>();
+         for (Shard shard : shards) {
+            shard.copyTo(map);
+         }
+         return map;
+      }
+   };
+
+   public ShardedAsyncCacheWriter(CacheWriter delegate) {
+      super(delegate);
+   }
+
+   @Override
+   public void init(InitializationContext ctx) {
+      super.init(ctx);
+      this.asyncConfiguration = ctx.getConfiguration().async();
+      this.keyPartitioner = ctx.getKeyPartitioner();
+
+      Cache cache = ctx.getCache();
+      persistenceConfiguration = cache.getCacheConfiguration().persistence();
+      nodeName = cache.getCacheManager().getCacheManagerConfiguration().transport().nodeName();
+      // The statistics are exposed through JMX as a component of the cache, shared with its other stores
+      ComponentRegistry componentRegistry = cache.getAdvancedCache().getComponentRegistry();
+      synchronized (componentRegistry) {
+         statistics = componentRegistry.getComponent(WriteBehindStatistics.class);
+         if (statistics == null) {
+            statistics = new WriteBehindStatistics();
+            componentRegistry.registerComponent(statistics, WriteBehindStatistics.class);
+         }
+      }
+   }
+
+   @Override
+   public void start() {
+      log.debugf("Sharded async cache writer starting %s", this);
+      shards = new Shard[asyncConfiguration.shards()];
+      for (int i = 0; i < shards.length; i++) {
+         shards[i] = new Shard();
+      }
+      capacity = new Capacity(asyncConfiguration.modificationQueueSize());
+      stopped = false;
+
+      // The work queue is unbounded, so that flushes are never rejected. Each shard has at most one queued flush.
+      int poolSize = asyncConfiguration.threadPoolSize();
+      DefaultThreadFactory processorThreadFactory =
+            new DefaultThreadFactory(null, Thread.NORM_PRIORITY, DefaultThreadFactory.DEFAULT_PATTERN, nodeName,
+                                     "AsyncStoreProcessor");
+      executor = new ThreadPoolExecutor(poolSize, poolSize, 120L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                                        processorThreadFactory);
+      ((ThreadPoolExecutor) executor).allowCoreThreadTimeOut(true);
+   }
+
+   @Override
+   public void stop() {
+      if (trace) log.tracef("Stop sharded async store %s", this);
+      stopped = true;
+      try {
+         if (!asyncConfiguration.failSilently() && !delegateAvailable) {
+            // The flushes are awaiting an availability signal, the pending modifications are not persisted
+            executor.shutdownNow();
+         } else {
+            for (Shard shard : shards) {
+               shard.awaitFlushed();
+            }
+            executor.shutdown();
+         }
+         if (!executor.awaitTermination(1, TimeUnit.SECONDS))
+            log.errorAsyncStoreNotStopped();
+      } catch (InterruptedException e) {
+         log.interruptedWaitingAsyncStorePush(e);
+         Thread.currentThread().interrupt();
+      }
+   }
+
+   @Override
+   public boolean isAvailable() {
+      if (stopped)
+         return false;
+
+      if (asyncConfiguration.failSilently())
+         return true;
+
+      boolean available = false;
+      try {
+         available = actual.isAvailable();
+      } catch (Throwable t) {
+         // We swallow the exception here so that modifications can still be added to the shards if there is capacity
+         log.debugf("Error encountered when calling isAvailable on %s: %s", actual, t);
+      }
+      availabilityLock.lock();
+      try {
+         if (available != delegateAvailable) {
+            delegateAvailable = available;
+            if (delegateAvailable)
+               availability.signalAll();
+         }
+      } finally {
+         availabilityLock.unlock();
+      }
+      return delegateAvailable || capacity.hasCapacity();
+   }
+
+   @Override
+   public void write(MarshalledEntry entry) {
+      put(Collections.singletonList(new Store(entry.getKey(), entry)));
+   }
+
+   @Override
+   public void writeBatch(Iterable entries) {
+      List<Modification> mods = new ArrayList<>();
+      for (Object entry : entries) {
+         MarshalledEntry me = (MarshalledEntry) entry;
+         mods.add(new Store(me.getKey(), me));
+      }
+      put(mods);
+   }
+
+   @Override
+   public boolean delete(Object key) {
+      put(Collections.singletonList(new Remove(key)));
+      return true;
+   }
+
+   @Override
+   public void deleteBatch(Iterable keys) {
+      List<Modification> mods = new ArrayList<>();
+      for (Object key : keys) {
+         mods.add(new Remove(key));
+      }
+      put(mods);
+   }
+
+   PendingModifications pendingModifications() {
+      return pendingModifications;
+   }
+
+   /**
+    * Discards all the pending modifications, waits for the flushes in progress and clears the underlying store.
+    * The writes of all the shards are blocked until the underlying store is cleared.
+    */
+   void clear(Runnable clearStore) {
+      int locked = 0;
+      try {
+         for (Shard shard : shards) {
+            shard.lock.lock();
+            locked++;
+            assertNotStopped();
+            shard.discardPending();
+         }
+         clearStore.run();
+      } finally {
+         for (int i = 0; i < locked; i++) {
+            shards[i].lock.unlock();
+         }
+      }
+   }
+
+   private void assertNotStopped() throws CacheException {
+      if (stopped)
+         throw new CacheException("ShardedAsyncCacheWriter stopped; no longer accepting more entries.");
+   }
+
+   private Shard shard(Object key) {
+      int hash = keyPartitioner != null ? keyPartitioner.getSegment(key) : key.hashCode() & Integer.MAX_VALUE;
+      return shards[hash % shards.length];
+   }
+
+   private void put(List<Modification> mods) {
+      capacity.acquire(mods.size());
+      // Coalesced modifications do not use the capacity they acquired
+      int unused = mods.size();
+      try {
+         for (Modification mod : mods) {
+            if (trace)
+               log.tracef("Queue modification: %s", mod);
+
+            Object key = mod.getType() == Modification.Type.STORE ? ((Store) mod).getKey() : ((Remove) mod).getKey();
+            if (shard(key).add(key, mod))
+               unused--;
+         }
+      } finally {
+         capacity.release(unused);
+      }
+   }
+
+   private void applyModifications(Map<Object, Modification> modifications) {
+      List<MarshalledEntry> entries = new ArrayList<>();
+      List<Object> keys = new ArrayList<>();
+      for (Modification mod : modifications.values()) {
+         if (mod.getType() == Modification.Type.STORE) {
+            entries.add(((Store) mod).getStoredValue());
+         } else {
+            keys.add(((Remove) mod).getKey());
+         }
+      }
+      if (!entries.isEmpty())
+         actual.writeBatch(entries);
+      if (!keys.isEmpty())
+         actual.deleteBatch(keys);
+   }
+
+   private void retryWork(Map<Object, Modification> modifications) {
+      boolean failSilently = asyncConfiguration.failSilently();
+      int maxRetries = persistenceConfiguration.connectionAttempts();
+      // Even with !failSilently we only try maxRetries times as it's possible that the failure is not due to store availability and this
+      // prevents us repeating the failed operation indefinitely
+      for (int attempt = 0; attempt < maxRetries; attempt++) {
+         if (attempt > 0 && log.isDebugEnabled())
+            log.debugf("Retrying due to previous failure. %s attempts left.", maxRetries - attempt);
+
+         try {
+            if (!failSilently) {
+               availabilityLock.lock();
+               try {
+                  if (!delegateAvailable) {
+                     if (stopped) {
+                        log.debugf("Failed to write async modifications to %s as the store is unavailable and stop() was called", actual);
+                        return;
+                     }
+
+                     availability.await();
+                  }
+               } catch (InterruptedException e) {
+                  log.debugf("%s interrupted: %s", this, e);
+                  Thread.currentThread().interrupt();
+                  break;
+               } finally {
+                  availabilityLock.unlock();
+               }
+            }
+            applyModifications(modifications);
+            return;
+         } catch (Exception e) {
+            if (log.isDebugEnabled())
+               log.debug("Failed to process async modifications", e);
+
+            if (!failSilently) {
+               try {
+                  // Wait for availabilityInterval time to ensure that before the next attempt the delegate's availability
+                  // flag will have been updated and availability.await will be reached
+                  Thread.sleep(persistenceConfiguration.availabilityInterval());
+               } catch (InterruptedException ie) {
+                  Thread.currentThread().interrupt();
+                  break;
+               }
+            }
+         }
+      }
+      log.unableToProcessAsyncModifications(maxRetries);
+   }
+
+   private class Shard implements Runnable {
+      final Lock lock = new ReentrantLock();
+      final Condition flushed = lock.newCondition();
+      @GuardedBy("lock")
+      Map<Object, Modification> pending = new LinkedHashMap<>();
+      @GuardedBy("lock")
+      Map<Object, Modification> flushing = Collections.emptyMap();
+      /**
+       * Whether a flush is queued or in progress, which is always the case while there are pending modifications.
+       */
+      @GuardedBy("lock")
+      boolean scheduled;
+
+      /**
+       * @return whether the modification uses more capacity, {@code false} if it replaced a pending modification
+       */
+      boolean add(Object key, Modification mod) {
+         boolean schedule;
+         lock.lock();
+         try {
+            assertNotStopped();
+            if (pending.put(key, mod) != null) {
+               // The shard is already scheduled
+               statistics.coalesced();
+               return false;
+            }
+            statistics.queued();
+            schedule = !scheduled;
+            scheduled = true;
+         } finally {
+            lock.unlock();
+         }
+         if (schedule)
+            executor.execute(this);
+         return true;
+      }
+
+      Modification get(Object key) {
+         lock.lock();
+         try {
+            Modification mod = pending.get(key);
+            return mod != null ? mod : flushing.get(key);
+         } finally {
+            lock.unlock();
+         }
+      }
+
+      void copyTo(Map<Object, Modification> map) {
+         lock.lock();
+         try {
+            map.putAll(flushing);
+            map.putAll(pending);
+         } finally {
+            lock.unlock();
+         }
+      }
+
+      @GuardedBy("lock")
+      void discardPending() {
+         int discarded = pending.size();
+         pending = new LinkedHashMap<>();
+         capacity.release(discarded);
+         statistics.discarded(discarded);
+         while (!flushing.isEmpty()) {
+            flushed.awaitUninterruptibly();
+         }
+      }
+
+      void awaitFlushed() throws InterruptedException {
+         lock.lock();
+         try {
+            while (scheduled) {
+               flushed.await();
+            }
+         } finally {
+            lock.unlock();
+         }
+      }
+
+      @Override
+      public void run() {
+         LogFactory.pushNDC(ctx.getCache().getName(), trace);
+         Map<Object, Modification> batch;
+         lock.lock();
+         try {
+            batch = pending;
+            flushing = batch;
+            pending = new LinkedHashMap<>();
+         } finally {
+            lock.unlock();
+         }
+         long start = System.nanoTime();
+         boolean reschedule;
+         try {
+            if (!batch.isEmpty())
+               retryWork(batch);
+         } finally {
+            statistics.flushed(batch.size(), System.nanoTime() - start);
+            capacity.release(batch.size());
+            lock.lock();
+            try {
+               flushing = Collections.emptyMap();
+               reschedule = !pending.isEmpty();
+               scheduled = reschedule;
+               flushed.signalAll();
+            } finally {
+               lock.unlock();
+            }
+            LogFactory.popNDC(trace);
+         }
+         if (reschedule) {
+            try {
+               executor.execute(this);
+            } catch (RejectedExecutionException e) {
+               log.debugf("Failed to write async modifications to %s as the store was stopped", actual);
+            }
+         }
+      }
+   }
+
+   /**
+    * Counts the pending modifications of all the shards. Like the {@link BufferLock}, writers only block while the
+    * buffer is full, so the modifications of the last writer may exceed its size. A size of 0 or less is unbounded.
+    * <p/>
+    * The count is updated with CAS, the lock is only taken by writers waiting for a full buffer and by the threads
+    * that wake them up.
+    */
+   private static final class Capacity {
+      private final int size;
+      private final AtomicInteger used = new AtomicInteger();
+      private final AtomicInteger waiters = new AtomicInteger();
+      private final Lock lock = new ReentrantLock();
+      private final Condition notFull = lock.newCondition();
+
+      Capacity(int size) {
+         this.size = size;
+      }
+
+      void acquire(int count) {
+         if (size <= 0) {
+            used.addAndGet(count);
+            return;
+         }
+         for (;;) {
+            int current = used.get();
+            if (current < size) {
+               if (used.compareAndSet(current, current + count))
+                  return;
+            } else {
+               awaitNotFull();
+            }
+         }
+      }
+
+      private void awaitNotFull() {
+         lock.lock();
+         try {
+            // Registered before checking the count, so a release that happens after the check signals us
+            waiters.incrementAndGet();
+            try {
+               while (used.get() >= size) {
+                  notFull.awaitUninterruptibly();
+               }
+            } finally {
+               waiters.decrementAndGet();
+            }
+         } finally {
+            lock.unlock();
+         }
+      }
+
+      void release(int count) {
+         if (count == 0)
+            return;
+         int current = used.addAndGet(-count);
+         if (current < size && waiters.get() > 0) {
+            lock.lock();
+            try {
+               notFull.signalAll();
+            } finally {
+               lock.unlock();
+            }
+         }
+      }
+
+      boolean hasCapacity() {
+         return size <= 0 || used.get() < size;
+      }
+   }
+}
@@ -0,0 +1,103 @@
+package org.infinispan.persistence.async;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.infinispan.jmx.annotations.DisplayType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
+
+/**
+ * Statistics of the sharded write-behind stores of a cache. The instance is registered in the component registry of
+ * the cache, and shared by all its stores that use a {@link ShardedAsyncCacheWriter}.
+ *
+ * @since 9.4
+ */
+@MBean(objectName = "WriteBehind", description = "Write-behind of the modifications to the cache stores")
+public class WriteBehindStatistics {
+   private final AtomicLong queueDepth = new AtomicLong();
+   private final AtomicLong coalescedWrites = new AtomicLong();
+   private final AtomicLong flushes = new AtomicLong();
+   private final AtomicLong flushedModifications = new AtomicLong();
+   private final AtomicLong flushTime = new AtomicLong();
+
+   void queued() {
+      queueDepth.incrementAndGet();
+   }
+
+   void coalesced() {
+      coalescedWrites.incrementAndGet();
+   }
+
+   void discarded(int modifications) {
+      queueDepth.addAndGet(-modifications);
+   }
+
+   void flushed(int modifications, long nanos) {
+      queueDepth.addAndGet(-modifications);
+      flushes.incrementAndGet();
+      flushedModifications.addAndGet(modifications);
+      flushTime.addAndGet(nanos);
+   }
+
+   @ManagedAttribute(
+         description = "Number of modifications waiting to be written to the stores",
+         displayName = "Queue depth",
+         displayType = DisplayType.SUMMARY
+   )
+   public long getQueueDepth() {
+      return queueDepth.get();
+   }
+
+   @ManagedAttribute(
+         description = "Number of writes that replaced a modification of the same key before it was written",
+         displayName = "Number of coalesced writes",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getCoalescedWrites() {
+      return coalescedWrites.get();
+   }
+
+   @ManagedAttribute(
+         description = "Number of batches of modifications written to the stores",
+         displayName = "Number of flushes",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getFlushes() {
+      return flushes.get();
+   }
+
+   @ManagedAttribute(
+         description = "Number of modifications written to the stores",
+         displayName = "Number of flushed modifications",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getFlushedModifications() {
+      return flushedModifications.get();
+   }
+
+   @ManagedAttribute(
+         description = "Average time to write a batch of modifications to a store",
+         displayName = "Average flush time",
+         units = Units.MILLISECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getAverageFlushTime() {
+      long flushes = this.flushes.get();
+      return flushes == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(flushTime.get() / flushes);
+   }
+
+   @ManagedOperation(
+         description = "Resets statistics gathered by this component",
+         displayName = "Reset statistics"
+   )
+   public void resetStatistics() {
+      coalescedWrites.set(0);
+      flushes.set(0);
+      flushedModifications.set(0);
+      flushTime.set(0);
+   }
+}
@@ -0,0 +1,369 @@
+package org.infinispan.persistence.file;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.infinispan.commons.hash.MurmurHash3;
+import org.infinispan.container.offheap.UnsafeHolder;
+import org.infinispan.persistence.file.SingleFileStore.FileEntry;
+
+import sun.misc.Unsafe;
+
+/**
+ * Index of the {@link SingleFileStore} that keeps the position of the entries in native memory instead of keeping
+ * their keys on the Java heap.
+ * <p>
+ * The index is an open addressing hash table using linear probing, where each slot holds a 128-bit fingerprint of the
+ * marshalled key and the fields of its {@link FileEntry}. The keys themselves are not kept: two keys with the same
+ * fingerprint are considered the same key, so the index never reads the file. Callers compute the fingerprint with
+ * {@link #fingerprint(byte[], int, int)} before looking up a key, and loads compare the key bytes they read from the
+ * file with the requested key. The table doubles in size when it becomes three quarters full and removals shift the
+ * following slots back, so lookups never have to skip deleted slots.
+ * <p>
+ * The slot of a key is taken from the high bits of its fingerprint, so the slots are ordered by fingerprint. This
+ * allows {@link Scan} to iterate the index in fingerprint ranges, without copying it to the heap and without missing
+ * entries when the table is resized between two ranges.
+ * <p>
+ * The {@link FileEntry} instances returned by the index are created on every lookup, so they cannot be used to track
+ * the readers of an entry by themselves. Readers must instead use {@link #lock(FileEntry)} and
+ * {@link #unlock(FileEntry)}, which share a single instance per entry while it has readers, and
+ * {@link #lockedInstance(FileEntry)} must be used when an entry is added to the free list.
+ * <p>
+ * All the methods are thread safe, but callers must hold the monitor of this index to lock an entry they looked up
+ * before it can be removed by another thread.
+ * @since 9.4
+ */
+class OffHeapIndex {
+   private static final Unsafe UNSAFE = UnsafeHolder.UNSAFE;
+
+   private static final int OFFSET = 0;
+   private static final int EXPIRY_TIME = 8;
+   private static final int FINGERPRINT_HIGH = 16;
+   private static final int FINGERPRINT_LOW = 24;
+   private static final int SIZE = 32;
+   private static final int KEY_LEN = 36;
+   private static final int DATA_LEN = 40;
+   private static final int METADATA_LEN = 44;
+   private static final int SLOT_SIZE = 48;
+
+   private static final int MINIMUM_CAPACITY = 1 << 10;
+   private static final int SCAN_RANGE_BITS = 10;
+   private static final int FINGERPRINT_SEED = 9001;
+
+   private final ConcurrentMap<Long, FileEntry> lockedEntries = new ConcurrentHashMap<>();
+   private long memory;
+   private long capacity;
+   private long mask;
+   private int shift;
+   private long size;
+
+   OffHeapIndex() {
+      allocate(MINIMUM_CAPACITY);
+   }
+
+   /**
+    * @return the fingerprint identifying the marshalled key in the index
+    */
+   static long[] fingerprint(byte[] key, int offset, int length) {
+      if (offset != 0 || length != key.length) {
+         byte[] copy = new byte[length];
+         System.arraycopy(key, offset, copy, 0, length);
+         key = copy;
+      }
+      return MurmurHash3.MurmurHash3_x64_128(key, FINGERPRINT_SEED);
+   }
+
+   private void allocate(long capacity) {
+      long bytes = capacity * SLOT_SIZE;
+      this.memory = UNSAFE.allocateMemory(bytes);
+      // An offset of 0 marks an empty slot, entries can never be at that position as it holds the file header
+      UNSAFE.setMemory(memory, bytes, (byte) 0);
+      this.capacity = capacity;
+      this.mask = capacity - 1;
+      this.shift = Long.numberOfLeadingZeros(capacity) + 1;
+   }
+
+   private long address(long slot) {
+      return memory + slot * SLOT_SIZE;
+   }
+
+   private long idealSlot(long high) {
+      return high >>> shift;
+   }
+
+   private static boolean isEmpty(long address) {
+      return UNSAFE.getLong(address + OFFSET) == 0;
+   }
+
+   private static FileEntry entry(long address) {
+      return new FileEntry(UNSAFE.getLong(address + OFFSET), UNSAFE.getInt(address + SIZE),
+            UNSAFE.getInt(address + KEY_LEN), UNSAFE.getInt(address + DATA_LEN),
+            UNSAFE.getInt(address + METADATA_LEN), UNSAFE.getLong(address + EXPIRY_TIME));
+   }
+
+   private static void write(long address, long[] fingerprint, FileEntry fe) {
+      UNSAFE.putLong(address + OFFSET, fe.offset);
+      UNSAFE.putLong(address + EXPIRY_TIME, fe.expiryTime);
+      UNSAFE.putLong(address + FINGERPRINT_HIGH, fingerprint[0]);
+      UNSAFE.putLong(address + FINGERPRINT_LOW, fingerprint[1]);
+      UNSAFE.putInt(address + SIZE, fe.size);
+      UNSAFE.putInt(address + KEY_LEN, fe.keyLen);
+      UNSAFE.putInt(address + DATA_LEN, fe.dataLen);
+      UNSAFE.putInt(address + METADATA_LEN, fe.metadataLen);
+   }
+
+   /**
+    * @return the slot holding the fingerprint, or the empty slot where it should be inserted as {@code -(slot + 1)}
+    */
+   private long find(long[] fingerprint) {
+      if (memory == 0) {
+         throw new IllegalStateException("The index was already deallocated");
+      }
+      for (long slot = idealSlot(fingerprint[0]); ; slot = (slot + 1) & mask) {
+         long address = address(slot);
+         if (isEmpty(address)) {
+            return -(slot + 1);
+         }
+         if (UNSAFE.getLong(address + FINGERPRINT_HIGH) == fingerprint[0] &&
+               UNSAFE.getLong(address + FINGERPRINT_LOW) == fingerprint[1]) {
+            return slot;
+         }
+      }
+   }
+
+   synchronized FileEntry get(long[] fingerprint) {
+      if (size == 0) {
+         return null;
+      }
+      long slot = find(fingerprint);
+      return slot < 0 ? null : entry(address(slot));
+   }
+
+   /**
+    * Looks up an entry found by a {@link Scan}, which may have been moved or removed since.
+    * @return the entry if it is still present at the same position, {@code null} otherwise
+    */
+   synchronized FileEntry get(long[] fingerprint, long offset) {
+      FileEntry fe = get(fingerprint);
+      return fe != null && fe.offset == offset ? fe : null;
+   }
+
+   /**
+    * @return the previous entry of the key, {@code null} if there was none
+    */
+   synchronized FileEntry put(long[] fingerprint, FileEntry fe) {
+      long slot = find(fingerprint);
+      if (slot >= 0) {
+         long address = address(slot);
+         FileEntry previous = entry(address);
+         write(address, fingerprint, fe);
+         return previous;
+      }
+      write(address(-slot - 1), fingerprint, fe);
+      if (++size > capacity - (capacity >>> 2)) {
+         resize(capacity << 1);
+      }
+      return null;
+   }
+
+   synchronized FileEntry remove(long[] fingerprint) {
+      if (size == 0) {
+         return null;
+      }
+      long slot = find(fingerprint);
+      if (slot < 0) {
+         return null;
+      }
+      FileEntry previous = entry(address(slot));
+      delete(slot);
+      return previous;
+   }
+
+   /**
+    * Removes all the entries that expired before the given time.
+    * @return the removed entries
+    */
+   synchronized List<FileEntry> removeExpired(long now) {
+      List<FileEntry> expired = new ArrayList<>();
+      for (long slot = 0; slot < capacity; ) {
+         long address = address(slot);
+         if (!isEmpty(address)) {
+            FileEntry fe = entry(address);
+            if (fe.isExpired(now)) {
+               expired.add(fe);
+               // A following entry may have been moved to this slot, so it has to be checked again
+               delete(slot);
+               continue;
+            }
+         }
+         slot++;
+      }
+      return expired;
+   }
+
+   private void delete(long slot) {
+      size--;
+      // Move back the following entries of the probe sequence that would not be found anymore with the slot empty
+      long hole = slot;
+      for (long next = (slot + 1) & mask; ; next = (next + 1) & mask) {
+         long nextAddress = address(next);
+         if (isEmpty(nextAddress)) {
+            break;
+         }
+         long ideal = idealSlot(UNSAFE.getLong(nextAddress + FINGERPRINT_HIGH));
+         boolean reachable = hole <= next ? hole < ideal && ideal <= next : hole < ideal || ideal <= next;
+         if (!reachable) {
+            UNSAFE.copyMemory(nextAddress, address(hole), SLOT_SIZE);
+            hole = next;
+         }
+      }
+      UNSAFE.setMemory(address(hole), SLOT_SIZE, (byte) 0);
+   }
+
+   private void resize(long newCapacity) {
+      long oldMemory = memory;
+      long oldCapacity = capacity;
+      allocate(newCapacity);
+      for (long slot = 0; slot < oldCapacity; slot++) {
+         long oldAddress = oldMemory + slot * SLOT_SIZE;
+         if (isEmpty(oldAddress)) {
+            continue;
+         }
+         long newSlot = idealSlot(UNSAFE.getLong(oldAddress + FINGERPRINT_HIGH));
+         while (!isEmpty(address(newSlot))) {
+            newSlot = (newSlot + 1) & mask;
+         }
+         UNSAFE.copyMemory(oldAddress, address(newSlot), SLOT_SIZE);
+      }
+      UNSAFE.freeMemory(oldMemory);
+   }
+
+   /**
+    * Copies the position and the fingerprint of the entries whose high fingerprint bits are between {@code from}
+    * (inclusive) and {@code to} (exclusive), compared as unsigned values.
+    *
+    * @param to the end of the range, or {@code 0} for the end of the fingerprint space
+    */
+   private synchronized long[] entriesInRange(long from, long to) {
+      if (memory == 0) {
+         throw new IllegalStateException("The index was already deallocated");
+      }
+      long firstSlot = idealSlot(from);
+      long lastSlot = to == 0 ? mask : idealSlot(to - 1);
+      List<Long> found = new ArrayList<>();
+      // Entries are stored at their ideal slot or after it, so the cluster holding the last ideal slot is read entirely
+      for (long i = 0; i < capacity; i++) {
+         long address = address((firstSlot + i) & mask);
+         if (isEmpty(address)) {
+            if (i > lastSlot - firstSlot) {
+               break;
+            }
+            continue;
+         }
+         long high = UNSAFE.getLong(address + FINGERPRINT_HIGH);
+         if (Long.compareUnsigned(high, from) >= 0 && (to == 0 || Long.compareUnsigned(high, to) < 0)) {
+            found.add(UNSAFE.getLong(address + OFFSET));
+            found.add(high);
+            found.add(UNSAFE.getLong(address + FINGERPRINT_LOW));
+         }
+      }
+      long[] entries = new long[found.size()];
+      for (int i = 0; i < entries.length; i++) {
+         entries[i] = found.get(i);
+      }
+      return entries;
+   }
+
+   /**
+    * Starts iterating over the entries of the index, see {@link Scan}.
+    */
+   Scan scan() {
+      return new Scan();
+   }
+
+   /**
+    * Iterates over the entries of the index in ranges of fingerprints covering about a thousand slots, so only the
+    * entries of the current range are copied to the heap. Each range is copied while holding the monitor of the index,
+    * and ranges are not affected by resizes, so entries that are neither written nor removed during the iteration are
+    * returned exactly once.
+    */
+   class Scan {
+      private long next;
+      private boolean done;
+
+      /**
+       * @return the position, the high and the low fingerprint bits of the entries of the next range, stored in
+       * sequence, or {@code null} when all the ranges were returned
+       */
+      long[] nextRange() {
+         if (done) {
+            return null;
+         }
+         long from = next;
+         long to;
+         synchronized (OffHeapIndex.this) {
+            int rangeShift = shift + SCAN_RANGE_BITS;
+            to = rangeShift >= Long.SIZE ? 0 : from + (1L << rangeShift);
+            if (to != 0 && Long.compareUnsigned(to, from) < 0) {
+               to = 0;
+            }
+            next = to;
+            done = to == 0;
+            return entriesInRange(from, to);
+         }
+      }
+   }
+
+   synchronized long size() {
+      return size;
+   }
+
+   synchronized void clear() {
+      UNSAFE.freeMemory(memory);
+      allocate(MINIMUM_CAPACITY);
+      size = 0;
+   }
+
+   synchronized void deallocate() {
+      UNSAFE.freeMemory(memory);
+      memory = 0;
+      capacity = 0;
+      size = 0;
+   }
+
+   /**
+    * Registers a reader of the entry, which must have been returned by this index while holding its monitor.
+    * @return the instance to pass to {@link #unlock(FileEntry)}
+    */
+   FileEntry lock(FileEntry fe) {
+      return lockedEntries.compute(fe.offset, (offset, locked) -> {
+         if (locked == null) {
+            locked = fe;
+         }
+         locked.lock();
+         return locked;
+      });
+   }
+
+   void unlock(FileEntry fe) {
+      lockedEntries.computeIfPresent(fe.offset, (offset, locked) -> {
+         locked.unlock();
+         return locked.isLocked() ? locked : null;
+      });
+   }
+
+   /**
+    * @return the instance shared by the readers of the entry, so that the free list knows when it is not read anymore
+    */
+   FileEntry lockedInstance(FileEntry fe) {
+      FileEntry locked = lockedEntries.get(fe.offset);
+      return locked != null && locked.equals(fe) ? locked : fe;
+   }
+
+   Collection<FileEntry> lockedEntries() {
+      return lockedEntries.values();
+   }
+}
@@ -13,12 +13,14 @@
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.Executor;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 import org.infinispan.commons.configuration.ConfiguredBy;
 import org.infinispan.commons.io.ByteBufferFactory;
@@ -57,6 +59,11 @@
  * data loss, and data can be recomputed or re-queried from the original data
  * source.
  * <p/>
+ * Alternatively the store can be configured to keep its index off-heap, see
+ * {@link org.infinispan.configuration.cache.SingleFileStoreConfigurationBuilder#offHeapIndex(boolean)}. In this case
+ * only 128-bit fingerprints of the marshalled keys and the file positions are kept, in native memory, taking about
+ * 80 bytes per cache entry. Keys with the same fingerprint are considered the same key.
+ * <p/>
  * This class is fully thread safe, yet allows for concurrent load / store
  * of individual cache entries.
  *
@@ -82,6 +89,8 @@
 
    private FileChannel channel;
    private Map<K, FileEntry> entries;
+   // Replaces entries when the index is kept off-heap
+   private OffHeapIndex offHeapIndex;
    private SortedSet<FileEntry> freeList;
    private long filePos = MAGIC.length;
    private File file;
@@ -115,10 +124,14 @@ public void start() {
          channel = new RandomAccessFile(file, "rw").getChannel();
 
          // initialize data structures. Only use LinkedHashMap (LRU) for entries when cache store is bounded
-         Map<K, FileEntry> entryMap = configuration.maxEntries() > 0 ?
-               new LinkedHashMap<>(16, 0.75f, true) :
-               new HashMap<>();
-         entries = Collections.synchronizedMap(entryMap);
+         if (configuration.offHeapIndex()) {
+            offHeapIndex = new OffHeapIndex();
+         } else {
+            Map<K, FileEntry> entryMap = configuration.maxEntries() > 0 ?
+                  new LinkedHashMap<>(16, 0.75f, true) :
+                  new HashMap<>();
+            entries = Collections.synchronizedMap(entryMap);
+         }
          freeList = Collections.synchronizedSortedSet(new TreeSet<FileEntry>());
 
          // check file format and read persistent state if enabled for the cache
@@ -141,12 +154,16 @@ public void start() {
    public void stop() {
       try {
          if (channel != null) {
-            log.tracef("Stopping store %s, size = %d, file size = %d", ctx.getCache().getName(), entries.size(), channel.size());
+            log.tracef("Stopping store %s, size = %d, file size = %d", ctx.getCache().getName(), size(), channel.size());
 
             // reset state
             channel.close();
             channel = null;
             entries = null;
+            if (offHeapIndex != null) {
+               offHeapIndex.deallocate();
+               offHeapIndex = null;
+            }
             freeList = null;
             filePos = MAGIC.length;
          }
@@ -209,10 +226,15 @@ private void rebuildIndex() throws Exception {
             buf.clear().limit(fe.keyLen);
             channel.read(buf, fe.offset + KEY_POS);
 
-            // deserialize key and add to entries map
-            // Marshaller should allow for provided type return for safety
-            K key = (K) ctx.getMarshaller().objectFromByteBuffer(buf.array(), 0, fe.keyLen);
-            entries.put(key, fe);
+            if (offHeapIndex != null) {
+               // the off-heap index only needs the fingerprint of the marshalled key
+               offHeapIndex.put(OffHeapIndex.fingerprint(buf.array(), 0, fe.keyLen), fe);
+            } else {
+               // deserialize key and add to entries map
+               // Marshaller should allow for provided type return for safety
+               K key = (K) ctx.getMarshaller().objectFromByteBuffer(buf.array(), 0, fe.keyLen);
+               entries.put(key, fe);
+            }
          } else {
             // add to free list
             freeList.add(fe);
@@ -226,10 +248,66 @@ private void rebuildIndex() throws Exception {
     */
    @Override
    public boolean contains(Object key) {
-      FileEntry entry = entries.get(key);
+      FileEntry entry = offHeapIndex != null ? offHeapIndex.get(fingerprint(marshallKey(key))) : entries.get(key);
       return entry != null && !entry.isExpired(timeService.wallClockTime());
    }
 
+   /**
+    * Marshalls a key to look it up in the off-heap index, which must be done before taking the monitor of the index.
+    */
+   private byte[] marshallKey(Object key) {
+      try {
+         return ctx.getMarshaller().objectToByteBuffer(key);
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      }
+   }
+
+   private static long[] fingerprint(byte[] key) {
+      return OffHeapIndex.fingerprint(key, 0, key.length);
+   }
+
+   /**
+    * Reads the key of an entry removed from the off-heap index, which doesn't keep the keys.
+    * <p/>
+    * Note: Caller must make sure the space of the entry was not freed yet.
+    */
+   private Object readKey(FileEntry fe) {
+      try {
+         byte[] key = new byte[fe.keyLen];
+         channel.read(ByteBuffer.wrap(key), fe.offset + KEY_POS);
+         return ctx.getMarshaller().objectFromByteBuffer(key);
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      }
+   }
+
+   private Object indexMonitor() {
+      return offHeapIndex != null ? offHeapIndex : entries;
+   }
+
+   /**
+    * Registers a reader of an entry found in the index, see {@link FileEntry#lock()}.
+    * <p/>
+    * Note: Caller must hold the monitor of the index.
+    * @return the entry to pass to {@link #unlock(FileEntry)}
+    */
+   private FileEntry lock(FileEntry fe) {
+      if (offHeapIndex != null) {
+         return offHeapIndex.lock(fe);
+      }
+      fe.lock();
+      return fe;
+   }
+
+   private void unlock(FileEntry fe) {
+      if (offHeapIndex != null) {
+         offHeapIndex.unlock(fe);
+      } else {
+         fe.unlock();
+      }
+   }
+
    /**
     * Allocates the requested space in the file.
     *
@@ -311,6 +389,10 @@ private void addNewFreeEntry(FileEntry fe) throws IOException {
     */
    private void free(FileEntry fe) throws IOException {
       if (fe != null) {
+         if (offHeapIndex != null) {
+            // allocate() must see the readers of the entry
+            fe = offHeapIndex.lockedInstance(fe);
+         }
          // Invalidate entry on disk (by setting keyLen field to 0)
          // No need to wait for readers to unlock here, the FileEntry instance is not modified,
          // and allocate() won't return an entry as long as it has a reader.
@@ -356,7 +438,9 @@ public void write(MarshalledEntry<? extends K, ? extends V> marshalledEntry) {
             if (trace) log.tracef("Wrote entry %s:%d at %d:%d", marshalledEntry.getKey(), len, newEntry.offset, newEntry.size);
 
             // add the new entry to in-memory index
-            oldEntry = entries.put(marshalledEntry.getKey(), newEntry);
+            oldEntry = offHeapIndex != null ?
+                  offHeapIndex.put(OffHeapIndex.fingerprint(key.getBuf(), key.getOffset(), key.getLength()), newEntry) :
+                  entries.put(marshalledEntry.getKey(), newEntry);
 
             // if we added an entry, check if we need to evict something
             if (oldEntry == null)
@@ -397,16 +481,20 @@ private FileEntry evict() {
    public void clear() {
       resizeLock.writeLock().lock();
       try {
-         synchronized (entries) {
+         synchronized (indexMonitor()) {
             synchronized (freeList) {
                // wait until all readers are done reading file entries
-               for (FileEntry fe : entries.values())
+               for (FileEntry fe : offHeapIndex != null ? offHeapIndex.lockedEntries() : entries.values())
                   fe.waitUnlocked();
                for (FileEntry fe : freeList)
                   fe.waitUnlocked();
 
                // clear in-memory state
-               entries.clear();
+               if (offHeapIndex != null) {
+                  offHeapIndex.clear();
+               } else {
+                  entries.clear();
+               }
                freeList.clear();
 
                // reset file
@@ -425,9 +513,10 @@ public void clear() {
 
    @Override
    public boolean delete(Object key) {
+      long[] fingerprint = offHeapIndex != null ? fingerprint(marshallKey(key)) : null;
       resizeLock.readLock().lock();
       try {
-         FileEntry fe = entries.remove(key);
+         FileEntry fe = offHeapIndex != null ? offHeapIndex.remove(fingerprint) : entries.remove(key);
          free(fe);
          return fe != null;
       } catch (Exception e) {
@@ -443,12 +532,13 @@ public MarshalledEntry<K, V> load(Object key) {
    }
 
    private MarshalledEntry<K, V> _load(Object key, boolean loadValue, boolean loadMetadata) {
-      final FileEntry fe;
+      byte[] keyBytes = offHeapIndex != null ? marshallKey(key) : null;
+      FileEntry fe;
       resizeLock.readLock().lock();
       try {
-         synchronized (entries) {
+         synchronized (indexMonitor()) {
             // lookup FileEntry of the key
-            fe = entries.get(key);
+            fe = offHeapIndex != null ? offHeapIndex.get(fingerprint(keyBytes)) : entries.get(key);
             if (fe == null)
                return null;
 
@@ -457,7 +547,7 @@ private MarshalledEntry<K, V> _load(Object key, boolean loadValue, boolean loadM
                return null;
             } else {
                // lock entry for reading before releasing entries monitor
-               fe.lock();
+               fe = lock(fe);
             }
          }
       } finally {
@@ -472,7 +562,7 @@ private MarshalledEntry<K, V> _load(Object key, boolean loadValue, boolean loadM
          try {
             return ctx.getMarshalledEntryFactory().newMarshalledEntry(key, valueBb, metadataBb);
          } finally {
-            fe.unlock();
+            unlock(fe);
          }
       }
 
@@ -487,10 +577,21 @@ private MarshalledEntry<K, V> _load(Object key, boolean loadValue, boolean loadM
       } finally {
          // No need to keep the lock for deserialization.
          // FileEntry is immutable, so its members can't be changed by another thread.
-         fe.unlock();
+         unlock(fe);
       }
 
+      if (keyBytes != null && !Arrays.equals(keyBytes, Arrays.copyOf(data, fe.keyLen))) {
+         // Another key has the same fingerprint in the off-heap index
+         if (trace) log.tracef("Entry at %d:%d doesn't hold key %s", fe.offset, fe.actualSize(), key);
+         return null;
+      }
       if (trace) log.tracef("Read entry %s at %d:%d", key, fe.offset, fe.actualSize());
+      return toMarshalledEntry(fe, data, loadValue, loadMetadata);
+   }
+
+   private MarshalledEntry<K, V> toMarshalledEntry(FileEntry fe, byte[] data, boolean loadValue, boolean loadMetadata) {
+      org.infinispan.commons.io.ByteBuffer valueBb = null;
+      org.infinispan.commons.io.ByteBuffer metadataBb = null;
       ByteBufferFactory factory = ctx.getByteBufferFactory();
       org.infinispan.commons.io.ByteBuffer keyBb = factory.newByteBuffer(data, 0, fe.keyLen);
       if (loadValue) {
@@ -502,8 +603,79 @@ private MarshalledEntry<K, V> _load(Object key, boolean loadValue, boolean loadM
       return ctx.getMarshalledEntryFactory().newMarshalledEntry(keyBb, valueBb, metadataBb);
    }
 
+   /**
+    * Loads an entry of the off-heap index found by {@link OffHeapIndex.Scan}, reading its key from the file.
+    *
+    * @return the entry, or {@code null} if it was removed, expired or doesn't match the filter
+    */
+   private MarshalledEntry<K, V> loadIndexed(OffHeapIndex index, long offset, long[] fingerprint, long now,
+                                             Predicate<? super K> filter, boolean loadValue, boolean loadMetadata) {
+      FileEntry fe;
+      resizeLock.readLock().lock();
+      try {
+         synchronized (index) {
+            fe = index.get(fingerprint, offset);
+            if (fe == null || fe.isExpired(now))
+               return null;
+            fe = index.lock(fe);
+         }
+      } finally {
+         resizeLock.readLock().unlock();
+      }
+
+      final byte[] data;
+      try {
+         data = new byte[fe.keyLen + (loadValue || loadMetadata ? fe.dataLen : 0) + (loadMetadata ? fe.metadataLen : 0)];
+         channel.read(ByteBuffer.wrap(data), fe.offset + KEY_POS);
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      } finally {
+         index.unlock(fe);
+      }
+
+      K key;
+      try {
+         key = (K) ctx.getMarshaller().objectFromByteBuffer(data, 0, fe.keyLen);
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      }
+      if (filter != null && !filter.test(key))
+         return null;
+      if (!loadValue && !loadMetadata)
+         return ctx.getMarshalledEntryFactory().newMarshalledEntry(key, (Object) null, null);
+      return toMarshalledEntry(fe, data, loadValue, loadMetadata);
+   }
+
+   /**
+    * The off-heap index doesn't keep the keys, so they are read from the file together with the values.
+    */
+   private Flowable<MarshalledEntry<K, V>> publishIndexedEntries(Predicate<? super K> filter, boolean fetchValue,
+                                                                 boolean fetchMetadata) {
+      OffHeapIndex index = offHeapIndex;
+      return Flowable.defer(() -> {
+         // Each invocation of the publisher scans the index again, copying the positions of one range at a time
+         OffHeapIndex.Scan scan = index.scan();
+         long now = ctx.getTimeService().wallClockTime();
+         return Flowable.<long[]>generate(emitter -> {
+            long[] range = scan.nextRange();
+            if (range != null) {
+               emitter.onNext(range);
+            } else {
+               emitter.onComplete();
+            }
+         }).concatMapIterable(range -> () -> IntStream.range(0, range.length / 3)
+               .mapToObj(i -> loadIndexed(index, range[3 * i], new long[]{range[3 * i + 1], range[3 * i + 2]}, now,
+                     filter, fetchValue, fetchMetadata))
+               .filter(Objects::nonNull)
+               .iterator(), 1);
+      });
+   }
+
    @Override
    public Flowable<K> publishKeys(Predicate<? super K> filter) {
+      if (offHeapIndex != null) {
+         return publishIndexedEntries(filter, false, false).map(MarshalledEntry::getKey);
+      }
       return Flowable.fromIterable(() -> {
          List<K> keys = new ArrayList<>(entries.size());
          long now = ctx.getTimeService().wallClockTime();
@@ -522,7 +694,9 @@ public Flowable<K> publishKeys(Predicate<? super K> filter) {
 
    @Override
    public Flowable<MarshalledEntry<K, V>> publishEntries(Predicate<? super K> filter, boolean fetchValue, boolean fetchMetadata) {
-      if (fetchMetadata || fetchValue) {
+      if (offHeapIndex != null) {
+         return publishIndexedEntries(filter, fetchValue, fetchMetadata);
+      } else if (fetchMetadata || fetchValue) {
          return Flowable.fromIterable(() -> {
             // This way the sorting of entries is lazily done on each invocation of the publisher
             List<KeyValuePair<K, FileEntry>> keysToLoad = new ArrayList<>(entries.size());
@@ -663,13 +837,20 @@ private void mergeAndLogEntry(FileEntry entry, int mergeCounter) {
    public void purge(Executor threadPool, final PurgeListener task) {
       long now = timeService.wallClockTime();
       List<KeyValuePair<Object, FileEntry>> entriesToPurge = new ArrayList<>();
-      synchronized (entries) {
-         for (Iterator<Map.Entry<K, FileEntry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
-            Map.Entry<K, FileEntry> next = it.next();
-            FileEntry fe = next.getValue();
-            if (fe.isExpired(now)) {
-               it.remove();
-               entriesToPurge.add(new KeyValuePair<>(next.getKey(), fe));
+      if (offHeapIndex != null) {
+         // The keys can still be read as the space of the entries is only freed below
+         for (FileEntry fe : offHeapIndex.removeExpired(now)) {
+            entriesToPurge.add(new KeyValuePair<>(task != null ? readKey(fe) : null, fe));
+         }
+      } else {
+         synchronized (entries) {
+            for (Iterator<Map.Entry<K, FileEntry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+               Map.Entry<K, FileEntry> next = it.next();
+               FileEntry fe = next.getValue();
+               if (fe.isExpired(now)) {
+                  it.remove();
+                  entriesToPurge.add(new KeyValuePair<>(next.getKey(), fe));
+               }
             }
          }
       }
@@ -701,7 +882,7 @@ public void purge(Executor threadPool, final PurgeListener task) {
 
    @Override
    public int size() {
-      return entries.size();
+      return offHeapIndex != null ? (int) Math.min(offHeapIndex.size(), Integer.MAX_VALUE) : entries.size();
    }
 
    Map<K, FileEntry> getEntries() {
@@ -735,7 +916,7 @@ public SingleFileStoreConfiguration getConfiguration() {
     * <li>{@link #metadataLen} bytes: serialized key</li>
     * </ul>
     */
-   private static class FileEntry implements Comparable<FileEntry> {
+   static class FileEntry implements Comparable<FileEntry> {
       /**
        * File offset of this block.
        */
@@ -1,5 +1,7 @@
 package org.infinispan.persistence.internal;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.IntFunction;
 import java.util.function.Predicate;
@@ -127,6 +129,48 @@ private static <K, V> InternalCacheEntry<K, V> loadAndComputeInDataContainer(Dat
       }
    }
 
+   /**
+    * Same as {@link #loadAndStoreInDataContainer(DataContainer, int, PersistenceManager, Object, InvocationContext,
+    * TimeService, AtomicReference)}, except that the stores are loaded with
+    * {@link PersistenceManager#loadFromAllStoresAsync(Object, int, boolean, boolean)}.
+    * <p>
+    * The key is not locked in the data container while the stores are loaded, so the loaded entry is only stored
+    * if the key is still absent once the load completes. Otherwise the entry already in the container is returned,
+    * as it was written or loaded concurrently.
+    */
+   public static <K, V> CompletionStage<InternalCacheEntry<K, V>> loadAndStoreInDataContainerAsync(
+         InternalDataContainer<K, V> dataContainer, int segment, PersistenceManager persistenceManager, K key,
+         InvocationContext ctx, TimeService timeService, AtomicReference<Boolean> isLoaded) {
+      InternalCacheEntry<K, V> existing = dataContainer.peek(segment, key);
+      if (existing != null) {
+         // The stores are only loaded if the entry is expired, which is rare
+         return CompletableFuture.completedFuture(loadAndStoreInDataContainer(dataContainer, segment,
+               persistenceManager, key, ctx, timeService, isLoaded));
+      }
+      CompletionStage<MarshalledEntry<K, V>> stage =
+            persistenceManager.loadFromAllStoresAsync(key, segment, ctx.isOriginLocal(), true);
+      return stage.thenApply(loaded -> {
+         if (trace) {
+            log.tracef("Loaded %s for key %s from persistence.", loaded, key);
+         }
+         InternalCacheEntry<K, V> entry = dataContainer.compute(segment, key, (k, oldEntry, factory) -> {
+            if (oldEntry != null && !(oldEntry.canExpire() && oldEntry.isExpired(timeService.wallClockTime()))) {
+               isLoaded.set(null); //no attempt to load
+               return oldEntry;
+            }
+            if (loaded == null) {
+               isLoaded.set(Boolean.FALSE); //not loaded
+               // Return the original entry - so it doesn't remove expired entry early
+               return oldEntry;
+            }
+            isLoaded.set(Boolean.TRUE); //loaded!
+            return convert(loaded, factory);
+         });
+         // An expired entry is not returned
+         return isLoaded.get() == Boolean.FALSE ? null : entry;
+      });
+   }
+
    public static <K, V> MarshalledEntry<K, V> loadAndCheckExpiration(PersistenceManager persistenceManager, Object key,
          int segment, InvocationContext context) {
       return loadAndCheckExpiration(persistenceManager, key, segment, context, true);
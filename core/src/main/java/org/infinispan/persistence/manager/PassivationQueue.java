@@ -0,0 +1,221 @@
+package org.infinispan.persistence.manager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.util.concurrent.CompletableFutures;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * The passivated entries that are waiting to be written to the stores. The entries are written in batches by a single
+ * background task, so the stores are written one batch at a time, in the order the batches were taken.
+ * <p>
+ * An entry remains in the queue until its batch has been written, so it can be loaded until then. Cancelling the write
+ * of a key that is being written waits for the write to complete, so that a following write or delete of the key in
+ * the stores is applied after it.
+ * <p>
+ * Adding an entry never blocks, as entries are added while the data container holds the lock of the evicted entry.
+ * Once the queue holds more entries than its capacity, the passivating threads wait in {@link #awaitCapacity()} after
+ * releasing the locks of the container.
+ *
+ * @since 9.4
+ */
+class PassivationQueue {
+   private static final Log log = LogFactory.getLog(PassivationQueue.class);
+
+   private final Consumer<Collection<MarshalledEntry>> writer;
+   private final Executor executor;
+   private final int capacity;
+   private final ConcurrentMap<Object, MarshalledEntry> pending = new ConcurrentHashMap<>();
+
+   @GuardedBy("this")
+   private Set<Object> writingKeys = Collections.emptySet();
+   @GuardedBy("this")
+   private CompletableFuture<Void> writing = CompletableFutures.completedNull();
+   @GuardedBy("this")
+   private CompletableFuture<Void> nextBatchWritten = new CompletableFuture<>();
+   @GuardedBy("this")
+   private boolean flushing;
+   @GuardedBy("this")
+   private CompletableFuture<Void> flushed = CompletableFutures.completedNull();
+
+   /**
+    * @param writer writes a batch of entries to the stores
+    * @param capacity the number of entries above which the passivating threads wait for the stores, and the maximum
+    *                 number of entries written in a batch
+    */
+   PassivationQueue(Consumer<Collection<MarshalledEntry>> writer, Executor executor, int capacity) {
+      this.writer = writer;
+      this.executor = executor;
+      this.capacity = capacity;
+   }
+
+   void add(MarshalledEntry entry) {
+      pending.put(entry.getKey(), entry);
+      boolean startFlush;
+      synchronized (this) {
+         startFlush = !flushing;
+         if (startFlush) {
+            flushing = true;
+            flushed = new CompletableFuture<>();
+         }
+      }
+      if (startFlush) {
+         try {
+            executor.execute(this::flushWhilePending);
+         } catch (RejectedExecutionException e) {
+            flushWhilePending();
+         }
+      }
+   }
+
+   /**
+    * Waits until the number of entries waiting to be written is within the capacity, if the stores cannot keep up
+    * with the evictions. Must not be invoked while holding a lock of the data container.
+    */
+   void awaitCapacity() {
+      while (pending.size() > capacity) {
+         CompletableFuture<Void> batch;
+         synchronized (this) {
+            if (pending.size() <= capacity)
+               return;
+            // The entries are only written by the flush, which is running while there are pending entries
+            batch = nextBatchWritten;
+         }
+         batch.join();
+      }
+   }
+
+   MarshalledEntry get(Object key) {
+      return pending.get(key);
+   }
+
+   /**
+    * Removes the entry of the key, waiting for its write if it is in progress.
+    * @return whether the key had an entry
+    */
+   boolean cancel(Object key) {
+      if (pending.isEmpty())
+         return false;
+      MarshalledEntry removed;
+      CompletableFuture<Void> batch;
+      synchronized (this) {
+         removed = pending.remove(key);
+         batch = writingKeys.contains(key) ? writing : null;
+      }
+      if (batch != null) {
+         batch.join();
+      }
+      return removed != null;
+   }
+
+   /**
+    * Removes the entries whose keys match the filter, waiting for the write in progress.
+    */
+   void cancelIf(Predicate<Object> filter) {
+      if (pending.isEmpty())
+         return;
+      CompletableFuture<Void> batch;
+      synchronized (this) {
+         pending.keySet().removeIf(filter);
+         batch = writing;
+      }
+      batch.join();
+   }
+
+   /**
+    * @return a snapshot of the entries waiting to be written
+    */
+   List<MarshalledEntry> entries() {
+      return new ArrayList<>(pending.values());
+   }
+
+   int size() {
+      return pending.size();
+   }
+
+   /**
+    * Writes all the entries to the stores before returning.
+    */
+   void flush() {
+      while (true) {
+         CompletableFuture<Void> running;
+         synchronized (this) {
+            if (flushing) {
+               running = flushed;
+            } else if (pending.isEmpty()) {
+               return;
+            } else {
+               // Write on this thread, the executor may not run the task before the stores are stopped
+               flushing = true;
+               flushed = new CompletableFuture<>();
+               running = null;
+            }
+         }
+         if (running != null) {
+            running.join();
+         } else {
+            flushWhilePending();
+         }
+      }
+   }
+
+   private void flushWhilePending() {
+      while (true) {
+         List<MarshalledEntry> batch;
+         CompletableFuture<Void> written;
+         synchronized (this) {
+            if (pending.isEmpty()) {
+               flushing = false;
+               flushed.complete(null);
+               // Release the threads waiting for capacity, in case the entries were cancelled instead of written
+               nextBatchWritten.complete(null);
+               nextBatchWritten = new CompletableFuture<>();
+               return;
+            }
+            batch = new ArrayList<>(Math.min(capacity, pending.size()));
+            Set<Object> keys = new HashSet<>();
+            for (MarshalledEntry entry : pending.values()) {
+               batch.add(entry);
+               keys.add(entry.getKey());
+               if (batch.size() == capacity)
+                  break;
+            }
+            writingKeys = keys;
+            writing = written = new CompletableFuture<>();
+         }
+         try {
+            writer.accept(batch);
+         } catch (Throwable t) {
+            log.unableToPassivateEntries(batch.size(), t);
+         } finally {
+            CompletableFuture<Void> batchWritten;
+            synchronized (this) {
+               for (MarshalledEntry entry : batch) {
+                  pending.remove(entry.getKey(), entry);
+               }
+               writingKeys = Collections.emptySet();
+               batchWritten = nextBatchWritten;
+               nextBatchWritten = new CompletableFuture<>();
+            }
+            written.complete(null);
+            batchWritten.complete(null);
+         }
+      }
+   }
+}
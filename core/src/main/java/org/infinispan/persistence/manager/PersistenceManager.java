@@ -2,6 +2,8 @@
 
 import java.util.Collection;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Predicate;
 
 import javax.transaction.Transaction;
@@ -13,6 +15,7 @@
 import org.infinispan.persistence.spi.AdvancedCacheLoader;
 import org.infinispan.persistence.spi.PersistenceException;
 import org.infinispan.persistence.support.BatchModification;
+import org.infinispan.util.concurrent.CompletableFutures;
 import org.reactivestreams.Publisher;
 
 /**
@@ -25,6 +28,16 @@
 public interface PersistenceManager extends Lifecycle {
 
    boolean isEnabled();
+
+   /**
+    * @return true if the asynchronous single key operations never block the invoking thread: the stores all implement
+    * {@link org.infinispan.persistence.spi.NonBlockingStore}, or the others are invoked on the blocking store threads
+    * configured with {@link org.infinispan.configuration.cache.PersistenceConfigurationBuilder#blockingStoreThreads(int)}.
+    */
+   default boolean isNonBlocking() {
+      return false;
+   }
+
    /**
     * @return true if all entries from the store have been inserted to the cache. If the persistence/preload
     * is disabled or eviction limit was reached when preloading, returns false.
@@ -57,6 +70,19 @@ public interface PersistenceManager extends Lifecycle {
 
    boolean deleteFromAllStores(Object key, int segment, AccessMode mode);
 
+   /**
+    * Asynchronous variant of {@link #deleteFromAllStores(Object, int, AccessMode)}.
+    * @implSpec default implementation invokes {@link #deleteFromAllStores(Object, int, AccessMode)} and returns a
+    * completed stage
+    */
+   default CompletionStage<Boolean> deleteFromAllStoresAsync(Object key, int segment, AccessMode mode) {
+      try {
+         return CompletableFuture.completedFuture(deleteFromAllStores(key, segment, mode));
+      } catch (Throwable t) {
+         return CompletableFutures.completedExceptionFuture(t);
+      }
+   }
+
    /**
     * See {@link #publishEntries(Predicate, boolean, boolean, AccessMode)}
     */
@@ -155,6 +181,27 @@ default MarshalledEntry loadFromAllStores(Object key, int segment, boolean local
       return loadFromAllStores(key, localInvocation, includeStores);
    }
 
+   /**
+    * Asynchronous variant of {@link #loadFromAllStores(Object, int, boolean, boolean)}. The stores that implement
+    * {@link org.infinispan.persistence.spi.NonBlockingStore} do not block the invoking thread, the others are invoked
+    * on the blocking store threads if configured, or by the invoking thread otherwise.
+    * @param key key to read the entry from
+    * @param segment segment the key maps to
+    * @param localInvocation whether this invocation is a local invocation. Some loaders may be ignored if it is not local
+    * @param includeStores if a loader that is also a store can be loaded from
+    * @return stage completed with the entry that maps to the key, or with null if no store contains it
+    * @implSpec default implementation invokes {@link #loadFromAllStores(Object, int, boolean, boolean)} and returns
+    * a completed stage
+    */
+   default <K, V> CompletionStage<MarshalledEntry<K, V>> loadFromAllStoresAsync(Object key, int segment,
+         boolean localInvocation, boolean includeStores) {
+      try {
+         return CompletableFuture.completedFuture(loadFromAllStores(key, segment, localInvocation, includeStores));
+      } catch (Throwable t) {
+         return CompletableFutures.completedExceptionFuture(t);
+      }
+   }
+
    /**
     * Returns the store one configured with fetch persistent state, or null if none exist.
     */
@@ -234,6 +281,42 @@ protected boolean canPerform(StoreConfiguration configuration) {
     */
    void writeToAllNonTxStores(MarshalledEntry marshalledEntry, int segment, AccessMode modes, long flags);
 
+   /**
+    * Asynchronous variant of {@link #writeToAllNonTxStores(MarshalledEntry, int, AccessMode, long)}.
+    * @implSpec default implementation invokes {@link #writeToAllNonTxStores(MarshalledEntry, int, AccessMode, long)}
+    * and returns a completed stage
+    */
+   default CompletionStage<Void> writeToAllNonTxStoresAsync(MarshalledEntry marshalledEntry, int segment,
+         AccessMode modes, long flags) {
+      try {
+         writeToAllNonTxStores(marshalledEntry, segment, modes, flags);
+         return CompletableFutures.completedNull();
+      } catch (Throwable t) {
+         return CompletableFutures.completedExceptionFuture(t);
+      }
+   }
+
+   /**
+    * Writes an entry evicted from memory to all non-tx stores. The write may be deferred and batched with other
+    * passivated entries, but until it completes the entry can still be loaded, and a following write or delete of the
+    * key replaces it.
+    * @implSpec default implementation invokes {@link #writeToAllNonTxStores(MarshalledEntry, int, AccessMode)}
+    *
+    * @param marshalledEntry the passivated entry
+    * @param segment         the segment the entry maps to
+    */
+   default void passivateToAllNonTxStores(MarshalledEntry marshalledEntry, int segment) {
+      writeToAllNonTxStores(marshalledEntry, segment, AccessMode.BOTH);
+   }
+
+   /**
+    * Waits while the entries given to {@link #passivateToAllNonTxStores(MarshalledEntry, int)} are passivated faster
+    * than the stores can write them. Must not be invoked while holding a lock of the data container.
+    * @implSpec default implementation does nothing, as the entries are written when they are passivated
+    */
+   default void awaitPassivationCapacity() {
+   }
+
    /**
     * Perform the prepare phase of 2PC on all Tx stores.
     *
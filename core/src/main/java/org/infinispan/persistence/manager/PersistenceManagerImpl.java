@@ -8,6 +8,7 @@
 import static org.infinispan.context.Flag.SKIP_LOCKING;
 import static org.infinispan.context.Flag.SKIP_OWNERSHIP_CHECK;
 import static org.infinispan.context.Flag.SKIP_XSITE_BACKUP;
+import static org.infinispan.factories.KnownComponentNames.ASYNC_OPERATIONS_EXECUTOR;
 import static org.infinispan.factories.KnownComponentNames.PERSISTENCE_EXECUTOR;
 
 import java.util.ArrayList;
@@ -20,11 +21,17 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -40,11 +47,14 @@
 import org.infinispan.commons.io.ByteBufferFactory;
 import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
+import org.infinispan.commons.util.ProcessorInfo;
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.AbstractSegmentedStoreConfiguration;
 import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.StoreConfiguration;
+import org.infinispan.container.impl.InternalDataContainer;
 import org.infinispan.context.Flag;
 import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.eviction.EvictionType;
@@ -53,11 +63,18 @@
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
 import org.infinispan.factories.annotations.Stop;
+import org.infinispan.factories.threads.DefaultThreadFactory;
 import org.infinispan.interceptors.AsyncInterceptor;
 import org.infinispan.interceptors.AsyncInterceptorChain;
 import org.infinispan.interceptors.impl.CacheLoaderInterceptor;
 import org.infinispan.interceptors.impl.CacheWriterInterceptor;
 import org.infinispan.interceptors.impl.TransactionalStoreInterceptor;
+import org.infinispan.jmx.annotations.DataType;
+import org.infinispan.jmx.annotations.DisplayType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.marshall.core.MarshalledEntryFactory;
 import org.infinispan.metadata.Metadata;
@@ -66,8 +83,10 @@
 import org.infinispan.persistence.InitializationContextImpl;
 import org.infinispan.persistence.async.AdvancedAsyncCacheLoader;
 import org.infinispan.persistence.async.AdvancedAsyncCacheWriter;
+import org.infinispan.persistence.async.AdvancedShardedAsyncCacheWriter;
 import org.infinispan.persistence.async.AsyncCacheLoader;
 import org.infinispan.persistence.async.AsyncCacheWriter;
+import org.infinispan.persistence.async.ShardedAsyncCacheWriter;
 import org.infinispan.persistence.async.State;
 import org.infinispan.persistence.factory.CacheStoreFactoryRegistry;
 import org.infinispan.persistence.internal.PersistenceUtil;
@@ -78,29 +97,40 @@
 import org.infinispan.persistence.spi.CacheWriter;
 import org.infinispan.persistence.spi.FlagAffectedStore;
 import org.infinispan.persistence.spi.LocalOnlyCacheLoader;
+import org.infinispan.persistence.spi.NonBlockingStore;
 import org.infinispan.persistence.spi.PersistenceException;
 import org.infinispan.persistence.spi.SegmentedAdvancedLoadWriteStore;
 import org.infinispan.persistence.spi.StoreUnavailableException;
 import org.infinispan.persistence.spi.TransactionalCacheWriter;
 import org.infinispan.persistence.support.AdvancedSingletonCacheWriter;
 import org.infinispan.persistence.support.BatchModification;
+import org.infinispan.persistence.support.BlockingStoreAdapter;
 import org.infinispan.persistence.support.ComposedSegmentedLoadWriteStore;
 import org.infinispan.persistence.support.DelegatingCacheLoader;
 import org.infinispan.persistence.support.DelegatingCacheWriter;
 import org.infinispan.persistence.support.SingletonCacheWriter;
 import org.infinispan.util.TimeService;
+import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 import org.reactivestreams.Publisher;
 
 import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
 import io.reactivex.internal.functions.Functions;
+import io.reactivex.schedulers.Schedulers;
 import net.jcip.annotations.GuardedBy;
 
+@MBean(objectName = "PersistenceManager", description = "Component that manages the cache loaders and writers of the cache.")
 public class PersistenceManagerImpl implements PersistenceManager {
 
    private static final Log log = LogFactory.getLog(PersistenceManagerImpl.class);
    private static final boolean trace = log.isTraceEnabled();
+   private static final int PRELOAD_BATCH_SIZE = 1024;
+   /**
+    * The number of store operations that can wait for a blocking store thread, per thread.
+    */
+   private static final int BLOCKING_STORE_QUEUE_LENGTH = 256;
 
    @Inject private Configuration configuration;
    @Inject private AdvancedCache<Object, Object> cache;
@@ -109,12 +139,15 @@ public class PersistenceManagerImpl implements PersistenceManager {
    @Inject private TimeService timeService;
    @Inject @ComponentName(PERSISTENCE_EXECUTOR)
    private ScheduledExecutorService persistenceExecutor;
+   @Inject @ComponentName(ASYNC_OPERATIONS_EXECUTOR)
+   private Executor asyncExecutor;
    @Inject private ByteBufferFactory byteBufferFactory;
    @Inject private MarshalledEntryFactory marshalledEntryFactory;
    @Inject private CacheStoreFactoryRegistry cacheStoreFactoryRegistry;
    @Inject private InternalExpirationManager<Object, Object> expirationManager;
    @Inject private CacheNotifier cacheNotifier;
    @Inject private KeyPartitioner keyPartitioner;
+   @Inject private InternalDataContainer<Object, Object> dataContainer;
 
    @GuardedBy("storesMutex")
    private final List<CacheLoader> loaders = new ArrayList<>();
@@ -126,6 +159,11 @@ public class PersistenceManagerImpl implements PersistenceManager {
    private final ReadWriteLock storesMutex = new ReentrantReadWriteLock();
    @GuardedBy("storesMutex")
    private final Map<Object, StoreStatus> storeStatuses = new HashMap<>();
+   /**
+    * The Bloom filters of the stores that have one, keyed by both their loader and writer.
+    */
+   @GuardedBy("storesMutex")
+   private final Map<Object, StoreKeyFilter> keyFilters = new HashMap<>();
    private AdvancedPurgeListener<Object, Object> advancedListener;
    private final Callable<Semaphore> publisherSemaphoreCallable = Functions.justCallable(publisherSemaphore);
 
@@ -133,9 +171,30 @@ public class PersistenceManagerImpl implements PersistenceManager {
     * making it volatile as it might change after @Start, so it needs the visibility.
     */
    private volatile boolean enabled;
+   /**
+    * Whether the single key operations of the stores are performed asynchronously: either by the stores themselves,
+    * if they all implement {@link NonBlockingStore}, or on the blocking store threads if they are configured.
+    * Updated whenever the stores change.
+    */
+   private volatile boolean nonBlocking;
+   /**
+    * The executor that performs the operations of the stores that do not implement {@link NonBlockingStore}, and
+    * the executor that completes them, both invoking the tasks directly unless the blocking store threads are
+    * configured.
+    */
+   private Executor blockingStoreExecutor = Runnable::run;
+   private Executor blockingStoreCompletionExecutor = Runnable::run;
+   private ExecutorService blockingStoreThreads;
    private volatile boolean clearOnStop;
    private boolean preloaded;
+   private volatile boolean preloading;
+   private final AtomicLong preloadedEntries = new AtomicLong();
+   private volatile long preloadTime;
    private Future availabilityFuture;
+   /**
+    * The passivated entries waiting to be written to the stores, {@code null} unless passivation is asynchronous.
+    */
+   private volatile PassivationQueue passivationQueue;
    private volatile StoreUnavailableException unavailableException;
 
    @Override
@@ -158,6 +217,9 @@ public void start() {
             nonTxWriters.forEach(w -> startWriter(w, undelegated));
             txWriters.forEach(w -> startWriter(w, undelegated));
             loaders.forEach(l -> startLoader(l, undelegated));
+            startBlockingStoreThreads();
+            nonBlocking = isNonBlocking(loaders, nonTxWriters, txWriters);
+            new HashSet<>(keyFilters.values()).forEach(StoreKeyFilter::rebuild);
 
             // Ensure that after writers and loaders have started, they are classified as available by their isAvailable impl
             pollStoreAvailability();
@@ -165,6 +227,12 @@ public void start() {
             // Now schedule the availability check
             long interval = configuration.persistence().availabilityInterval();
             availabilityFuture = persistenceExecutor.scheduleAtFixedRate(this::pollStoreAvailability, interval, interval, TimeUnit.MILLISECONDS);
+
+            int passivationQueueSize = configuration.persistence().passivationQueueSize();
+            if (configuration.persistence().passivation() && passivationQueueSize > 0) {
+               passivationQueue = new PassivationQueue(entries -> writeBatch(entries, AccessMode.BOTH, 0L),
+                     persistenceExecutor, passivationQueueSize);
+            }
          } finally {
             if (xaTx != null) {
                transactionManager.resume(xaTx);
@@ -176,6 +244,48 @@ public void start() {
       }
    }
 
+   private void startBlockingStoreThreads() {
+      int threads = configuration.persistence().blockingStoreThreads();
+      if (threads <= 0)
+         return;
+      String nodeName = cache.getCacheManager().getCacheManagerConfiguration().transport().nodeName();
+      DefaultThreadFactory threadFactory = new DefaultThreadFactory(null, Thread.NORM_PRIORITY,
+            DefaultThreadFactory.DEFAULT_PATTERN, nodeName, "BlockingStore");
+      // The default abort policy fails the operations once the queue is full, instead of running them on the
+      // invoking thread
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(threads * BLOCKING_STORE_QUEUE_LENGTH), threadFactory);
+      executor.allowCoreThreadTimeOut(true);
+      blockingStoreThreads = executor;
+      blockingStoreExecutor = executor;
+      // Resume the invocations off the blocking store threads, so they only ever wait for the stores
+      blockingStoreCompletionExecutor = asyncExecutor;
+   }
+
+   private void stopBlockingStoreThreads() {
+      if (blockingStoreThreads != null) {
+         blockingStoreThreads.shutdown();
+         blockingStoreThreads = null;
+         blockingStoreExecutor = Runnable::run;
+         blockingStoreCompletionExecutor = Runnable::run;
+      }
+   }
+
+   /**
+    * @return true if the cache has stores and their single key operations can be performed without blocking the
+    *         invoking thread
+    */
+   @GuardedBy("storesMutex")
+   private boolean isNonBlocking(List<CacheLoader> loaders, List<CacheWriter> nonTxWriters,
+                                 List<TransactionalCacheWriter> txWriters) {
+      if (loaders.isEmpty() && nonTxWriters.isEmpty() && txWriters.isEmpty())
+         return false;
+      if (blockingStoreThreads != null)
+         return true;
+      return loaders.stream().allMatch(NonBlockingStore.class::isInstance) &&
+            nonTxWriters.stream().allMatch(NonBlockingStore.class::isInstance);
+   }
+
    protected void pollStoreAvailability() {
       storesMutex.writeLock().lock();
       try {
@@ -202,7 +312,15 @@ protected void pollStoreAvailability() {
    @Override
    @Stop
    public void stop() {
+      PassivationQueue passivationQueue = this.passivationQueue;
+      if (passivationQueue != null) {
+         // Write the pending entries while the stores can still be written
+         passivationQueue.flush();
+         this.passivationQueue = null;
+      }
       storesMutex.writeLock().lock();
+      // Abort the builds of the Bloom filters instead of waiting for them
+      keyFilters.values().forEach(StoreKeyFilter::stop);
       publisherSemaphore.acquireUninterruptibly(Integer.MAX_VALUE);
       try {
          // If needed, clear the persistent store before stopping
@@ -240,6 +358,9 @@ public void stop() {
             }
          }
          loaders.clear();
+         keyFilters.clear();
+         nonBlocking = false;
+         stopBlockingStoreThreads();
          preloaded = false;
       } finally {
          publisherSemaphore.release(Integer.MAX_VALUE);
@@ -260,6 +381,27 @@ private void checkStoreAvailability() {
       }
    }
 
+   @Override
+   public boolean isNonBlocking() {
+      return nonBlocking;
+   }
+
+   /**
+    * @return the loader itself if it is non-blocking, or an adapter that loads the entries on the blocking store
+    *         threads, or on the invoking thread if there are none
+    */
+   private <K, V> NonBlockingStore<K, V> nonBlockingLoader(CacheLoader<K, V> loader) {
+      return BlockingStoreAdapter.forLoader(loader, blockingStoreExecutor, blockingStoreCompletionExecutor);
+   }
+
+   /**
+    * @return the writer itself if it is non-blocking, or an adapter that writes the entries on the blocking store
+    *         threads, or on the invoking thread if there are none
+    */
+   private <K, V> NonBlockingStore<K, V> nonBlockingWriter(CacheWriter<K, V> writer) {
+      return BlockingStoreAdapter.forWriter(writer, blockingStoreExecutor, blockingStoreCompletionExecutor);
+   }
+
    @Override
    public boolean isAvailable() {
       if (!enabled)
@@ -300,21 +442,175 @@ public void preload() {
          return;
 
       long start = timeService.time();
+      final long maxEntries = getMaxEntries();
+      preloading = true;
+      preloadedEntries.set(0);
+      boolean intoDataContainer = canPreloadIntoDataContainer();
+      long insertAmount;
+      try {
+         if (intoDataContainer) {
+            insertAmount = preloadIntoDataContainer(preloadCl, maxEntries);
+         } else {
+            final AdvancedCache<Object, Object> flaggedCache = getCacheForStateInsertion();
+            insertAmount = Flowable.fromPublisher(preloadCl.publishEntries(null, true, true))
+                  .take(maxEntries)
+                  .doOnNext(me -> {
+                     //the downcast will go away with ISPN-3460
+                     Metadata metadata = me.getMetadata() != null ? ((InternalMetadataImpl) me.getMetadata()).actual() : null;
+                     preloadKey(flaggedCache, me.getKey(), me.getValue(), metadata);
+                     preloadedEntries.incrementAndGet();
+                  }).count().blockingGet();
+         }
+      } finally {
+         preloading = false;
+         preloadTime = timeService.timeDuration(start, MILLISECONDS);
+      }
+      this.preloaded = insertAmount < maxEntries;
 
+      log.debugf("Preloaded %d keys %s in %s", preloadedEntries.get(),
+            intoDataContainer ? "into the data container" : "through the interceptor chain", Util.prettyPrintTime(preloadTime));
+   }
 
-      final long maxEntries = getMaxEntries();
-      final AtomicInteger loadedEntries = new AtomicInteger(0);
-      final AdvancedCache<Object, Object> flaggedCache = getCacheForStateInsertion();
-      Long insertAmount = Flowable.fromPublisher(preloadCl.publishEntries(null, true, true))
+   /**
+    * The preloaded entries can be written directly to the data container, unless an interceptor or a listener has to
+    * see them: the entries are not indexed, and no events are raised for them.
+    */
+   private boolean canPreloadIntoDataContainer() {
+      if (configuration.indexing().index().isEnabled() && hasSharedStore() && !indexShareable())
+         return false;
+      // Scattered caches must assign a version to every entry
+      if (configuration.clustering().cacheMode().isScattered())
+         return false;
+      if (!configuration.customInterceptors().interceptors().isEmpty())
+         return false;
+      return cacheNotifier.getListeners().isEmpty();
+   }
+
+   /**
+    * Writes the entries of the loader to the data container in batches, on the persistence executor. The entries of
+    * a segmented store are read one segment at a time, with as many segments in parallel as there are processors.
+    * The entries keep the timestamps of the store, so that they expire at the same time as they would in the store.
+    */
+   private long preloadIntoDataContainer(AdvancedCacheLoader<Object, Object> loader, long maxEntries) {
+      Scheduler scheduler = Schedulers.from(persistenceExecutor);
+      int parallelism = ProcessorInfo.availableProcessors();
+      Flowable<MarshalledEntry<Object, Object>> entries;
+      if (loader instanceof SegmentedAdvancedLoadWriteStore && getStoreConfig(loader).segmented()) {
+         SegmentedAdvancedLoadWriteStore<Object, Object> segmentedStore = (SegmentedAdvancedLoadWriteStore<Object, Object>) loader;
+         entries = Flowable.range(0, configuration.clustering().hash().numSegments())
+               .flatMap(segment -> Flowable.fromPublisher(segmentedStore.publishEntries(IntSets.immutableSet(segment), null, true, true))
+                     .subscribeOn(scheduler), parallelism);
+      } else {
+         entries = Flowable.fromPublisher(loader.publishEntries(null, true, true));
+      }
+      long now = timeService.wallClockTime();
+      return entries
+            .filter(me -> me.getMetadata() == null || !me.getMetadata().isExpired(now))
             .take(maxEntries)
-            .doOnNext(me -> {
-               //the downcast will go away with ISPN-3460
-               Metadata metadata = me.getMetadata() != null ? ((InternalMetadataImpl) me.getMetadata()).actual() : null;
-               preloadKey(flaggedCache, me.getKey(), me.getValue(), metadata);
-            }).count().blockingGet();
-      this.preloaded = insertAmount < maxEntries;
+            .buffer(PRELOAD_BATCH_SIZE)
+            .parallel(parallelism)
+            .runOn(scheduler)
+            .map(batch -> {
+               for (MarshalledEntry<Object, Object> me : batch) {
+                  Object key = me.getKey();
+                  dataContainer.compute(keyPartitioner.getSegment(key), key, (k, oldEntry, factory) -> PersistenceUtil.convert(me, factory));
+               }
+               preloadedEntries.addAndGet(batch.size());
+               return batch.size();
+            })
+            .sequential()
+            .reduce(0L, (count, size) -> count + size)
+            .blockingGet();
+   }
+
+   @ManagedAttribute(
+         description = "Whether the entries of the cache stores are being preloaded into memory",
+         displayName = "Preloading",
+         dataType = DataType.TRAIT
+   )
+   public boolean isPreloading() {
+      return preloading;
+   }
+
+   @ManagedAttribute(
+         description = "Number of entries preloaded into memory from the cache stores",
+         displayName = "Number of preloaded entries",
+         displayType = DisplayType.SUMMARY
+   )
+   public long getPreloadedEntries() {
+      return preloadedEntries.get();
+   }
+
+   @ManagedAttribute(
+         description = "Time taken to preload the entries of the cache stores into memory",
+         displayName = "Preload time",
+         units = Units.MILLISECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getPreloadTime() {
+      return preloadTime;
+   }
+
+   @ManagedAttribute(
+         description = "Ratio of the loads that the Bloom filters of the stores did not prevent, but for keys that " +
+               "were not in the stores",
+         displayName = "Bloom filter false positive rate",
+         units = Units.PERCENTAGE,
+         displayType = DisplayType.SUMMARY
+   )
+   public double getBloomFilterFalsePositiveRate() {
+      long negatives = 0;
+      long falsePositives = 0;
+      for (StoreKeyFilter keyFilter : distinctKeyFilters()) {
+         negatives += keyFilter.getNegatives();
+         falsePositives += keyFilter.getFalsePositives();
+      }
+      return negatives + falsePositives == 0 ? 0 : (double) falsePositives / (negatives + falsePositives);
+   }
+
+   @ManagedAttribute(
+         description = "Number of loads of keys that were not in the stores prevented by the Bloom filters",
+         displayName = "Bloom filter negatives",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getBloomFilterNegatives() {
+      long negatives = 0;
+      for (StoreKeyFilter keyFilter : distinctKeyFilters()) {
+         negatives += keyFilter.getNegatives();
+      }
+      return negatives;
+   }
+
+   @ManagedAttribute(
+         description = "Memory used by the Bloom filters of the stores, in bytes",
+         displayName = "Bloom filter memory",
+         displayType = DisplayType.SUMMARY
+   )
+   public long getBloomFilterMemory() {
+      long memory = 0;
+      for (StoreKeyFilter keyFilter : distinctKeyFilters()) {
+         memory += keyFilter.memory();
+      }
+      return memory;
+   }
 
-      log.debugf("Preloaded %d keys in %s", loadedEntries.get(), Util.prettyPrintTime(timeService.timeDuration(start, MILLISECONDS)));
+   @ManagedAttribute(
+         description = "Number of passivated entries that are waiting to be written to the stores",
+         displayName = "Number of pending passivations",
+         displayType = DisplayType.SUMMARY
+   )
+   public int getPendingPassivations() {
+      PassivationQueue passivationQueue = this.passivationQueue;
+      return passivationQueue != null ? passivationQueue.size() : 0;
+   }
+
+   private Set<StoreKeyFilter> distinctKeyFilters() {
+      storesMutex.readLock().lock();
+      try {
+         return new HashSet<>(keyFilters.values());
+      } finally {
+         storesMutex.readLock().unlock();
+      }
    }
 
    @Override
@@ -327,7 +623,14 @@ public void disableStore(String storeType) {
             removeCacheLoader(storeType, loaders);
             removeCacheWriter(storeType, nonTxWriters);
             removeCacheWriter(storeType, txWriters);
+            keyFilters.entrySet().removeIf(e -> {
+               if (loaders.contains(e.getKey()) || nonTxWriters.contains(e.getKey()))
+                  return false;
+               e.getValue().stop();
+               return true;
+            });
             noMoreStores = loaders.isEmpty() && nonTxWriters.isEmpty() && txWriters.isEmpty();
+            nonBlocking = isNonBlocking(loaders, nonTxWriters, txWriters);
 
             if (!noMoreStores) {
                // Immediately poll store availability as the disabled store may have been the cause of the unavailability
@@ -469,6 +772,10 @@ public void purgeExpired() {
 
    @Override
    public void clearAllStores(AccessMode mode) {
+      PassivationQueue passivationQueue = this.passivationQueue;
+      if (passivationQueue != null) {
+         passivationQueue.cancelIf(k -> true);
+      }
       storesMutex.readLock().lock();
       try {
          checkStoreAvailability();
@@ -477,6 +784,10 @@ public void clearAllStores(AccessMode mode) {
             if (writer instanceof AdvancedCacheWriter) {
                if (mode.canPerform(getStoreConfig(writer))) {
                   ((AdvancedCacheWriter) writer).clear();
+                  StoreKeyFilter keyFilter = keyFilters.get(writer);
+                  if (keyFilter != null) {
+                     keyFilter.rebuild();
+                  }
                }
             }
          };
@@ -489,10 +800,10 @@ public void clearAllStores(AccessMode mode) {
 
    @Override
    public boolean deleteFromAllStores(Object key, int segment, AccessMode mode) {
+      boolean removed = cancelPassivation(key);
       storesMutex.readLock().lock();
       try {
          checkStoreAvailability();
-         boolean removed = false;
          for (CacheWriter w : nonTxWriters) {
             if (mode.canPerform(getStoreConfig(w))) {
                if (w instanceof SegmentedAdvancedLoadWriteStore) {
@@ -508,6 +819,36 @@ public boolean deleteFromAllStores(Object key, int segment, AccessMode mode) {
       }
    }
 
+   @Override
+   public CompletionStage<Boolean> deleteFromAllStoresAsync(Object key, int segment, AccessMode mode) {
+      boolean cancelled = cancelPassivation(key);
+      List<CacheWriter> writers;
+      storesMutex.readLock().lock();
+      try {
+         writers = new ArrayList<>(nonTxWriters.size());
+         checkStoreAvailability();
+         for (CacheWriter w : nonTxWriters) {
+            if (mode.canPerform(getStoreConfig(w)))
+               writers.add(w);
+         }
+         if (writers.isEmpty())
+            return cancelled ? CompletableFutures.completedTrue() : CompletableFutures.completedFalse();
+         acquireStoresForAsyncOperation();
+      } finally {
+         storesMutex.readLock().unlock();
+      }
+      CompletableFuture<Boolean> removed = cancelled ? CompletableFutures.completedTrue() : CompletableFutures.completedFalse();
+      try {
+         for (CacheWriter w : writers) {
+            CompletableFuture<Boolean> deleted = nonBlockingWriter(w).deleteAsync(segment, key).toCompletableFuture();
+            removed = removed.thenCombine(deleted, Boolean::logicalOr);
+         }
+      } catch (Throwable t) {
+         removed = CompletableFutures.completedExceptionFuture(t);
+      }
+      return removed.whenComplete(this::releaseStoresForAsyncOperation);
+   }
+
    <K, V> AdvancedCacheLoader<K, V> getFirstAdvancedCacheLoader(AccessMode mode) {
       storesMutex.readLock().lock();
       try {
@@ -547,10 +888,10 @@ public <K, V> Publisher<MarshalledEntry<K, V>> publishEntries(Predicate<? super
       if (advancedCacheLoader != null) {
          // We have to acquire the read lock on the stores mutex to be sure that no concurrent stop or store removal
          // is done while processing data
-         return Flowable.using(publisherSemaphoreCallable, semaphore -> {
+         return withPassivatedEntries(Flowable.using(publisherSemaphoreCallable, semaphore -> {
             semaphore.acquire();
             return advancedCacheLoader.publishEntries(filter, fetchValue, fetchMetadata);
-         }, Semaphore::release);
+         }, Semaphore::release), filter);
       }
       return Flowable.empty();
    }
@@ -560,10 +901,10 @@ public <K, V> Publisher<MarshalledEntry<K, V>> publishEntries(IntSet segments, P
          boolean fetchValue, boolean fetchMetadata, AccessMode mode) {
       SegmentedAdvancedLoadWriteStore<K, V> segmentedStore = getFirstSegmentedStore(mode);
       if (segmentedStore != null) {
-         return Flowable.using(publisherSemaphoreCallable, semaphore -> {
+         return withPassivatedEntries(Flowable.using(publisherSemaphoreCallable, semaphore -> {
             semaphore.acquire();
             return segmentedStore.publishEntries(segments, filter, fetchValue, fetchMetadata);
-         }, Semaphore::release);
+         }, Semaphore::release), PersistenceUtil.combinePredicate(segments, keyPartitioner, filter));
       }
       return publishEntries(PersistenceUtil.combinePredicate(segments, keyPartitioner, filter), fetchValue, fetchMetadata, mode);
    }
@@ -575,10 +916,10 @@ public <K> Publisher<K> publishKeys(Predicate<? super K> filter, AccessMode mode
       if (advancedCacheLoader != null) {
          // We have to acquire the read lock on the stores mutex to be sure that no concurrent stop or store removal
          // is done while processing data
-         return Flowable.using(publisherSemaphoreCallable, semaphore -> {
+         return withPassivatedKeys(Flowable.using(publisherSemaphoreCallable, semaphore -> {
             semaphore.acquire();
             return advancedCacheLoader.publishKeys(filter);
-         }, Semaphore::release);
+         }, Semaphore::release), filter);
       }
       return Flowable.empty();
    }
@@ -590,25 +931,85 @@ public <K> Publisher<K> publishKeys(IntSet segments, Predicate<? super K> filter
       if (segmentedStore != null) {
          // We have to acquire the read lock on the stores mutex to be sure that no concurrent stop or store removal
          // is done while processing data
-         return Flowable.using(publisherSemaphoreCallable, semaphore -> {
+         return withPassivatedKeys(Flowable.<K, Semaphore>using(publisherSemaphoreCallable, semaphore -> {
             semaphore.acquire();
             return segmentedStore.publishKeys(segments, filter);
-         }, Semaphore::release);
+         }, Semaphore::release), PersistenceUtil.combinePredicate(segments, keyPartitioner, filter));
       }
 
       return publishKeys(PersistenceUtil.combinePredicate(segments, keyPartitioner, filter), mode);
    }
 
+   /**
+    * Adds the passivated entries that are not written yet to the entries of a store. The entries are taken when the
+    * publisher is subscribed, and the store entries of the same keys are skipped.
+    */
+   private <K, V> Publisher<MarshalledEntry<K, V>> withPassivatedEntries(Flowable<MarshalledEntry<K, V>> storeEntries,
+         Predicate<? super K> filter) {
+      PassivationQueue passivationQueue = this.passivationQueue;
+      if (passivationQueue == null)
+         return storeEntries;
+      return Flowable.defer(() -> {
+         Map<K, MarshalledEntry<K, V>> pending = passivatedEntries(passivationQueue, filter);
+         if (pending.isEmpty())
+            return storeEntries;
+         return Flowable.fromIterable(pending.values())
+               .concatWith(storeEntries.filter(entry -> !pending.containsKey(entry.getKey())));
+      });
+   }
+
+   private <K> Publisher<K> withPassivatedKeys(Flowable<K> storeKeys, Predicate<? super K> filter) {
+      PassivationQueue passivationQueue = this.passivationQueue;
+      if (passivationQueue == null)
+         return storeKeys;
+      return Flowable.defer(() -> {
+         Set<K> pending = passivatedEntries(passivationQueue, filter).keySet();
+         if (pending.isEmpty())
+            return storeKeys;
+         return Flowable.fromIterable(pending).concatWith(storeKeys.filter(key -> !pending.contains(key)));
+      });
+   }
+
+   private <K, V> Map<K, MarshalledEntry<K, V>> passivatedEntries(PassivationQueue passivationQueue,
+         Predicate<? super K> filter) {
+      Map<K, MarshalledEntry<K, V>> entries = new HashMap<>();
+      for (MarshalledEntry<K, V> entry : (List<MarshalledEntry<K, V>>) (List) passivationQueue.entries()) {
+         if (filter == null || filter.test(entry.getKey())) {
+            entries.put(entry.getKey(), entry);
+         }
+      }
+      return entries;
+   }
+
+   /**
+    * Cancels the pending passivation of the key, so that it is not written to the stores after a following write or
+    * delete.
+    * @return whether the key had a pending passivation
+    */
+   private boolean cancelPassivation(Object key) {
+      PassivationQueue passivationQueue = this.passivationQueue;
+      return passivationQueue != null && passivationQueue.cancel(key);
+   }
+
+   private MarshalledEntry loadPassivated(Object key, boolean includeStores) {
+      PassivationQueue passivationQueue = this.passivationQueue;
+      return passivationQueue != null && includeStores ? passivationQueue.get(key) : null;
+   }
+
    @Override
    public MarshalledEntry loadFromAllStores(Object key, boolean localInvocation, boolean includeStores) {
+      MarshalledEntry passivated = loadPassivated(key, includeStores);
+      if (passivated != null)
+         return passivated;
       storesMutex.readLock().lock();
       try {
          checkStoreAvailability();
          for (CacheLoader l : loaders) {
-            if (allowLoad(l, localInvocation, includeStores)) {
+            if (allowLoad(l, localInvocation, includeStores) && mightContain(l, key)) {
                MarshalledEntry load = l.load(key);
                if (load != null)
                   return load;
+               falsePositive(l);
             }
          }
          return null;
@@ -619,21 +1020,27 @@ public MarshalledEntry loadFromAllStores(Object key, boolean localInvocation, bo
 
    @Override
    public MarshalledEntry loadFromAllStores(Object key, int segment, boolean localInvocation, boolean includeStores) {
+      MarshalledEntry passivated = loadPassivated(key, includeStores);
+      if (passivated != null)
+         return passivated;
       storesMutex.readLock().lock();
       try {
          checkStoreAvailability();
          for (CacheLoader l : loaders) {
-            if (allowLoad(l, localInvocation, includeStores) && l instanceof SegmentedAdvancedLoadWriteStore) {
+            if (allowLoad(l, localInvocation, includeStores) && l instanceof SegmentedAdvancedLoadWriteStore &&
+                  mightContain(l, key)) {
                MarshalledEntry load = ((SegmentedAdvancedLoadWriteStore) l).load(segment, key);
                if (load != null)
                   return load;
+               falsePositive(l);
             }
          }
          for (CacheLoader l : loaders) {
-            if (allowLoad(l, localInvocation, includeStores)) {
+            if (allowLoad(l, localInvocation, includeStores) && mightContain(l, key)) {
                MarshalledEntry load = l.load(key);
                if (load != null)
                   return load;
+               falsePositive(l);
             }
          }
          return null;
@@ -642,6 +1049,94 @@ public MarshalledEntry loadFromAllStores(Object key, int segment, boolean localI
       }
    }
 
+   @Override
+   public <K, V> CompletionStage<MarshalledEntry<K, V>> loadFromAllStoresAsync(Object key, int segment,
+         boolean localInvocation, boolean includeStores) {
+      MarshalledEntry<K, V> passivated = loadPassivated(key, includeStores);
+      if (passivated != null)
+         return CompletableFuture.completedFuture(passivated);
+      List<CacheLoader> allowed;
+      storesMutex.readLock().lock();
+      try {
+         allowed = new ArrayList<>(loaders.size());
+         checkStoreAvailability();
+         for (CacheLoader l : loaders) {
+            if (allowLoad(l, localInvocation, includeStores) && mightContain(l, key))
+               allowed.add(l);
+         }
+         if (allowed.isEmpty())
+            return CompletableFutures.completedNull();
+         acquireStoresForAsyncOperation();
+      } finally {
+         storesMutex.readLock().unlock();
+      }
+      CompletionStage<MarshalledEntry<K, V>> stage;
+      try {
+         stage = loadFromStores(allowed.iterator(), key, segment);
+      } catch (Throwable t) {
+         stage = CompletableFutures.completedExceptionFuture(t);
+      }
+      return stage.whenComplete(this::releaseStoresForAsyncOperation);
+   }
+
+   /**
+    * Loads the key from the first store, and from the next stores only if it was not found.
+    */
+   private <K, V> CompletionStage<MarshalledEntry<K, V>> loadFromStores(Iterator<CacheLoader> loaders, Object key,
+         int segment) {
+      CacheLoader loader = loaders.next();
+      NonBlockingStore<K, V> store = nonBlockingLoader(loader);
+      CompletionStage<MarshalledEntry<K, V>> stage = store.loadAsync(segment, key);
+      // The stores cannot be removed until the operation completes
+      StoreKeyFilter keyFilter = keyFilters.get(loader);
+      if (keyFilter != null) {
+         stage = stage.thenApply(loaded -> {
+            if (loaded == null)
+               keyFilter.falsePositive();
+            return loaded;
+         });
+      }
+      if (!loaders.hasNext())
+         return stage;
+      return stage.thenCompose(loaded -> loaded != null ? CompletableFuture.completedFuture(loaded) :
+            loadFromStores(loaders, key, segment));
+   }
+
+   @GuardedBy("storesMutex")
+   private boolean mightContain(CacheLoader loader, Object key) {
+      StoreKeyFilter keyFilter = keyFilters.get(loader);
+      return keyFilter == null || keyFilter.mightContain(key);
+   }
+
+   @GuardedBy("storesMutex")
+   private void falsePositive(CacheLoader loader) {
+      StoreKeyFilter keyFilter = keyFilters.get(loader);
+      if (keyFilter != null) {
+         keyFilter.falsePositive();
+      }
+   }
+
+   @GuardedBy("storesMutex")
+   private void addToKeyFilter(CacheWriter writer, Object key) {
+      StoreKeyFilter keyFilter = keyFilters.get(writer);
+      if (keyFilter != null) {
+         keyFilter.add(key);
+      }
+   }
+
+   /**
+    * Like the publishers, the asynchronous operations prevent a concurrent stop or store removal until they complete.
+    * Must be invoked while holding the read lock of the stores mutex, so it never waits for the stop.
+    */
+   @GuardedBy("storesMutex")
+   private void acquireStoresForAsyncOperation() {
+      publisherSemaphore.acquireUninterruptibly();
+   }
+
+   private void releaseStoresForAsyncOperation(Object ignored, Throwable throwable) {
+      publisherSemaphore.release();
+   }
+
    private boolean allowLoad(CacheLoader loader, boolean localInvocation, boolean includeStores) {
       return (localInvocation || !isLocalOnlyLoader(loader)) && (includeStores || !(loader instanceof CacheWriter));
    }
@@ -662,6 +1157,7 @@ public void writeToAllNonTxStores(MarshalledEntry marshalledEntry, int segment,
 
    @Override
    public void writeToAllNonTxStores(MarshalledEntry marshalledEntry, int segment, AccessMode accessMode, long flags) {
+      cancelPassivation(marshalledEntry.getKey());
       storesMutex.readLock().lock();
       try {
          checkStoreAvailability();
@@ -675,17 +1171,94 @@ public void writeToAllNonTxStores(MarshalledEntry marshalledEntry, int segment,
                   } else {
                      writer.write(marshalledEntry);
                   }
+                  addToKeyFilter(writer, marshalledEntry.getKey());
                });
       } finally {
          storesMutex.readLock().unlock();
       }
    }
 
+   @Override
+   public CompletionStage<Void> writeToAllNonTxStoresAsync(MarshalledEntry marshalledEntry, int segment,
+         AccessMode accessMode, long flags) {
+      cancelPassivation(marshalledEntry.getKey());
+      List<CacheWriter> writers;
+      storesMutex.readLock().lock();
+      try {
+         writers = new ArrayList<>(nonTxWriters.size());
+         checkStoreAvailability();
+         for (CacheWriter writer : nonTxWriters) {
+            if ((!(writer instanceof FlagAffectedStore) || ((FlagAffectedStore) writer).shouldWrite(flags)) &&
+                  accessMode.canPerform(getStoreConfig(writer)))
+               writers.add(writer);
+         }
+         if (writers.isEmpty())
+            return CompletableFutures.completedNull();
+         acquireStoresForAsyncOperation();
+      } finally {
+         storesMutex.readLock().unlock();
+      }
+      CompletableFuture<Void> stage;
+      try {
+         CompletableFuture[] writes = new CompletableFuture[writers.size()];
+         for (int i = 0; i < writes.length; i++) {
+            CompletionStage<Void> write = nonBlockingWriter(writers.get(i)).writeAsync(segment, marshalledEntry);
+            StoreKeyFilter keyFilter = keyFilters.get(writers.get(i));
+            if (keyFilter != null) {
+               write = write.thenRun(() -> keyFilter.add(marshalledEntry.getKey()));
+            }
+            writes[i] = write.toCompletableFuture();
+         }
+         stage = CompletableFuture.allOf(writes);
+      } catch (Throwable t) {
+         stage = CompletableFutures.completedExceptionFuture(t);
+      }
+      return stage.whenComplete(this::releaseStoresForAsyncOperation);
+   }
+
    @Override
    public void writeBatchToAllNonTxStores(Iterable<MarshalledEntry> entries, AccessMode accessMode, long flags) {
       if (!entries.iterator().hasNext())
          return;
 
+      if (passivationQueue != null) {
+         for (MarshalledEntry entry : entries) {
+            cancelPassivation(entry.getKey());
+         }
+      }
+      writeBatch(entries, accessMode, flags);
+   }
+
+   @Override
+   public void passivateToAllNonTxStores(MarshalledEntry marshalledEntry, int segment) {
+      PassivationQueue passivationQueue = this.passivationQueue;
+      if (passivationQueue != null) {
+         passivationQueue.add(marshalledEntry);
+      } else {
+         writeToAllNonTxStores(marshalledEntry, segment, AccessMode.BOTH);
+      }
+   }
+
+   /**
+    * Writes the passivated entries to the stores, so that the stores count them once. Must be invoked without holding
+    * the stores mutex, as the entries may be written by another thread.
+    */
+   private void flushPassivations() {
+      PassivationQueue passivationQueue = this.passivationQueue;
+      if (passivationQueue != null) {
+         passivationQueue.flush();
+      }
+   }
+
+   @Override
+   public void awaitPassivationCapacity() {
+      PassivationQueue passivationQueue = this.passivationQueue;
+      if (passivationQueue != null) {
+         passivationQueue.awaitCapacity();
+      }
+   }
+
+   private void writeBatch(Iterable<MarshalledEntry> entries, AccessMode accessMode, long flags) {
       storesMutex.readLock().lock();
       try {
          checkStoreAvailability();
@@ -693,7 +1266,12 @@ public void writeBatchToAllNonTxStores(Iterable<MarshalledEntry> entries, Access
          nonTxWriters.stream()
                .filter(writer -> !(writer instanceof FlagAffectedStore) || FlagAffectedStore.class.cast(writer).shouldWrite(flags))
                .filter(writer -> accessMode.canPerform(getStoreConfig(writer)))
-               .forEach(writer -> writer.writeBatch(entries));
+               .forEach(writer -> {
+                  writer.writeBatch(entries);
+                  for (MarshalledEntry entry : entries) {
+                     addToKeyFilter(writer, entry.getKey());
+                  }
+               });
       } finally {
          storesMutex.readLock().unlock();
       }
@@ -704,6 +1282,12 @@ public void deleteBatchFromAllNonTxStores(Iterable<Object> keys, AccessMode acce
       if (!keys.iterator().hasNext())
          return;
 
+      if (passivationQueue != null) {
+         for (Object key : keys) {
+            cancelPassivation(key);
+         }
+      }
+
       storesMutex.readLock().lock();
       try {
          checkStoreAvailability();
@@ -760,6 +1344,7 @@ public AdvancedCacheLoader getStateTransferProvider() {
 
    @Override
    public int size() {
+      flushPassivations();
       storesMutex.readLock().lock();
       try {
          checkStoreAvailability();
@@ -775,6 +1360,7 @@ public int size() {
 
    @Override
    public int size(IntSet segments) {
+      flushPassivations();
       storesMutex.readLock().lock();
       try {
          checkStoreAvailability();
@@ -823,6 +1409,10 @@ public boolean addSegments(IntSet segments) {
 
    @Override
    public boolean removeSegments(IntSet segments) {
+      PassivationQueue passivationQueue = this.passivationQueue;
+      if (passivationQueue != null) {
+         passivationQueue.cancelIf(key -> segments.contains(keyPartitioner.getSegment(key)));
+      }
       boolean allSegmented = true;
       storesMutex.readLock().lock();
       try {
@@ -892,12 +1482,37 @@ private void createLoadersAndWriters() {
          initializeLoader(processedConfiguration, loader, ctx);
          initializeWriter(processedConfiguration, writer, ctx);
          initializeBareInstance(bareInstance, ctx);
+         if (processedConfiguration.bloomFilter()) {
+            createKeyFilter(loader, writer);
+         }
+      }
+   }
+
+   private void createKeyFilter(CacheLoader loader, CacheWriter writer) {
+      if (!(loader instanceof AdvancedCacheLoader)) {
+         log.bloomFilterRequiresAdvancedCacheLoader(loader != null ? loader : writer);
+         return;
+      }
+      StoreKeyFilter keyFilter = new StoreKeyFilter((AdvancedCacheLoader<Object, ?>) loader, keyPartitioner,
+            configuration.clustering().hash().numSegments(), persistenceExecutor, publisherSemaphore);
+      storesMutex.writeLock().lock();
+      try {
+         keyFilters.put(loader, keyFilter);
+         if (writer != null) {
+            keyFilters.put(writer, keyFilter);
+         }
+      } finally {
+         storesMutex.writeLock().unlock();
       }
    }
 
    private CacheLoader postProcessReader(StoreConfiguration cfg, CacheWriter writer, CacheLoader loader) {
       if(cfg.async().enabled() && loader != null && writer != null) {
-         loader = createAsyncLoader(loader, (AsyncCacheWriter) writer);
+         if (writer instanceof ShardedAsyncCacheWriter) {
+            loader = createShardedAsyncLoader(loader, (ShardedAsyncCacheWriter) writer);
+         } else {
+            loader = createAsyncLoader(loader, (AsyncCacheWriter) writer);
+         }
       }
       return loader;
    }
@@ -909,7 +1524,7 @@ private CacheWriter postProcessWriter(StoreConfiguration cfg, CacheWriter writer
          } else if (cfg.singletonStore().enabled()) {
             writer = createSingletonWriter(cfg, writer);
          } else if (cfg.async().enabled()) {
-            writer = createAsyncWriter(writer);
+            writer = cfg.async().shards() > 0 ? createShardedAsyncWriter(writer) : createAsyncWriter(writer);
          }
       }
       return writer;
@@ -922,6 +1537,11 @@ private CacheLoader createAsyncLoader(CacheLoader loader, AsyncCacheWriter async
       return loader;
    }
 
+   private CacheLoader createShardedAsyncLoader(CacheLoader loader, ShardedAsyncCacheWriter asyncWriter) {
+      return (loader instanceof AdvancedCacheLoader) ?
+            new AdvancedAsyncCacheLoader(loader, asyncWriter) : new AsyncCacheLoader(loader, asyncWriter);
+   }
+
    private SingletonCacheWriter createSingletonWriter(StoreConfiguration cfg, CacheWriter writer) {
       return (writer instanceof AdvancedCacheWriter) ?
             new AdvancedSingletonCacheWriter(writer, cfg.singletonStore()) :
@@ -990,6 +1610,11 @@ protected AsyncCacheWriter createAsyncWriter(CacheWriter writer) {
             new AdvancedAsyncCacheWriter(writer) : new AsyncCacheWriter(writer);
    }
 
+   protected ShardedAsyncCacheWriter createShardedAsyncWriter(CacheWriter writer) {
+      return (writer instanceof AdvancedCacheWriter) ?
+            new AdvancedShardedAsyncCacheWriter(writer) : new ShardedAsyncCacheWriter(writer);
+   }
+
    private CacheLoader undelegate(CacheLoader l) {
       return (l instanceof DelegatingCacheLoader) ? ((DelegatingCacheLoader)l).undelegate() : l;
    }
@@ -1061,28 +1686,29 @@ private AdvancedCache<Object, Object> getCacheForStateInsertion() {
             CACHE_MODE_LOCAL, SKIP_OWNERSHIP_CHECK, IGNORE_RETURN_VALUES, SKIP_CACHE_STORE, SKIP_LOCKING,
             SKIP_XSITE_BACKUP));
 
-      boolean hasShared = false;
+      if (hasSharedStore()) {
+         if (indexShareable())
+            flags.add(SKIP_INDEXING);
+      } else {
+         flags.add(SKIP_INDEXING);
+      }
+
+      return cache.getAdvancedCache()
+            .withFlags(flags.toArray(new Flag[flags.size()]));
+   }
+
+   private boolean hasSharedStore() {
       storesMutex.readLock().lock();
       try {
          for (CacheWriter w : nonTxWriters) {
             if (getStoreConfig(w).shared()) {
-               hasShared = true;
-               break;
+               return true;
             }
          }
+         return false;
       } finally {
          storesMutex.readLock().unlock();
       }
-
-      if (hasShared) {
-         if (indexShareable())
-            flags.add(SKIP_INDEXING);
-      } else {
-         flags.add(SKIP_INDEXING);
-      }
-
-      return cache.getAdvancedCache()
-            .withFlags(flags.toArray(new Flag[flags.size()]));
    }
 
    private boolean indexShareable() {
@@ -0,0 +1,188 @@
+package org.infinispan.persistence.manager;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.infinispan.commons.CacheException;
+import org.infinispan.commons.util.BloomFilter;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.persistence.spi.AdvancedCacheLoader;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import io.reactivex.Flowable;
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * Bloom filters of the keys of a store, one per segment, so that the loads of keys that are not in the store are
+ * answered without invoking the store.
+ * <p>
+ * Keys are added once they have been written to the store. The filters are rebuilt from the keys of the store when the
+ * store starts, after it is cleared, and whenever a segment holds more keys than its filter was sized for. Keys written
+ * during a rebuild are added to both the current and the new filters, and the new filters only replace the current
+ * ones once all the keys of the store have been added to them, so the filters never miss a key of the store. Until the
+ * first build completes, every key might be in the store.
+ *
+ * @since 9.4
+ */
+class StoreKeyFilter {
+   private static final Log log = LogFactory.getLog(StoreKeyFilter.class);
+   private static final int MIN_SEGMENT_CAPACITY = 128;
+
+   private final AdvancedCacheLoader<Object, ?> loader;
+   private final KeyPartitioner keyPartitioner;
+   private final int numSegments;
+   private final Executor executor;
+   private final Semaphore storesSemaphore;
+   private final AtomicLong negatives = new AtomicLong();
+   private final AtomicLong falsePositives = new AtomicLong();
+
+   private volatile BloomFilter[] filters;
+   private volatile BloomFilter[] building;
+   @GuardedBy("this")
+   private boolean rebuildPending;
+   @GuardedBy("this")
+   private boolean rebuilding;
+   private volatile boolean stopped;
+
+   /**
+    * @param storesSemaphore a permit is held while the keys of the store are read, to prevent a concurrent stop
+    */
+   StoreKeyFilter(AdvancedCacheLoader<Object, ?> loader, KeyPartitioner keyPartitioner, int numSegments,
+                  Executor executor, Semaphore storesSemaphore) {
+      this.loader = loader;
+      this.keyPartitioner = keyPartitioner;
+      this.numSegments = numSegments;
+      this.executor = executor;
+      this.storesSemaphore = storesSemaphore;
+   }
+
+   /**
+    * Must be invoked once the key has been written to the store.
+    */
+   void add(Object key) {
+      int segment = keyPartitioner.getSegment(key);
+      // Read the filters being built first: if the rebuild is installed later, it reads the key from the store
+      BloomFilter[] next = building;
+      if (next != null) {
+         next[segment].add(key);
+      }
+      BloomFilter[] current = filters;
+      if (current != null && current[segment].add(key) && current[segment].isSaturated()) {
+         rebuild();
+      }
+   }
+
+   boolean mightContain(Object key) {
+      BloomFilter[] current = filters;
+      if (current == null || current[keyPartitioner.getSegment(key)].mightContain(key)) {
+         return true;
+      }
+      negatives.incrementAndGet();
+      return false;
+   }
+
+   /**
+    * Records that the store did not contain a key that the filters might contain.
+    */
+   void falsePositive() {
+      if (filters != null) {
+         falsePositives.incrementAndGet();
+      }
+   }
+
+   /**
+    * Rebuilds the filters from the keys of the store in the background. If a rebuild is in progress, another one
+    * starts once it completes.
+    */
+   void rebuild() {
+      synchronized (this) {
+         if (rebuildPending || stopped)
+            return;
+         rebuildPending = true;
+         if (rebuilding)
+            return;
+         rebuilding = true;
+      }
+      executor.execute(this::rebuildWhilePending);
+   }
+
+   void stop() {
+      stopped = true;
+   }
+
+   long getNegatives() {
+      return negatives.get();
+   }
+
+   long getFalsePositives() {
+      return falsePositives.get();
+   }
+
+   long memory() {
+      return memory(filters) + memory(building);
+   }
+
+   private void rebuildWhilePending() {
+      boolean pending;
+      do {
+         synchronized (this) {
+            rebuildPending = false;
+         }
+         build();
+         synchronized (this) {
+            pending = rebuildPending && !stopped;
+            rebuilding = pending;
+         }
+      } while (pending);
+   }
+
+   private void build() {
+      if (!storesSemaphore.tryAcquire())
+         return;
+      try {
+         BloomFilter[] next = new BloomFilter[numSegments];
+         int capacity = segmentCapacity();
+         for (int i = 0; i < numSegments; i++) {
+            next[i] = new BloomFilter(capacity);
+         }
+         building = next;
+         Flowable.fromPublisher(loader.publishKeys(null)).blockingForEach(key -> {
+            if (stopped)
+               throw new CacheException("Store stopped");
+            next[keyPartitioner.getSegment(key)].add(key);
+         });
+         filters = next;
+      } catch (Throwable t) {
+         if (!stopped) {
+            log.failedToBuildStoreBloomFilter(loader, t);
+         }
+      } finally {
+         building = null;
+         storesSemaphore.release();
+      }
+   }
+
+   private int segmentCapacity() {
+      // Twice the keys of the largest segment, so the store can grow before the next rebuild
+      long keys = Math.max(0, loader.size()) / numSegments;
+      BloomFilter[] current = filters;
+      if (current != null) {
+         for (BloomFilter filter : current) {
+            keys = Math.max(keys, filter.size());
+         }
+      }
+      return (int) Math.min(Integer.MAX_VALUE / 2, Math.max(MIN_SEGMENT_CAPACITY, 2 * keys));
+   }
+
+   private static long memory(BloomFilter[] filters) {
+      long memory = 0;
+      if (filters != null) {
+         for (BloomFilter filter : filters) {
+            memory += filter.memory();
+         }
+      }
+      return memory;
+   }
+}
@@ -0,0 +1,58 @@
+package org.infinispan.persistence.spi;
+
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.persistence.support.BlockingStoreAdapter;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Asynchronous variant of the single key operations of a {@link CacheLoader} and {@link CacheWriter}. A store
+ * implements this interface in addition to {@link CacheLoader} and/or {@link CacheWriter} when it can perform its
+ * I/O without blocking the invoking thread, e.g. with an asynchronous client library. The bulk operations are already
+ * non-blocking, as {@link AdvancedCacheLoader#publishEntries} returns a {@link org.reactivestreams.Publisher}.
+ * <p>
+ * The cache loads and writes single keys without blocking the thread that invoked the operation, so that a cache with
+ * stores does not need a thread for every outstanding I/O. The stores that do not implement this interface are invoked
+ * through a {@link BlockingStoreAdapter}, which performs the blocking operations on the blocking store threads of the
+ * cache if it has any, or on the invoking thread otherwise.
+ * <p>
+ * Implementations must never block the invoking thread, and must not complete the returned stages while holding
+ * locks, as the cache operation resumes in the thread that completes them. The stages may be completed exceptionally
+ * with a {@link PersistenceException} in case of an error.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @since 9.4
+ */
+@ThreadSafe
+public interface NonBlockingStore<K, V> {
+
+   /**
+    * Fetches an entry from the storage, like {@link CacheLoader#load(Object)}.
+    *
+    * @param segment the segment that the key maps to, which may be ignored by the store
+    * @param key the key of the entry to fetch
+    * @return a stage completed with the entry, or with {@code null} if the entry does not exist
+    */
+   CompletionStage<MarshalledEntry<K, V>> loadAsync(int segment, Object key);
+
+   /**
+    * Persists the entry to the storage, like {@link CacheWriter#write(MarshalledEntry)}.
+    *
+    * @param segment the segment that the key maps to, which may be ignored by the store
+    * @param entry the entry to persist
+    * @return a stage completed once the entry was persisted
+    */
+   CompletionStage<Void> writeAsync(int segment, MarshalledEntry<? extends K, ? extends V> entry);
+
+   /**
+    * Removes an entry from the storage, like {@link CacheWriter#delete(Object)}.
+    *
+    * @param segment the segment that the key maps to, which may be ignored by the store
+    * @param key the key of the entry to remove
+    * @return a stage completed with {@code true} if the entry existed in the storage
+    */
+   CompletionStage<Boolean> deleteAsync(int segment, Object key);
+}
@@ -0,0 +1,132 @@
+package org.infinispan.persistence.support;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.persistence.spi.CacheLoader;
+import org.infinispan.persistence.spi.CacheWriter;
+import org.infinispan.persistence.spi.NonBlockingStore;
+import org.infinispan.persistence.spi.SegmentedAdvancedLoadWriteStore;
+
+/**
+ * Exposes a blocking {@link CacheLoader} or {@link CacheWriter} as a {@link NonBlockingStore}.
+ * <p>
+ * The operations of the store are performed on the given executor, so that the invoking thread is never blocked and
+ * the number of threads blocked on the store is bounded by the executor, however many operations are outstanding.
+ * The returned stages are completed on a second executor, so that the operations depending on them, e.g. the rest of
+ * an invocation, do not hold the threads of the store executor. An adapter is created for a single role of the store,
+ * with {@link #forLoader(CacheLoader, Executor, Executor)} or {@link #forWriter(CacheWriter, Executor, Executor)}, and
+ * only supports the operations of that role.
+ *
+ * @since 9.4
+ */
+public class BlockingStoreAdapter<K, V> implements NonBlockingStore<K, V> {
+   private final CacheLoader<K, V> loader;
+   private final CacheWriter<K, V> writer;
+   private final Executor executor;
+   private final Executor completionExecutor;
+
+   private BlockingStoreAdapter(CacheLoader<K, V> loader, CacheWriter<K, V> writer, Executor executor,
+                                Executor completionExecutor) {
+      this.loader = loader;
+      this.writer = writer;
+      this.executor = Objects.requireNonNull(executor);
+      this.completionExecutor = Objects.requireNonNull(completionExecutor);
+   }
+
+   /**
+    * @return the loader itself if it implements {@link NonBlockingStore}, or an adapter that loads the entries on the
+    *         given executor and completes the loads on the completion executor otherwise
+    */
+   public static <K, V> NonBlockingStore<K, V> forLoader(CacheLoader<K, V> loader, Executor executor,
+                                                        Executor completionExecutor) {
+      if (loader instanceof NonBlockingStore) {
+         return (NonBlockingStore<K, V>) loader;
+      }
+      return new BlockingStoreAdapter<>(loader, null, executor, completionExecutor);
+   }
+
+   /**
+    * @return the writer itself if it implements {@link NonBlockingStore}, or an adapter that writes and deletes the
+    *         entries on the given executor and completes them on the completion executor otherwise
+    */
+   public static <K, V> NonBlockingStore<K, V> forWriter(CacheWriter<K, V> writer, Executor executor,
+                                                        Executor completionExecutor) {
+      if (writer instanceof NonBlockingStore) {
+         return (NonBlockingStore<K, V>) writer;
+      }
+      return new BlockingStoreAdapter<>(null, writer, executor, completionExecutor);
+   }
+
+   @Override
+   public CompletionStage<MarshalledEntry<K, V>> loadAsync(int segment, Object key) {
+      if (loader == null)
+         throw new IllegalStateException("Adapter created for the writer role: " + this);
+      if (loader instanceof SegmentedAdvancedLoadWriteStore) {
+         return supply(() -> ((SegmentedAdvancedLoadWriteStore<K, V>) loader).load(segment, key));
+      }
+      return supply(() -> loader.load(key));
+   }
+
+   @Override
+   public CompletionStage<Void> writeAsync(int segment, MarshalledEntry<? extends K, ? extends V> entry) {
+      if (writer == null)
+         throw new IllegalStateException("Adapter created for the loader role: " + this);
+      return supply(() -> {
+         if (writer instanceof SegmentedAdvancedLoadWriteStore) {
+            ((SegmentedAdvancedLoadWriteStore<K, V>) writer).write(segment, entry);
+         } else {
+            writer.write(entry);
+         }
+         return null;
+      });
+   }
+
+   @Override
+   public CompletionStage<Boolean> deleteAsync(int segment, Object key) {
+      if (writer == null)
+         throw new IllegalStateException("Adapter created for the loader role: " + this);
+      if (writer instanceof SegmentedAdvancedLoadWriteStore) {
+         return supply(() -> ((SegmentedAdvancedLoadWriteStore<K, V>) writer).delete(segment, key));
+      }
+      return supply(() -> writer.delete(key));
+   }
+
+   private <T> CompletableFuture<T> supply(Supplier<T> operation) {
+      CompletableFuture<T> result = new CompletableFuture<>();
+      try {
+         executor.execute(() -> {
+            T value;
+            try {
+               value = operation.get();
+            } catch (Throwable t) {
+               complete(() -> result.completeExceptionally(t));
+               return;
+            }
+            complete(() -> result.complete(value));
+         });
+      } catch (Throwable t) {
+         // e.g. the executor is shut down or its queue is full
+         result.completeExceptionally(t);
+      }
+      return result;
+   }
+
+   private void complete(Runnable completion) {
+      try {
+         completionExecutor.execute(completion);
+      } catch (RejectedExecutionException e) {
+         completion.run();
+      }
+   }
+
+   @Override
+   public String toString() {
+      return "BlockingStoreAdapter{" + (loader != null ? loader : writer) + "}";
+   }
+}
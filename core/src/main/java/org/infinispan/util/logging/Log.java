@@ -1820,4 +1820,44 @@ CacheConfigurationException offHeapMemoryEvictionSizeNotLargeEnoughForAddresses(
 
    @Message(value = "Content '%s (MediaType: '%s') cannot be converted to '%s'", id = 533)
    EncodingException cannotConvertContent(Object content, MediaType contentType, MediaType destination);
+
+   @Message(value = "Off-heap slab size %d must be at least %d bytes", id = 534)
+   CacheConfigurationException offHeapSlabSizeTooSmall(int slabSize, int minimumSlabSize);
+
+   @Message(value = "The single file store cannot be bounded by max-entries when its index is kept off-heap", id = 535)
+   CacheConfigurationException offHeapIndexWithMaxEntries();
+
+   @Message(value = "The number of write-behind shards (%d) must not be negative", id = 536)
+   CacheConfigurationException invalidWriteBehindShards(int shards);
+
+   @Message(value = "A store with a bloom filter cannot be shared or transactional", id = 537)
+   CacheConfigurationException bloomFilterOnSharedOrTransactionalStore();
+
+   @LogMessage(level = WARN)
+   @Message(value = "Ignoring the bloom filter of store %s, as it does not implement AdvancedCacheLoader", id = 538)
+   void bloomFilterRequiresAdvancedCacheLoader(Object store);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Failed to build the bloom filter of store %s, all its keys are loaded from the store", id = 539)
+   void failedToBuildStoreBloomFilter(Object store, @Cause Throwable t);
+
+   @Message(value = "An off-heap tier requires OBJECT storage, but the storage is %s", id = 540)
+   CacheConfigurationException offHeapTierRequiresObjectStorage(StorageType storageType);
+
+   @Message(value = "An off-heap tier requires the REMOVE eviction strategy and a positive size", id = 541)
+   CacheConfigurationException offHeapTierRequiresEviction();
+
+   @Message(value = "The off-heap tier size %d must be larger than %d to store the configured address count of %d", id = 542)
+   CacheConfigurationException offHeapTierSizeNotLargeEnoughForAddresses(long configuredSize, long addressesSize,
+                                                                        int addressCount);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Unable to passivate %d entries", id = 543)
+   void unableToPassivateEntries(int count, @Cause Throwable t);
+
+   @Message(value = "Compression requires BINARY or OFF_HEAP storage", id = 544)
+   CacheConfigurationException compressionRequiresBinaryStorage();
+
+   @Message(value = "Unable to read the compression dictionary %s", id = 545)
+   CacheConfigurationException unableToReadCompressionDictionary(String path, @Cause Throwable t);
 }
@@ -16,6 +16,7 @@
 import org.infinispan.container.impl.InternalEntryFactoryImpl;
 import org.infinispan.container.impl.InternalDataContainerAdapter;
 import org.infinispan.eviction.ActivationManager;
+import org.infinispan.eviction.impl.PassivationManagerStub;
 import org.infinispan.expiration.impl.InternalExpirationManager;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.test.AbstractInfinispanTest;
@@ -76,7 +77,7 @@ public void testCustomDataContainerClass() throws IOException {
          DataContainer ddc = DefaultDataContainer.unBoundedDataContainer(cache.getCacheConfiguration().locking().concurrencyLevel());
          ActivationManager activationManager = mock(ActivationManager.class);
          doNothing().when(activationManager).onUpdate(Mockito.any(), Mockito.anyBoolean());
-         TestingUtil.inject(ddc, new InternalEntryFactoryImpl(), activationManager,
+         TestingUtil.inject(ddc, new InternalEntryFactoryImpl(), activationManager, new PassivationManagerStub(),
                TIME_SERVICE, mock(InternalExpirationManager.class));
          QueryableDataContainer.setDelegate(ddc);
 
@@ -116,7 +117,7 @@ public void testCustomDataContainer() {
          DataContainer ddc = DefaultDataContainer.unBoundedDataContainer(cache.getCacheConfiguration().locking().concurrencyLevel());
          ActivationManager activationManager = mock(ActivationManager.class);
          doNothing().when(activationManager).onUpdate(Mockito.any(), Mockito.anyBoolean());
-         TestingUtil.inject(ddc, new InternalEntryFactoryImpl(), activationManager,
+         TestingUtil.inject(ddc, new InternalEntryFactoryImpl(), activationManager, new PassivationManagerStub(),
                  TIME_SERVICE, mock(InternalExpirationManager.class));
          QueryableDataContainer.setDelegate(ddc);
 
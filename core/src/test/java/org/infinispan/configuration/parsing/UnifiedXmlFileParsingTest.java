@@ -38,6 +38,7 @@
 import org.infinispan.configuration.cache.Index;
 import org.infinispan.configuration.cache.InterceptorConfiguration;
 import org.infinispan.configuration.cache.MemoryConfiguration;
+import org.infinispan.configuration.cache.OffHeapEvictionPolicy;
 import org.infinispan.configuration.cache.PartitionHandlingConfiguration;
 import org.infinispan.configuration.cache.PersistenceConfiguration;
 import org.infinispan.configuration.cache.SingleFileStoreConfiguration;
@@ -107,6 +108,28 @@ public void testParseAndConstructUnifiedXmlFile(Path config) throws IOException
    }
 
    public enum ParserVersionCheck {
+      INFINISPAN_94(9, 4) {
+         @Override
+         public void check(ConfigurationBuilderHolder holder) {
+            MemoryConfiguration mc = getConfiguration(holder, "tiered-memory").memory();
+            assertEquals(StorageType.OBJECT, mc.storageType());
+            assertEquals(1000, mc.size());
+            assertTrue(mc.isTiered());
+            assertEquals(10000000, mc.offHeapTierSize());
+            assertEquals(4, mc.addressCount());
+            assertEquals(OffHeapEvictionPolicy.CLOCK, mc.evictionPolicy());
+
+            PersistenceConfiguration pc = getConfiguration(holder, "async-passivation").persistence();
+            assertTrue(pc.passivation());
+            assertEquals(512, pc.passivationQueueSize());
+            assertEquals(4, pc.blockingStoreThreads());
+            mc = getConfiguration(holder, "compressed-values").memory();
+            assertEquals(StorageType.BINARY, mc.storageType());
+            assertEquals(256, mc.compressionThreshold());
+            assertTrue(mc.isCompressionEnabled());
+         }
+      },
+
       INFINISPAN_93(9, 3) {
          @Override
          public void check(ConfigurationBuilderHolder holder) {
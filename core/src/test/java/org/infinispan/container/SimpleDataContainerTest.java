@@ -22,6 +22,7 @@
 import org.infinispan.container.impl.DefaultDataContainer;
 import org.infinispan.container.impl.InternalEntryFactoryImpl;
 import org.infinispan.eviction.ActivationManager;
+import org.infinispan.eviction.impl.PassivationManagerStub;
 import org.infinispan.expiration.impl.InternalExpirationManager;
 import org.infinispan.metadata.EmbeddedMetadata;
 import org.infinispan.test.AbstractInfinispanTest;
@@ -60,7 +61,8 @@ protected DataContainer<String, String> createContainer() {
       InternalExpirationManager expirationManager = mock(InternalExpirationManager.class);
       Mockito.when(expirationManager.entryExpiredInMemory(Mockito.any(), Mockito.anyLong())).thenReturn(CompletableFutures.completedTrue());
       Mockito.when(expirationManager.entryExpiredInMemoryFromIteration(Mockito.any(), Mockito.anyLong())).thenReturn(CompletableFutures.completedTrue());
-      TestingUtil.inject(dc, internalEntryFactory, activationManager, timeService, expirationManager);
+      TestingUtil.inject(dc, internalEntryFactory, activationManager, new PassivationManagerStub(), timeService,
+            expirationManager);
       return dc;
    }
 
@@ -0,0 +1,149 @@
+package org.infinispan.container.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.commons.CacheConfigurationException;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.container.offheap.OffHeapDataContainer;
+import org.infinispan.container.offheap.UnpooledOffHeapMemoryAllocator;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntriesEvicted;
+import org.infinispan.notifications.cachelistener.event.CacheEntriesEvictedEvent;
+import org.infinispan.persistence.dummy.DummyInMemoryStore;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.CleanupAfterMethod;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.ControlledTimeService;
+import org.infinispan.util.TimeService;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the entries evicted from the heap are moved to the off-heap tier, and that only the entries evicted from
+ * the off-heap tier are passivated.
+ *
+ * @since 9.4
+ */
+@Test(groups = "functional", testName = "container.impl.TieredDataContainerTest")
+@CleanupAfterMethod
+public class TieredDataContainerTest extends SingleCacheManagerTest {
+   private static final int HEAP_SIZE = 10;
+   private static final int ADDRESS_COUNT = 16;
+   private static final int ENTRIES = 100;
+
+   private ControlledTimeService timeService;
+   private EvictionListener evictionListener;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder cfg = getDefaultStandaloneCacheConfig(false);
+      // Room for the addresses and a few dozen entries
+      long addressesSize = UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(
+            OffHeapDataContainer.getActualAddressCount(ADDRESS_COUNT << 3));
+      cfg.memory().size(HEAP_SIZE).offHeapTierSize(addressesSize + 4096).addressCount(ADDRESS_COUNT);
+      cfg.persistence().passivation(true).addStore(DummyInMemoryStoreConfigurationBuilder.class);
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(cfg);
+      timeService = new ControlledTimeService();
+      evictionListener = new EvictionListener();
+      TestingUtil.replaceComponent(cm, TimeService.class, timeService, true);
+      cm.getCache().addListener(evictionListener);
+      return cm;
+   }
+
+   public void testEntriesMoveThroughTiers() {
+      for (int i = 0; i < ENTRIES; i++) {
+         cache.put("k" + i, "v" + i);
+      }
+      TieredDataContainer<Object, Object> container = container();
+      DummyInMemoryStore store = TestingUtil.getFirstLoader(cache);
+      assertTrue(container.heapSize() <= HEAP_SIZE);
+      assertTrue(container.offHeapSize() > 0);
+      assertTrue(store.size() > 0);
+      assertEquals(ENTRIES, container.heapSize() + container.offHeapSize() + store.size());
+      assertEquals(store.size(), evictionListener.evicted.get());
+      assertEquals(container.heapSize() + container.offHeapSize(), container.size());
+
+      for (int i = 0; i < ENTRIES; i++) {
+         assertEquals("v" + i, cache.get("k" + i));
+      }
+      assertTrue(container.heapSize() <= HEAP_SIZE);
+      assertEquals(ENTRIES, container.heapSize() + container.offHeapSize() + store.size());
+      assertEquals(ENTRIES, cache.entrySet().size());
+   }
+
+   public void testWritesAndRemovesOfDemotedEntries() {
+      for (int i = 0; i < ENTRIES; i++) {
+         cache.put("k" + i, "v" + i);
+      }
+      for (int i = 0; i < ENTRIES; i++) {
+         assertEquals("v" + i, cache.put("k" + i, "w" + i));
+      }
+      for (int i = 0; i < ENTRIES; i += 2) {
+         assertEquals("w" + i, cache.remove("k" + i));
+      }
+      for (int i = 0; i < ENTRIES; i++) {
+         assertEquals(i % 2 == 0 ? null : "w" + i, cache.get("k" + i));
+      }
+      TieredDataContainer<Object, Object> container = container();
+      DummyInMemoryStore store = TestingUtil.getFirstLoader(cache);
+      assertEquals(ENTRIES / 2, container.heapSize() + container.offHeapSize() + store.size());
+
+      cache.clear();
+      assertEquals(0, container.heapSize());
+      assertEquals(0, container.offHeapSize());
+      assertEquals(0, cache.size());
+   }
+
+   public void testLifespanIsKeptInOffHeapTier() {
+      for (int i = 0; i < ENTRIES; i++) {
+         cache.put("k" + i, "v" + i, 10, TimeUnit.SECONDS);
+      }
+      timeService.advance(TimeUnit.SECONDS.toMillis(5));
+      for (int i = 0; i < ENTRIES; i++) {
+         assertEquals("v" + i, cache.get("k" + i));
+      }
+      // The entries demoted while reading must still expire 10 seconds after their creation
+      timeService.advance(TimeUnit.SECONDS.toMillis(6));
+      for (int i = 0; i < ENTRIES; i++) {
+         assertNull(cache.get("k" + i));
+      }
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class)
+   public void testOffHeapTierRequiresObjectStorage() {
+      ConfigurationBuilder cfg = new ConfigurationBuilder();
+      cfg.memory().storageType(StorageType.BINARY).size(HEAP_SIZE).offHeapTierSize(10_000_000);
+      cfg.build();
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class)
+   public void testOffHeapTierRequiresEviction() {
+      ConfigurationBuilder cfg = new ConfigurationBuilder();
+      cfg.memory().offHeapTierSize(10_000_000);
+      cfg.build();
+   }
+
+   private TieredDataContainer<Object, Object> container() {
+      return (TieredDataContainer<Object, Object>) TestingUtil.extractComponent(cache, InternalDataContainer.class);
+   }
+
+   @Listener
+   public static class EvictionListener {
+      final AtomicInteger evicted = new AtomicInteger();
+
+      @CacheEntriesEvicted
+      public void evicted(CacheEntriesEvictedEvent<Object, Object> e) {
+         if (!e.isPre()) {
+            evicted.addAndGet(e.getEntries().size());
+         }
+      }
+   }
+}
@@ -96,6 +96,45 @@ public void testAllocatedAmountEqualWithVersion() {
       assertEquals(allocator.getAllocatedAmount(), container.currentSize);
    }
 
+   /**
+    * Test to ensure that the address table growing is accounted for and all entries remain reachable afterwards
+    */
+   public void testAllocatedAmountEqualAfterAddressGrowth() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.memory()
+            .size(MemoryUnit.MEGABYTES.toBytes(20))
+            .evictionType(EvictionType.MEMORY)
+            .storageType(StorageType.OFF_HEAP)
+            .addressCount(1);
+      EmbeddedCacheManager manager = TestCacheManagerFactory.createCacheManager(builder);
+      AdvancedCache<Object, Object> cache = manager.getCache().getAdvancedCache();
+
+      OffHeapMemoryAllocator allocator = cache.getComponentRegistry().getComponent(
+            OffHeapMemoryAllocator.class);
+      BoundedOffHeapDataContainer container = (BoundedOffHeapDataContainer) getContainer(cache);
+
+      int entries = 10_000;
+      for (int i = 0; i < entries; ++i) {
+         cache.put(i, i);
+      }
+      assertEquals(allocator.getAllocatedAmount(), container.currentSize);
+      assertEquals(entries, cache.size());
+      assertEquals(entries, cache.keySet().size());
+      for (int i = 0; i < entries; ++i) {
+         assertEquals(i, cache.get(i));
+      }
+
+      for (int i = 0; i < entries; i += 2) {
+         cache.remove(i);
+      }
+      assertEquals(allocator.getAllocatedAmount(), container.currentSize);
+      assertEquals(entries / 2, cache.size());
+
+      cache.clear();
+
+      assertEquals(allocator.getAllocatedAmount(), container.currentSize);
+   }
+
    @Test(expectedExceptions = CacheConfigurationException.class)
    public void testAddressCountTooLargeAfterRounding() {
       int addressCount = 3;
@@ -16,6 +16,7 @@
 import org.infinispan.Cache;
 import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.OffHeapEvictionPolicy;
 import org.infinispan.configuration.cache.StorageType;
 import org.infinispan.eviction.EvictionType;
 import org.infinispan.util.concurrent.IsolationLevel;
@@ -31,7 +32,8 @@ public class OffHeapBoundedSingleNodeTest extends OffHeapSingleNodeTest {
    @Override
    protected void createCacheManagers() throws Throwable {
       ConfigurationBuilder dcc = getDefaultClusteredCacheConfig(CacheMode.LOCAL, false);
-      dcc.memory().storageType(StorageType.OFF_HEAP).size(COUNT).evictionType(EvictionType.COUNT);
+      dcc.memory().storageType(StorageType.OFF_HEAP).size(COUNT).evictionType(EvictionType.COUNT)
+            .evictionPolicy(evictionPolicy());
       dcc.locking().isolationLevel(IsolationLevel.READ_COMMITTED);
       // Only start up the 1 cache
       addClusterEnabledCacheManager(dcc);
@@ -39,6 +41,10 @@ protected void createCacheManagers() throws Throwable {
       configureTimeService();
    }
 
+   protected OffHeapEvictionPolicy evictionPolicy() {
+      return OffHeapEvictionPolicy.LRU;
+   }
+
    public void testMoreWriteThanSize() {
       Cache<String, String> cache = cache(0);
 
@@ -49,6 +55,27 @@ public void testMoreWriteThanSize() {
       assertEquals(COUNT, cache.size());
    }
 
+   public void testReadEntriesAreNotEvicted() {
+      Cache<String, String> cache = cache(0);
+
+      for (int i = 0; i < COUNT; ++i) {
+         cache.put("key" + i, "value" + i);
+      }
+      int readCount = 10;
+      for (int i = 0; i < readCount; ++i) {
+         assertEquals("value" + i, cache.get("key" + i));
+      }
+      // Force the entries that were not read to be evicted
+      for (int i = COUNT; i < COUNT + readCount; ++i) {
+         cache.put("key" + i, "value" + i);
+      }
+
+      assertEquals(COUNT, cache.size());
+      for (int i = 0; i < readCount; ++i) {
+         assertEquals("value" + i, cache.get("key" + i));
+      }
+   }
+
    public void testMultiThreaded() throws ExecutionException, InterruptedException, TimeoutException {
       Cache<String, String> cache = cache(0);
 
@@ -0,0 +1,17 @@
+package org.infinispan.container.offheap;
+
+import org.infinispan.configuration.cache.OffHeapEvictionPolicy;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the bounded off-heap tests using the CLOCK eviction policy
+ * @since 9.4
+ */
+@Test(groups = "functional", testName = "container.offheap.OffHeapClockBoundedSingleNodeTest")
+public class OffHeapClockBoundedSingleNodeTest extends OffHeapBoundedSingleNodeTest {
+
+   @Override
+   protected OffHeapEvictionPolicy evictionPolicy() {
+      return OffHeapEvictionPolicy.CLOCK;
+   }
+}
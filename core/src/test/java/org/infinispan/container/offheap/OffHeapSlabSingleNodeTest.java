@@ -0,0 +1,26 @@
+package org.infinispan.container.offheap;
+
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.OffHeapAllocatorType;
+import org.infinispan.configuration.cache.StorageType;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the off-heap tests using the slab allocator
+ * @since 9.4
+ */
+@Test(groups = "functional", testName = "container.offheap.OffHeapSlabSingleNodeTest")
+public class OffHeapSlabSingleNodeTest extends OffHeapSingleNodeTest {
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder dcc = getDefaultClusteredCacheConfig(CacheMode.LOCAL, false);
+      dcc.memory().storageType(StorageType.OFF_HEAP).allocator(OffHeapAllocatorType.SLAB)
+            .slabSize(SlabOffHeapMemoryAllocator.MINIMUM_SLAB_SIZE);
+      // Only start up the 1 cache
+      addClusterEnabledCacheManager(dcc);
+
+      configureTimeService();
+   }
+}
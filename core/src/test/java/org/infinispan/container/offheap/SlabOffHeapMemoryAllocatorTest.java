@@ -0,0 +1,115 @@
+package org.infinispan.container.offheap;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.configuration.cache.MemoryConfiguration;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * @since 9.4
+ */
+@Test(groups = "functional", testName = "container.offheap.SlabOffHeapMemoryAllocatorTest")
+public class SlabOffHeapMemoryAllocatorTest extends AbstractInfinispanTest {
+   private static final int SLAB_SIZE = SlabOffHeapMemoryAllocator.MINIMUM_SLAB_SIZE;
+
+   @DataProvider(name = "sizeClasses")
+   Object[][] sizeClasses() {
+      return new Object[][] {
+            { 2, 32 },
+            { 14, 32 },
+            { 32, 48 },
+            { 123, 144 },
+            { 504, 512 },
+            { 505, 640 },
+            { 600, 640 },
+      };
+   }
+
+   @Test(dataProvider = "sizeClasses")
+   public void testSizeClasses(long original, int expected) {
+      SlabOffHeapMemoryAllocator allocator = new SlabOffHeapMemoryAllocator(MemoryConfiguration.SLAB_SIZE.getDefaultValue(), 1);
+      int index = allocator.sizeClassIndex(UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(original));
+      assertEquals(expected, allocator.sizeClass(index));
+   }
+
+   public void testFreedBlockIsReused() {
+      SlabOffHeapMemoryAllocator allocator = new SlabOffHeapMemoryAllocator(SLAB_SIZE, 1);
+      try {
+         long first = allocator.allocate(100);
+         long second = allocator.allocate(100);
+         assertEquals(1, allocator.getSlabCount());
+         assertEquals(SLAB_SIZE, allocator.getReservedSlabMemory());
+
+         allocator.deallocate(first, 100);
+         // Entries of a similar size share the same size class
+         assertEquals(first, allocator.allocate(97));
+         assertEquals(1, allocator.getReusedAllocations());
+
+         allocator.deallocate(first, 97);
+         allocator.deallocate(second, 100);
+         assertEquals(0, allocator.getAllocatedAmount());
+         assertEquals(0, allocator.getSlabMemoryInUse());
+      } finally {
+         allocator.stop();
+      }
+   }
+
+   public void testBlockFreedByAnotherThreadReturnsToItsArena() throws Exception {
+      SlabOffHeapMemoryAllocator allocator = new SlabOffHeapMemoryAllocator(SLAB_SIZE, 64);
+      try {
+         long address = allocator.allocate(100);
+         assertEquals(1, allocator.getSlabCount());
+
+         // Whatever arena the other thread maps to, the block goes back to the arena of this thread
+         Future<Void> future = fork(() -> allocator.deallocate(address, 100));
+         future.get(10, TimeUnit.SECONDS);
+         assertEquals(address, allocator.allocate(100));
+         assertEquals(1, allocator.getReusedAllocations());
+         assertEquals(1, allocator.getSlabCount());
+      } finally {
+         allocator.stop();
+      }
+   }
+
+   public void testLargeAllocationIsNotPooled() {
+      SlabOffHeapMemoryAllocator allocator = new SlabOffHeapMemoryAllocator(SLAB_SIZE, 1);
+      try {
+         long size = allocator.getMaxPooledSize() + 1;
+         long address = allocator.allocate(size);
+         assertEquals(1, allocator.getUnpooledAllocations());
+         assertEquals(0, allocator.getSlabCount());
+         assertEquals(UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(size), allocator.getAllocatedAmount());
+         allocator.deallocate(address, size);
+         assertEquals(0, allocator.getAllocatedAmount());
+      } finally {
+         allocator.stop();
+      }
+   }
+
+   public void testSlabTailIsNotLost() {
+      SlabOffHeapMemoryAllocator allocator = new SlabOffHeapMemoryAllocator(SLAB_SIZE, 1);
+      try {
+         // Fill the first slab with 496 byte blocks until a second slab is required, leaving 128 bytes unused
+         while (allocator.getSlabCount() < 2) {
+            allocator.allocate(473);
+         }
+         long inUse = allocator.getSlabMemoryInUse();
+         // The remainder of the first slab was handed to the free list of the 128 byte size class
+         allocator.allocate(105);
+         assertEquals(1, allocator.getReusedAllocations());
+         assertTrue(allocator.getSlabMemoryInUse() > inUse);
+         assertTrue(allocator.getSlabUtilisation() > 0);
+         assertTrue(allocator.getFragmentation() < 100);
+      } finally {
+         allocator.stop();
+      }
+      assertEquals(0, allocator.getSlabCount());
+      assertEquals(0, allocator.getReservedSlabMemory());
+   }
+}
@@ -0,0 +1,156 @@
+package org.infinispan.encoding;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.CacheConfigurationException;
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.util.Util;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.impl.InternalDataContainer;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.CleanupAfterMethod;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the values above the compression threshold are stored compressed, and are decompressed when read.
+ *
+ * @since 9.4
+ */
+@Test(groups = "functional", testName = "encoding.CompressedValueTest")
+@CleanupAfterMethod
+public class CompressedValueTest extends SingleCacheManagerTest {
+   private static final int THRESHOLD = 64;
+   private static final int ENTRIES = 10;
+
+   private final String tmpDirectory = TestingUtil.tmpDirectory(getClass());
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(config(StorageType.BINARY));
+      cm.defineConfiguration("off-heap", config(StorageType.OFF_HEAP).build());
+      return cm;
+   }
+
+   @AfterClass(alwaysRun = true)
+   protected void clearTempDir() {
+      Util.recursiveFileRemove(tmpDirectory);
+   }
+
+   private ConfigurationBuilder config(StorageType storageType) {
+      ConfigurationBuilder cfg = getDefaultStandaloneCacheConfig(false);
+      cfg.jmxStatistics().enable();
+      cfg.memory().storageType(storageType).compressionThreshold(THRESHOLD);
+      cfg.persistence().addStore(DummyInMemoryStoreConfigurationBuilder.class);
+      return cfg;
+   }
+
+   public void testBinaryValuesAreCompressed() {
+      testValuesAreCompressed(cache);
+   }
+
+   public void testOffHeapValuesAreCompressed() {
+      testValuesAreCompressed(cacheManager.getCache("off-heap"));
+   }
+
+   private void testValuesAreCompressed(Cache<Object, Object> cache) {
+      for (int i = 0; i < ENTRIES; i++) {
+         cache.put("k" + i, largeValue(i));
+         cache.put("small" + i, smallValue(i));
+      }
+      int compressed = 0;
+      InternalDataContainer<?, ?> container = TestingUtil.extractComponent(cache, InternalDataContainer.class);
+      for (InternalCacheEntry<?, ?> entry : container) {
+         if (entry.getValue() instanceof CompressedByteArray) {
+            compressed++;
+         } else {
+            // Only the small values are left uncompressed
+            assertTrue(((WrappedByteArray) entry.getValue()).getLength() < THRESHOLD);
+         }
+      }
+      assertEquals(ENTRIES, compressed);
+      for (int i = 0; i < ENTRIES; i++) {
+         assertEquals(largeValue(i), cache.get("k" + i));
+         assertEquals(smallValue(i), cache.get("small" + i));
+      }
+      assertEquals(2 * ENTRIES, cache.entrySet().size());
+      assertTrue(cache.containsValue(largeValue(0)));
+
+      assertTrue(cache.replace("k0", largeValue(0), largeValue(100)));
+      assertFalse(cache.replace("k1", largeValue(0), largeValue(100)));
+      assertTrue(cache.remove("k2", largeValue(2)));
+      assertEquals(largeValue(100), cache.get("k0"));
+      assertEquals(largeValue(1), cache.get("k1"));
+
+      ValueCompressor compressor = TestingUtil.extractComponent(cache, ValueCompressor.class);
+      assertTrue(compressor.getCompressedValues() > ENTRIES);
+      assertTrue(compressor.getCompressionRatio() > 1);
+      assertTrue(compressor.getDecompressions() > 0);
+   }
+
+   public void testCompressedValuesAreStored() {
+      for (int i = 0; i < ENTRIES; i++) {
+         cache.put("k" + i, largeValue(i));
+         cache.evict("k" + i);
+      }
+      assertEquals(0, TestingUtil.extractComponent(cache, InternalDataContainer.class).size());
+      for (int i = 0; i < ENTRIES; i++) {
+         assertEquals(largeValue(i), cache.get("k" + i));
+      }
+   }
+
+   public void testDictionary() throws Exception {
+      File dictionary = new File(tmpDirectory, "dictionary");
+      dictionary.getParentFile().mkdirs();
+      Files.write(dictionary.toPath(), String.join("", largeValue(-1)).getBytes(StandardCharsets.UTF_8));
+      ConfigurationBuilder cfg = config(StorageType.BINARY);
+      cfg.memory().compressionDictionary(dictionary.getPath());
+      cacheManager.defineConfiguration("dictionary", cfg.build());
+      Cache<Object, Object> withDictionary = cacheManager.getCache("dictionary");
+
+      withDictionary.put("k", largeValue(0));
+      cache.put("k", largeValue(0));
+      assertEquals(largeValue(0), withDictionary.get("k"));
+      // The values only differ from the dictionary by their index, so they compress much better with it
+      assertTrue(TestingUtil.extractComponent(withDictionary, ValueCompressor.class).getCompressionRatio() >
+            TestingUtil.extractComponent(cache, ValueCompressor.class).getCompressionRatio());
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class)
+   public void testCompressionRequiresBinaryStorage() {
+      ConfigurationBuilder cfg = new ConfigurationBuilder();
+      cfg.memory().storageType(StorageType.OBJECT).compressionThreshold(THRESHOLD);
+      cfg.build();
+   }
+
+   /**
+    * Strings are stored as they are with BINARY storage, so the values are lists to be marshalled.
+    */
+   private static List<String> largeValue(int i) {
+      List<String> value = new ArrayList<>();
+      for (int j = 0; j < 20; j++) {
+         value.add("{\"name\": \"value\", \"index\": " + i + ", \"position\": " + j + "}");
+      }
+      return value;
+   }
+
+   private static List<String> smallValue(int i) {
+      return new ArrayList<>(Collections.singletonList("v" + i));
+   }
+}
@@ -0,0 +1,209 @@
+package org.infinispan.eviction.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.commons.configuration.BuiltBy;
+import org.infinispan.commons.configuration.ConfigurationFor;
+import org.infinispan.commons.configuration.attributes.AttributeSet;
+import org.infinispan.configuration.cache.AsyncStoreConfiguration;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.PersistenceConfigurationBuilder;
+import org.infinispan.configuration.cache.SingletonStoreConfiguration;
+import org.infinispan.container.impl.InternalDataContainer;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.marshall.core.MarshalledEntryImpl;
+import org.infinispan.persistence.dummy.DummyInMemoryStore;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfiguration;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.manager.PersistenceManagerImpl;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.CleanupAfterMethod;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.concurrent.CompletableFutures;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the evicted entries are written to the stores in background batches, and that they can be read, written
+ * and removed until then.
+ *
+ * @since 9.4
+ */
+@Test(groups = "functional", testName = "eviction.impl.AsyncPassivationTest")
+@CleanupAfterMethod
+public class AsyncPassivationTest extends SingleCacheManagerTest {
+   private static final int SIZE = 5;
+   private static final int ENTRIES = 50;
+
+   private GatedStore store;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder cfg = getDefaultStandaloneCacheConfig(false);
+      cfg.memory().size(SIZE);
+      // The blocked batches hold the stores, so the availability check must not wait for them during a test
+      cfg.persistence().passivation(true).passivationQueueSize(ENTRIES).availabilityInterval(Integer.MAX_VALUE)
+            .addStore(GatedStoreConfigurationBuilder.class);
+      return TestCacheManagerFactory.createCacheManager(cfg);
+   }
+
+   @Override
+   protected void setup() throws Exception {
+      super.setup();
+      store = TestingUtil.getFirstLoader(cache);
+   }
+
+   public void testEvictedEntriesAreReadableUntilWritten() {
+      store.gate = new CompletableFuture<>();
+      for (int i = 0; i < ENTRIES; i++) {
+         cache.put("k" + i, "v" + i);
+      }
+      InternalDataContainer<Object, Object> container = TestingUtil.extractComponent(cache, InternalDataContainer.class);
+      PersistenceManagerImpl persistenceManager = persistenceManager();
+      assertEquals(SIZE, container.size());
+      assertEquals(ENTRIES - SIZE, persistenceManager.getPendingPassivations());
+      assertEquals(0, store.size());
+      for (int i = 0; i < ENTRIES; i++) {
+         Object key = "k" + i;
+         if (container.peek(key) == null) {
+            MarshalledEntry entry = persistenceManager.loadFromAllStores(key, true, true);
+            assertNotNull(entry);
+            assertEquals("v" + i, entry.getValue());
+         }
+      }
+
+      store.gate.complete(null);
+      eventually(() -> persistenceManager.getPendingPassivations() == 0);
+      assertEquals(ENTRIES - SIZE, store.size());
+      // The entries evicted while the first batch was written are written together
+      assertTrue(store.batches.get() < ENTRIES - SIZE);
+      for (int i = 0; i < ENTRIES; i++) {
+         assertEquals("v" + i, cache.get("k" + i));
+      }
+   }
+
+   public void testWritesCancelPendingPassivations() {
+      PersistenceManagerImpl persistenceManager = persistenceManager();
+      store.gate = new CompletableFuture<>();
+      persistenceManager.passivateToAllNonTxStores(entry("a", "va"), 0);
+      // The first batch is blocked, the next entries wait for it
+      eventually(() -> store.batches.get() == 1);
+      persistenceManager.passivateToAllNonTxStores(entry("b", "vb"), 0);
+      persistenceManager.passivateToAllNonTxStores(entry("c", "vc"), 0);
+      assertEquals(3, persistenceManager.getPendingPassivations());
+
+      persistenceManager.writeToAllNonTxStores(entry("b", "wb"), 0, PersistenceManager.AccessMode.BOTH);
+      assertTrue(persistenceManager.deleteFromAllStores("c", 0, PersistenceManager.AccessMode.BOTH));
+      assertEquals(1, persistenceManager.getPendingPassivations());
+      assertNull(persistenceManager.loadFromAllStores("c", true, true));
+
+      store.gate.complete(null);
+      eventually(() -> persistenceManager.getPendingPassivations() == 0);
+      assertEquals("va", store.load("a").getValue());
+      assertEquals("wb", store.load("b").getValue());
+      assertNull(store.load("c"));
+      assertFalse(store.contains("c"));
+   }
+
+   public void testEvictingThreadWaitsOutsideContainer() throws Exception {
+      store.gate = new CompletableFuture<>();
+      Future<Void> puts = fork(() -> {
+         for (int i = 0; i < ENTRIES + SIZE + 1; i++) {
+            cache.put("k" + i, "v" + i);
+         }
+      });
+      PersistenceManagerImpl persistenceManager = persistenceManager();
+      eventually(() -> persistenceManager.getPendingPassivations() > ENTRIES);
+      // The last put waits for the stores once it has written its entry and evicted another one from the container
+      assertFalse(puts.isDone());
+      InternalDataContainer<Object, Object> container = TestingUtil.extractComponent(cache, InternalDataContainer.class);
+      assertEquals(SIZE, container.size());
+
+      store.gate.complete(null);
+      puts.get(10, TimeUnit.SECONDS);
+      eventually(() -> persistenceManager.getPendingPassivations() == 0);
+      assertEquals(ENTRIES + 1, store.size());
+   }
+
+   public void testSizeCountsPassivatedEntriesOnce() throws Exception {
+      PersistenceManagerImpl persistenceManager = persistenceManager();
+      store.write(entry("a", "va"));
+      store.gate = new CompletableFuture<>();
+      persistenceManager.passivateToAllNonTxStores(entry("a", "wa"), 0);
+      eventually(() -> store.batches.get() == 1);
+      persistenceManager.passivateToAllNonTxStores(entry("b", "vb"), 0);
+
+      // The size waits for the passivated entries to be written
+      Future<Integer> size = fork(() -> persistenceManager.size());
+      Thread.sleep(100);
+      assertFalse(size.isDone());
+      store.gate.complete(null);
+      assertEquals(2, size.get(10, TimeUnit.SECONDS).intValue());
+   }
+
+   public void testStopWritesPendingPassivations() {
+      store.gate = new CompletableFuture<>();
+      for (int i = 0; i < ENTRIES; i++) {
+         cache.put("k" + i, "v" + i);
+      }
+      assertEquals(0, store.written.get());
+      GatedStore store = this.store;
+      store.gate.complete(null);
+      cache.stop();
+      // The entries in memory are passivated on stop as well
+      assertEquals(ENTRIES, store.written.get());
+   }
+
+   private PersistenceManagerImpl persistenceManager() {
+      return (PersistenceManagerImpl) TestingUtil.extractComponent(cache, PersistenceManager.class);
+   }
+
+   private MarshalledEntry entry(Object key, Object value) {
+      return new MarshalledEntryImpl<>(key, value, null, TestingUtil.extractGlobalMarshaller(cacheManager));
+   }
+
+   public static class GatedStore extends DummyInMemoryStore {
+      final AtomicInteger batches = new AtomicInteger();
+      final AtomicInteger written = new AtomicInteger();
+      volatile CompletableFuture<Void> gate = CompletableFutures.completedNull();
+
+      @Override
+      public void writeBatch(Iterable entries) {
+         batches.incrementAndGet();
+         gate.join();
+         super.writeBatch(entries);
+         entries.forEach(entry -> written.incrementAndGet());
+      }
+   }
+
+   @BuiltBy(GatedStoreConfigurationBuilder.class)
+   @ConfigurationFor(GatedStore.class)
+   public static class GatedStoreConfiguration extends DummyInMemoryStoreConfiguration {
+      public GatedStoreConfiguration(AttributeSet attributes, AsyncStoreConfiguration async,
+                                     SingletonStoreConfiguration singletonStore) {
+         super(attributes, async, singletonStore);
+      }
+   }
+
+   public static class GatedStoreConfigurationBuilder extends DummyInMemoryStoreConfigurationBuilder {
+      public GatedStoreConfigurationBuilder(PersistenceConfigurationBuilder builder) {
+         super(builder);
+      }
+
+      @Override
+      public DummyInMemoryStoreConfiguration create() {
+         return new GatedStoreConfiguration(attributes.protect(), async.create(), singletonStore.create());
+      }
+   }
+}
@@ -0,0 +1,143 @@
+package org.infinispan.expiration.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.container.DataContainer;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.ControlledTimeService;
+import org.infinispan.util.TimeService;
+import org.testng.annotations.Factory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the reaper removes the expired entries when using the expiration index
+ * @since 9.4
+ */
+@Test(groups = "functional", testName = "expiration.impl.ExpirationIndexFunctionalTest")
+public class ExpirationIndexFunctionalTest extends SingleCacheManagerTest {
+
+   private static final int SIZE = 10;
+   private final ControlledTimeService timeService = new ControlledTimeService();
+   private StorageType storage;
+   private ExpirationManagerImpl<Object, Object> expirationManager;
+
+   @Factory
+   public Object[] factory() {
+      return new Object[]{
+            new ExpirationIndexFunctionalTest().withStorage(StorageType.BINARY),
+            new ExpirationIndexFunctionalTest().withStorage(StorageType.OBJECT),
+            new ExpirationIndexFunctionalTest().withStorage(StorageType.OFF_HEAP)
+      };
+   }
+
+   @Override
+   protected String parameters() {
+      return "[" + storage + "]";
+   }
+
+   private ExpirationIndexFunctionalTest withStorage(StorageType storage) {
+      this.storage = storage;
+      return this;
+   }
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      // The reaper is invoked manually
+      builder.expiration().wakeUpInterval(1, TimeUnit.DAYS).enableIndex()
+            .memory().storageType(storage);
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(builder);
+      TestingUtil.replaceComponent(cm, TimeService.class, timeService, true);
+      cache = cm.getCache();
+      expirationManager = (ExpirationManagerImpl<Object, Object>) TestingUtil.extractComponent(cache,
+            InternalExpirationManager.class);
+      return cm;
+   }
+
+   private DataContainer<Object, Object> dataContainer() {
+      return cache.getAdvancedCache().getDataContainer();
+   }
+
+   public void testOnlyExpirableEntriesAreIndexed() {
+      // Keys are not removed from the index when the cache is cleared between tests
+      int indexed = expirationManager.index.size();
+      for (int i = 0; i < SIZE; i++) {
+         cache.put("immortal-" + i, "value-" + i);
+         cache.put("mortal-" + i, "value-" + i, 10, TimeUnit.MILLISECONDS);
+      }
+      assertEquals(indexed + SIZE, expirationManager.index.size());
+
+      timeService.advance(11);
+      expirationManager.processExpiration();
+
+      assertEquals(SIZE, dataContainer().sizeIncludingExpired());
+      for (int i = 0; i < SIZE; i++) {
+         assertNotNull(cache.get("immortal-" + i));
+      }
+      assertEquals(0, expirationManager.index.size());
+   }
+
+   public void testEntriesAreNotRemovedBeforeExpiring() {
+      for (int i = 0; i < SIZE; i++) {
+         cache.put("key-" + i, "value-" + i, 1000 + i, TimeUnit.MILLISECONDS);
+      }
+
+      timeService.advance(1000 + SIZE / 2);
+      expirationManager.processExpiration();
+      assertEquals(SIZE / 2, dataContainer().sizeIncludingExpired());
+
+      timeService.advance(SIZE);
+      expirationManager.processExpiration();
+      assertEquals(0, dataContainer().sizeIncludingExpired());
+   }
+
+   public void testOverwrittenEntryIsNotRemoved() {
+      cache.put("key", "value", 10, TimeUnit.MILLISECONDS);
+      cache.put("key", "value2");
+
+      timeService.advance(11);
+      expirationManager.processExpiration();
+
+      assertEquals("value2", cache.get("key"));
+   }
+
+   public void testOverwrittenKeyIsIndexedOnce() {
+      int indexed = expirationManager.index.size();
+      for (int i = 0; i < 1000; i++) {
+         // Each write moves the key to a different bucket
+         cache.put("key", "value-" + i, 1 + i % 100, TimeUnit.SECONDS);
+      }
+      assertEquals(indexed + 1, expirationManager.index.size());
+
+      cache.put("key", "immortal");
+      assertEquals(indexed, expirationManager.index.size());
+
+      cache.put("key", "value", 10, TimeUnit.SECONDS);
+      assertEquals(indexed + 1, expirationManager.index.size());
+      cache.remove("key");
+      assertEquals(indexed, expirationManager.index.size());
+   }
+
+   public void testLifespanExtended() {
+      cache.put("key", "value", 10, TimeUnit.MILLISECONDS);
+      cache.put("key", "value2", 100, TimeUnit.MILLISECONDS);
+
+      timeService.advance(11);
+      expirationManager.processExpiration();
+      assertEquals(1, dataContainer().sizeIncludingExpired());
+
+      timeService.advance(90);
+      expirationManager.processExpiration();
+      assertEquals(0, dataContainer().sizeIncludingExpired());
+      assertNull(cache.get("key"));
+   }
+}
@@ -0,0 +1,46 @@
+package org.infinispan.functional.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+
+import java.util.Optional;
+
+import org.infinispan.container.entries.ReadCommittedEntry;
+import org.infinispan.container.versioning.NumericVersion;
+import org.infinispan.encoding.DataConversion;
+import org.infinispan.functional.EntryView.ReadEntryView;
+import org.infinispan.functional.EntryView.ReadWriteEntryView;
+import org.infinispan.functional.MetaParam.MetaEntryVersion;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.metadata.Metadata;
+import org.testng.annotations.Test;
+
+/**
+ * Unit test for the versions of the entry views.
+ */
+@Test(groups = "functional", testName = "functional.impl.EntryViewsTest")
+public class EntryViewsTest {
+
+   public void testVersionOfCacheEntryIsNotMetaParam() {
+      Metadata metadata = new EmbeddedMetadata.Builder().version(new NumericVersion(100)).build();
+      ReadWriteEntryView<String, String> view = EntryViews.readWrite(new ReadCommittedEntry("k", "v", metadata),
+            DataConversion.DEFAULT_KEY, DataConversion.DEFAULT_VALUE);
+
+      assertFalse(view.findMetaParam(MetaEntryVersion.class).isPresent());
+      assertEquals(Optional.of(new NumericVersion(100)), EntryViews.findVersion(view));
+   }
+
+   public void testFindVersionOfMetaParam() {
+      MetaParams params = MetaParams.of(new MetaEntryVersion(new NumericVersion(200)));
+      ReadEntryView<String, String> view = EntryViews.readOnly("k", "v", MetaParamsInternalMetadata.from(params));
+
+      assertEquals(Optional.of(new NumericVersion(200)), EntryViews.findVersion(view));
+   }
+
+   public void testFindVersionOfUnversionedEntry() {
+      ReadEntryView<String, String> view = EntryViews.readOnly("k", "v", new EmbeddedMetadata.Builder().build());
+
+      assertFalse(EntryViews.findVersion(view).isPresent());
+      assertFalse(EntryViews.findVersion(EntryViews.noValue("k")).isPresent());
+   }
+}
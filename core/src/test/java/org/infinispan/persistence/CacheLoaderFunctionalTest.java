@@ -34,6 +34,8 @@
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.marshall.core.MarshalledEntryImpl;
 import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.manager.PersistenceManagerImpl;
 import org.infinispan.persistence.spi.AdvancedCacheLoader;
 import org.infinispan.persistence.spi.AdvancedCacheWriter;
 import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
@@ -350,6 +352,32 @@ public void testPreloadingWithEviction() throws Exception {
       doPreloadingTestWithEviction(preloadingCfg.build(), "preloadingCache_4");
    }
 
+   public void testPreloadingKeepsTimestampsOfTheStore() throws Exception {
+      ConfigurationBuilder preloadingCfg = newPreloadConfiguration(cfg.build(), this.getClass().getName() + "preloadingCache_5");
+      preloadingCfg.transaction().transactionMode(TransactionMode.NON_TRANSACTIONAL);
+      cm.defineConfiguration("preloadingCache_5", preloadingCfg.build());
+      Cache<String, String> preloadingCache = getCache(cm, "preloadingCache_5");
+      for (int i = 0; i < 10; i++) {
+         preloadingCache.put("k" + i, "v" + i, lifespan, MILLISECONDS);
+      }
+      preloadingCache.stop();
+      TestingUtil.sleepThread(10);
+
+      preloadingCache.start();
+      PersistenceManagerImpl persistenceManager =
+            (PersistenceManagerImpl) TestingUtil.extractComponent(preloadingCache, PersistenceManager.class);
+      assertFalse(persistenceManager.isPreloading());
+      assertEquals(10, persistenceManager.getPreloadedEntries());
+      DataContainer c = preloadingCache.getAdvancedCache().getDataContainer();
+      assertEquals(10, c.size());
+      // The entries were not written again, so they expire at the same time as in the store
+      CacheLoader preloadingCacheLoader = TestingUtil.getCacheLoader(preloadingCache);
+      assertEquals(preloadingCacheLoader.load("k0").getMetadata().created(), c.get("k0").getCreated());
+      for (int i = 0; i < 10; i++) {
+         assertEquals("v" + i, preloadingCache.get("k" + i));
+      }
+   }
+
    ConfigurationBuilder newPreloadConfiguration(Configuration configuration, String storeName) {
       ConfigurationBuilder preloadingCfg = new ConfigurationBuilder();
       preloadingCfg.read(configuration);
@@ -0,0 +1,133 @@
+package org.infinispan.persistence;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.configuration.BuiltBy;
+import org.infinispan.commons.configuration.ConfigurationFor;
+import org.infinispan.commons.configuration.attributes.AttributeSet;
+import org.infinispan.configuration.cache.AsyncStoreConfiguration;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.PersistenceConfigurationBuilder;
+import org.infinispan.configuration.cache.SingletonStoreConfiguration;
+import org.infinispan.interceptors.impl.CacheLoaderInterceptor;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.marshall.core.MarshalledEntryImpl;
+import org.infinispan.persistence.dummy.DummyInMemoryStore;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfiguration;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.CleanupAfterMethod;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.concurrent.CompletableFutures;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that concurrent reads of a key that is not in memory share a single load of the store.
+ *
+ * @since 9.4
+ */
+@Test(groups = "functional", testName = "persistence.CoalescedStoreLoadTest")
+@CleanupAfterMethod
+public class CoalescedStoreLoadTest extends SingleCacheManagerTest {
+   private static final int READERS = 10;
+
+   private GatedStore store;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder cfg = getDefaultStandaloneCacheConfig(false);
+      cfg.jmxStatistics().enable();
+      cfg.persistence().addStore(GatedStoreConfigurationBuilder.class);
+      return TestCacheManagerFactory.createCacheManager(cfg);
+   }
+
+   @Override
+   protected void setup() throws Exception {
+      super.setup();
+      store = TestingUtil.getFirstLoader(cache);
+   }
+
+   public void testConcurrentReadsShareLoad() throws Exception {
+      store.write(new MarshalledEntryImpl<>("k1", "v1", null, TestingUtil.extractGlobalMarshaller(cacheManager)));
+
+      for (Object value : readConcurrently("k1")) {
+         assertEquals("v1", value);
+      }
+      assertEquals(1, store.stats().get("load").intValue());
+      assertEquals(1, interceptor().getCacheLoaderLoads());
+      assertEquals(READERS - 1, interceptor().getCacheLoaderCoalescedLoads());
+   }
+
+   public void testConcurrentMissesShareLoad() throws Exception {
+      for (Object value : readConcurrently("k1")) {
+         assertNull(value);
+      }
+      assertEquals(1, store.stats().get("load").intValue());
+      assertEquals(1, interceptor().getCacheLoaderMisses());
+      assertEquals(READERS - 1, interceptor().getCacheLoaderCoalescedLoads());
+
+      // Reads that start once the load completed load the store again
+      assertNull(cache.get("k1"));
+      assertEquals(2, store.stats().get("load").intValue());
+   }
+
+   private List<Object> readConcurrently(Object key) throws Exception {
+      store.clearStats();
+      store.gate = new CompletableFuture<>();
+      List<Future<Object>> reads = new ArrayList<>();
+      for (int i = 0; i < READERS; i++) {
+         reads.add(fork(() -> cache.get(key)));
+      }
+      eventually(() -> interceptor().getCacheLoaderCoalescedLoads() == READERS - 1);
+      store.gate.complete(null);
+
+      List<Object> values = new ArrayList<>();
+      for (Future<Object> read : reads) {
+         values.add(read.get(10, TimeUnit.SECONDS));
+      }
+      return values;
+   }
+
+   private CacheLoaderInterceptor interceptor() {
+      return cache.getAdvancedCache().getAsyncInterceptorChain().findInterceptorExtending(CacheLoaderInterceptor.class);
+   }
+
+   public static class GatedStore extends DummyInMemoryStore {
+      volatile CompletableFuture<Void> gate = CompletableFutures.completedNull();
+
+      @Override
+      public MarshalledEntry load(Object key) {
+         gate.join();
+         return super.load(key);
+      }
+   }
+
+   @BuiltBy(GatedStoreConfigurationBuilder.class)
+   @ConfigurationFor(GatedStore.class)
+   public static class GatedStoreConfiguration extends DummyInMemoryStoreConfiguration {
+      public GatedStoreConfiguration(AttributeSet attributes, AsyncStoreConfiguration async,
+                                     SingletonStoreConfiguration singletonStore) {
+         super(attributes, async, singletonStore);
+      }
+   }
+
+   public static class GatedStoreConfigurationBuilder extends DummyInMemoryStoreConfigurationBuilder {
+      public GatedStoreConfigurationBuilder(PersistenceConfigurationBuilder builder) {
+         super(builder);
+      }
+
+      @Override
+      public DummyInMemoryStoreConfiguration create() {
+         return new GatedStoreConfiguration(attributes.protect(), async.create(), singletonStore.create());
+      }
+   }
+}
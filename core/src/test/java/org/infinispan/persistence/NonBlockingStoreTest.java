@@ -0,0 +1,216 @@
+package org.infinispan.persistence;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.configuration.BuiltBy;
+import org.infinispan.commons.configuration.ConfigurationFor;
+import org.infinispan.commons.configuration.attributes.AttributeSet;
+import org.infinispan.configuration.cache.AsyncStoreConfiguration;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.PersistenceConfigurationBuilder;
+import org.infinispan.configuration.cache.SingletonStoreConfiguration;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.marshall.core.MarshalledEntryImpl;
+import org.infinispan.persistence.dummy.DummyInMemoryStore;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfiguration;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.spi.NonBlockingStore;
+import org.infinispan.persistence.support.BlockingStoreAdapter;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.CleanupAfterMethod;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.concurrent.CompletableFutures;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the operations of a cache with stores do not block the invoking thread while the stores perform their
+ * I/O, whether the stores are {@link NonBlockingStore}s or not.
+ *
+ * @since 9.4
+ */
+@Test(groups = "functional", testName = "persistence.NonBlockingStoreTest")
+@CleanupAfterMethod
+public class NonBlockingStoreTest extends SingleCacheManagerTest {
+   private static final String STORE_THREAD = "NonBlockingDummyStore";
+
+   private NonBlockingDummyStore store;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder cfg = getDefaultStandaloneCacheConfig(false);
+      cfg.persistence().addStore(NonBlockingDummyStoreConfigurationBuilder.class);
+      return TestCacheManagerFactory.createCacheManager(cfg);
+   }
+
+   @Override
+   protected void setup() throws Exception {
+      super.setup();
+      store = TestingUtil.getFirstLoader(cache);
+   }
+
+   public void testPersistenceManagerIsNonBlocking() {
+      assertTrue(TestingUtil.extractComponent(cache, PersistenceManager.class).isNonBlocking());
+   }
+
+   public void testLoadDoesNotBlockInvokingThread() throws Exception {
+      store.write(new MarshalledEntryImpl<>("k1", "v1", null, TestingUtil.extractGlobalMarshaller(cacheManager)));
+
+      store.gate = new CompletableFuture<>();
+      CompletableFuture<Object> get = cache.getAsync("k1");
+      assertFalse(get.isDone());
+
+      store.gate.complete(null);
+      assertEquals("v1", get.get(10, TimeUnit.SECONDS));
+      assertEquals(1, store.asyncLoads);
+      // The loaded entry is stored in memory
+      assertTrue(cache.getAdvancedCache().getDataContainer().containsKey("k1"));
+      assertEquals("v1", cache.get("k1"));
+      assertEquals(1, store.asyncLoads);
+   }
+
+   public void testMissIsNotStoredInMemory() {
+      assertNull(cache.get("k1"));
+      assertEquals(1, store.asyncLoads);
+      assertFalse(cache.getAdvancedCache().getDataContainer().containsKey("k1"));
+   }
+
+   public void testWriteDoesNotBlockInvokingThread() throws Exception {
+      store.gate = new CompletableFuture<>();
+      CompletableFuture<Object> put = cache.putAsync("k1", "v1");
+      assertFalse(put.isDone());
+
+      store.gate.complete(null);
+      assertNull(put.get(10, TimeUnit.SECONDS));
+      assertEquals(1, store.asyncWrites);
+      assertEquals("v1", store.load("k1").getValue());
+
+      store.gate = new CompletableFuture<>();
+      CompletableFuture<Object> remove = cache.removeAsync("k1");
+      assertFalse(remove.isDone());
+
+      store.gate.complete(null);
+      assertEquals("v1", remove.get(10, TimeUnit.SECONDS));
+      assertEquals(1, store.asyncDeletes);
+      assertNull(store.load("k1"));
+   }
+
+   public void testBlockingStoreIsInvokedByInvokingThreadByDefault() {
+      ConfigurationBuilder cfg = getDefaultStandaloneCacheConfig(false);
+      cfg.persistence().addStore(DummyInMemoryStoreConfigurationBuilder.class);
+      cacheManager.defineConfiguration("blocking", cfg.build());
+      Cache<Object, Object> blockingCache = cacheManager.getCache("blocking");
+      assertFalse(TestingUtil.extractComponent(blockingCache, PersistenceManager.class).isNonBlocking());
+   }
+
+   public void testBlockingStoreIsInvokedOnBlockingStoreThreads() throws Exception {
+      ConfigurationBuilder cfg = getDefaultStandaloneCacheConfig(false);
+      cfg.persistence().blockingStoreThreads(2)
+            .addStore(DummyInMemoryStoreConfigurationBuilder.class).slow(true);
+      cacheManager.defineConfiguration("blocking", cfg.build());
+      Cache<Object, Object> blockingCache = cacheManager.getCache("blocking");
+      assertTrue(TestingUtil.extractComponent(blockingCache, PersistenceManager.class).isNonBlocking());
+
+      // The slow write of the store is performed on the blocking store threads
+      CompletableFuture<Object> put = blockingCache.putAsync("k1", "v1");
+      assertFalse(put.isDone());
+      assertNull(put.get(10, TimeUnit.SECONDS));
+
+      DummyInMemoryStore blockingStore = TestingUtil.getFirstLoader(blockingCache);
+      assertEquals("v1", blockingStore.load("k1").getValue());
+      blockingCache.getAdvancedCache().getDataContainer().clear();
+      assertEquals("v1", blockingCache.get("k1"));
+   }
+
+   public void testRejectedOperationFails() {
+      NonBlockingStore<Object, Object> adapter = BlockingStoreAdapter.forLoader(new DummyInMemoryStore(), task -> {
+         throw new RejectedExecutionException();
+      }, Runnable::run);
+      CompletableFuture<MarshalledEntry<Object, Object>> load = adapter.loadAsync(0, "k1").toCompletableFuture();
+      assertTrue(load.isCompletedExceptionally());
+   }
+
+   public static class NonBlockingDummyStore extends DummyInMemoryStore implements NonBlockingStore<Object, Object> {
+      volatile CompletableFuture<Void> gate = CompletableFutures.completedNull();
+      volatile int asyncLoads;
+      volatile int asyncWrites;
+      volatile int asyncDeletes;
+      private ExecutorService executor;
+
+      @Override
+      public void start() {
+         super.start();
+         executor = Executors.newSingleThreadExecutor(r -> new Thread(r, STORE_THREAD));
+      }
+
+      @Override
+      public void stop() {
+         super.stop();
+         executor.shutdownNow();
+      }
+
+      @Override
+      public CompletionStage<MarshalledEntry<Object, Object>> loadAsync(int segment, Object key) {
+         return gate.thenApplyAsync(ignore -> {
+            assertStoreThread();
+            asyncLoads++;
+            return load(key);
+         }, executor);
+      }
+
+      @Override
+      public CompletionStage<Void> writeAsync(int segment, MarshalledEntry<?, ?> entry) {
+         return gate.thenRunAsync(() -> {
+            assertStoreThread();
+            asyncWrites++;
+            write(entry);
+         }, executor);
+      }
+
+      @Override
+      public CompletionStage<Boolean> deleteAsync(int segment, Object key) {
+         return gate.thenApplyAsync(ignore -> {
+            assertStoreThread();
+            asyncDeletes++;
+            return delete(key);
+         }, executor);
+      }
+
+      private static void assertStoreThread() {
+         assertEquals(STORE_THREAD, Thread.currentThread().getName());
+      }
+   }
+
+   @BuiltBy(NonBlockingDummyStoreConfigurationBuilder.class)
+   @ConfigurationFor(NonBlockingDummyStore.class)
+   public static class NonBlockingDummyStoreConfiguration extends DummyInMemoryStoreConfiguration {
+      public NonBlockingDummyStoreConfiguration(AttributeSet attributes, AsyncStoreConfiguration async,
+                                                SingletonStoreConfiguration singletonStore) {
+         super(attributes, async, singletonStore);
+      }
+   }
+
+   public static class NonBlockingDummyStoreConfigurationBuilder extends DummyInMemoryStoreConfigurationBuilder {
+      public NonBlockingDummyStoreConfigurationBuilder(PersistenceConfigurationBuilder builder) {
+         super(builder);
+      }
+
+      @Override
+      public DummyInMemoryStoreConfiguration create() {
+         return new NonBlockingDummyStoreConfiguration(attributes.protect(), async.create(), singletonStore.create());
+      }
+   }
+}
@@ -0,0 +1,104 @@
+package org.infinispan.persistence;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.dummy.DummyInMemoryStore;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.manager.PersistenceManagerImpl;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.CleanupAfterMethod;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the Bloom filter of a store prevents the loads of keys that are not in the store, and never prevents the
+ * loads of keys that are.
+ *
+ * @since 9.4
+ */
+@Test(groups = "functional", testName = "persistence.StoreBloomFilterTest")
+@CleanupAfterMethod
+public class StoreBloomFilterTest extends SingleCacheManagerTest {
+   private static final int SEGMENTS = 2;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder cfg = getDefaultStandaloneCacheConfig(false);
+      cfg.clustering().hash().numSegments(SEGMENTS);
+      cfg.persistence()
+            .addStore(DummyInMemoryStoreConfigurationBuilder.class)
+               .storeName(getClass().getName())
+               .bloomFilter(true);
+      return TestCacheManagerFactory.createCacheManager(cfg);
+   }
+
+   public void testMissesAreNotLoaded() {
+      awaitBloomFilter();
+      DummyInMemoryStore store = TestingUtil.getFirstLoader(cache);
+      store.clearStats();
+      for (int i = 0; i < 100; i++) {
+         assertNull(cache.get("missing" + i));
+      }
+      // A few false positives may still reach the store
+      int loads = store.stats().get("load");
+      assertTrue("Too many loads: " + loads, loads < 10);
+      assertEquals(loads / 100d, persistenceManager().getBloomFilterFalsePositiveRate(), 0.01);
+   }
+
+   public void testStoredKeysAreLoaded() {
+      for (int i = 0; i < 10; i++) {
+         cache.put("k" + i, "v" + i);
+      }
+      cache.stop();
+      cache.start();
+      awaitBloomFilter();
+
+      // Keys read from the store when the filter was built
+      for (int i = 0; i < 10; i++) {
+         assertEquals("v" + i, cache.get("k" + i));
+      }
+      // Keys written after the filter was built
+      for (int i = 10; i < 20; i++) {
+         cache.put("k" + i, "v" + i);
+         cache.evict("k" + i);
+         assertEquals("v" + i, cache.get("k" + i));
+      }
+   }
+
+   public void testFilterIsRebuiltWhenFull() {
+      awaitBloomFilter();
+      long memory = persistenceManager().getBloomFilterMemory();
+      // More keys than the minimum capacity of the filters
+      int keys = SEGMENTS * 1000;
+      for (int i = 0; i < keys; i++) {
+         cache.put("k" + i, "v" + i);
+      }
+      eventually(() -> persistenceManager().getBloomFilterMemory() > memory);
+
+      for (int i = 0; i < keys; i++) {
+         cache.evict("k" + i);
+         assertEquals("v" + i, cache.get("k" + i));
+      }
+      cache.clear();
+      for (int i = 0; i < keys; i++) {
+         assertNull(cache.get("k" + i));
+      }
+   }
+
+   private void awaitBloomFilter() {
+      eventually(() -> {
+         cache.get("missing");
+         return persistenceManager().getBloomFilterNegatives() > 0;
+      });
+   }
+
+   private PersistenceManagerImpl persistenceManager() {
+      return (PersistenceManagerImpl) TestingUtil.extractComponent(cache, PersistenceManager.class);
+   }
+}
@@ -58,6 +58,17 @@ public void testTxStoreInPassivatedCache() {
             .validate();
    }
 
+   @Test(expectedExceptions = CacheConfigurationException.class,
+         expectedExceptionsMessageRegExp = ".* A store with a bloom filter cannot be shared or transactional")
+   public void testBloomFilterOnSharedStore() {
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      builder.persistence()
+            .addStore(DummyInMemoryStoreConfigurationBuilder.class)
+            .shared(true)
+            .bloomFilter(true)
+            .validate();
+   }
+
    @Test(expectedExceptions = CacheConfigurationException.class,
          expectedExceptionsMessageRegExp = ".* Cannot enable 'fetchPersistentState' in invalidation caches!")
    public void testFetchPersistentStateInInvalidationMode() {
@@ -19,17 +19,18 @@
 import org.infinispan.configuration.global.GlobalConfigurationBuilder;
 import org.infinispan.manager.DefaultCacheManager;
 import org.infinispan.marshall.core.MarshalledEntry;
-import org.infinispan.persistence.async.AdvancedAsyncCacheWriter;
 import org.infinispan.persistence.dummy.DummyInMemoryStore;
 import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.persistence.manager.PersistenceManagerImpl;
 import org.infinispan.persistence.spi.StoreUnavailableException;
+import org.infinispan.persistence.support.DelegatingCacheWriter;
 import org.infinispan.test.AbstractInfinispanTest;
 import org.infinispan.test.Exceptions;
 import org.infinispan.test.TestingUtil;
 import org.infinispan.test.fwk.CleanupAfterMethod;
 import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Factory;
 import org.testng.annotations.Test;
 
 @CleanupAfterMethod
@@ -38,12 +39,32 @@ public class WriteBehindFaultToleranceTest extends AbstractInfinispanTest {
 
    private static final int AVAILABILITY_INTERVAL  = 10;
 
+   private int shards;
+
+   @Factory
+   public Object[] factory() {
+      return new Object[]{
+            new WriteBehindFaultToleranceTest().shards(0),
+            new WriteBehindFaultToleranceTest().shards(4),
+      };
+   }
+
+   WriteBehindFaultToleranceTest shards(int shards) {
+      this.shards = shards;
+      return this;
+   }
+
+   @Override
+   protected String parameters() {
+      return "[shards=" + shards + "]";
+   }
+
    private Cache<Object, Object> createManagerAndGetCache(boolean failSilently, int queueSize) {
       GlobalConfiguration globalConfiguration = new GlobalConfigurationBuilder().globalJmxStatistics().allowDuplicateDomains(true).build();
       ConfigurationBuilder cb = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
       Configuration config = cb.persistence().availabilityInterval(AVAILABILITY_INTERVAL)
             .addStore(DummyInMemoryStoreConfigurationBuilder.class)
-            .async().enable().modificationQueueSize(queueSize).failSilently(failSilently)
+            .async().enable().shards(shards).modificationQueueSize(queueSize).failSilently(failSilently)
             .build();
       return new DefaultCacheManager(globalConfiguration, config).getCache();
    }
@@ -53,8 +74,8 @@ public void testBlockingOnStoreAvailabilityChange() {
       Cache<Object, Object> cache = createManagerAndGetCache(false, 1);
       PollingPersistenceManager pm = new PollingPersistenceManager();
       TestingUtil.replaceComponent(cache, PersistenceManager.class, pm, true);
-      AdvancedAsyncCacheWriter asyncWriter = TestingUtil.getFirstWriter(cache);
-      DummyInMemoryStore store = (DummyInMemoryStore) TestingUtil.extractField(AdvancedAsyncCacheWriter.class, asyncWriter, "actual");
+      DelegatingCacheWriter asyncWriter = TestingUtil.getFirstWriter(cache);
+      DummyInMemoryStore store = (DummyInMemoryStore) TestingUtil.extractField(DelegatingCacheWriter.class, asyncWriter, "actual");
       store.setAvailable(true);
       cache.put(1, 1);
       eventually(() -> store.load(1) != null);
@@ -98,8 +119,8 @@ private Map<Integer, Integer> intMap(int start, int end) {
    @Test
    public void testWritesFailSilentlyWhenConfigured() {
       Cache<Object, Object> cache = createManagerAndGetCache(true, 1);
-      AdvancedAsyncCacheWriter asyncWriter = TestingUtil.getFirstWriter(cache);
-      DummyInMemoryStore store = (DummyInMemoryStore) TestingUtil.extractField(AdvancedAsyncCacheWriter.class, asyncWriter, "actual");
+      DelegatingCacheWriter asyncWriter = TestingUtil.getFirstWriter(cache);
+      DummyInMemoryStore store = (DummyInMemoryStore) TestingUtil.extractField(DelegatingCacheWriter.class, asyncWriter, "actual");
       assertTrue(store.isAvailable());
       cache.put(1, 1);
       eventually(() -> store.load(1) != null);
@@ -0,0 +1,120 @@
+package org.infinispan.persistence.file;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.SingleFileStoreConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Factory;
+import org.testng.annotations.Test;
+
+import io.reactivex.Flowable;
+
+/**
+ * Low level single-file cache store tests with the index kept off-heap.
+ *
+ * @since 9.4
+ */
+@Test(groups = "unit", testName = "persistence.file.OffHeapIndexSingleFileStoreTest")
+public class OffHeapIndexSingleFileStoreTest extends SingleFileStoreTest {
+
+   // All these keys have the same hash code
+   private static final String[] COLLIDING_KEYS = {"Aa", "BB", "AaAa", "AaBB", "BBAa", "BBBB"};
+
+   @Factory
+   @Override
+   public Object[] factory() {
+      return new Object[]{
+            new OffHeapIndexSingleFileStoreTest().withStorageType(StorageType.OFF_HEAP),
+            new OffHeapIndexSingleFileStoreTest().withStorageType(StorageType.OBJECT),
+      };
+   }
+
+   @Override
+   protected AdvancedLoadWriteStore createStore() throws Exception {
+      clearTempDir();
+      SingleFileStore store = new SingleFileStore();
+      ConfigurationBuilder configurationBuilder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      configurationBuilder
+            .persistence()
+               .addStore(SingleFileStoreConfigurationBuilder.class)
+                  .location(this.tmpDirectory)
+                  .offHeapIndex(true)
+            .memory()
+               .storageType(storage);
+      store.init(createContext(configurationBuilder.build()));
+      return store;
+   }
+
+   public void testCollidingKeys() {
+      for (String key : COLLIDING_KEYS) {
+         cl.write(marshalledEntry(key, "v-" + key, null));
+      }
+      assertEquals(COLLIDING_KEYS.length, cl.size());
+      assertTrue(cl.delete("AaAa"));
+      cl.write(marshalledEntry("BB", "v2-BB", null));
+
+      // The index is rebuilt from the file on restart
+      cl.stop();
+      cl.start();
+
+      assertEquals(COLLIDING_KEYS.length - 1, cl.size());
+      assertNull(cl.load("AaAa"));
+      assertEquals("v2-BB", unwrap(cl.load("BB").getValue()));
+      for (String key : COLLIDING_KEYS) {
+         if (!key.equals("AaAa") && !key.equals("BB")) {
+            assertEquals("v-" + key, unwrap(cl.load(key).getValue()));
+         }
+      }
+      Set<Object> keys = TestingUtil.allEntries(cl).stream().map(MarshalledEntry::getKey).collect(Collectors.toSet());
+      assertEquals(COLLIDING_KEYS.length - 1, keys.size());
+   }
+
+   public void testIndexGrows() {
+      int count = 5000;
+      for (int i = 0; i < count; i++) {
+         cl.write(marshalledEntry("key-" + i, "value-" + i, null));
+      }
+      for (int i = 0; i < count; i += 2) {
+         assertTrue(cl.delete("key-" + i));
+      }
+      assertEquals(count / 2, cl.size());
+      for (int i = 0; i < count; i++) {
+         if (i % 2 == 0) {
+            assertNull(cl.load("key-" + i));
+         } else {
+            assertEquals("value-" + i, unwrap(cl.load("key-" + i).getValue()));
+         }
+      }
+   }
+
+   public void testIterationWhileIndexGrows() {
+      int count = 2000;
+      for (int i = 0; i < count; i++) {
+         cl.write(marshalledEntry("key-" + i, "value-" + i, null));
+      }
+      Map<Object, Integer> seen = new HashMap<>();
+      Iterator<Object> keys = Flowable.fromPublisher(cl.publishKeys(null)).blockingIterable(1).iterator();
+      seen.merge(keys.next(), 1, Integer::sum);
+      // The table is resized several times between the ranges of the iteration
+      for (int i = count; i < 10 * count; i++) {
+         cl.write(marshalledEntry("key-" + i, "value-" + i, null));
+      }
+      keys.forEachRemaining(key -> seen.merge(key, 1, Integer::sum));
+      for (int i = 0; i < count; i++) {
+         assertEquals(Integer.valueOf(1), seen.get("key-" + i));
+      }
+   }
+}
@@ -0,0 +1,253 @@
+package org.infinispan.persistence.support;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.commons.CacheException;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.marshall.TestObjectStreamMarshaller;
+import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.marshall.core.MarshalledEntryImpl;
+import org.infinispan.persistence.async.AdvancedAsyncCacheLoader;
+import org.infinispan.persistence.async.AdvancedShardedAsyncCacheWriter;
+import org.infinispan.persistence.async.WriteBehindStatistics;
+import org.infinispan.persistence.dummy.DummyInMemoryStore;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.persistence.spi.InitializationContext;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.test.fwk.TestResourceTracker;
+import org.infinispan.util.PersistenceMockUtil;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import io.reactivex.Flowable;
+
+/**
+ * Tests the coalescing and the back-pressure of the {@link AdvancedShardedAsyncCacheWriter}.
+ *
+ * @since 9.4
+ */
+@Test(groups = "unit", testName = "persistence.support.ShardedAsyncStoreTest")
+public class ShardedAsyncStoreTest extends AbstractInfinispanTest {
+   private static final int SHARDS = 8;
+
+   private GatedStore underlying;
+   private AdvancedShardedAsyncCacheWriter writer;
+   private AdvancedAsyncCacheLoader loader;
+   private WriteBehindStatistics statistics;
+   private TestObjectStreamMarshaller marshaller;
+
+   /**
+    * Blocks the flushes of the writer while the gate is closed.
+    */
+   static class GatedStore extends DummyInMemoryStore {
+      final AtomicInteger writes = new AtomicInteger();
+      volatile CountDownLatch gate = new CountDownLatch(0);
+      final CountDownLatch writing = new CountDownLatch(1);
+
+      @Override
+      public void write(MarshalledEntry entry) {
+         writing.countDown();
+         try {
+            assertTrue(gate.await(10, TimeUnit.SECONDS));
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CacheException(e);
+         }
+         writes.incrementAndGet();
+         super.write(entry);
+      }
+   }
+
+   private void createStore(int threadPoolSize, int modificationQueueSize) {
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      builder.persistence()
+            .addStore(DummyInMemoryStoreConfigurationBuilder.class)
+               .storeName(ShardedAsyncStoreTest.class.getName())
+               .async()
+                  .enable()
+                  .shards(SHARDS)
+                  .threadPoolSize(threadPoolSize)
+                  .modificationQueueSize(modificationQueueSize);
+      InitializationContext ctx = PersistenceMockUtil.createContext(getClass().getSimpleName(), builder.build(), marshaller);
+      underlying = new GatedStore();
+      underlying.init(ctx);
+      underlying.start();
+      // The data of the dummy store is shared by all the stores with the same name
+      underlying.clear();
+      writer = new AdvancedShardedAsyncCacheWriter(underlying);
+      writer.init(ctx);
+      writer.start();
+      loader = new AdvancedAsyncCacheLoader(underlying, writer);
+      loader.init(ctx);
+      loader.start();
+      statistics = ctx.getCache().getAdvancedCache().getComponentRegistry().getComponent(WriteBehindStatistics.class);
+   }
+
+   @BeforeMethod
+   public void createMarshaller() {
+      marshaller = new TestObjectStreamMarshaller();
+   }
+
+   @AfterMethod(alwaysRun = true)
+   public void tearDown() {
+      if (underlying != null) underlying.gate.countDown();
+      if (writer != null) writer.stop();
+      if (loader != null) loader.stop();
+      marshaller.stop();
+   }
+
+   public void testConcurrentWritesAreFlushed() throws Exception {
+      TestResourceTracker.testThreadStarted(this);
+      createStore(4, 100);
+
+      int threads = 4;
+      int keys = 100;
+      CyclicBarrier barrier = new CyclicBarrier(threads);
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+         int thread = t;
+         futures.add(fork(() -> {
+            barrier.await(10, TimeUnit.SECONDS);
+            for (int round = 0; round < 10; round++) {
+               for (int i = 0; i < keys; i++) {
+                  writer.write(entry("k" + i, "v" + thread + "-" + round));
+               }
+            }
+            return null;
+         }));
+      }
+      for (Future<Void> future : futures) {
+         future.get(30, TimeUnit.SECONDS);
+      }
+      // Every thread writes the same values in its last round
+      for (int i = 0; i < keys; i++) {
+         writer.write(entry("k" + i, "final-" + i));
+      }
+
+      eventuallyEquals(0L, statistics::getQueueDepth);
+      for (int i = 0; i < keys; i++) {
+         assertEquals("final-" + i, underlying.load("k" + i).getValue());
+         assertEquals("final-" + i, loader.load("k" + i).getValue());
+      }
+      assertEquals(keys, underlying.size());
+      assertTrue(statistics.getFlushedModifications() >= keys);
+   }
+
+   public void testPendingWritesAreCoalesced() throws Exception {
+      TestResourceTracker.testThreadStarted(this);
+      createStore(1, 100);
+
+      underlying.gate = new CountDownLatch(1);
+      writer.write(entry("k1", "v1"));
+      // The first flush blocks the only thread of the pool, the next modifications stay pending
+      assertTrue(underlying.writing.await(10, TimeUnit.SECONDS));
+      writer.write(entry("k1", "v2"));
+      writer.write(entry("k1", "v3"));
+      writer.write(entry("k2", "v1"));
+      writer.delete("k2");
+      assertEquals(2, statistics.getCoalescedWrites());
+      assertEquals(3, statistics.getQueueDepth());
+
+      assertEquals("v3", loader.load("k1").getValue());
+      assertNull(loader.load("k2"));
+      assertFalse(loader.contains("k2"));
+      Set<Object> keys = new HashSet<>();
+      Flowable.fromPublisher(loader.publishKeys(null)).blockingForEach(keys::add);
+      assertEquals(1, keys.size());
+      assertTrue(keys.contains("k1"));
+
+      underlying.gate.countDown();
+      eventuallyEquals(0L, statistics::getQueueDepth);
+      assertEquals("v3", underlying.load("k1").getValue());
+      assertNull(underlying.load("k2"));
+      // The intermediate value of k1 was never written
+      assertEquals(2, underlying.writes.get());
+   }
+
+   public void testClearDiscardsPendingWrites() throws Exception {
+      TestResourceTracker.testThreadStarted(this);
+      createStore(1, 100);
+
+      underlying.gate = new CountDownLatch(1);
+      writer.write(entry("k1", "v1"));
+      assertTrue(underlying.writing.await(10, TimeUnit.SECONDS));
+      writer.write(entry("k2", "v2"));
+
+      // The clear waits for the flush in progress
+      Future<Void> clear = fork(writer::clear);
+      expectTimeout(clear);
+      underlying.gate.countDown();
+      clear.get(10, TimeUnit.SECONDS);
+
+      assertEquals(0, underlying.size());
+      assertNull(loader.load("k1"));
+      assertNull(loader.load("k2"));
+      assertEquals(0, statistics.getQueueDepth());
+   }
+
+   public void testWritesBlockWhenTheBufferIsFull() throws Exception {
+      TestResourceTracker.testThreadStarted(this);
+      createStore(1, 5);
+
+      underlying.gate = new CountDownLatch(1);
+      Future<Void> writes = fork(() -> {
+         for (int i = 0; i < 20; i++) {
+            writer.write(entry("k" + i, "v" + i));
+         }
+      });
+      expectTimeout(writes);
+      assertTrue(statistics.getQueueDepth() <= 5);
+
+      underlying.gate.countDown();
+      writes.get(10, TimeUnit.SECONDS);
+      eventuallyEquals(0L, statistics::getQueueDepth);
+      assertEquals(20, underlying.size());
+   }
+
+   public void testStopFlushesPendingWrites() {
+      TestResourceTracker.testThreadStarted(this);
+      createStore(1, 100);
+
+      for (int i = 0; i < 50; i++) {
+         writer.write(entry("k" + i, "v" + i));
+      }
+      writer.stop();
+      assertEquals(50, underlying.size());
+      try {
+         writer.write(entry("k", "v"));
+         fail("Writes should be rejected once the writer is stopped");
+      } catch (CacheException e) {
+         // Expected
+      }
+   }
+
+   private static void expectTimeout(Future<Void> future) throws Exception {
+      try {
+         future.get(500, TimeUnit.MILLISECONDS);
+         fail("Expected the operation to block");
+      } catch (TimeoutException e) {
+         // Expected
+      }
+   }
+
+   private MarshalledEntry entry(Object key, Object value) {
+      return new MarshalledEntryImpl(key, value, null, marshaller);
+   }
+}
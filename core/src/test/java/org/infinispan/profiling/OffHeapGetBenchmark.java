@@ -0,0 +1,108 @@
+package org.infinispan.profiling;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.container.DataContainer;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.metadata.Metadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Measures the latency of reads from the off-heap data container depending on how many entries it holds and how many
+ * addresses it was configured with. An address count much smaller than the amount of entries used to degrade lookups
+ * into linear scans of the bucket chains, this should now be close to the presized numbers thanks to the address table
+ * growing with the container.
+ *
+ * @since 9.4
+ */
+@Test(groups = "profiling", testName = "profiling.OffHeapGetBenchmark")
+public class OffHeapGetBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 5;
+
+   public void performOffHeapGetTest() throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(this.getClass().getName() + ".*")
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .threads(4)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @State(Scope.Benchmark)
+   public static class BenchmarkState {
+
+      @Param({"1000", "100000", "1000000"})
+      public int entryCount;
+
+      /**
+       * A small initial address count versus one presized for the largest entry count
+       */
+      @Param({"1024", "1048576"})
+      public int addressCount;
+
+      private EmbeddedCacheManager cacheManager;
+      private DataContainer<Object, Object> container;
+      private WrappedBytes[] keys;
+
+      @Setup
+      public void setup() {
+         ConfigurationBuilder builder = new ConfigurationBuilder();
+         builder.memory().storageType(StorageType.OFF_HEAP).addressCount(addressCount);
+         cacheManager = new DefaultCacheManager(new GlobalConfigurationBuilder().build(), builder.build());
+         container = cacheManager.getCache().getAdvancedCache().getDataContainer();
+
+         Metadata metadata = new EmbeddedMetadata.Builder().build();
+         ThreadLocalRandom random = ThreadLocalRandom.current();
+         keys = new WrappedBytes[entryCount];
+         for (int i = 0; i < entryCount; ++i) {
+            byte[] keyBytes = new byte[16];
+            byte[] valueBytes = new byte[64];
+            random.nextBytes(keyBytes);
+            random.nextBytes(valueBytes);
+            keys[i] = new WrappedByteArray(keyBytes);
+            container.put(keys[i], new WrappedByteArray(valueBytes), metadata);
+         }
+      }
+
+      @TearDown
+      public void tearDown() {
+         cacheManager.stop();
+      }
+
+      WrappedBytes randomKey() {
+         return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+      }
+   }
+
+   @Benchmark
+   public Object get(BenchmarkState state) {
+      return state.container.get(state.randomKey());
+   }
+}
@@ -167,6 +167,16 @@ public void handleInStoreExpiration(MarshalledEntry marshalledEntry) {
 
                  }
 
+                 @Override
+                 public void registerExpiration(Object key, long expiryTime) {
+
+                 }
+
+                 @Override
+                 public void unregisterExpiration(Object key) {
+
+                 }
+
                  @Override
                  public CompletableFuture<Long> retrieveLastAccess(Object key, Object value, int segment) {
                     return null;
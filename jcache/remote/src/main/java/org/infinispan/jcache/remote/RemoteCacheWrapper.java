@@ -7,6 +7,7 @@
 import java.util.function.BiFunction;
 
 import org.infinispan.client.hotrod.CacheTopologyInfo;
+import org.infinispan.client.hotrod.ClientStatistics;
 import org.infinispan.client.hotrod.DataFormat;
 import org.infinispan.client.hotrod.Flag;
 import org.infinispan.client.hotrod.MetadataValue;
@@ -81,6 +82,40 @@ public Map<K, V> getAll(Set<? extends K> keys) {
       return delegate.getAll(keys);
    }
 
+   @Override
+   public void removeAll(Set<? extends K> keys) {
+      delegate.removeAll(keys);
+   }
+
+   @Override
+   public CompletableFuture<Void> removeAllAsync(Set<? extends K> keys) {
+      return delegate.removeAllAsync(keys);
+   }
+
+   @Override
+   public Set<K> replaceAllWithVersion(Map<? extends K, ? extends V> map, Map<? extends K, Long> versions) {
+      return delegate.replaceAllWithVersion(map, versions);
+   }
+
+   @Override
+   public Set<K> replaceAllWithVersion(Map<? extends K, ? extends V> map, Map<? extends K, Long> versions,
+         long lifespan, TimeUnit lifespanTimeUnit, long maxIdle, TimeUnit maxIdleTimeUnit) {
+      return delegate.replaceAllWithVersion(map, versions, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit);
+   }
+
+   @Override
+   public CompletableFuture<Set<K>> replaceAllWithVersionAsync(Map<? extends K, ? extends V> map,
+         Map<? extends K, Long> versions) {
+      return delegate.replaceAllWithVersionAsync(map, versions);
+   }
+
+   @Override
+   public CompletableFuture<Set<K>> replaceAllWithVersionAsync(Map<? extends K, ? extends V> map,
+         Map<? extends K, Long> versions, long lifespan, TimeUnit lifespanTimeUnit, long maxIdle,
+         TimeUnit maxIdleTimeUnit) {
+      return delegate.replaceAllWithVersionAsync(map, versions, lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit);
+   }
+
    @Override
    public CompletableFuture<V> getAsync(K key) {
       return delegate.getAsync(key);
@@ -406,6 +441,11 @@ public void start() {
       delegate.start();
    }
 
+   @Override
+   public ClientStatistics clientStatistics() {
+      return delegate.clientStatistics();
+   }
+
    @Override
    public ServerStatistics stats() {
       return delegate.stats();
@@ -14,6 +14,9 @@ public enum Attribute {
    UNKNOWN(null),
 
    BATCH_SIZE("batch-size"),
+   BULK_READ_PARALLELISM("bulk-read-parallelism"),
+   COALESCE_WRITES("coalesce-writes"),
+   COALESCE_WRITES_MAX_DELAY("coalesce-writes-max-delay"),
    CONNECTION_URL("connection-url"),
    CREATE_ON_START("create-on-start"),
    DIALECT("dialect"),
@@ -68,6 +68,15 @@ private void parseStringKeyedJdbcStore(final XMLExtendedStreamReader reader,
             case KEY_TO_STRING_MAPPER:
                builder.key2StringMapper(value);
                break;
+            case BULK_READ_PARALLELISM:
+               builder.bulkReadParallelism(Integer.parseInt(value));
+               break;
+            case COALESCE_WRITES:
+               builder.coalesceWrites(Boolean.parseBoolean(value));
+               break;
+            case COALESCE_WRITES_MAX_DELAY:
+               builder.coalesceWritesMaxDelay(Long.parseLong(value));
+               break;
             case DIALECT:
                builder.dialect(DatabaseType.valueOf(value));
                break;
@@ -16,12 +16,19 @@
 @SerializedWith(JdbcStringBasedStoreConfigurationSerializer.class)
 public class JdbcStringBasedStoreConfiguration extends AbstractJdbcStoreConfiguration {
    static final AttributeDefinition<String> KEY2STRING_MAPPER = AttributeDefinition.builder("key2StringMapper" , DefaultTwoWayKey2StringMapper.class.getName()).immutable().xmlName("key-to-string-mapper").build();
+   static final AttributeDefinition<Integer> BULK_READ_PARALLELISM = AttributeDefinition.builder("bulkReadParallelism", 1).immutable().build();
+   static final AttributeDefinition<Boolean> COALESCE_WRITES = AttributeDefinition.builder("coalesceWrites", false).immutable().build();
+   static final AttributeDefinition<Long> COALESCE_WRITES_MAX_DELAY = AttributeDefinition.builder("coalesceWritesMaxDelay", 0L).immutable().build();
 
    public static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(JdbcStringBasedStoreConfiguration.class, AbstractJdbcStoreConfiguration.attributeDefinitionSet(), KEY2STRING_MAPPER);
+      return new AttributeSet(JdbcStringBasedStoreConfiguration.class, AbstractJdbcStoreConfiguration.attributeDefinitionSet(), KEY2STRING_MAPPER, BULK_READ_PARALLELISM,
+            COALESCE_WRITES, COALESCE_WRITES_MAX_DELAY);
    }
 
    private final Attribute<String> key2StringMapper;
+   private final Attribute<Integer> bulkReadParallelism;
+   private final Attribute<Boolean> coalesceWrites;
+   private final Attribute<Long> coalesceWritesMaxDelay;
    private final TableManipulationConfiguration table;
 
    public JdbcStringBasedStoreConfiguration(AttributeSet attributes, AsyncStoreConfiguration async, SingletonStoreConfiguration singletonStore,
@@ -29,12 +36,27 @@ public JdbcStringBasedStoreConfiguration(AttributeSet attributes, AsyncStoreConf
       super(attributes, async, singletonStore, connectionFactory);
       this.table = table;
       key2StringMapper = attributes.attribute(KEY2STRING_MAPPER);
+      bulkReadParallelism = attributes.attribute(BULK_READ_PARALLELISM);
+      coalesceWrites = attributes.attribute(COALESCE_WRITES);
+      coalesceWritesMaxDelay = attributes.attribute(COALESCE_WRITES_MAX_DELAY);
    }
 
    public String key2StringMapper() {
       return key2StringMapper.get();
    }
 
+   public int bulkReadParallelism() {
+      return bulkReadParallelism.get();
+   }
+
+   public boolean coalesceWrites() {
+      return coalesceWrites.get();
+   }
+
+   public long coalesceWritesMaxDelay() {
+      return coalesceWritesMaxDelay.get();
+   }
+
    public TableManipulationConfiguration table() {
       return table;
    }
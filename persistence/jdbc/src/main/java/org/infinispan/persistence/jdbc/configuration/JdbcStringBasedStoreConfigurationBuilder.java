@@ -1,5 +1,8 @@
 package org.infinispan.persistence.jdbc.configuration;
 
+import static org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfiguration.BULK_READ_PARALLELISM;
+import static org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfiguration.COALESCE_WRITES;
+import static org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfiguration.COALESCE_WRITES_MAX_DELAY;
 import static org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfiguration.KEY2STRING_MAPPER;
 import static org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfiguration.PROPERTIES;
 
@@ -7,9 +10,11 @@
 import java.util.Properties;
 
 import org.infinispan.commons.configuration.Builder;
+import org.infinispan.commons.logging.LogFactory;
 import org.infinispan.commons.util.TypedProperties;
 import org.infinispan.configuration.cache.PersistenceConfigurationBuilder;
 import org.infinispan.configuration.parsing.XmlConfigHelper;
+import org.infinispan.persistence.jdbc.logging.Log;
 import org.infinispan.persistence.keymappers.DefaultTwoWayKey2StringMapper;
 import org.infinispan.persistence.keymappers.Key2StringMapper;
 
@@ -21,6 +26,7 @@
  * @since 5.2
  */
 public class JdbcStringBasedStoreConfigurationBuilder extends AbstractJdbcStoreConfigurationBuilder<JdbcStringBasedStoreConfiguration, JdbcStringBasedStoreConfigurationBuilder> {
+   private static final Log log = LogFactory.getLog(JdbcStringBasedStoreConfigurationBuilder.class, Log.class);
    private StringTableManipulationConfigurationBuilder table;
 
    public JdbcStringBasedStoreConfigurationBuilder(PersistenceConfigurationBuilder builder) {
@@ -51,6 +57,36 @@ public JdbcStringBasedStoreConfigurationBuilder key2StringMapper(Class<? extends
       return this;
    }
 
+   /**
+    * The number of connections used in parallel by the bulk reads of a segmented store, e.g. preload, iteration
+    * and state transfer. Each connection reads a different range of segments. Defaults to 1, which reads all the
+    * segments through a single connection. The connection pool should provide at least as many connections.
+    */
+   public JdbcStringBasedStoreConfigurationBuilder bulkReadParallelism(int bulkReadParallelism) {
+      attributes.attribute(BULK_READ_PARALLELISM).set(bulkReadParallelism);
+      return this;
+   }
+
+   /**
+    * Groups the writes of concurrent threads into JDBC batches of at most {@link #maxBatchSize(int)} upserts, instead
+    * of executing each write with its own round trip. The writes of a key are never reordered and each thread still
+    * waits until its write has been executed. Ignored when the database dialect does not support upserts.
+    * Defaults to false.
+    */
+   public JdbcStringBasedStoreConfigurationBuilder coalesceWrites(boolean coalesceWrites) {
+      attributes.attribute(COALESCE_WRITES).set(coalesceWrites);
+      return this;
+   }
+
+   /**
+    * The maximum time in milliseconds that coalesced writes wait for a batch to fill up before it is executed.
+    * Defaults to 0, which only groups the writes issued while the previous batch was being executed.
+    */
+   public JdbcStringBasedStoreConfigurationBuilder coalesceWritesMaxDelay(long coalesceWritesMaxDelay) {
+      attributes.attribute(COALESCE_WRITES_MAX_DELAY).set(coalesceWritesMaxDelay);
+      return this;
+   }
+
    /**
     * Allows configuration of table-specific parameters such as column names and types
     */
@@ -67,6 +103,19 @@ public JdbcStringBasedStoreConfigurationBuilder withProperties(Properties props)
       return this;
    }
 
+   @Override
+   public void validate() {
+      super.validate();
+      int bulkReadParallelism = attributes.attribute(BULK_READ_PARALLELISM).get();
+      if (bulkReadParallelism <= 0) {
+         throw log.invalidBulkReadParallelism(bulkReadParallelism);
+      }
+      long coalesceWritesMaxDelay = attributes.attribute(COALESCE_WRITES_MAX_DELAY).get();
+      if (coalesceWritesMaxDelay < 0) {
+         throw log.invalidCoalesceWritesMaxDelay(coalesceWritesMaxDelay);
+      }
+   }
+
    @Override
    public JdbcStringBasedStoreConfiguration create() {
       return new JdbcStringBasedStoreConfiguration(attributes.protect(), async.create(), singletonStore.create(), connectionFactory != null ? connectionFactory.create() : null,
@@ -171,4 +171,10 @@ public interface Log extends BasicLogger {
 
    @Message(value = "Error whilst removing keys in batch from the database. Keys: %s", id = 8038)
    PersistenceException sqlFailureDeletingBatch(Iterable<Object> keys, @Cause Exception e);
+
+   @Message(value = "The bulk read parallelism (%d) must be greater than 0", id = 8039)
+   CacheConfigurationException invalidBulkReadParallelism(int parallelism);
+
+   @Message(value = "The maximum delay of coalesced writes (%d) must not be negative", id = 8040)
+   CacheConfigurationException invalidCoalesceWritesMaxDelay(long maxDelay);
 }
@@ -9,10 +9,16 @@
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.PrimitiveIterator;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -25,9 +31,11 @@
 import org.infinispan.commons.persistence.Store;
 import org.infinispan.commons.util.AbstractIterator;
 import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.factories.threads.DefaultThreadFactory;
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.marshall.core.MarshalledEntryFactory;
 import org.infinispan.persistence.jdbc.JdbcUtil;
@@ -51,6 +59,8 @@
 import org.reactivestreams.Publisher;
 
 import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
 
 /**
  * {@link org.infinispan.persistence.spi.AdvancedCacheLoader} implementation that stores the entries in a database.
@@ -98,6 +108,10 @@
    private TableManager tableManager;
    private TimeService timeService;
    private KeyPartitioner keyPartitioner;
+   private int numSegments;
+   private ExecutorService bulkReadExecutor;
+   private Scheduler scheduler;
+   private WriteCoalescer<MarshalledEntry<? extends K, ? extends V>> writeCoalescer;
    private boolean isDistributedCache;
 
    @Override
@@ -109,11 +123,25 @@ public void init(InitializationContext ctx) {
       this.marshaller = ctx.getMarshaller();
       this.timeService = ctx.getTimeService();
       this.keyPartitioner = configuration.segmented() ? ctx.getKeyPartitioner() : null;
+      if (keyPartitioner != null && configuration.bulkReadParallelism() > 1) {
+         this.numSegments = ctx.getCache().getCacheConfiguration().clustering().hash().numSegments();
+      }
       this.isDistributedCache = ctx.getCache().getCacheConfiguration() != null && ctx.getCache().getCacheConfiguration().clustering().cacheMode().isDistributed();
    }
 
    @Override
    public void start() {
+      if (keyPartitioner != null && configuration.bulkReadParallelism() > 1) {
+         // One thread per connection read in parallel, the persistence executor may have a single thread
+         int parallelism = configuration.bulkReadParallelism();
+         DefaultThreadFactory threadFactory = new DefaultThreadFactory(null, Thread.NORM_PRIORITY,
+               DefaultThreadFactory.DEFAULT_PATTERN, globalConfiguration.transport().nodeName(), "JdbcBulkRead");
+         ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS,
+               new LinkedBlockingQueue<>(), threadFactory);
+         executor.allowCoreThreadTimeOut(true);
+         bulkReadExecutor = executor;
+         scheduler = Schedulers.from(executor);
+      }
       if (configuration.manageConnectionFactory()) {
          ConnectionFactory factory = ConnectionFactory.getConnectionFactory(configuration.connectionFactory().connectionFactoryClass());
          factory.start(configuration.connectionFactory(), factory.getClass().getClassLoader());
@@ -142,6 +170,11 @@ public void start() {
 
    @Override
    public void stop() {
+      if (bulkReadExecutor != null) {
+         bulkReadExecutor.shutdownNow();
+         bulkReadExecutor = null;
+         scheduler = null;
+      }
       Throwable cause = null;
       try {
          tableManager.stop();
@@ -191,6 +224,10 @@ void initializeConnectionFactory(ConnectionFactory connectionFactory) throws Per
       tableManager = getTableManager();
       tableManager.setCacheName(cacheName);
       tableManager.start();
+      if (configuration.coalesceWrites() && tableManager.isUpsertSupported()) {
+         writeCoalescer = new WriteCoalescer<>(configuration.maxBatchSize(), configuration.coalesceWritesMaxDelay(),
+               TimeUnit.MILLISECONDS, this::writeBatch);
+      }
    }
 
    public ConnectionFactory getConnectionFactory() {
@@ -206,6 +243,10 @@ private int getSegment(MarshalledEntry entry) {
 
    @Override
    public void write(MarshalledEntry entry) {
+      if (writeCoalescer != null) {
+         writeCoalescer.write(entry);
+         return;
+      }
       Connection connection = null;
       String keyStr = key2Str(entry.getKey());
       try {
@@ -505,6 +546,40 @@ public boolean contains(Object key) {
    }
 
    private <P> Flowable<P> publish(IntSet segments, Function<ResultSet, Flowable<P>> function) {
+      if (scheduler == null) {
+         return publishSegments(segments, function);
+      }
+      List<IntSet> ranges = splitSegments(segments != null ? segments : IntSets.immutableRangeSet(numSegments),
+            configuration.bulkReadParallelism());
+      if (ranges.size() <= 1) {
+         return publishSegments(segments, function);
+      }
+      // Each range is read with its own connection, which is opened and read on a bulk read thread, so the queries
+      // and the following fetches of the ranges run concurrently. More rows are only read from a result set when
+      // the subscriber requests more entries.
+      return Flowable.fromIterable(ranges)
+            .flatMap(range -> publishSegments(range, function).subscribeOn(scheduler), ranges.size());
+   }
+
+   /**
+    * Splits the segments in at most {@code parallelism} ranges of consecutive segments of about the same size.
+    */
+   private List<IntSet> splitSegments(IntSet segments, int parallelism) {
+      int size = segments.size();
+      int rangeSize = (size + parallelism - 1) / parallelism;
+      List<IntSet> ranges = new ArrayList<>(Math.min(size, parallelism));
+      IntSet range = null;
+      for (PrimitiveIterator.OfInt segIter = segments.iterator(); segIter.hasNext(); ) {
+         if (range == null || range.size() == rangeSize) {
+            range = IntSets.mutableEmptySet(numSegments);
+            ranges.add(range);
+         }
+         range.set(segIter.nextInt());
+      }
+      return ranges;
+   }
+
+   private <P> Flowable<P> publishSegments(IntSet segments, Function<ResultSet, Flowable<P>> function) {
       return Flowable.using(() -> {
          Connection connection = connectionFactory.getConnection();
          String sql;
@@ -0,0 +1,158 @@
+package org.infinispan.persistence.jdbc.stringbased;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.infinispan.persistence.spi.PersistenceException;
+
+/**
+ * Groups the writes of concurrent threads into batches, so that they are executed with a single round trip.
+ * <p>
+ * Each thread adds its write to a queue and blocks until the write has been executed. The first waiting thread becomes
+ * the leader, which waits up to the maximum delay for the queue to hold a full batch, and then executes the oldest
+ * writes of the queue on behalf of all the threads. The other threads wait for it to complete, and one of them
+ * becomes the next leader if its write was not part of the batch.
+ * <p>
+ * Only one batch is executed at a time and the writes are executed in the order they were added, so the writes of a
+ * key are never reordered.
+ *
+ * @param <T> the type of the writes
+ * @since 9.4
+ */
+class WriteCoalescer<T> {
+   private final int maxBatchSize;
+   private final long maxDelayNanos;
+   private final Consumer<List<T>> executor;
+   private final ReentrantLock lock = new ReentrantLock();
+   private final Condition batchFull = lock.newCondition();
+   private final Condition batchDone = lock.newCondition();
+   private final ArrayDeque<PendingWrite<T>> queue = new ArrayDeque<>();
+   private boolean executing;
+
+   /**
+    * @param maxBatchSize the maximum number of writes executed in a single batch
+    * @param maxDelay the maximum time the leader waits for more writes before executing a partial batch
+    * @param unit the unit of {@code maxDelay}
+    * @param executor executes a batch of writes, an exception fails all the writes of the batch
+    */
+   WriteCoalescer(int maxBatchSize, long maxDelay, TimeUnit unit, Consumer<List<T>> executor) {
+      this.maxBatchSize = maxBatchSize;
+      this.maxDelayNanos = unit.toNanos(maxDelay);
+      this.executor = executor;
+   }
+
+   /**
+    * Executes the write as part of a batch and returns once the batch was executed.
+    *
+    * @throws RuntimeException the exception thrown by the executor for the batch of the write, wrapped in a
+    *       {@link PersistenceException} if it is not a {@link RuntimeException}
+    */
+   void write(T write) {
+      PendingWrite<T> pending = new PendingWrite<>(write);
+      boolean interrupted = false;
+      lock.lock();
+      try {
+         queue.add(pending);
+         if (queue.size() >= maxBatchSize) {
+            batchFull.signal();
+         }
+         while (!pending.done) {
+            if (executing) {
+               batchDone.awaitUninterruptibly();
+               continue;
+            }
+            executing = true;
+            interrupted |= awaitBatch();
+            List<PendingWrite<T>> batch = drain();
+            lock.unlock();
+            RuntimeException failure = null;
+            try {
+               execute(batch);
+            } catch (RuntimeException e) {
+               failure = e;
+            } catch (Throwable t) {
+               failure = new PersistenceException(t);
+            } finally {
+               lock.lock();
+            }
+            for (PendingWrite<T> p : batch) {
+               p.failure = failure;
+               p.done = true;
+            }
+            executing = false;
+            batchDone.signalAll();
+         }
+      } finally {
+         lock.unlock();
+         if (interrupted) {
+            Thread.currentThread().interrupt();
+         }
+      }
+      if (pending.failure != null) {
+         throw pending.failure;
+      }
+   }
+
+   /**
+    * Waits until the queue holds a full batch or the maximum delay elapsed.
+    *
+    * @return whether the thread was interrupted while waiting
+    */
+   private boolean awaitBatch() {
+      long remaining = maxDelayNanos;
+      while (remaining > 0 && queue.size() < maxBatchSize) {
+         try {
+            remaining = batchFull.awaitNanos(remaining);
+         } catch (InterruptedException e) {
+            // Execute the batch right away, the caller still has to wait for its own write
+            return true;
+         }
+      }
+      return false;
+   }
+
+   /**
+    * @return the number of writes waiting for a batch
+    */
+   int pendingWrites() {
+      lock.lock();
+      try {
+         return queue.size();
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   private List<PendingWrite<T>> drain() {
+      int size = Math.min(queue.size(), maxBatchSize);
+      List<PendingWrite<T>> batch = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+         batch.add(queue.poll());
+      }
+      return batch;
+   }
+
+   private void execute(List<PendingWrite<T>> batch) {
+      List<T> writes = new ArrayList<>(batch.size());
+      for (PendingWrite<T> pending : batch) {
+         writes.add(pending.write);
+      }
+      executor.accept(writes);
+   }
+
+   private static final class PendingWrite<T> {
+      private final T write;
+      // Guarded by the lock
+      private boolean done;
+      private RuntimeException failure;
+
+      private PendingWrite(T write) {
+         this.write = write;
+      }
+   }
+}
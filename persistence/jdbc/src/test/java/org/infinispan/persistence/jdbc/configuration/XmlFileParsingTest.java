@@ -31,7 +31,7 @@ public void testStringKeyedJdbcStore() throws Exception {
             "   <cache-container default-cache=\"default\">\n" +
             "      <local-cache name=\"default\">\n" +
             "     <persistence>\n" +
-            "       <string-keyed-jdbc-store xmlns=\"urn:infinispan:config:store:jdbc:"+ Version.getSchemaVersion() + "\" key-to-string-mapper=\"DummyKey2StringMapper\" shared=\"true\" " +
+            "       <string-keyed-jdbc-store xmlns=\"urn:infinispan:config:store:jdbc:"+ Version.getSchemaVersion() + "\" key-to-string-mapper=\"DummyKey2StringMapper\" bulk-read-parallelism=\"4\" coalesce-writes=\"true\" coalesce-writes-max-delay=\"2\" shared=\"true\" " +
             "                                preload=\"true\" read-only=\"true\" fetch-state=\"true\" purge=\"true\" singleton=\"false\" dialect=\"H2\">\n" +
             "         <connection-pool connection-url=\"jdbc:h2:mem:infinispan;DB_CLOSE_DELAY=-1\" username=\"dbuser\" password=\"dbpass\" driver=\"org.h2.Driver\"/>\n" +
             "         <string-keyed-table prefix=\"entry\" fetch-size=\"34\" batch-size=\"128\" >\n" +
@@ -56,6 +56,9 @@ public void testStringKeyedJdbcStore() throws Exception {
       assertEquals("version", store.table().timestampColumnName());
       assertTrue(store.async().enabled());
       assertEquals("DummyKey2StringMapper", store.key2StringMapper());
+      assertEquals(4, store.bulkReadParallelism());
+      assertTrue(store.coalesceWrites());
+      assertEquals(2, store.coalesceWritesMaxDelay());
       assertTrue(store.shared());
       assertTrue(store.preload());
       assertEquals(DatabaseType.H2, store.dialect());
@@ -0,0 +1,96 @@
+package org.infinispan.persistence.jdbc.stringbased;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.sql.Connection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.persistence.SegmentedStoreTest;
+import org.infinispan.persistence.jdbc.configuration.ConnectionFactoryConfiguration;
+import org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfigurationBuilder;
+import org.infinispan.persistence.jdbc.connectionfactory.ConnectionFactory;
+import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.UnitTestDatabaseManager;
+import org.testng.annotations.Test;
+
+import io.reactivex.Flowable;
+
+/**
+ * Test to ensure that JDBC string based store works properly when segmented and reading the segments in parallel
+ * @since 9.4
+ */
+@Test(groups = "functional", testName = "persistence.jdbc.stringbased.JdbcStringBasedSegmentedParallelReadStoreTest")
+public class JdbcStringBasedSegmentedParallelReadStoreTest extends SegmentedStoreTest {
+   private static final int PARALLELISM = 4;
+
+   @Override
+   protected void configurePersistence(ConfigurationBuilder cb) {
+      JdbcStringBasedStoreConfigurationBuilder storeBuilder =
+            cb.persistence().addStore(JdbcStringBasedStoreConfigurationBuilder.class);
+      UnitTestDatabaseManager.configureUniqueConnectionFactory(storeBuilder);
+      UnitTestDatabaseManager.buildTableManipulation(storeBuilder.table());
+      storeBuilder.segmented(true).bulkReadParallelism(PARALLELISM);
+   }
+
+   public void testRangesAreReadWithConcurrentConnections() {
+      JdbcStringBasedStore<Object, Object> jdbcStore = (JdbcStringBasedStore<Object, Object>) store;
+      ConnectionFactory connectionFactory = jdbcStore.getConnectionFactory();
+      ConcurrentConnectionFactory concurrentFactory = new ConcurrentConnectionFactory(connectionFactory);
+      TestingUtil.replaceField(concurrentFactory, "connectionFactory", jdbcStore, JdbcStringBasedStore.class);
+      try {
+         Flowable.fromPublisher(store.publishKeys(null, null)).count().blockingGet();
+      } finally {
+         TestingUtil.replaceField(connectionFactory, "connectionFactory", jdbcStore, JdbcStringBasedStore.class);
+      }
+      // Every range got its connection while the connections of the other ranges were still open
+      assertEquals(PARALLELISM, concurrentFactory.maxOpen.get());
+   }
+
+   /**
+    * Waits until every range has a connection before returning any of them, or until a timeout if the ranges
+    * are not read concurrently.
+    */
+   private static class ConcurrentConnectionFactory extends ConnectionFactory {
+      private final ConnectionFactory delegate;
+      private final CountDownLatch allOpen = new CountDownLatch(PARALLELISM);
+      private final AtomicInteger open = new AtomicInteger();
+      private final AtomicInteger maxOpen = new AtomicInteger();
+
+      ConcurrentConnectionFactory(ConnectionFactory delegate) {
+         this.delegate = delegate;
+      }
+
+      @Override
+      public void start(ConnectionFactoryConfiguration factoryConfiguration, ClassLoader classLoader) {
+         delegate.start(factoryConfiguration, classLoader);
+      }
+
+      @Override
+      public void stop() {
+         delegate.stop();
+      }
+
+      @Override
+      public Connection getConnection() throws PersistenceException {
+         Connection connection = delegate.getConnection();
+         maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+         allOpen.countDown();
+         try {
+            allOpen.await(5, TimeUnit.SECONDS);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+         }
+         return connection;
+      }
+
+      @Override
+      public void releaseConnection(Connection conn) {
+         open.decrementAndGet();
+         delegate.releaseConnection(conn);
+      }
+   }
+}
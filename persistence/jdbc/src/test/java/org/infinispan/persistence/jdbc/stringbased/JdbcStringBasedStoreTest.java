@@ -25,23 +25,30 @@
 public class JdbcStringBasedStoreTest extends BaseStoreTest {
 
    boolean segmented;
+   boolean coalesceWrites;
 
    public JdbcStringBasedStoreTest segmented(boolean segmented) {
       this.segmented = segmented;
       return this;
    }
 
+   public JdbcStringBasedStoreTest coalesceWrites(boolean coalesceWrites) {
+      this.coalesceWrites = coalesceWrites;
+      return this;
+   }
+
    @Factory
    public Object[] factory() {
       return new Object[] {
             new JdbcStringBasedStoreTest().segmented(false),
             new JdbcStringBasedStoreTest().segmented(true),
+            new JdbcStringBasedStoreTest().segmented(false).coalesceWrites(true),
       };
    }
 
    @Override
    protected String parameters() {
-      return "[" + segmented + "]";
+      return "[" + segmented + ", " + coalesceWrites + "]";
    }
 
    @Override
@@ -51,6 +58,7 @@ protected AdvancedLoadWriteStore createStore() throws Exception {
             .persistence()
                .addStore(JdbcStringBasedStoreConfigurationBuilder.class);
       storeBuilder.segmented(segmented);
+      storeBuilder.coalesceWrites(coalesceWrites);
       UnitTestDatabaseManager.configureUniqueConnectionFactory(storeBuilder);
       UnitTestDatabaseManager.buildTableManipulation(storeBuilder.table());
       JdbcStringBasedStore stringBasedCacheStore = new JdbcStringBasedStore();
@@ -0,0 +1,115 @@
+package org.infinispan.persistence.jdbc.stringbased;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the grouping of concurrent writes by {@link WriteCoalescer}.
+ *
+ * @since 9.4
+ */
+@Test(groups = "unit", testName = "persistence.jdbc.stringbased.WriteCoalescerTest")
+public class WriteCoalescerTest extends AbstractInfinispanTest {
+
+   private static final int THREADS = 8;
+   private static final int WRITES = 500;
+   private static final int MAX_BATCH_SIZE = 16;
+
+   public void testConcurrentWritesAreBatchedInOrder() throws Exception {
+      List<List<String>> batches = new ArrayList<>();
+      WriteCoalescer<String> coalescer = new WriteCoalescer<>(MAX_BATCH_SIZE, 1, TimeUnit.MILLISECONDS, batch -> {
+         synchronized (batches) {
+            batches.add(batch);
+         }
+      });
+      CyclicBarrier barrier = new CyclicBarrier(THREADS);
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+         int thread = t;
+         futures.add(fork(() -> {
+            barrier.await(10, TimeUnit.SECONDS);
+            for (int i = 0; i < WRITES; i++) {
+               coalescer.write(thread + "-" + i);
+            }
+         }));
+      }
+      for (Future<Void> future : futures) {
+         future.get(30, TimeUnit.SECONDS);
+      }
+
+      int[] next = new int[THREADS];
+      int largestBatch = 0;
+      for (List<String> batch : batches) {
+         assertTrue(batch.size() <= MAX_BATCH_SIZE);
+         largestBatch = Math.max(largestBatch, batch.size());
+         for (String write : batch) {
+            String[] parts = write.split("-");
+            int thread = Integer.parseInt(parts[0]);
+            // The writes of every thread are executed once and in order
+            assertEquals(next[thread]++, Integer.parseInt(parts[1]));
+         }
+      }
+      for (int t = 0; t < THREADS; t++) {
+         assertEquals(WRITES, next[t]);
+      }
+      assertTrue("Writes were never batched", largestBatch > 1);
+   }
+
+   public void testFailureIsThrownToAllWritersOfTheBatch() throws Exception {
+      CountDownLatch executing = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      PersistenceException failure = new PersistenceException("Expected");
+      WriteCoalescer<String> coalescer = new WriteCoalescer<>(MAX_BATCH_SIZE, 0, TimeUnit.MILLISECONDS, batch -> {
+         if (batch.contains("first")) {
+            executing.countDown();
+            await(release);
+            return;
+         }
+         throw failure;
+      });
+      Future<Void> first = fork(() -> coalescer.write("first"));
+      await(executing);
+      // Both writes are queued while the first batch is executing, so they are executed in the same batch
+      Future<Void> second = fork(() -> coalescer.write("second"));
+      Future<Void> third = fork(() -> coalescer.write("third"));
+      eventuallyEquals(2, coalescer::pendingWrites);
+      release.countDown();
+      first.get(10, TimeUnit.SECONDS);
+      assertFailure(failure, second);
+      assertFailure(failure, third);
+
+      // The coalescer keeps working after a failure
+      coalescer.write("first");
+   }
+
+   private static void await(CountDownLatch latch) {
+      try {
+         assertTrue(latch.await(10, TimeUnit.SECONDS));
+      } catch (InterruptedException e) {
+         throw new AssertionError(e);
+      }
+   }
+
+   private static void assertFailure(PersistenceException expected, Future<Void> future) throws Exception {
+      try {
+         future.get(10, TimeUnit.SECONDS);
+         fail("Expected the write to fail");
+      } catch (ExecutionException e) {
+         assertSame(expected, e.getCause());
+      }
+   }
+}
@@ -0,0 +1,112 @@
+package org.infinispan.persistence.rocksdb;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.ReflectionException;
+
+import org.rocksdb.HistogramData;
+import org.rocksdb.HistogramType;
+import org.rocksdb.Statistics;
+import org.rocksdb.TickerType;
+
+/**
+ * Exposes the tickers and histograms of the statistics of a RocksDB database as the read-only attributes of an MBean.
+ * <p>
+ * Each ticker is exposed as an attribute with the name of the ticker, and each histogram as the attributes with the
+ * name of the histogram followed by {@code _P50}, {@code _P95}, {@code _P99}, {@code _AVERAGE} and {@code _STDDEV}.
+ *
+ * @since 9.4
+ */
+final class RocksDBStatistics implements DynamicMBean {
+   private final Map<String, Function<Statistics, Object>> attributes = new HashMap<>();
+   private final List<MBeanAttributeInfo> attributeInfos = new ArrayList<>();
+   private final MBeanInfo info;
+   private volatile Statistics statistics;
+
+   RocksDBStatistics() {
+      for (TickerType ticker : TickerType.values()) {
+         if (!ticker.name().endsWith("ENUM_MAX")) {
+            addAttribute(ticker.name(), long.class, s -> s.getTickerCount(ticker));
+         }
+      }
+      for (HistogramType histogram : HistogramType.values()) {
+         if (!histogram.name().endsWith("ENUM_MAX")) {
+            addHistogram(histogram, "_P50", HistogramData::getMedian);
+            addHistogram(histogram, "_P95", HistogramData::getPercentile95);
+            addHistogram(histogram, "_P99", HistogramData::getPercentile99);
+            addHistogram(histogram, "_AVERAGE", HistogramData::getAverage);
+            addHistogram(histogram, "_STDDEV", HistogramData::getStandardDeviation);
+         }
+      }
+      info = new MBeanInfo(RocksDBStatistics.class.getName(), "RocksDB statistics",
+            attributeInfos.toArray(new MBeanAttributeInfo[0]), null, null, null);
+   }
+
+   /**
+    * Must be invoked whenever the database is opened.
+    */
+   void setStatistics(Statistics statistics) {
+      this.statistics = statistics;
+   }
+
+   @Override
+   public Object getAttribute(String attribute) throws AttributeNotFoundException {
+      Function<Statistics, Object> getter = attributes.get(attribute);
+      if (getter == null)
+         throw new AttributeNotFoundException(attribute);
+      Statistics current = statistics;
+      return current == null ? null : getter.apply(current);
+   }
+
+   @Override
+   public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+      throw new AttributeNotFoundException("Read-only attribute " + attribute.getName());
+   }
+
+   @Override
+   public AttributeList getAttributes(String[] names) {
+      AttributeList list = new AttributeList(names.length);
+      for (String name : names) {
+         try {
+            list.add(new Attribute(name, getAttribute(name)));
+         } catch (AttributeNotFoundException e) {
+            // Unknown attributes are omitted
+         }
+      }
+      return list;
+   }
+
+   @Override
+   public AttributeList setAttributes(AttributeList attributes) {
+      return new AttributeList();
+   }
+
+   @Override
+   public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+      throw new ReflectionException(new NoSuchMethodException(actionName));
+   }
+
+   @Override
+   public MBeanInfo getMBeanInfo() {
+      return info;
+   }
+
+   private void addHistogram(HistogramType histogram, String suffix, Function<HistogramData, Object> getter) {
+      addAttribute(histogram.name() + suffix, double.class, s -> getter.apply(s.getHistogramData(histogram)));
+   }
+
+   private void addAttribute(String name, Class<?> type, Function<Statistics, Object> getter) {
+      attributes.put(name, getter);
+      attributeInfos.add(new MBeanAttributeInfo(name, type.getName(), "RocksDB statistic " + name, true, false, false));
+   }
+}
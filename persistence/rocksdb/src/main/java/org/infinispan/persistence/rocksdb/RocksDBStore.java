@@ -2,20 +2,25 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.PrimitiveIterator;
 import java.util.Properties;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
 import org.infinispan.AdvancedCache;
 import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.CacheException;
@@ -26,7 +31,9 @@
 import org.infinispan.commons.util.IntSets;
 import org.infinispan.commons.util.Util;
 import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.jmx.JmxUtil;
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.metadata.InternalMetadata;
 import org.infinispan.persistence.internal.PersistenceUtil;
@@ -38,17 +45,21 @@
 import org.infinispan.util.TimeService;
 import org.infinispan.util.logging.LogFactory;
 import org.reactivestreams.Publisher;
-import org.rocksdb.BuiltinComparator;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompactionStyle;
 import org.rocksdb.CompressionType;
 import org.rocksdb.DBOptions;
-import org.rocksdb.Options;
+import org.rocksdb.LRUCache;
+import org.rocksdb.RateLimiter;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Statistics;
 import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 
@@ -62,20 +73,36 @@
     private static final Log log = LogFactory.getLog(RocksDBStore.class, Log.class);
     static final String databasePropertyNameWithSuffix = "database.";
     static final String columnFamilyPropertyNameWithSuffix = "data.";
+    // Values are prefixed with the expiration time of the entry, so expired entries are found without unmarshalling
+    private static final int EXPIRY_BYTES = Long.BYTES;
+    // The capacity of the block cache of RocksDB when it is not configured
+    private static final long DEFAULT_BLOCK_CACHE_SIZE = 8 * 1024 * 1024;
 
     private RocksDBStoreConfiguration configuration;
-    private BlockingQueue<ExpiryEntry> expiryEntryQueue;
     private RocksDB db;
-    private RocksDB expiredDb;
     private InitializationContext ctx;
     private Scheduler scheduler;
     private TimeService timeService;
     private Semaphore semaphore;
+    // Shared by the writes, and held exclusively by purge while it checks that the entries are still expired and
+    // removes them, so that an entry written concurrently is never removed
+    private final ReadWriteLock purgeLock = new ReentrantReadWriteLock();
+    // The earliest expiration time of the entries written since the last purge and of the unexpired entries seen by
+    // the last purge, so purge only scans the store once an entry may have expired. 0 when unknown.
+    private final AtomicLong nextExpiry = new AtomicLong();
     private WriteOptions dataWriteOptions;
     private RocksDBHandler handler;
     private Properties databaseProperties;
     private Properties columnFamilyProperties;
     private volatile boolean stopped = true;
+    private SharedBlockCaches sharedBlockCaches;
+    private LRUCache blockCache;
+    private BloomFilter bloomFilter;
+    private RateLimiter rateLimiter;
+    private Statistics rocksStatistics;
+    private RocksDBStatistics statistics;
+    private MBeanServer mBeanServer;
+    private ObjectName statisticsObjectName;
 
     @Override
     public void init(InitializationContext ctx) {
@@ -88,8 +115,6 @@ public void init(InitializationContext ctx) {
 
     @Override
     public void start() {
-        expiryEntryQueue = new LinkedBlockingQueue<>(configuration.expiryQueueSize());
-
         AdvancedCache cache = ctx.getCache().getAdvancedCache();
         ComponentRegistry registry = cache.getComponentRegistry();
         KeyPartitioner keyPartitioner = registry.getComponent(KeyPartitioner.class);
@@ -117,13 +142,57 @@ public void start() {
             }
         }
 
+        if (configuration.sharedBlockCache()) {
+            sharedBlockCaches = registry.getGlobalComponentRegistry().getComponent(SharedBlockCaches.class);
+            blockCache = sharedBlockCaches.acquire(blockCacheCapacity());
+        } else if (configuration.cacheSize() > 0) {
+            blockCache = new LRUCache(blockCacheCapacity());
+        }
+        if (configuration.bloomBitsPerKey() > 0) {
+            bloomFilter = new BloomFilter(configuration.bloomBitsPerKey(), false);
+        }
+        if (configuration.rateLimit() > 0) {
+            rateLimiter = new RateLimiter(configuration.rateLimit());
+        }
+        if (configuration.statistics()) {
+            rocksStatistics = new Statistics();
+            statistics = new RocksDBStatistics();
+            statistics.setStatistics(rocksStatistics);
+        }
+
         try {
-            db = handler.open(getQualifiedLocation(), dataDbOptions());
-            expiredDb = openDatabase(getQualifiedExpiredLocation(), expiredDbOptions());
+            db = openDatabase();
+            // The entries already in the store may expire at any time
+            nextExpiry.set(0);
             stopped = false;
         } catch (Exception e) {
             throw new CacheConfigurationException("Unable to open database", e);
         }
+        if (statistics != null) {
+            registerStatistics();
+        }
+    }
+
+    private long blockCacheCapacity() {
+        return configuration.cacheSize() > 0 ? configuration.cacheSize() : DEFAULT_BLOCK_CACHE_SIZE;
+    }
+
+    private RocksDB openDatabase() throws RocksDBException {
+        return handler.open(getQualifiedLocation(), dataDbOptions());
+    }
+
+    private void registerStatistics() {
+        GlobalConfiguration globalCfg = ctx.getCache().getCacheManager().getCacheManagerConfiguration();
+        mBeanServer = JmxUtil.lookupMBeanServer(globalCfg);
+        String groupName = "type=RocksDBStore,manager=" + ObjectName.quote(globalCfg.globalJmxStatistics().cacheManagerName())
+              + ",cache=" + ObjectName.quote(ctx.getCache().getName());
+        String jmxDomain = JmxUtil.buildJmxDomain(globalCfg, mBeanServer, groupName);
+        try {
+            statisticsObjectName = new ObjectName(jmxDomain + ":" + groupName + ",component=Statistics");
+            JmxUtil.registerMBean(statistics, statisticsObjectName, mBeanServer);
+        } catch (Exception e) {
+            throw new CacheException("Unable to register RocksDB statistics mbean", e);
+        }
     }
 
     private String sanitizedCacheName() {
@@ -154,28 +223,19 @@ private DBOptions dataDbOptions() {
         } else {
             dbOptions = new DBOptions();
         }
-        return dbOptions
+        dbOptions
               .setCreateIfMissing(true)
               // We have to create missing column families on open.
               // Otherwise when we start we won't know what column families this database had if any - thus
               // we must specify all of them and later remove them.
               .setCreateMissingColumnFamilies(true);
-    }
-
-    private Options expiredDbOptions() {
-        return new Options()
-              .setCreateIfMissing(true)
-              // Make sure keys are sorted by bytes - we use this sorting to remove entries that have expired most recently
-              .setComparator(BuiltinComparator.BYTEWISE_COMPARATOR);
-    }
-
-    /**
-     * Creates database if it doesn't exist.
-     */
-    protected RocksDB openDatabase(String location, Options options) throws IOException, RocksDBException {
-        File dir = new File(location);
-        dir.mkdirs();
-        return RocksDB.open(options, location);
+        if (rateLimiter != null) {
+            dbOptions.setRateLimiter(rateLimiter);
+        }
+        if (rocksStatistics != null) {
+            dbOptions.setStatistics(rocksStatistics);
+        }
+        return dbOptions;
     }
 
     @Override
@@ -187,25 +247,60 @@ public void stop() {
         }
         try {
             handler.close();
-            expiredDb.close();
+            closeTuningResources();
         } finally {
             stopped = true;
             semaphore.release(Integer.MAX_VALUE);
         }
     }
 
+    private void closeTuningResources() {
+        if (statisticsObjectName != null) {
+            try {
+                JmxUtil.unregisterMBean(statisticsObjectName, mBeanServer);
+            } catch (Exception e) {
+                log.debug("Unable to unregister RocksDB statistics mbean", e);
+            } finally {
+                statisticsObjectName = null;
+                statistics = null;
+            }
+        }
+        if (rocksStatistics != null) {
+            rocksStatistics.close();
+            rocksStatistics = null;
+        }
+        if (blockCache != null) {
+            if (sharedBlockCaches != null) {
+                sharedBlockCaches.release(blockCacheCapacity());
+                sharedBlockCaches = null;
+            } else {
+                blockCache.close();
+            }
+            blockCache = null;
+        }
+        if (bloomFilter != null) {
+            bloomFilter.close();
+            bloomFilter = null;
+        }
+        if (rateLimiter != null) {
+            rateLimiter.close();
+            rateLimiter = null;
+        }
+    }
+
     @Override
     public void destroy() {
         stop();
 
         Util.recursiveFileRemove(new File(getQualifiedLocation()));
 
+        // Expiration database of the stores created by previous versions
         Util.recursiveFileRemove(new File(getQualifiedExpiredLocation()));
     }
 
     @Override
     public boolean isAvailable() {
-        return new File(getQualifiedLocation()).exists() && new File(getQualifiedExpiredLocation()).exists();
+        return new File(getQualifiedLocation()).exists();
     }
 
     @Override
@@ -299,7 +394,6 @@ public void deleteBatch(Iterable<Object> keys) {
         handler.deleteBatch(keys);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void purge(Executor executor, PurgeListener purgeListener) {
         try {
@@ -311,81 +405,25 @@ public void purge(Executor executor, PurgeListener purgeListener) {
             if (stopped) {
                 throw new PersistenceException("RocksDB is stopped");
             }
-            // Drain queue and update expiry tree
-            List<ExpiryEntry> entries = new ArrayList<>();
-            expiryEntryQueue.drainTo(entries);
-            for (ExpiryEntry entry : entries) {
-                final byte[] expiryBytes = marshall(entry.expiry);
-                final byte[] keyBytes = marshall(entry.key);
-                final byte[] existingBytes = expiredDb.get(expiryBytes);
-
-                if (existingBytes != null) {
-                    // in the case of collision make the key a List ...
-                    final Object existing = unmarshall(existingBytes);
-                    if (existing instanceof List) {
-                        ((List<Object>) existing).add(entry.key);
-                        expiredDb.put(expiryBytes, marshall(existing));
-                    } else {
-                        List<Object> al = new ArrayList<>(2);
-                        al.add(existing);
-                        al.add(entry.key);
-                        expiredDb.put(expiryBytes, marshall(al));
-                    }
-                } else {
-                    expiredDb.put(expiryBytes, keyBytes);
-                }
+            long now = timeService.wallClockTime();
+            if (now < nextExpiry.get()) {
+                log.trace("Skipping purge as no entry has expired yet");
+                return;
             }
-
-            List<Long> times = new ArrayList<>();
-            List<Object> keys = new ArrayList<>();
-
-            long now = ctx.getTimeService().wallClockTime();
-            RocksIterator iterator = expiredDb.newIterator(new ReadOptions().setFillCache(false));
-            if (iterator != null) {
-                try (RocksIterator it = iterator) {
-                    for (it.seekToFirst(); it.isValid(); it.next()) {
-                        Long time = (Long) unmarshall(it.key());
-                        if (time > now)
-                            break;
-                        times.add(time);
-                        Object key = unmarshall(it.value());
-                        if (key instanceof List)
-                            keys.addAll((List<?>) key);
-                        else
-                            keys.add(key);
-                    }
-
-                    for (Long time : times) {
-                        expiredDb.delete(marshall(time));
-                    }
-
-                    if (!keys.isEmpty())
-                        log.debugf("purge (up to) %d entries", keys.size());
-                    int count = 0;
-                    for (Object key : keys) {
-                        int segment = handler.calculateSegment(key);
-
-                        ColumnFamilyHandle handle = handler.getHandle(segment);
-                        byte[] keyBytes = marshall(key);
-                        byte[] b = db.get(handle, keyBytes);
-                        if (b == null)
-                            continue;
-                        MarshalledEntry me = (MarshalledEntry) ctx.getMarshaller().objectFromByteBuffer(b);
-                        // TODO race condition: the entry could be updated between the get and delete!
-                        if (me.getMetadata() != null && me.getMetadata().isExpired(now)) {
-                            // somewhat inefficient to FIND then REMOVE...
-                            db.delete(handle, keyBytes);
-                            purgeListener.entryPurged(key);
-                            count++;
-                        }
-
-                    }
-                    if (count != 0)
-                        log.debugf("purged %d entries", count);
-                } catch (Exception e) {
-                    throw new PersistenceException(e);
+            // The writes and the scan lower it again, writes note their expiration after writing the entry
+            nextExpiry.set(Long.MAX_VALUE);
+            int count = 0;
+            try {
+                for (ColumnFamilyHandle handle : handler.columnFamilies()) {
+                    count += purge(handle, now, purgeListener);
                 }
+            } catch (Throwable t) {
+                // The entries that were not scanned may have expired
+                nextExpiry.set(0);
+                throw t;
             }
+            if (count != 0)
+                log.debugf("purged %d entries", count);
         } catch (PersistenceException e) {
             throw e;
         } catch (Exception e) {
@@ -395,6 +433,63 @@ public void purge(Executor executor, PurgeListener purgeListener) {
         }
     }
 
+    /**
+     * Removes the expired entries of a column family. The expiration time is read from the prefix of the values, so
+     * only the keys of the expired entries are unmarshalled.
+     */
+    private int purge(ColumnFamilyHandle handle, long now, PurgeListener purgeListener) throws Exception {
+        int count = 0;
+        List<byte[]> expired = new ArrayList<>();
+        try (ReadOptions readOptions = new ReadOptions().setFillCache(false);
+             RocksIterator it = db.newIterator(handle, readOptions)) {
+            for (it.seekToFirst(); it.isValid(); it.next()) {
+                // RocksIterator#value() is the only way to read a value in this RocksJava version and it copies the
+                // whole value, there is no way to read only the expiration prefix. The copy is only made by purges
+                // that run once an entry may have expired, see nextExpiry, and the value is not unmarshalled.
+                long expiry = expiryTime(it.value());
+                if (!isExpired(expiry, now)) {
+                    noteExpiry(expiry);
+                } else {
+                    expired.add(it.key());
+                    if (expired.size() == configuration.maxBatchSize()) {
+                        count += purgeBatch(handle, expired, now, purgeListener);
+                        expired.clear();
+                    }
+                }
+            }
+        }
+        if (!expired.isEmpty()) {
+            count += purgeBatch(handle, expired, now, purgeListener);
+        }
+        return count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int purgeBatch(ColumnFamilyHandle handle, List<byte[]> keys, long now, PurgeListener purgeListener)
+          throws Exception {
+        List<byte[]> purged = new ArrayList<>(keys.size());
+        try (WriteBatch batch = new WriteBatch()) {
+            purgeLock.writeLock().lock();
+            try {
+                for (byte[] key : keys) {
+                    // The entry may have been updated since the iterator read it
+                    byte[] value = db.get(handle, key);
+                    if (value != null && isExpired(value, now)) {
+                        batch.remove(handle, key);
+                        purged.add(key);
+                    }
+                }
+                db.write(dataWriteOptions(), batch);
+            } finally {
+                purgeLock.writeLock().unlock();
+            }
+        }
+        for (byte[] key : purged) {
+            purgeListener.entryPurged(unmarshall(key));
+        }
+        return purged.size();
+    }
+
     @Override
     public void addSegments(IntSet segments) {
         handler.addSegments(segments);
@@ -416,58 +511,41 @@ private Object unmarshall(byte[] bytes) throws IOException, ClassNotFoundExcepti
         return ctx.getMarshaller().objectFromByteBuffer(bytes);
     }
 
-    private void addNewExpiry(MarshalledEntry entry) throws IOException {
-        long expiry = entry.getMetadata().expiryTime();
-        long maxIdle = entry.getMetadata().maxIdle();
-        if (maxIdle > 0) {
-            // Coding getExpiryTime() for transient entries has the risk of being a moving target
-            // which could lead to unexpected results, hence, InternalCacheEntry calls are required
-            expiry = maxIdle + ctx.getTimeService().wallClockTime();
-        }
-        Long at = expiry;
-        Object key = entry.getKey();
+    private byte[] marshallEntry(MarshalledEntry<?, ?> entry) throws IOException, InterruptedException {
+        InternalMetadata metadata = entry.getMetadata();
+        byte[] bytes = marshall(entry);
+        return ByteBuffer.allocate(EXPIRY_BYTES + bytes.length)
+              .putLong(metadata == null ? -1 : metadata.expiryTime())
+              .put(bytes)
+              .array();
+    }
 
-        try {
-            expiryEntryQueue.put(new ExpiryEntry(at, key));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Restore interruption status
-        }
+    private MarshalledEntry<K, V> unmarshallEntry(byte[] value) throws IOException, ClassNotFoundException {
+        return (MarshalledEntry<K, V>) ctx.getMarshaller().objectFromByteBuffer(value, EXPIRY_BYTES,
+              value.length - EXPIRY_BYTES);
     }
 
-    private static final class ExpiryEntry {
-        private final Long expiry;
-        private final Object key;
+    private static long expiryTime(byte[] value) {
+        return ByteBuffer.wrap(value, 0, EXPIRY_BYTES).getLong();
+    }
 
-        private ExpiryEntry(long expiry, Object key) {
-            this.expiry = expiry;
-            this.key = key;
-        }
+    private static boolean isExpired(byte[] value, long now) {
+        return isExpired(expiryTime(value), now);
+    }
 
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + ((key == null) ? 0 : key.hashCode());
-            return result;
-        }
+    private static boolean isExpired(long expiry, long now) {
+        // Same as InternalMetadata.isExpired(now)
+        return expiry > 0 && expiry <= now;
+    }
 
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj)
-                return true;
-            if (obj == null)
-                return false;
-            if (getClass() != obj.getClass())
-                return false;
-            ExpiryEntry other = (ExpiryEntry) obj;
-            if (key == null) {
-                if (other.key != null)
-                    return false;
-            } else if (!key.equals(other.key))
-                return false;
-            return true;
+    /**
+     * Lowers the time of the next purge to the expiration time of an entry, which must be invoked after the entry is
+     * written.
+     */
+    private void noteExpiry(long expiry) {
+        if (expiry > 0 && expiry < nextExpiry.get()) {
+            nextExpiry.accumulateAndGet(expiry, Math::min);
         }
-
     }
 
     private class RocksKeyIterator extends AbstractIterator<K> {
@@ -521,10 +599,9 @@ protected MarshalledEntry<K, V> getNext() {
                     K key = (K) unmarshall(it.key());
                     if (filter == null || filter.test(key)) {
                         if (fetchValue || fetchMetadata) {
-                            MarshalledEntry<K, V> unmarshalledEntry = (MarshalledEntry<K, V>) unmarshall(
-                                  it.value());
-                            InternalMetadata metadata = unmarshalledEntry.getMetadata();
-                            if (metadata == null || !metadata.isExpired(now)) {
+                            byte[] value = it.value();
+                            if (!isExpired(value, now)) {
+                                MarshalledEntry<K, V> unmarshalledEntry = unmarshallEntry(value);
                                 if (fetchMetadata && fetchValue) {
                                     entry = unmarshalledEntry;
                                 } else {
@@ -555,6 +632,11 @@ private abstract class RocksDBHandler {
 
         abstract ColumnFamilyHandle getHandle(int segment);
 
+        /**
+         * @return the column families that currently hold entries
+         */
+        abstract List<ColumnFamilyHandle> columnFamilies();
+
         final ColumnFamilyHandle getHandle(int segment, Object key) {
             if (segment < 0) {
                 segment = calculateSegment(key);
@@ -574,8 +656,24 @@ ColumnFamilyDescriptor newDescriptor(byte[] name) {
             } else {
                 columnFamilyOptions = new ColumnFamilyOptions();
             }
-            return new ColumnFamilyDescriptor(name,
-                  columnFamilyOptions.setCompressionType(CompressionType.getCompressionType(configuration.compressionType().toString())));
+            columnFamilyOptions.setCompressionType(CompressionType.getCompressionType(configuration.compressionType().toString()));
+            if (blockCache != null || bloomFilter != null || configuration.blockSize() > 0) {
+                BlockBasedTableConfig tableConfig = new BlockBasedTableConfig();
+                if (blockCache != null) {
+                    tableConfig.setBlockCache(blockCache);
+                }
+                if (bloomFilter != null) {
+                    tableConfig.setFilter(bloomFilter);
+                }
+                if (configuration.blockSize() > 0) {
+                    tableConfig.setBlockSize(configuration.blockSize());
+                }
+                columnFamilyOptions.setTableFormatConfig(tableConfig);
+            }
+            if (configuration.compactionStyle() != null) {
+                columnFamilyOptions.setCompactionStyle(CompactionStyle.valueOf(configuration.compactionStyle().name()));
+            }
+            return new ColumnFamilyDescriptor(name, columnFamilyOptions);
         }
 
         boolean contains(int segment, Object key) {
@@ -590,25 +688,21 @@ MarshalledEntry<K, V> load(int segment, Object key) {
                 return null;
             }
             try {
-                byte[] marshalledEntry;
+                byte[] value;
                 semaphore.acquire();
                 try {
                     if (stopped) {
                         throw new PersistenceException("RocksDB is stopped");
                     }
 
-                    marshalledEntry = db.get(handle, marshall(key));
+                    value = db.get(handle, marshall(key));
                 } finally {
                     semaphore.release();
                 }
-                MarshalledEntry me = (MarshalledEntry) unmarshall(marshalledEntry);
-                if (me == null) return null;
-
-                InternalMetadata meta = me.getMetadata();
-                if (meta != null && meta.isExpired(timeService.wallClockTime())) {
+                if (value == null || isExpired(value, timeService.wallClockTime())) {
                     return null;
                 }
-                return me;
+                return unmarshallEntry(value);
             } catch (Exception e) {
                 throw new PersistenceException(e);
             }
@@ -623,21 +717,23 @@ void write(int segment, MarshalledEntry<? extends K, ? extends V> me) {
             }
             try {
                 byte[] marshalledKey = marshall(key);
-                byte[] marshalledEntry = marshall(me);
+                byte[] marshalledEntry = marshallEntry(me);
                 semaphore.acquire();
                 try {
                     if (stopped) {
                         throw new PersistenceException("RocksDB is stopped");
                     }
 
-                    db.put(handle, marshalledKey, marshalledEntry);
+                    purgeLock.readLock().lock();
+                    try {
+                        db.put(handle, marshalledKey, marshalledEntry);
+                    } finally {
+                        purgeLock.readLock().unlock();
+                    }
+                    noteExpiry(expiryTime(marshalledEntry));
                 } finally {
                     semaphore.release();
                 }
-                InternalMetadata meta = me.getMetadata();
-                if (meta != null && meta.expiryTime() > -1) {
-                    addNewExpiry(me);
-                }
             } catch (Exception e) {
                 throw new PersistenceException(e);
             }
@@ -667,27 +763,30 @@ boolean delete(int segment, Object key) {
         void writeBatch(Iterable<MarshalledEntry<? extends K, ? extends V>> marshalledEntries) {
             try {
                 int batchSize = 0;
+                long batchExpiry = Long.MAX_VALUE;
                 WriteBatch batch = new WriteBatch();
                 for (MarshalledEntry entry : marshalledEntries) {
                     Object key = entry.getKey();
-                    batch.put(getHandle(calculateSegment(key)), marshall(key), marshall(entry));
+                    byte[] value = marshallEntry(entry);
+                    batch.put(getHandle(calculateSegment(key)), marshall(key), value);
                     batchSize++;
+                    long expiry = expiryTime(value);
+                    if (expiry > 0) {
+                        batchExpiry = Math.min(batchExpiry, expiry);
+                    }
 
                     if (batchSize == configuration.maxBatchSize()) {
                         batchSize = 0;
                         writeBatch(batch);
+                        noteExpiry(batchExpiry);
+                        batchExpiry = Long.MAX_VALUE;
                         batch = new WriteBatch();
                     }
                 }
 
-                if (batchSize != 0)
+                if (batchSize != 0) {
                     writeBatch(batch);
-
-                // Add metadata only after batch has been written
-                for (MarshalledEntry entry : marshalledEntries) {
-                    InternalMetadata meta = entry.getMetadata();
-                    if (meta != null && meta.expiryTime() > -1)
-                        addNewExpiry(entry);
+                    noteExpiry(batchExpiry);
                 }
             } catch (Exception e) {
                 throw new PersistenceException(e);
@@ -761,7 +860,12 @@ private void writeBatch(WriteBatch batch) throws InterruptedException, RocksDBEx
                 if (stopped)
                     throw new PersistenceException("RocksDB is stopped");
 
-                db.write(dataWriteOptions(), batch);
+                purgeLock.readLock().lock();
+                try {
+                    db.write(dataWriteOptions(), batch);
+                } finally {
+                    purgeLock.readLock().unlock();
+                }
             } finally {
                 semaphore.release();
             }
@@ -785,6 +889,11 @@ ColumnFamilyHandle getHandle(int segment) {
             return defaultColumnFamilyHandle;
         }
 
+        @Override
+        List<ColumnFamilyHandle> columnFamilies() {
+            return Collections.singletonList(defaultColumnFamilyHandle);
+        }
+
         @Override
         int calculateSegment(Object key) {
             // Segment not used
@@ -880,16 +989,11 @@ protected void reinitAllDatabases() throws IOException, RocksDBException {
                     throw new PersistenceException("RocksDB is stopped");
                 }
                 db.close();
-                expiredDb.close();
                 // Force a GC to ensure that open file handles are released in Windows
                 System.gc();
                 String dataLocation = getQualifiedLocation();
                 Util.recursiveFileRemove(new File(dataLocation));
-                db = open(getQualifiedLocation(), dataDbOptions());
-
-                String expirationLocation = getQualifiedExpiredLocation();
-                Util.recursiveFileRemove(new File(expirationLocation));
-                expiredDb = openDatabase(expirationLocation, expiredDbOptions());
+                db = openDatabase();
             } finally {
                 semaphore.release(Integer.MAX_VALUE);
             }
@@ -953,6 +1057,18 @@ ColumnFamilyHandle getHandle(int segment) {
             return handles.get(segment);
         }
 
+        @Override
+        List<ColumnFamilyHandle> columnFamilies() {
+            List<ColumnFamilyHandle> columnFamilies = new ArrayList<>(handles.length());
+            for (int i = 0; i < handles.length(); ++i) {
+                ColumnFamilyHandle handle = handles.get(i);
+                if (handle != null) {
+                    columnFamilies.add(handle);
+                }
+            }
+            return columnFamilies;
+        }
+
         @Override
         int calculateSegment(Object key) {
             return keyPartitioner.getSegment(key);
@@ -0,0 +1,50 @@
+package org.infinispan.persistence.rocksdb;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+import org.rocksdb.LRUCache;
+
+/**
+ * The block caches shared by the RocksDB stores of the caches of a cache container. A block cache is shared by the
+ * stores with the same capacity, and is closed once the last store that uses it is stopped.
+ * <p>
+ * Registered in the global component registry of every cache manager by {@link LifecycleCallbacks}, which closes
+ * the remaining block caches when the cache manager stops.
+ *
+ * @since 9.4
+ */
+@Scope(Scopes.GLOBAL)
+final class SharedBlockCaches {
+   private final Map<Long, SharedBlockCache> caches = new HashMap<>();
+
+   synchronized LRUCache acquire(long capacity) {
+      SharedBlockCache shared = caches.computeIfAbsent(capacity, k -> new SharedBlockCache(new LRUCache(capacity)));
+      shared.references++;
+      return shared.cache;
+   }
+
+   synchronized void release(long capacity) {
+      SharedBlockCache shared = caches.get(capacity);
+      if (shared != null && --shared.references == 0) {
+         caches.remove(capacity);
+         shared.cache.close();
+      }
+   }
+
+   synchronized void closeAll() {
+      caches.values().forEach(shared -> shared.cache.close());
+      caches.clear();
+   }
+
+   private static final class SharedBlockCache {
+      final LRUCache cache;
+      int references;
+
+      SharedBlockCache(LRUCache cache) {
+         this.cache = cache;
+      }
+   }
+}
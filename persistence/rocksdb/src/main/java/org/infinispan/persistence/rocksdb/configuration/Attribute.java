@@ -13,8 +13,10 @@ public enum Attribute {
    UNKNOWN(null),
 
    BLOCK_SIZE("block-size"),
+   BLOOM_BITS_PER_KEY("bloom-bits-per-key"),
    CACHE_SIZE("cache-size"),
    CLEAR_THRESHOLD("clear-threshold"),
+   COMPACTION_STYLE("compaction-style"),
    COMPRESSION_TYPE("compressionType"),
    EXPIRED_LOCATION("expiredLocation"),
    EXPIRY_QUEUE_SIZE("expiryQueueSize"),
@@ -23,6 +25,9 @@ public enum Attribute {
    PATH("path"),
    RELATIVE_TO("relative-to"),
    QUEUE_SIZE("queue-size"),
+   RATE_LIMIT("rate-limit"),
+   SHARED_BLOCK_CACHE("shared-block-cache"),
+   STATISTICS("statistics"),
    TYPE("type"),
    ;
 
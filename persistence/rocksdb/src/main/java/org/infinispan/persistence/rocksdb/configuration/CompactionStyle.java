@@ -0,0 +1,12 @@
+package org.infinispan.persistence.rocksdb.configuration;
+
+/**
+ * The compaction styles of RocksDB.
+ *
+ * @since 9.4
+ */
+public enum CompactionStyle {
+   LEVEL,
+   UNIVERSAL,
+   FIFO
+}
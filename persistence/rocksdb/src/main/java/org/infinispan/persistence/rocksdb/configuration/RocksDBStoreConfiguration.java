@@ -27,10 +27,16 @@ public class RocksDBStoreConfiguration extends AbstractStoreConfiguration {
    final static AttributeDefinition<Long> CACHE_SIZE = AttributeDefinition.builder("cacheSize", 0l).immutable().build();
    final static AttributeDefinition<Integer> EXPIRY_QUEUE_SIZE = AttributeDefinition.builder("expiryQueueSize", 10000).immutable().autoPersist(false).build();
    final static AttributeDefinition<Integer> CLEAR_THRESHOLD = AttributeDefinition.builder("clearThreshold", 10000).immutable().build();
+   final static AttributeDefinition<Boolean> SHARED_BLOCK_CACHE = AttributeDefinition.builder("sharedBlockCache", false).immutable().build();
+   final static AttributeDefinition<Integer> BLOOM_BITS_PER_KEY = AttributeDefinition.builder("bloomBitsPerKey", 0).immutable().build();
+   final static AttributeDefinition<CompactionStyle> COMPACTION_STYLE = AttributeDefinition.builder("compactionStyle", null, CompactionStyle.class).immutable().build();
+   final static AttributeDefinition<Long> RATE_LIMIT = AttributeDefinition.builder("rateLimit", 0l).immutable().build();
+   final static AttributeDefinition<Boolean> STATISTICS = AttributeDefinition.builder("statistics", false).immutable().build();
 
    public static AttributeSet attributeDefinitionSet() {
       return new AttributeSet(RocksDBStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), LOCATION, EXPIRED_LOCATION, COMPRESSION_TYPE,
-            BLOCK_SIZE, CACHE_SIZE, EXPIRY_QUEUE_SIZE, CLEAR_THRESHOLD);
+            BLOCK_SIZE, CACHE_SIZE, EXPIRY_QUEUE_SIZE, CLEAR_THRESHOLD, SHARED_BLOCK_CACHE, BLOOM_BITS_PER_KEY,
+            COMPACTION_STYLE, RATE_LIMIT, STATISTICS);
    }
 
    private final Attribute<String> location;
@@ -40,6 +46,11 @@ public static AttributeSet attributeDefinitionSet() {
    private final Attribute<Long> cacheSize;
    private final Attribute<Integer> expiryQueueSize;
    private final Attribute<Integer> clearThreshold;
+   private final Attribute<Boolean> sharedBlockCache;
+   private final Attribute<Integer> bloomBitsPerKey;
+   private final Attribute<CompactionStyle> compactionStyle;
+   private final Attribute<Long> rateLimit;
+   private final Attribute<Boolean> statistics;
 
    public RocksDBStoreConfiguration(AttributeSet attributes, AsyncStoreConfiguration async, SingletonStoreConfiguration singletonStore) {
       super(attributes, async, singletonStore);
@@ -50,12 +61,21 @@ public RocksDBStoreConfiguration(AttributeSet attributes, AsyncStoreConfiguratio
       cacheSize = attributes.attribute(CACHE_SIZE);
       expiryQueueSize = attributes.attribute(EXPIRY_QUEUE_SIZE);
       clearThreshold = attributes.attribute(CLEAR_THRESHOLD);
+      sharedBlockCache = attributes.attribute(SHARED_BLOCK_CACHE);
+      bloomBitsPerKey = attributes.attribute(BLOOM_BITS_PER_KEY);
+      compactionStyle = attributes.attribute(COMPACTION_STYLE);
+      rateLimit = attributes.attribute(RATE_LIMIT);
+      statistics = attributes.attribute(STATISTICS);
    }
 
    public String location() {
       return location.get();
    }
 
+   /**
+    * @deprecated since 9.4, the expiration time is stored with the entries
+    */
+   @Deprecated
    public String expiredLocation() {
       return expiredLocation.get();
    }
@@ -72,6 +92,10 @@ public Long cacheSize() {
       return cacheSize.get();
    }
 
+   /**
+    * @deprecated since 9.4, the expiration time is stored with the entries
+    */
+   @Deprecated
    public int expiryQueueSize() {
       return expiryQueueSize.get();
    }
@@ -79,4 +103,24 @@ public int expiryQueueSize() {
    public int clearThreshold() {
       return clearThreshold.get();
    }
+
+   public boolean sharedBlockCache() {
+      return sharedBlockCache.get();
+   }
+
+   public int bloomBitsPerKey() {
+      return bloomBitsPerKey.get();
+   }
+
+   public CompactionStyle compactionStyle() {
+      return compactionStyle.get();
+   }
+
+   public long rateLimit() {
+      return rateLimit.get();
+   }
+
+   public boolean statistics() {
+      return statistics.get();
+   }
 }
@@ -11,6 +11,11 @@
 import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.EXPIRED_LOCATION;
 import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.EXPIRY_QUEUE_SIZE;
 import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.COMPRESSION_TYPE;
+import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.SHARED_BLOCK_CACHE;
+import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.BLOOM_BITS_PER_KEY;
+import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.COMPACTION_STYLE;
+import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.RATE_LIMIT;
+import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.STATISTICS;
 
 /**
  *
@@ -28,21 +33,36 @@ public RocksDBStoreConfigurationBuilder location(String location) {
       return self();
    }
 
+   /**
+    * @deprecated since 9.4, the expiration time is stored with the entries. The location is only used to remove the
+    * expiration database of stores created by previous versions when the store is destroyed.
+    */
+   @Deprecated
    public RocksDBStoreConfigurationBuilder expiredLocation(String expiredLocation) {
       attributes.attribute(EXPIRED_LOCATION).set(expiredLocation);
       return self();
    }
 
+   /**
+    * The size in bytes of the data blocks of the tables. 0 means the RocksDB default.
+    */
    public RocksDBStoreConfigurationBuilder blockSize(int blockSize) {
       attributes.attribute(BLOCK_SIZE).set(blockSize);
       return self();
    }
 
+   /**
+    * The capacity in bytes of the LRU cache of uncompressed data blocks. 0 means the RocksDB default.
+    */
    public RocksDBStoreConfigurationBuilder cacheSize(long cacheSize) {
       attributes.attribute(CACHE_SIZE).set(cacheSize);
       return self();
    }
 
+   /**
+    * @deprecated since 9.4, the expiration time is stored with the entries, so expired entries are no longer queued.
+    */
+   @Deprecated
    public RocksDBStoreConfigurationBuilder expiryQueueSize(int expiryQueueSize) {
       attributes.attribute(EXPIRY_QUEUE_SIZE).set(expiryQueueSize);
       return self();
@@ -58,6 +78,48 @@ public RocksDBStoreConfigurationBuilder compressionType(CompressionType compress
       return self();
    }
 
+   /**
+    * Whether the block cache is shared by the stores of all the caches of the cache container with the same
+    * {@link #cacheSize(long)}, so that they are bounded by a single capacity.
+    */
+   public RocksDBStoreConfigurationBuilder sharedBlockCache(boolean sharedBlockCache) {
+      attributes.attribute(SHARED_BLOCK_CACHE).set(sharedBlockCache);
+      return self();
+   }
+
+   /**
+    * The bits per key of the Bloom filters of the tables, which allow the lookups of absent keys to skip reading
+    * data blocks. 10 bits per key give a false positive rate of about 1%. 0 disables the Bloom filters.
+    */
+   public RocksDBStoreConfigurationBuilder bloomBitsPerKey(int bloomBitsPerKey) {
+      attributes.attribute(BLOOM_BITS_PER_KEY).set(bloomBitsPerKey);
+      return self();
+   }
+
+   /**
+    * The compaction style of the data. If not set, the RocksDB default is used.
+    */
+   public RocksDBStoreConfigurationBuilder compactionStyle(CompactionStyle compactionStyle) {
+      attributes.attribute(COMPACTION_STYLE).set(compactionStyle);
+      return self();
+   }
+
+   /**
+    * The maximum rate in bytes per second of the flushes and compactions. 0 means unlimited.
+    */
+   public RocksDBStoreConfigurationBuilder rateLimit(long rateLimit) {
+      attributes.attribute(RATE_LIMIT).set(rateLimit);
+      return self();
+   }
+
+   /**
+    * Whether the RocksDB statistics are collected and exposed via JMX.
+    */
+   public RocksDBStoreConfigurationBuilder statistics(boolean statistics) {
+      attributes.attribute(STATISTICS).set(statistics);
+      return self();
+   }
+
    @Override
    public void validate() {
       // how do you validate required attributes?
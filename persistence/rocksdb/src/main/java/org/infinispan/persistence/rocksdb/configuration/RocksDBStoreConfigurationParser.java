@@ -74,6 +74,26 @@ private void parseRocksDBCacheStore(XMLExtendedStreamReader reader, RocksDBStore
                builder.cacheSize(Long.valueOf(value));
                break;
             }
+            case SHARED_BLOCK_CACHE: {
+               builder.sharedBlockCache(Boolean.valueOf(value));
+               break;
+            }
+            case BLOOM_BITS_PER_KEY: {
+               builder.bloomBitsPerKey(Integer.valueOf(value));
+               break;
+            }
+            case COMPACTION_STYLE: {
+               builder.compactionStyle(CompactionStyle.valueOf(value));
+               break;
+            }
+            case RATE_LIMIT: {
+               builder.rateLimit(Long.valueOf(value));
+               break;
+            }
+            case STATISTICS: {
+               builder.statistics(Boolean.valueOf(value));
+               break;
+            }
             default: {
                Parser.parseStoreAttribute(reader, i, builder);
             }
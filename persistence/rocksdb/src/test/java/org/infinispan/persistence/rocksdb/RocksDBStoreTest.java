@@ -5,6 +5,10 @@
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
+import java.io.File;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -29,6 +33,7 @@
 import org.infinispan.test.TestingUtil;
 import org.infinispan.test.fwk.TestCacheManagerFactory;
 import org.infinispan.test.fwk.TestInternalCacheEntryFactory;
+import org.infinispan.util.concurrent.WithinThreadExecutor;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.Factory;
 import org.testng.annotations.Test;
@@ -202,4 +207,47 @@ public void testSegmentsRemovedAndAdded() {
 
       assertTrue(cl.contains(key));
    }
+
+   /**
+    * Test to make sure that expired entries are purged from the expiration time stored with them, without the
+    * expiration database of previous versions
+    */
+   public void testPurgeFromValueExpiration() {
+      long lifespan = 1000;
+      for (int i = 0; i < 10; i++) {
+         cl.write(marshalledEntry(internalCacheEntry("mortal" + i, "v", lifespan)));
+      }
+      cl.write(marshalledEntry(internalCacheEntry("immortal", "v", -1)));
+      timeService.advance(lifespan + 1);
+
+      Set<Object> purged = new HashSet<>();
+      cl.purge(new WithinThreadExecutor(), purged::add);
+
+      assertEquals(purged.size(), 10);
+      assertEquals(cl.size(), 1);
+      assertTrue(cl.contains("immortal"));
+      String[] expiredLocations = new File(tmpDirectory).list((dir, name) -> name.startsWith("expiry"));
+      assertEquals(expiredLocations.length, 0);
+   }
+
+   /**
+    * Test to make sure that the entries found unexpired by a purge are still purged by a later purge, even though no
+    * entry was written in between
+    */
+   public void testPurgeAfterUnexpiredPurge() {
+      long lifespan = 1000;
+      cl.write(marshalledEntry(internalCacheEntry("mortal", "v", lifespan)));
+      cl.write(marshalledEntry(internalCacheEntry("immortal", "v", -1)));
+
+      Set<Object> purged = new HashSet<>();
+      cl.purge(new WithinThreadExecutor(), purged::add);
+      assertEquals(purged.size(), 0);
+      cl.purge(new WithinThreadExecutor(), purged::add);
+      assertEquals(purged.size(), 0);
+
+      timeService.advance(lifespan + 1);
+      cl.purge(new WithinThreadExecutor(), purged::add);
+      assertEquals(purged, Collections.singleton("mortal"));
+      assertEquals(cl.size(), 1);
+   }
 }
@@ -18,6 +18,7 @@
 import org.infinispan.configuration.parsing.ParserRegistry;
 import org.infinispan.manager.DefaultCacheManager;
 import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.rocksdb.configuration.CompactionStyle;
 import org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration;
 import org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfigurationBuilder;
 import org.infinispan.test.AbstractInfinispanTest;
@@ -81,5 +82,11 @@ public void testXmlConfig() throws IOException {
       RocksDBStoreConfiguration rocksdbConfig = (RocksDBStoreConfiguration) cacheLoaderConfig;
       assertEquals("/tmp/rocksdb/52/data", rocksdbConfig.location());
       assertEquals("/tmp/rocksdb/52/expired", rocksdbConfig.expiredLocation());
+      assertEquals(1048576, rocksdbConfig.cacheSize().longValue());
+      assertTrue(rocksdbConfig.sharedBlockCache());
+      assertEquals(10, rocksdbConfig.bloomBitsPerKey());
+      assertEquals(CompactionStyle.UNIVERSAL, rocksdbConfig.compactionStyle());
+      assertEquals(10485760, rocksdbConfig.rateLimit());
+      assertTrue(rocksdbConfig.statistics());
    }
 }
@@ -0,0 +1,87 @@
+package org.infinispan.persistence.sifs;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.infinispan.jmx.annotations.DisplayType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
+
+/**
+ * Statistics of the compaction of the data files of the soft-index file stores of a cache. The instance is registered
+ * in the component registry of the cache, and shared by all its soft-index file stores, e.g. by all the segments of
+ * a segmented store.
+ *
+ * @since 9.4
+ */
+@MBean(objectName = "SoftIndexFileStoreCompaction", description = "Compaction of the data files of the soft-index file store")
+public class CompactionStatistics {
+   private final AtomicLong compactedFiles = new AtomicLong();
+   private final AtomicLong reclaimedBytes = new AtomicLong();
+   private final AtomicLong compactionTime = new AtomicLong();
+   private final AtomicLong backlog = new AtomicLong();
+
+   void fileScheduled() {
+      backlog.incrementAndGet();
+   }
+
+   void filesUnscheduled(int files) {
+      backlog.addAndGet(-files);
+   }
+
+   void fileCompacted(long reclaimed, long nanos) {
+      compactedFiles.incrementAndGet();
+      reclaimedBytes.addAndGet(reclaimed);
+      compactionTime.addAndGet(nanos);
+   }
+
+   @ManagedAttribute(
+         description = "Number of data files compacted",
+         displayName = "Number of compacted files",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getCompactedFiles() {
+      return compactedFiles.get();
+   }
+
+   @ManagedAttribute(
+         description = "Difference between the size of the compacted files and the size of the records moved out of them",
+         displayName = "Reclaimed bytes",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getReclaimedBytes() {
+      return reclaimedBytes.get();
+   }
+
+   @ManagedAttribute(
+         description = "Total time spent compacting files by all the compaction threads",
+         displayName = "Compaction time",
+         units = Units.MILLISECONDS,
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getCompactionTime() {
+      return TimeUnit.NANOSECONDS.toMillis(compactionTime.get());
+   }
+
+   @ManagedAttribute(
+         description = "Number of data files scheduled for compaction that are not compacted yet",
+         displayName = "Compaction backlog",
+         displayType = DisplayType.SUMMARY
+   )
+   public long getBacklog() {
+      return backlog.get();
+   }
+
+   @ManagedOperation(
+         description = "Resets statistics gathered by this component",
+         displayName = "Reset statistics"
+   )
+   public void resetStatistics() {
+      compactedFiles.set(0);
+      reclaimedBytes.set(0);
+      compactionTime.set(0);
+   }
+}
@@ -1,6 +1,8 @@
 package org.infinispan.persistence.sifs;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -8,6 +10,7 @@
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 import org.infinispan.commons.marshall.Marshaller;
 import org.infinispan.util.TimeService;
@@ -17,10 +20,12 @@
  * Component keeping the data about log file usage - as soon as entries from some file are overwritten so that the file
  * becomes cluttered with old records, the valid records are moved to another file and the old ones are dropped.
  * Expired records are moved as tombstones without values (records of entry removal).
+ * <p>
+ * Multiple files may be compacted in parallel, each compaction thread moving the records to its own log file.
  *
  * @author Radim Vansa &lt;rvansa@redhat.com&gt;
  */
-class Compactor extends Thread {
+class Compactor {
    private static final Log log = LogFactory.getLog(Compactor.class, Log.class);
    private static final boolean trace = log.isTraceEnabled();
 
@@ -33,8 +38,13 @@ class Compactor extends Thread {
    private final TimeService timeService;
    private final int maxFileSize;
    private final double compactionThreshold;
+   private final long rateLimit;
+   private final CompactionStatistics statistics;
+   private final Worker[] workers;
 
    private Index index;
+   // next time at which the compaction threads may read, when the rate is limited
+   private long nextReadTime;
    // as processing single scheduled compaction takes a lot of time, we don't use the queue to signalize
    private volatile boolean clearSignal = false;
    private volatile boolean terminateSignal = false;
@@ -46,7 +56,17 @@ public Compactor(FileProvider fileProvider,
                     TemporaryTable temporaryTable,
                     BlockingQueue<IndexRequest> indexQueue,
                     Marshaller marshaller, TimeService timeService, int maxFileSize, double compactionThreshold) {
-      super("BCS-Compactor");
+      this(fileProvider, temporaryTable, indexQueue, marshaller, timeService, maxFileSize, compactionThreshold,
+            1, 0, new CompactionStatistics());
+   }
+
+   /**
+    * @param threads number of files compacted in parallel
+    * @param rateLimit max number of bytes per second read by all the threads from the compacted files, 0 if unlimited
+    */
+   Compactor(FileProvider fileProvider, TemporaryTable temporaryTable, BlockingQueue<IndexRequest> indexQueue,
+             Marshaller marshaller, TimeService timeService, int maxFileSize, double compactionThreshold,
+             int threads, long rateLimit, CompactionStatistics statistics) {
       this.fileProvider = fileProvider;
       this.temporaryTable = temporaryTable;
       this.indexQueue = indexQueue;
@@ -54,7 +74,13 @@ public Compactor(FileProvider fileProvider,
       this.timeService = timeService;
       this.maxFileSize = maxFileSize;
       this.compactionThreshold = compactionThreshold;
-      this.start();
+      this.rateLimit = rateLimit;
+      this.statistics = statistics;
+      this.workers = new Worker[threads];
+      for (int i = 0; i < threads; ++i) {
+         workers[i] = new Worker(threads == 1 ? "BCS-Compactor" : "BCS-Compactor-" + i);
+         workers[i].start();
+      }
    }
 
    public void setIndex(Index index) {
@@ -113,6 +139,7 @@ private void schedule(int file, Stats stats) {
             if (!stats.isScheduled()) {
                log.debug(String.format("Scheduling file %d for compaction: %d/%d free", file, stats.free.get(), stats.total));
                stats.setScheduled();
+               statistics.fileScheduled();
                scheduledCompaction.put(file);
             }
          }
@@ -122,8 +149,7 @@ private void schedule(int file, Stats stats) {
       }
    }
 
-   @Override
-   public void run() {
+   private void compactFiles() {
       try {
          FileProvider.Log logFile = null;
          int currentOffset = 0;
@@ -133,6 +159,10 @@ public void run() {
                scheduledFile = scheduledCompaction.poll(1, TimeUnit.MINUTES);
             } catch (InterruptedException e) {
             }
+            if (scheduledFile != null && scheduledFile >= 0 && (terminateSignal || clearSignal)) {
+               // return the file to the queue, where it is accounted as not compacted when the queue is drained
+               scheduledCompaction.add(scheduledFile);
+            }
             if (terminateSignal) {
                if (logFile != null) {
                   logFile.close();
@@ -155,17 +185,22 @@ public void run() {
             }
 
             log.debugf("Compacting file %d", scheduledFile);
+            long startTime = timeService.time();
             int scheduledOffset = 0;
+            long movedBytes = 0;
+            long fileSize;
             FileProvider.Handle handle = fileProvider.getFile(scheduledFile);
             if (handle == null) {
                throw new IllegalStateException("Compactor should not get deleted file for compaction!");
             }
             try {
+               fileSize = handle.getFileSize();
                while (!clearSignal && !terminateSignal) {
                   EntryHeader header = EntryRecord.readEntryHeader(handle, scheduledOffset);
                   if (header == null) {
                      break;
                   }
+                  throttle(header.totalLength());
                   byte[] serializedKey = EntryRecord.readKey(handle, header, scheduledOffset);
                   if (serializedKey == null) {
                      throw new IllegalStateException("End of file reached when reading key on "
@@ -288,11 +323,13 @@ public void run() {
                            scheduledFile, indexedOffset));
 
                      currentOffset += writtenLength;
+                     movedBytes += writtenLength;
                   }
                   scheduledOffset += header.totalLength();
                }
             } finally {
                handle.close();
+               statistics.filesUnscheduled(1);
             }
             if (terminateSignal) {
                if (logFile != null) {
@@ -307,6 +344,7 @@ public void run() {
                // The deletion must be executed only after the index is fully updated.
                log.debugf("Finished compacting %d, scheduling delete", scheduledFile);
                indexQueue.put(IndexRequest.deleteFileRequest(scheduledFile));
+               statistics.fileCompacted(fileSize - movedBytes, timeService.timeDuration(startTime, TimeUnit.NANOSECONDS));
             }
          }
       } catch (Exception e) {
@@ -314,6 +352,26 @@ public void run() {
       }
    }
 
+   /**
+    * Waits until the bytes can be read without exceeding the rate limit of all the compaction threads.
+    */
+   private void throttle(int bytes) {
+      if (rateLimit <= 0) {
+         return;
+      }
+      long delay;
+      synchronized (this) {
+         // the time service is not used as the thread really sleeps
+         long now = System.nanoTime();
+         long readTime = Math.max(now, nextReadTime);
+         nextReadTime = readTime + TimeUnit.SECONDS.toNanos(bytes) / rateLimit;
+         delay = readTime - now;
+      }
+      if (delay > 0) {
+         LockSupport.parkNanos(delay);
+      }
+   }
+
    private void pauseCompactor(FileProvider.Log logFile) throws IOException, InterruptedException {
       if (logFile != null) {
          logFile.close();
@@ -325,11 +383,13 @@ private void pauseCompactor(FileProvider.Log logFile) throws IOException, Interr
 
    public void clearAndPause() throws InterruptedException {
       compactorResume = new CountDownLatch(1);
-      compactorStop = new CountDownLatch(1);
+      compactorStop = new CountDownLatch(workers.length);
       clearSignal = true;
-      scheduledCompaction.put(-1);
+      for (int i = 0; i < workers.length; ++i) {
+         scheduledCompaction.put(-1);
+      }
       compactorStop.await();
-      scheduledCompaction.clear();
+      unscheduleAll();
       fileStats.clear();
    }
 
@@ -340,8 +400,31 @@ public void resumeAfterPause() {
 
    public void stopOperations() throws InterruptedException {
       terminateSignal = true;
-      scheduledCompaction.put(-1);
-      this.join();
+      for (int i = 0; i < workers.length; ++i) {
+         scheduledCompaction.put(-1);
+      }
+      for (Worker worker : workers) {
+         worker.join();
+      }
+      unscheduleAll();
+   }
+
+   private void unscheduleAll() {
+      List<Integer> unscheduled = new ArrayList<>();
+      scheduledCompaction.drainTo(unscheduled);
+      // the markers used to wake up the threads are not files
+      statistics.filesUnscheduled((int) unscheduled.stream().filter(file -> file >= 0).count());
+   }
+
+   private class Worker extends Thread {
+      private Worker(String name) {
+         super(name);
+      }
+
+      @Override
+      public void run() {
+         compactFiles();
+      }
    }
 
    private static class Stats {
@@ -42,11 +42,21 @@ public class FileProvider {
    private final ReadWriteLock lock = new ReentrantReadWriteLock();
    private final Set<Integer> logFiles = new HashSet<Integer>();
    private final Set<FileIterator> iterators = new ConcurrentHashSet<>();
+   private final MappedWindowCache mappedWindows;
 
    private int nextFileId = 0;
 
    public FileProvider(String dataDir, int openFileLimit) {
+      this(dataDir, openFileLimit, null);
+   }
+
+   /**
+    * @param mappedWindows cache used to read the files that are not appended anymore, or {@code null} to always read
+    *                      them through their channel
+    */
+   FileProvider(String dataDir, int openFileLimit, MappedWindowCache mappedWindows) {
       this.openFileLimit = openFileLimit;
+      this.mappedWindows = mappedWindows;
       this.recordQueue = new ArrayBlockingQueue<Record>(openFileLimit);
       this.dataDir = new File(dataDir);
       this.dataDir.mkdirs();
@@ -79,7 +89,7 @@ public Handle getFile(int fileId) throws IOException {
                      log.debugf(e, "File %d was not found", fileId);
                      return null;
                   }
-                  Record newRecord = new Record(fileChannel, fileId);
+                  Record newRecord = new Record(fileChannel, fileId, !logFiles.contains(fileId));
                   Record other = openFiles.putIfAbsent(fileId, newRecord);
                   if (other != null) {
                      fileChannel.close();
@@ -215,6 +225,9 @@ public void clear() throws IOException {
       }
       if (!recordQueue.isEmpty()) throw new IllegalStateException();
       if (!openFiles.isEmpty()) throw new IllegalStateException();
+      if (mappedWindows != null) {
+         mappedWindows.clear();
+      }
       for (File file : dataDir.listFiles()) {
          if (!file.delete()) {
             throw new IOException("Cannot delete file " + file);
@@ -227,7 +240,7 @@ public void deleteFile(int fileId) {
       lock.readLock().lock();
       try {
          for (;;) {
-            Record newRecord = new Record(null, fileId);
+            Record newRecord = new Record(null, fileId, false);
             Record record = openFiles.putIfAbsent(fileId, newRecord);
             if (record == null) {
                newRecord.delete();
@@ -286,6 +299,11 @@ public void close() throws IOException {
          lock.writeLock().lock();
          try {
             logFiles.remove(fileId);
+            // The file may have been opened for reading while it was appended to
+            Record record = openFiles.get(fileId);
+            if (record != null) {
+               record.seal();
+            }
          } finally {
             lock.writeLock().unlock();
          }
@@ -303,7 +321,7 @@ private Handle(Record record) {
 
       public int read(ByteBuffer buffer, long offset) throws IOException {
          if (!usable) throw new IllegalStateException();
-         return record.getFileChannel().read(buffer, offset);
+         return record.read(buffer, offset);
       }
 
       @Override
@@ -328,16 +346,30 @@ private class Record {
       private FileChannel fileChannel;
       private int handleCount;
       private boolean deleteOnClose = false;
+      // log files are still appended to, so they are only memory mapped once they are completed
+      private volatile boolean sealed;
 
-      private Record(FileChannel fileChannel, int fileId) {
+      private Record(FileChannel fileChannel, int fileId, boolean sealed) {
          this.fileChannel = fileChannel;
          this.fileId = fileId;
+         this.sealed = sealed;
       }
 
       FileChannel getFileChannel() {
          return fileChannel;
       }
 
+      void seal() {
+         sealed = true;
+      }
+
+      int read(ByteBuffer buffer, long offset) throws IOException {
+         if (sealed && mappedWindows != null) {
+            return mappedWindows.read(fileId, fileChannel, buffer, offset);
+         }
+         return fileChannel.read(buffer, offset);
+      }
+
       void increaseHandleCount() {
          handleCount++;
       }
@@ -376,6 +408,10 @@ public void close() throws IOException {
 
       public void delete() {
          log.debug("Deleting file " + fileId);
+         if (mappedWindows != null) {
+            // the id may be reused by a new file
+            mappedWindows.invalidate(fileId, 0);
+         }
          new File(dataDir, String.valueOf(fileId)).delete();
       }
 
@@ -41,11 +41,20 @@ class Index {
    private final ReadWriteLock lock = new ReentrantReadWriteLock();
    private final Segment[] segments;
    private final TimeService timeService;
+   private final MappedWindowCache mappedWindows;
 
    public Index(FileProvider fileProvider, String indexDir, int segments, int minNodeSize, int maxNodeSize,
                 IndexQueue indexQueue, TemporaryTable temporaryTable, Compactor compactor,
                 TimeService timeService) throws IOException {
+      this(fileProvider, indexDir, segments, minNodeSize, maxNodeSize, indexQueue, temporaryTable, compactor,
+            timeService, null);
+   }
+
+   Index(FileProvider fileProvider, String indexDir, int segments, int minNodeSize, int maxNodeSize,
+         IndexQueue indexQueue, TemporaryTable temporaryTable, Compactor compactor,
+         TimeService timeService, MappedWindowCache mappedWindows) throws IOException {
       this.fileProvider = fileProvider;
+      this.mappedWindows = mappedWindows;
       this.compactor = compactor;
       this.timeService = timeService;
       this.indexDir = indexDir;
@@ -401,6 +410,9 @@ CountDownLatch pauseAndClear() throws InterruptedException, IOException {
          indexQueue.put(clear);
          CountDownLatch pause = (CountDownLatch) clear.getResult();
          root = IndexNode.emptyWithLeaves(this);
+         if (mappedWindows != null) {
+            mappedWindows.invalidate(this, 0);
+         }
          indexFile.truncate(0);
          indexFileSize = INDEX_FILE_HEADER_SIZE;
          freeBlocks.clear();
@@ -418,6 +430,13 @@ public FileChannel getIndexFile() {
          return indexFile;
       }
 
+      int read(ByteBuffer buffer, long offset) throws IOException {
+         if (mappedWindows != null) {
+            return mappedWindows.read(this, indexFile, buffer, offset);
+         }
+         return indexFile.read(buffer, offset);
+      }
+
       public FileProvider getFileProvider() {
          return fileProvider;
       }
@@ -462,7 +481,8 @@ void freeIndexSpace(long offset, short length) {
          if (length <= 0) throw new IllegalArgumentException("Offset=" + offset + ", length=" + length);
          // TODO: fragmentation!
          // TODO: memory bounds!
-         if (offset + length < indexFileSize) {
+         // Readers of the mapped index file could crash the JVM when accessing a truncated region
+         if (offset + length < indexFileSize || mappedWindows != null) {
             freeBlocks.computeIfAbsent(length, k -> new ArrayList<>()).add(new IndexSpace(offset, length));
          } else {
             indexFileSize -= length;
@@ -3,7 +3,6 @@
 import java.io.IOException;
 import java.lang.ref.SoftReference;
 import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -59,7 +58,7 @@ public enum RecordChange {
       this.offset = offset;
       this.occupiedSpace = occupiedSpace;
 
-      ByteBuffer buffer = loadBuffer(segment.getIndexFile(), offset, occupiedSpace);
+      ByteBuffer buffer = loadBuffer(segment, offset, occupiedSpace);
 
       prefix = new byte[buffer.getShort()];
       buffer.get(prefix);
@@ -93,14 +92,14 @@ public enum RecordChange {
       }
    }
 
-   private static ByteBuffer loadBuffer(FileChannel indexFile, long offset, int occupiedSpace) throws IOException {
+   private static ByteBuffer loadBuffer(Index.Segment segment, long offset, int occupiedSpace) throws IOException {
       ByteBuffer buffer = ByteBuffer.allocate(occupiedSpace);
       int read = 0;
       do {
-         int nowRead = indexFile.read(buffer, offset + read);
+         int nowRead = segment.read(buffer, offset + read);
          if (nowRead < 0) {
             throw new IOException("Cannot read record [" + offset + ":" + occupiedSpace + "] (already read "
-                  + read + "), file size is " + indexFile.size());
+                  + read + "), file size is " + segment.getIndexFile().size());
          }
          read += nowRead;
       } while (read < occupiedSpace);
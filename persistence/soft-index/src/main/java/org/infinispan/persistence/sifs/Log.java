@@ -84,4 +84,13 @@ public interface Log extends BasicLogger {
 
    @Message(value = "Index looks corrupt.", id = 29020)
    PersistenceException indexLooksCorrupt(@Cause Exception e);
+
+   @Message(value = "Max mapped memory (%d) must not be negative.", id = 29021)
+   CacheConfigurationException invalidMaxMappedMemory(long value);
+
+   @Message(value = "Compaction threads (%d) must be greater than 0.", id = 29022)
+   CacheConfigurationException invalidCompactionThreads(int value);
+
+   @Message(value = "Compaction rate limit (%d) must not be negative.", id = 29023)
+   CacheConfigurationException invalidCompactionRateLimit(long value);
 }
@@ -0,0 +1,193 @@
+package org.infinispan.persistence.sifs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * Bounded cache of read-only memory mapped windows of the data and index files. Reading from a mapped window only
+ * copies the bytes from the page cache, without a system call for each read.
+ * <p>
+ * Files are mapped in windows of {@link #WINDOW_SIZE} bytes, which are evicted in LRU order when more than the
+ * configured amount of memory is mapped. The mapped windows are read without locking, only mapping and evicting
+ * windows are serialized. Evicted windows are unmapped once they are garbage collected, as there
+ * is no way to unmap them explicitly while other threads may still be reading from them.
+ * <p>
+ * A window never extends beyond the size the file had when it was mapped and it is mapped again when a read needs
+ * bytes appended to the file afterwards. Accessing a mapping beyond the end of its file crashes the JVM, therefore
+ * the callers must never read ranges that are not in the file anymore, and must {@link #invalidate(Object, long)}
+ * the windows of files that are truncated or deleted, as their identifiers may be reused by new files.
+ *
+ * @since 9.4
+ */
+class MappedWindowCache {
+   static final int WINDOW_SHIFT = 20;
+   static final int WINDOW_SIZE = 1 << WINDOW_SHIFT;
+
+   private final long maxMappedBytes;
+   private final ConcurrentMap<Window, MappedWindow> windows = new ConcurrentHashMap<>();
+   @GuardedBy("this")
+   private long mappedBytes;
+
+   /**
+    * @param maxMappedBytes the amount of memory above which the least recently used windows are evicted
+    */
+   MappedWindowCache(long maxMappedBytes) {
+      this.maxMappedBytes = maxMappedBytes;
+   }
+
+   /**
+    * Reads a sequence of bytes from the file into the buffer, the same way as {@link FileChannel#read(ByteBuffer, long)}.
+    * A read never spans multiple windows, so fewer bytes than remaining in the buffer may be read.
+    *
+    * @param file identifies the file read by the channel
+    * @param channel the channel used to map the file
+    * @param buffer the buffer into which bytes are to be transferred
+    * @param position the position in the file at which the transfer is to begin
+    * @return the number of bytes read, possibly zero, or -1 if the position is greater than or equal to the file size
+    */
+   int read(Object file, FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+      long windowStart = position & ~(WINDOW_SIZE - 1);
+      int offset = (int) (position - windowStart);
+      int length = Math.min(buffer.remaining(), WINDOW_SIZE - offset);
+      ByteBuffer window = window(new Window(file, windowStart), channel, offset + length);
+      if (window == null || window.capacity() <= offset) {
+         return -1;
+      }
+      length = Math.min(length, window.capacity() - offset);
+      window.limit(offset + length);
+      window.position(offset);
+      buffer.put(window);
+      return length;
+   }
+
+   /**
+    * @return a duplicate of the window, which covers the required limit unless the file is smaller,
+    *         or {@code null} if the file ends before the window
+    */
+   private ByteBuffer window(Window key, FileChannel channel, int requiredLimit) throws IOException {
+      MappedWindow window = windows.get(key);
+      if (window == null || window.buffer.capacity() < requiredLimit) {
+         window = map(key, channel, requiredLimit);
+         if (window == null) {
+            return null;
+         }
+      }
+      window.lastAccess = System.nanoTime();
+      return window.buffer.duplicate();
+   }
+
+   /**
+    * Maps the window, unless another reader mapped it in the meantime, and evicts the least recently used windows
+    * if too much memory is mapped.
+    */
+   private synchronized MappedWindow map(Window key, FileChannel channel, int requiredLimit) throws IOException {
+      MappedWindow window = windows.get(key);
+      if (window != null && window.buffer.capacity() >= requiredLimit) {
+         return window;
+      }
+      // The file may have grown since the window was mapped
+      int limit = (int) Math.min(WINDOW_SIZE, channel.size() - key.start);
+      if (limit <= 0) {
+         return null;
+      }
+      if (window != null && limit <= window.buffer.capacity()) {
+         return window;
+      }
+      MappedWindow mapped = new MappedWindow(channel.map(FileChannel.MapMode.READ_ONLY, key.start, limit));
+      if (window != null) {
+         mappedBytes -= window.buffer.capacity();
+      }
+      windows.put(key, mapped);
+      mappedBytes += limit;
+      evict(key);
+      return mapped;
+   }
+
+   @GuardedBy("this")
+   private void evict(Window retained) {
+      while (mappedBytes > maxMappedBytes) {
+         Map.Entry<Window, MappedWindow> lru = null;
+         long lruAccess = Long.MAX_VALUE;
+         for (Map.Entry<Window, MappedWindow> entry : windows.entrySet()) {
+            long lastAccess = entry.getValue().lastAccess;
+            if (!entry.getKey().equals(retained) && (lru == null || lastAccess - lruAccess < 0)) {
+               lru = entry;
+               lruAccess = lastAccess;
+            }
+         }
+         if (lru == null) {
+            return;
+         }
+         windows.remove(lru.getKey());
+         mappedBytes -= lru.getValue().buffer.capacity();
+      }
+   }
+
+   /**
+    * Drops the windows of the file that extend beyond the given size.
+    *
+    * @param file identifies the file
+    * @param size the new size of the file, 0 if it was deleted
+    */
+   synchronized void invalidate(Object file, long size) {
+      for (Iterator<Map.Entry<Window, MappedWindow>> it = windows.entrySet().iterator(); it.hasNext(); ) {
+         Map.Entry<Window, MappedWindow> entry = it.next();
+         Window window = entry.getKey();
+         if (window.file.equals(file) && window.start + entry.getValue().buffer.capacity() > size) {
+            mappedBytes -= entry.getValue().buffer.capacity();
+            it.remove();
+         }
+      }
+   }
+
+   synchronized void clear() {
+      windows.clear();
+      mappedBytes = 0;
+   }
+
+   synchronized long mappedBytes() {
+      return mappedBytes;
+   }
+
+   private static final class MappedWindow {
+      private final MappedByteBuffer buffer;
+      // Updated by every read without locking, only used to choose the windows to evict
+      private volatile long lastAccess = System.nanoTime();
+
+      private MappedWindow(MappedByteBuffer buffer) {
+         this.buffer = buffer;
+      }
+   }
+
+   private static final class Window {
+      private final Object file;
+      private final long start;
+
+      private Window(Object file, long start) {
+         this.file = file;
+         this.start = start;
+      }
+
+      @Override
+      public boolean equals(Object o) {
+         if (this == o) return true;
+         if (o == null || getClass() != o.getClass()) return false;
+         Window window = (Window) o;
+         return start == window.start && file.equals(window.file);
+      }
+
+      @Override
+      public int hashCode() {
+         return Objects.hash(file, start);
+      }
+   }
+}
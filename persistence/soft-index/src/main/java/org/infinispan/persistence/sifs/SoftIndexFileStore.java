@@ -14,6 +14,7 @@
 import org.infinispan.commons.persistence.Store;
 import org.infinispan.commons.util.AbstractIterator;
 import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.marshall.core.MarshalledEntryFactory;
 import org.infinispan.metadata.InternalMetadata;
@@ -121,6 +122,7 @@ public class SoftIndexFileStore implements AdvancedLoadWriteStore {
    private ByteBufferFactory byteBufferFactory;
    private MarshalledEntryFactory marshalledEntryFactory;
    private TimeService timeService;
+   private CompactionStatistics compactionStatistics;
    private int maxKeyLength;
 
    @Override
@@ -131,6 +133,15 @@ public void init(InitializationContext ctx) {
       byteBufferFactory = ctx.getByteBufferFactory();
       timeService = ctx.getTimeService();
       maxKeyLength = configuration.maxNodeSize() - IndexNode.RESERVED_SPACE;
+      // The statistics are exposed through JMX as a component of the cache, shared with the other segments of the store
+      ComponentRegistry componentRegistry = ctx.getCache().getAdvancedCache().getComponentRegistry();
+      synchronized (componentRegistry) {
+         compactionStatistics = componentRegistry.getComponent(CompactionStatistics.class);
+         if (compactionStatistics == null) {
+            compactionStatistics = new CompactionStatistics();
+            componentRegistry.registerComponent(compactionStatistics, CompactionStatistics.class);
+         }
+      }
    }
 
    @Override
@@ -142,13 +153,16 @@ public void start() {
       temporaryTable = new TemporaryTable(configuration.indexQueueLength() * configuration.indexSegments());
       storeQueue = new SyncProcessingQueue<>();
       indexQueue = new IndexQueue(configuration.indexSegments(), configuration.indexQueueLength());
-      fileProvider = new FileProvider(configuration.dataLocation(), configuration.openFilesLimit());
-      compactor = new Compactor(fileProvider, temporaryTable, indexQueue, marshaller, timeService, configuration.maxFileSize(), configuration.compactionThreshold());
+      MappedWindowCache mappedWindows = configuration.maxMappedMemory() > 0 ?
+            new MappedWindowCache(configuration.maxMappedMemory()) : null;
+      fileProvider = new FileProvider(configuration.dataLocation(), configuration.openFilesLimit(), mappedWindows);
+      compactor = new Compactor(fileProvider, temporaryTable, indexQueue, marshaller, timeService, configuration.maxFileSize(), configuration.compactionThreshold(),
+            configuration.compactionThreads(), configuration.compactionRateLimit(), compactionStatistics);
       logAppender = new LogAppender(storeQueue, indexQueue, temporaryTable, compactor, fileProvider, configuration.syncWrites(), configuration.maxFileSize());
       try {
          index = new Index(fileProvider, configuration.indexLocation(), configuration.indexSegments(),
                configuration.minNodeSize(), configuration.maxNodeSize(),
-               indexQueue, temporaryTable, compactor, timeService);
+               indexQueue, temporaryTable, compactor, timeService, mappedWindows);
       } catch (IOException e) {
          throw log.cannotOpenIndex(configuration.indexLocation(), e);
       }
@@ -0,0 +1,16 @@
+package org.infinispan.persistence.sifs;
+
+import org.infinispan.factories.components.ModuleMetadataFileFinder;
+import org.kohsuke.MetaInfServices;
+
+/**
+ * @since 9.4
+ */
+@MetaInfServices
+public class SoftIndexFileStoreMetadataFileFinder implements ModuleMetadataFileFinder {
+
+   @Override
+   public String getMetadataFilename() {
+      return "infinispan-persistence-soft-index-component-metadata.dat";
+   }
+}
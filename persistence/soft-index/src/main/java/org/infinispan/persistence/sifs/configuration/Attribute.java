@@ -11,11 +11,14 @@
 public enum Attribute {
    // must be first
    UNKNOWN(null),
+   COMPACTION_RATE_LIMIT("compaction-rate-limit"),
+   COMPACTION_THREADS("compaction-threads"),
    COMPACTION_THRESHOLD("compaction-threshold"),
    PATH("path"),
    INDEX_QUEUE_LENGTH("max-queue-length"),
    SEGMENTS("segments"),
    MAX_FILE_SIZE("max-file-size"),
+   MAX_MAPPED_MEMORY("max-mapped-memory"),
    MAX_NODE_SIZE("max-node-size"),
    MIN_NODE_SIZE("min-node-size"),
    OPEN_FILES_LIMIT("open-files-limit"),
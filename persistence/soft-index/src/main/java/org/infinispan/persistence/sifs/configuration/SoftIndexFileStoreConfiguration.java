@@ -28,10 +28,14 @@ public class SoftIndexFileStoreConfiguration extends AbstractSegmentedStoreConfi
    static final AttributeDefinition<Boolean> SYNC_WRITES = AttributeDefinition.builder("syncWrites", false).immutable().autoPersist(false).build();
    static final AttributeDefinition<Integer> OPEN_FILES_LIMIT = AttributeDefinition.builder("openFilesLimit", 1000).immutable().build();
    static final AttributeDefinition<Double> COMPACTION_THRESHOLD = AttributeDefinition.builder("compactionThreshold", 0.5d).immutable().build();
+   static final AttributeDefinition<Long> MAX_MAPPED_MEMORY = AttributeDefinition.builder("maxMappedMemory", 0L).immutable().build();
+   static final AttributeDefinition<Integer> COMPACTION_THREADS = AttributeDefinition.builder("compactionThreads", 1).immutable().build();
+   static final AttributeDefinition<Long> COMPACTION_RATE_LIMIT = AttributeDefinition.builder("compactionRateLimit", 0L).immutable().build();
 
    public static AttributeSet attributeDefinitionSet() {
       return new AttributeSet(SoftIndexFileStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), DATA_LOCATION, INDEX_LOCATION, INDEX_SEGMENTS, MAX_FILE_SIZE,
-            MIN_NODE_SIZE, MAX_NODE_SIZE, INDEX_QUEUE_LENGTH, SYNC_WRITES, OPEN_FILES_LIMIT, COMPACTION_THRESHOLD);
+            MIN_NODE_SIZE, MAX_NODE_SIZE, INDEX_QUEUE_LENGTH, SYNC_WRITES, OPEN_FILES_LIMIT, COMPACTION_THRESHOLD, MAX_MAPPED_MEMORY,
+            COMPACTION_THREADS, COMPACTION_RATE_LIMIT);
    }
 
    public SoftIndexFileStoreConfiguration(AttributeSet attributes, AsyncStoreConfiguration async, SingletonStoreConfiguration singletonStore) {
@@ -89,4 +93,16 @@ public double compactionThreshold() {
       return attributes.attribute(COMPACTION_THRESHOLD).get();
    }
 
+   public long maxMappedMemory() {
+      return attributes.attribute(MAX_MAPPED_MEMORY).get();
+   }
+
+   public int compactionThreads() {
+      return attributes.attribute(COMPACTION_THREADS).get();
+   }
+
+   public long compactionRateLimit() {
+      return attributes.attribute(COMPACTION_RATE_LIMIT).get();
+   }
+
 }
@@ -1,11 +1,14 @@
 package org.infinispan.persistence.sifs.configuration;
 
+import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.COMPACTION_RATE_LIMIT;
+import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.COMPACTION_THREADS;
 import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.COMPACTION_THRESHOLD;
 import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.DATA_LOCATION;
 import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.INDEX_LOCATION;
 import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.INDEX_QUEUE_LENGTH;
 import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.INDEX_SEGMENTS;
 import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.MAX_FILE_SIZE;
+import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.MAX_MAPPED_MEMORY;
 import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.MAX_NODE_SIZE;
 import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.MIN_NODE_SIZE;
 import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.OPEN_FILES_LIMIT;
@@ -76,6 +79,36 @@ public SoftIndexFileStoreConfigurationBuilder compactionThreshold(double compact
       return this;
    }
 
+   /**
+    * Sets how many data files may be compacted in parallel. Defaults to 1.
+    */
+   public SoftIndexFileStoreConfigurationBuilder compactionThreads(int compactionThreads) {
+      attributes.attribute(COMPACTION_THREADS).set(compactionThreads);
+      return this;
+   }
+
+   /**
+    * Sets the maximum amount of bytes per second read from the compacted files by all the compaction threads, so
+    * that compaction does not starve the reads and writes of the cache. The default value of 0 means unlimited.
+    */
+   public SoftIndexFileStoreConfigurationBuilder compactionRateLimit(long compactionRateLimit) {
+      attributes.attribute(COMPACTION_RATE_LIMIT).set(compactionRateLimit);
+      return this;
+   }
+
+   /**
+    * Sets how many bytes of the data files that are not appended anymore and of the index files may be memory mapped
+    * for reading. Reading from mapped files avoids a system call and a copy for each read, as long as the pages are
+    * in the page cache. The default value of 0 disables memory mapping.
+    * <p>
+    * Note that on some platforms, e.g. Windows, mapped files cannot be deleted or truncated until they are unmapped,
+    * which only happens when the mappings are garbage collected.
+    */
+   public SoftIndexFileStoreConfigurationBuilder maxMappedMemory(long maxMappedMemory) {
+      attributes.attribute(MAX_MAPPED_MEMORY).set(maxMappedMemory);
+      return this;
+   }
+
    @Override
    public SoftIndexFileStoreConfiguration create() {
       return new SoftIndexFileStoreConfiguration(attributes.protect(),
@@ -107,6 +140,18 @@ protected void validate(boolean skipClassChecks) {
       if (compactionThreshold <= 0 || compactionThreshold > 1) {
          throw log.invalidCompactionThreshold(compactionThreshold);
       }
+      long maxMappedMemory = attributes.attribute(MAX_MAPPED_MEMORY).get();
+      if (maxMappedMemory < 0) {
+         throw log.invalidMaxMappedMemory(maxMappedMemory);
+      }
+      int compactionThreads = attributes.attribute(COMPACTION_THREADS).get();
+      if (compactionThreads <= 0) {
+         throw log.invalidCompactionThreads(compactionThreads);
+      }
+      long compactionRateLimit = attributes.attribute(COMPACTION_RATE_LIMIT).get();
+      if (compactionRateLimit < 0) {
+         throw log.invalidCompactionRateLimit(compactionRateLimit);
+      }
    }
 
    @Override
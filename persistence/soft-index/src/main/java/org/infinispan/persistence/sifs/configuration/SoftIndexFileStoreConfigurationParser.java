@@ -62,6 +62,15 @@ private void parseSoftIndexFileStore(XMLExtendedStreamReader reader, SoftIndexFi
             case COMPACTION_THRESHOLD:
                builder.compactionThreshold(Double.parseDouble(value));
                break;
+            case COMPACTION_THREADS:
+               builder.compactionThreads(Integer.parseInt(value));
+               break;
+            case COMPACTION_RATE_LIMIT:
+               builder.compactionRateLimit(Long.parseLong(value));
+               break;
+            case MAX_MAPPED_MEMORY:
+               builder.maxMappedMemory(Long.parseLong(value));
+               break;
             default:
                Parser.parseStoreAttribute(reader, i, builder);
                break;
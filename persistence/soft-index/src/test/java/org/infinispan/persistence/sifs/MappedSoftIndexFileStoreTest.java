@@ -0,0 +1,19 @@
+package org.infinispan.persistence.sifs;
+
+import org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfigurationBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Low level soft-index file store tests, reading the files through memory mappings.
+ *
+ * @since 9.4
+ */
+@Test(groups = "unit", testName = "persistence.MappedSoftIndexFileStoreTest")
+public class MappedSoftIndexFileStoreTest extends SoftIndexFileStoreTest {
+
+   @Override
+   protected void configureStore(SoftIndexFileStoreConfigurationBuilder builder) {
+      // Small enough for the windows to be evicted
+      builder.maxMappedMemory(4 * MappedWindowCache.WINDOW_SIZE);
+   }
+}
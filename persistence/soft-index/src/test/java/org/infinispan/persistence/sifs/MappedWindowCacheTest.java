@@ -0,0 +1,158 @@
+package org.infinispan.persistence.sifs;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.util.Util;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * @since 9.4
+ */
+@Test(groups = "unit", testName = "persistence.MappedWindowCacheTest")
+public class MappedWindowCacheTest extends AbstractInfinispanTest {
+   private static final int WINDOWS = 5;
+
+   private String tmpDirectory;
+   private FileChannel channel;
+
+   @BeforeMethod
+   public void setUp() throws IOException {
+      tmpDirectory = TestingUtil.tmpDirectory(this.getClass());
+      Util.recursiveFileRemove(tmpDirectory);
+      new File(tmpDirectory).mkdirs();
+      channel = new RandomAccessFile(new File(tmpDirectory, "file"), "rw").getChannel();
+   }
+
+   @AfterMethod(alwaysRun = true)
+   public void tearDown() throws IOException {
+      channel.close();
+      Util.recursiveFileRemove(tmpDirectory);
+   }
+
+   private void append(int length) throws IOException {
+      ByteBuffer buffer = ByteBuffer.allocate(length);
+      long position = channel.size();
+      for (int i = 0; i < length; ++i) {
+         buffer.put(i, (byte) (position + i));
+      }
+      channel.write(buffer, position);
+   }
+
+   private void assertRead(MappedWindowCache cache, long position, int length) throws IOException {
+      ByteBuffer buffer = ByteBuffer.allocate(length);
+      while (buffer.hasRemaining()) {
+         int read = cache.read("file", channel, buffer, position + buffer.position());
+         assertTrue("Cannot read " + length + " bytes at " + position, read >= 0);
+      }
+      for (int i = 0; i < length; ++i) {
+         assertEquals((byte) (position + i), buffer.get(i));
+      }
+   }
+
+   public void testReadsAcrossWindows() throws IOException {
+      append(WINDOWS * MappedWindowCache.WINDOW_SIZE + 100);
+      MappedWindowCache cache = new MappedWindowCache(2 * MappedWindowCache.WINDOW_SIZE);
+      Random random = new Random(42);
+      for (int i = 0; i < 1000; ++i) {
+         int length = random.nextInt(10000) + 1;
+         long position = random.nextInt((int) channel.size() - length);
+         assertRead(cache, position, length);
+         assertTrue(cache.mappedBytes() <= 2 * MappedWindowCache.WINDOW_SIZE);
+      }
+      // A window is never split, so a read crossing windows stops at the end of the first one
+      ByteBuffer buffer = ByteBuffer.allocate(100);
+      assertEquals(50, cache.read("file", channel, buffer, MappedWindowCache.WINDOW_SIZE - 50));
+   }
+
+   public void testEndOfFile() throws IOException {
+      append(100);
+      MappedWindowCache cache = new MappedWindowCache(MappedWindowCache.WINDOW_SIZE);
+      ByteBuffer buffer = ByteBuffer.allocate(50);
+      assertEquals(20, cache.read("file", channel, buffer, 80));
+      buffer.clear();
+      assertEquals(-1, cache.read("file", channel, buffer, 100));
+      assertEquals(-1, cache.read("file", channel, buffer, MappedWindowCache.WINDOW_SIZE + 10));
+      assertEquals(100, cache.mappedBytes());
+   }
+
+   public void testFileGrowsAndShrinks() throws IOException {
+      append(100);
+      MappedWindowCache cache = new MappedWindowCache(MappedWindowCache.WINDOW_SIZE);
+      assertRead(cache, 0, 100);
+      append(100);
+      // The window is mapped again with the new size
+      assertRead(cache, 50, 150);
+      assertEquals(200, cache.mappedBytes());
+
+      cache.invalidate("file", 150);
+      assertEquals(0, cache.mappedBytes());
+      channel.truncate(150);
+      ByteBuffer buffer = ByteBuffer.allocate(100);
+      assertEquals(50, cache.read("file", channel, buffer, 100));
+      assertEquals(150, cache.mappedBytes());
+
+      cache.invalidate("other", 0);
+      assertEquals(150, cache.mappedBytes());
+      cache.clear();
+      assertEquals(0, cache.mappedBytes());
+   }
+
+   public void testConcurrentReads() throws Exception {
+      append(WINDOWS * MappedWindowCache.WINDOW_SIZE);
+      MappedWindowCache cache = new MappedWindowCache(2 * MappedWindowCache.WINDOW_SIZE);
+      List<Future<Void>> readers = new ArrayList<>();
+      for (int t = 0; t < 4; ++t) {
+         Random random = new Random(t);
+         readers.add(fork(() -> {
+            for (int i = 0; i < 1000; ++i) {
+               int length = random.nextInt(10000) + 1;
+               assertRead(cache, random.nextInt((int) channel.size() - length), length);
+            }
+            return null;
+         }));
+      }
+      for (Future<Void> reader : readers) {
+         reader.get(30, TimeUnit.SECONDS);
+      }
+      assertTrue(cache.mappedBytes() <= 2 * MappedWindowCache.WINDOW_SIZE);
+   }
+
+   public void testLogFileIsMappedOnceCompleted() throws IOException {
+      MappedWindowCache cache = new MappedWindowCache(MappedWindowCache.WINDOW_SIZE);
+      FileProvider fileProvider = new FileProvider(tmpDirectory, 10, cache);
+      try {
+         FileProvider.Log log = fileProvider.getFileForLog();
+         log.fileChannel.write(ByteBuffer.allocate(100));
+         // The file is opened for reading while it is still appended to
+         FileProvider.Handle handle = fileProvider.getFile(log.fileId);
+         try {
+            assertEquals(100, handle.read(ByteBuffer.allocate(100), 0));
+            assertEquals(0, cache.mappedBytes());
+
+            log.close();
+            assertEquals(100, handle.read(ByteBuffer.allocate(100), 0));
+            assertEquals(100, cache.mappedBytes());
+         } finally {
+            handle.close();
+         }
+      } finally {
+         fileProvider.stop();
+      }
+   }
+}
@@ -0,0 +1,89 @@
+package org.infinispan.persistence.sifs;
+
+import static org.infinispan.test.TestingUtil.getCacheObjectName;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.infinispan.commons.util.Util;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.jmx.PerThreadMBeanServerLookup;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfigurationBuilder;
+import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that multiple compaction threads reclaim the space of overwritten entries and report it through JMX.
+ *
+ * @since 9.4
+ */
+@Test(groups = "functional", testName = "persistence.SoftIndexFileStoreCompactionTest")
+public class SoftIndexFileStoreCompactionTest extends SingleCacheManagerTest {
+   private static final String JMX_DOMAIN = SoftIndexFileStoreCompactionTest.class.getSimpleName();
+   private static final int KEYS = 100;
+   private static final int UPDATES = 50;
+
+   private final ObjectName compactionObjName =
+         getCacheObjectName(JMX_DOMAIN, "___defaultcache(local)", "SoftIndexFileStoreCompaction");
+   private String tmpDirectory;
+   private MBeanServer threadMBeanServer;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      tmpDirectory = TestingUtil.tmpDirectory(this.getClass());
+      Util.recursiveFileRemove(tmpDirectory);
+      GlobalConfigurationBuilder globalBuilder = new GlobalConfigurationBuilder();
+      globalBuilder.globalJmxStatistics()
+            .mBeanServerLookup(new PerThreadMBeanServerLookup())
+            .jmxDomain(JMX_DOMAIN)
+            .enable();
+
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.jmxStatistics().enable()
+            .persistence()
+               .addStore(SoftIndexFileStoreConfigurationBuilder.class)
+                  .indexLocation(tmpDirectory).dataLocation(tmpDirectory + "/data")
+                  .maxFileSize(1000)
+                  .compactionThreads(3)
+                  .compactionRateLimit(10 * 1024 * 1024);
+
+      threadMBeanServer = PerThreadMBeanServerLookup.getThreadMBeanServer();
+      return TestCacheManagerFactory.createCacheManager(globalBuilder, builder, true);
+   }
+
+   @AfterClass(alwaysRun = true)
+   protected void clearTempDir() {
+      Util.recursiveFileRemove(tmpDirectory);
+   }
+
+   private long attribute(String name) throws Exception {
+      return (Long) threadMBeanServer.getAttribute(compactionObjName, name);
+   }
+
+   public void testOverwrittenEntriesAreCompacted() throws Exception {
+      for (int i = 0; i < UPDATES; ++i) {
+         for (int k = 0; k < KEYS; ++k) {
+            cache.put("key" + k, "value" + i);
+         }
+      }
+
+      eventually(() -> attribute("CompactedFiles") > 0 && attribute("Backlog") == 0);
+      assertTrue(attribute("ReclaimedBytes") > 0);
+
+      AdvancedLoadWriteStore store = TestingUtil.getFirstLoader(cache);
+      for (int k = 0; k < KEYS; ++k) {
+         assertEquals("value" + (UPDATES - 1), store.load("key" + k).getValue());
+      }
+
+      threadMBeanServer.invoke(compactionObjName, "resetStatistics", new Object[0], new String[0]);
+      assertEquals(0, attribute("CompactedFiles"));
+   }
+}
@@ -0,0 +1,111 @@
+package org.infinispan.persistence.sifs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.util.Util;
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfigurationBuilder;
+import org.infinispan.test.TestingUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Measures the throughput of random reads from the soft-index file store, with the files read through their channels
+ * or through memory mappings. The files were just written so they are in the page cache, which makes the cost of the
+ * system calls avoided by the mappings stand out.
+ *
+ * @since 9.4
+ */
+@Test(groups = "profiling", testName = "persistence.SoftIndexFileStoreReadBenchmark")
+public class SoftIndexFileStoreReadBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 5;
+
+   public void performRandomReadTest() throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(this.getClass().getName() + ".*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .threads(4)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @State(Scope.Benchmark)
+   public static class BenchmarkState {
+
+      @Param({"10000", "100000"})
+      public int entryCount;
+
+      /**
+       * Disabled versus large enough to map all the files
+       */
+      @Param({"0", "1073741824"})
+      public long maxMappedMemory;
+
+      private EmbeddedCacheManager cacheManager;
+      private SoftIndexFileStore store;
+      private String tmpDirectory;
+      private String[] keys;
+
+      @Setup
+      public void setup() throws IOException {
+         tmpDirectory = Files.createTempDirectory(SoftIndexFileStoreReadBenchmark.class.getSimpleName()).toString();
+         ConfigurationBuilder builder = new ConfigurationBuilder();
+         builder.persistence()
+               .addStore(SoftIndexFileStoreConfigurationBuilder.class)
+                  .indexLocation(tmpDirectory + "/index").dataLocation(tmpDirectory + "/data")
+                  .maxMappedMemory(maxMappedMemory);
+         cacheManager = new DefaultCacheManager(new GlobalConfigurationBuilder().build(), builder.build());
+         Cache<String, byte[]> cache = cacheManager.getCache();
+         store = TestingUtil.getFirstLoader(cache);
+
+         ThreadLocalRandom random = ThreadLocalRandom.current();
+         keys = new String[entryCount];
+         for (int i = 0; i < entryCount; ++i) {
+            byte[] value = new byte[256];
+            random.nextBytes(value);
+            keys[i] = "key" + i;
+            cache.put(keys[i], value);
+         }
+      }
+
+      @TearDown
+      public void tearDown() {
+         cacheManager.stop();
+         Util.recursiveFileRemove(tmpDirectory);
+      }
+
+      String randomKey() {
+         return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+      }
+   }
+
+   @Benchmark
+   public Object load(BenchmarkState state) {
+      return state.store.load(state.randomKey());
+   }
+}
@@ -84,15 +84,18 @@ public void stop() {
       };
       ConfigurationBuilder builder = TestCacheManagerFactory
             .getDefaultCacheConfiguration(false);
-      builder.persistence()
+      configureStore(builder.persistence()
                .addStore(SoftIndexFileStoreConfigurationBuilder.class)
                   .indexLocation(tmpDirectory).dataLocation(tmpDirectory + "/data")
-                  .maxFileSize(1000);
+                  .maxFileSize(1000));
 
       store.init(createContext(builder.build()));
       return store;
    }
 
+   protected void configureStore(SoftIndexFileStoreConfigurationBuilder builder) {
+   }
+
    @Override
    protected boolean storePurgesAllExpired() {
       return false;
@@ -203,6 +203,11 @@ public ByteBuf getAllResponse(HotRodHeader header, HotRodServer server, ByteBufA
       throw new UnsupportedOperationException();
    }
 
+   @Override
+   public ByteBuf keysResponse(HotRodHeader header, HotRodServer server, ByteBufAllocator alloc, Collection<byte[]> keys) {
+      throw new UnsupportedOperationException();
+   }
+
    @Override
    public ByteBuf bulkGetKeysResponse(HotRodHeader header, HotRodServer server, ByteBufAllocator alloc, CloseableIterator<byte[]> iterator) {
       ByteBuf buf = writeHeader(header, server, alloc, OperationStatus.Success);
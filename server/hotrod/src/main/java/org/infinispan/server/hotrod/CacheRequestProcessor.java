@@ -3,8 +3,10 @@
 import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 import javax.security.auth.Subject;
 
@@ -13,11 +15,17 @@
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.container.versioning.NumericVersion;
 import org.infinispan.context.Flag;
+import org.infinispan.functional.FunctionalMap.ReadWriteMap;
+import org.infinispan.functional.FunctionalMap.WriteOnlyMap;
+import org.infinispan.functional.impl.ReadWriteMapImpl;
+import org.infinispan.functional.impl.WriteOnlyMapImpl;
 import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.marshall.core.MarshallableFunctions;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.notifications.Listener;
 import org.infinispan.notifications.cachemanagerlistener.annotation.CacheStopped;
 import org.infinispan.notifications.cachemanagerlistener.event.CacheStoppedEvent;
+import org.infinispan.security.AuthorizationPermission;
 import org.infinispan.server.hotrod.HotRodServer.CacheInfo;
 import org.infinispan.server.hotrod.iteration.IterableIterationResult;
 import org.infinispan.server.hotrod.logging.Log;
@@ -48,12 +56,21 @@ private boolean isBlockingRead(CacheInfo info, HotRodHeader header) {
       return info.persistence && !header.isSkipCacheLoad();
    }
 
+   private boolean isBlockingKeyRead(CacheInfo info, HotRodHeader header) {
+      return isBlockingRead(info, header) && !info.nonBlockingKeyReads;
+   }
+
    private boolean isBlockingWrite(AdvancedCache<byte[], byte[]> cache, HotRodHeader header) {
       CacheInfo info = server.getCacheInfo(cache, header);
       // Note: cache store cannot be skipped (yet)
       return info.persistence || info.indexing && !header.isSkipIndexing();
    }
 
+   private boolean isBlockingKeyWrite(AdvancedCache<byte[], byte[]> cache, HotRodHeader header) {
+      CacheInfo info = server.getCacheInfo(cache, header);
+      return info.persistence && !info.nonBlockingKeyWrites || info.indexing && !header.isSkipIndexing();
+   }
+
    void ping(HotRodHeader header, Subject subject) {
       server.cache(header, subject); // we need to throw an exception when this cache is inaccessible
       writeResponse(header, header.encoder().emptyResponseWithMediaTypes(header, server, channel.alloc(), OperationStatus.Success));
@@ -71,7 +88,7 @@ void get(HotRodHeader header, Subject subject, byte[] key) {
       CacheEntry<byte[], byte[]> entry = info.localNonBlocking(subject).getCacheEntry(key);
       if (entry != null) {
          handleGet(header, entry, null);
-      } else if (isBlockingRead(info, header)) {
+      } else if (isBlockingKeyRead(info, header)) {
          executor.execute(() -> getInternal(header, cache, key));
       } else {
          getInternal(header, cache, key);
@@ -122,7 +139,7 @@ void getWithMetadata(HotRodHeader header, Subject subject, byte[] key, int offse
       CacheEntry<byte[], byte[]> entry = info.localNonBlocking(subject).getCacheEntry(key);
       if (entry != null) {
          handleGetWithMetadata(header, offset, entry, null);
-      } else if (isBlockingRead(info, header)) {
+      } else if (isBlockingKeyRead(info, header)) {
          executor.execute(() -> getWithMetadataInternal(header, cache, key, offset));
       } else {
          getWithMetadataInternal(header, cache, key, offset);
@@ -159,7 +176,7 @@ void containsKey(HotRodHeader header, Subject subject, byte[] key) {
       boolean contains = info.localNonBlocking(subject).containsKey(key);
       if (contains) {
          writeSuccess(header);
-      } else if (isBlockingRead(info, header)) {
+      } else if (isBlockingKeyRead(info, header)) {
          executor.execute(() -> containsKeyInternal(header, cache, key));
       } else {
          containsKeyInternal(header, cache, key);
@@ -183,7 +200,7 @@ private void handleContainsKey(HotRodHeader header, Boolean result, Throwable th
 
    void put(HotRodHeader header, Subject subject, byte[] key, byte[] value, Metadata metadata) {
       AdvancedCache<byte[], byte[]> cache = server.cache(header, subject);
-      if (isBlockingWrite(cache, header)) {
+      if (isBlockingKeyWrite(cache, header)) {
          executor.execute(() -> putInternal(header, cache, key, value, metadata));
       } else {
          putInternal(header, cache, key, value, metadata);
@@ -205,7 +222,7 @@ private void handlePut(HotRodHeader header, byte[] result, Throwable throwable)
 
    void replaceIfUnmodified(HotRodHeader header, Subject subject, byte[] key, long version, byte[] value, Metadata metadata) {
       AdvancedCache<byte[], byte[]> cache = server.cache(header, subject);
-      if (isBlockingWrite(cache, header)) {
+      if (isBlockingKeyWrite(cache, header)) {
          executor.execute(() -> replaceIfUnmodifiedInternal(header, cache, key, version, value, metadata));
       } else {
          replaceIfUnmodifiedInternal(header, cache, key, version, value, metadata);
@@ -244,7 +261,7 @@ private void handleGetForReplaceIfUnmodified(HotRodHeader header, AdvancedCache<
 
    void replace(HotRodHeader header, Subject subject, byte[] key, byte[] value, Metadata metadata) {
       AdvancedCache<byte[], byte[]> cache = server.cache(header, subject);
-      if (isBlockingWrite(cache, header)) {
+      if (isBlockingKeyWrite(cache, header)) {
          executor.execute(() -> replaceInternal(header, cache, key, value, metadata));
       } else {
          replaceInternal(header, cache, key, value, metadata);
@@ -282,7 +299,7 @@ private void handleReplace(HotRodHeader header, byte[] result, Throwable throwab
 
    void putIfAbsent(HotRodHeader header, Subject subject, byte[] key, byte[] value, Metadata metadata) {
       AdvancedCache<byte[], byte[]> cache = server.cache(header, subject);
-      if (isBlockingWrite(cache, header)) {
+      if (isBlockingKeyWrite(cache, header)) {
          executor.execute(() -> putIfAbsentInternal(header, cache, key, value, metadata));
       } else {
          putIfAbsentInternal(header, cache, key, value, metadata);
@@ -317,7 +334,7 @@ private void handlePutIfAbsent(HotRodHeader header, byte[] result, Throwable thr
 
    void remove(HotRodHeader header, Subject subject, byte[] key) {
       AdvancedCache<byte[], byte[]> cache = server.cache(header, subject);
-      if (isBlockingWrite(cache, header)) {
+      if (isBlockingKeyWrite(cache, header)) {
          executor.execute(() -> removeInternal(header, cache, key));
       } else {
          removeInternal(header, cache, key);
@@ -340,7 +357,7 @@ private void handleRemove(HotRodHeader header, byte[] prev, Throwable throwable)
 
    void removeIfUnmodified(HotRodHeader header, Subject subject, byte[] key, long version) {
       AdvancedCache<byte[], byte[]> cache = server.cache(header, subject);
-      if (isBlockingWrite(cache, header)) {
+      if (isBlockingKeyWrite(cache, header)) {
          executor.execute(() -> removeIfUnmodifiedInternal(header, cache, key, version));
       } else {
          removeIfUnmodifiedInternal(header, cache, key, version);
@@ -416,6 +433,44 @@ private void handlePutAll(HotRodHeader header, Throwable throwable) {
       }
    }
 
+   void removeAll(HotRodHeader header, Subject subject, Set<byte[]> keys) {
+      AdvancedCache<byte[], byte[]> cache = server.cache(header, subject);
+      WriteOnlyMap<byte[], byte[]> writeOnlyMap = WriteOnlyMapImpl.create(SecurityActions.getFunctionalMap(cache, AuthorizationPermission.WRITE));
+      if (isBlockingWrite(cache, header)) {
+         executor.execute(() -> removeAllInternal(header, writeOnlyMap, keys));
+      } else {
+         removeAllInternal(header, writeOnlyMap, keys);
+      }
+   }
+
+   private void removeAllInternal(HotRodHeader header, WriteOnlyMap<byte[], byte[]> writeOnlyMap, Set<byte[]> keys) {
+      writeOnlyMap.evalMany(keys, MarshallableFunctions.removeConsumer()).whenComplete((nil, throwable) -> {
+         if (throwable != null) {
+            writeException(header, throwable);
+         } else {
+            writeSuccess(header);
+         }
+      });
+   }
+
+   void replaceAllWithVersion(HotRodHeader header, Subject subject, Map<byte[], byte[]> entries, Map<byte[], Long> versions, Metadata metadata) {
+      AdvancedCache<byte[], byte[]> cache = server.cache(header, subject);
+      ReadWriteMap<byte[], byte[]> readWriteMap = ReadWriteMapImpl.create(SecurityActions.getFunctionalMap(cache, AuthorizationPermission.WRITE));
+      // The read-write commands wait for the outcome of all the keys
+      executor.execute(() -> replaceAllWithVersionInternal(header, readWriteMap, entries, versions, metadata));
+   }
+
+   private void replaceAllWithVersionInternal(HotRodHeader header, ReadWriteMap<byte[], byte[]> readWriteMap, Map<byte[], byte[]> entries, Map<byte[], Long> versions, Metadata metadata) {
+      try {
+         List<byte[]> notReplaced = readWriteMap.evalMany(entries.keySet(), ReplaceIfUnmodifiedFunction.create(entries, versions, metadata))
+               .filter(Objects::nonNull)
+               .collect(Collectors.toList());
+         writeResponse(header, header.encoder().keysResponse(header, server, channel.alloc(), notReplaced));
+      } catch (Throwable t) {
+         writeException(header, t);
+      }
+   }
+
    void getAll(HotRodHeader header, Subject subject, Set<?> keys) {
       AdvancedCache<byte[], byte[]> cache = server.cache(header, subject);
       if (isBlockingRead(server.getCacheInfo(cache, header), header)) {
@@ -530,6 +585,20 @@ private void removeClientListenerInternal(HotRodHeader header, AdvancedCache<byt
       }
    }
 
+   void updateBloomFilter(HotRodHeader header, Subject subject, byte[] listenerId, byte[] bloomFilter) {
+      // Only check the permissions, the filter applies to the listener
+      server.cache(header, subject);
+      try {
+         if (server.getClientListenerRegistry().updateBloomFilter(listenerId, bloomFilter)) {
+            writeSuccess(header);
+         } else {
+            writeNotExecuted(header);
+         }
+      } catch (Throwable t) {
+         writeException(header, t);
+      }
+   }
+
    void iterationStart(HotRodHeader header, Subject subject, byte[] segmentMask, String filterConverterFactory, List<byte[]> filterConverterParams, int batch, boolean includeMetadata) {
       AdvancedCache<byte[], byte[]> cache = server.cache(header, subject);
       executor.execute(() -> {
@@ -17,6 +17,7 @@
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import org.infinispan.AdvancedCache;
@@ -27,7 +28,9 @@
 import org.infinispan.commons.logging.LogFactory;
 import org.infinispan.commons.marshall.Marshaller;
 import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.util.BloomFilter;
 import org.infinispan.commons.util.CollectionFactory;
+import org.infinispan.commons.util.Util;
 import org.infinispan.container.versioning.NumericVersion;
 import org.infinispan.encoding.DataConversion;
 import org.infinispan.factories.threads.DefaultThreadFactory;
@@ -48,6 +51,8 @@
 import org.infinispan.notifications.cachelistener.filter.CacheEventFilterConverter;
 import org.infinispan.notifications.cachelistener.filter.CacheEventFilterConverterFactory;
 import org.infinispan.notifications.cachelistener.filter.CacheEventFilterFactory;
+import org.infinispan.server.hotrod.configuration.EventOverflowPolicy;
+import org.infinispan.server.hotrod.configuration.HotRodServerConfiguration;
 import org.infinispan.server.hotrod.logging.Log;
 import org.infinispan.util.KeyValuePair;
 
@@ -59,9 +64,17 @@
  */
 class ClientListenerRegistry {
    private final EncoderRegistry encoderRegistry;
+   private final int eventQueueSize;
+   private final EventOverflowPolicy eventOverflowPolicy;
+   private final int eventBatchSize;
+   private final long eventCoalescingWindow;
 
-   ClientListenerRegistry(EncoderRegistry encoderRegistry) {
+   ClientListenerRegistry(EncoderRegistry encoderRegistry, HotRodServerConfiguration configuration) {
       this.encoderRegistry = encoderRegistry;
+      this.eventQueueSize = configuration.eventQueueSize();
+      this.eventOverflowPolicy = configuration.eventOverflowPolicy();
+      this.eventBatchSize = configuration.eventBatchSize();
+      this.eventCoalescingWindow = configuration.eventCoalescingWindow();
    }
 
    private final static Log log = LogFactory.getLog(ClientListenerRegistry.class, Log.class);
@@ -250,6 +263,18 @@ boolean removeClientListener(byte[] listenerId, Cache cache) {
       } else return false;
    }
 
+   /**
+    * Sets the Bloom filter of the keys the client of a listener is interested in. Events of keys that are not in the
+    * filter are not sent to the client. An empty filter removes the filter, and every event is sent again.
+    */
+   boolean updateBloomFilter(byte[] listenerId, byte[] bloomFilter) {
+      Object sender = eventSenders.get(new WrappedByteArray(listenerId));
+      if (sender instanceof BaseClientEventSender) {
+         ((BaseClientEventSender) sender).keyFilter = bloomFilter.length == 0 ? null : BloomFilter.fromByteArray(bloomFilter);
+         return true;
+      } else return false;
+   }
+
    public void stop() {
       eventSenders.clear();
       cacheEventFilterFactories.clear();
@@ -300,7 +325,16 @@ private abstract class BaseClientEventSender {
       protected final ClientEventType targetEventType;
       protected final Cache cache;
 
-      BlockingQueue<Events.Event> eventQueue = new LinkedBlockingQueue<>(100);
+      // Either an event, or the key of the latest event in coalescedEvents
+      final BlockingQueue<Object> eventQueue = new LinkedBlockingQueue<>(eventQueueSize);
+      // The latest event of the queued keys, or null if the events are not coalesced
+      final ConcurrentMap<WrappedByteArray, Events.Event> coalescedEvents =
+            eventCoalescingWindow > 0 ? new ConcurrentHashMap<>() : null;
+      private final AtomicBoolean writeScheduled = new AtomicBoolean();
+      private final AtomicBoolean overflowed = new AtomicBoolean();
+
+      // The keys the client may be interested in, or null to send the events of every key
+      volatile BloomFilter keyFilter;
 
       private final Runnable writeEventsIfPossible = this::writeEventsIfPossible;
 
@@ -318,14 +352,25 @@ boolean hasChannel(Channel channel) {
       }
 
       void writeEventsIfPossible() {
+         writeScheduled.set(false);
          boolean written = false;
          while (!eventQueue.isEmpty() && ch.isWritable()) {
-            Events.Event event = eventQueue.poll();
-            if (isTrace) log.tracef("Write event: %s to channel %s", event, ch);
+            // Encode several events in the same buffer, the client reads them one after the other
             ByteBuf buf = ch.alloc().ioBuffer();
-            encoder.writeEvent(event, buf);
-            ch.write(buf);
-            written = true;
+            int batched = 0;
+            Object queued;
+            while (batched < eventBatchSize && (queued = eventQueue.poll()) != null) {
+               Events.Event event = queued instanceof WrappedByteArray ? coalescedEvents.remove(queued) : (Events.Event) queued;
+               if (isTrace) log.tracef("Write event: %s to channel %s", event, ch);
+               encoder.writeEvent(event, buf);
+               batched++;
+            }
+            if (batched > 0) {
+               ch.write(buf);
+               written = true;
+            } else {
+               buf.release();
+            }
          }
          if (written) {
             ch.flush();
@@ -338,6 +383,12 @@ void writeEventsIfPossible() {
       @CacheEntryExpired
       public void onCacheEvent(CacheEntryEvent<byte[], byte[]> event) {
          if (isSendEvent(event)) {
+            Object k = event.getKey();
+            BloomFilter filter = keyFilter;
+            if (filter != null && !filter.mightContain(k)) {
+               if (isTrace) log.tracef("Skip event for key %s not in the Bloom filter of listener %s", Util.printArray((byte[]) k), Util.printArray(listenerId));
+               return;
+            }
             long version;
             Metadata metadata;
             if ((metadata = event.getMetadata()) != null && metadata.version() != null) {
@@ -345,7 +396,6 @@ public void onCacheEvent(CacheEntryEvent<byte[], byte[]> event) {
             } else {
                version = 0;
             }
-            Object k = event.getKey();
             Object v = event.getValue();
             sendEvent((byte[]) k, (byte[]) v, version, event);
          }
@@ -382,16 +432,49 @@ void sendEvent(byte[] key, byte[] value, long dataVersion, CacheEntryEvent event
             log.tracef("Queue event %s, before queuing event queue size is %d", remoteEvent, eventQueue.size());
 
          boolean waitingForFlush = !ch.isWritable();
-         try {
-            eventQueue.put(remoteEvent);
-         } catch (InterruptedException e) {
-            throw new CacheException(e);
+         Object queued = remoteEvent;
+         if (coalescedEvents != null && !event.isCurrentState()) {
+            WrappedByteArray wrappedKey = new WrappedByteArray(key);
+            // The key is only queued once, the writer takes the latest event after polling it
+            if (coalescedEvents.put(wrappedKey, remoteEvent) != null) {
+               if (isTrace) log.tracef("Coalesced event %s with the previous event of the same key", remoteEvent);
+               return;
+            }
+            queued = wrappedKey;
+         }
+         if (!queue(queued)) {
+            return;
          }
 
-         if (!waitingForFlush) {
+         if (!waitingForFlush && writeScheduled.compareAndSet(false, true)) {
             // Make sure we write any event in main event loop
-            ch.eventLoop().submit(writeEventsIfPossible);
+            if (eventCoalescingWindow > 0) {
+               ch.eventLoop().schedule(writeEventsIfPossible, eventCoalescingWindow, TimeUnit.MILLISECONDS);
+            } else {
+               ch.eventLoop().execute(writeEventsIfPossible);
+            }
+         }
+      }
+
+      private boolean queue(Object queued) {
+         if (eventOverflowPolicy == EventOverflowPolicy.BLOCK) {
+            try {
+               eventQueue.put(queued);
+            } catch (InterruptedException e) {
+               throw new CacheException(e);
+            }
+            return true;
+         } else if (eventQueue.offer(queued)) {
+            return true;
+         }
+         if (overflowed.compareAndSet(false, true)) {
+            // The client fails over the listener, and clears its near cache as some events are lost
+            log.eventQueueFull(Util.printArray(listenerId), eventQueue.size());
+            cache.removeListener(this);
+            eventSenders.remove(new WrappedByteArray(listenerId), this);
+            ch.close();
          }
+         return false;
       }
 
       private Events.Event createRemoteEvent(byte[] key, byte[] value, long dataVersion, CacheEntryEvent event) {
@@ -242,6 +242,16 @@ public ByteBuf getAllResponse(HotRodHeader header, HotRodServer server, ByteBufA
       return buf;
    }
 
+   @Override
+   public ByteBuf keysResponse(HotRodHeader header, HotRodServer server, ByteBufAllocator alloc, Collection<byte[]> keys) {
+      ByteBuf buf = writeHeader(header, server, alloc, OperationStatus.Success);
+      ExtendedByteBuf.writeUnsignedInt(keys.size(), buf);
+      for (byte[] key : keys) {
+         ExtendedByteBuf.writeRangedBytes(key, buf);
+      }
+      return buf;
+   }
+
    @Override
    public ByteBuf bulkGetKeysResponse(HotRodHeader header, HotRodServer server, ByteBufAllocator alloc, CloseableIterator<byte[]> iterator) {
       ByteBuf buf = writeHeader(header, server, alloc, OperationStatus.Success);
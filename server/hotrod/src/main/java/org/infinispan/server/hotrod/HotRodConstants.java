@@ -53,6 +53,9 @@ public interface HotRodConstants {
    byte ITERATION_END_REQUEST = 0x35;
    byte GET_STREAM_REQUEST = 0x37;
    byte PUT_STREAM_REQUEST = 0x39;
+   byte REMOVE_ALL_REQUEST = 0x41;
+   byte REPLACE_ALL_WITH_VERSION_REQUEST = 0x43;
+   byte UPDATE_BLOOM_FILTER_REQUEST = 0x45;
 
    byte PREPARE_TX = 0x3B;
    byte COMMIT_TX = 0x3D;
@@ -230,7 +230,7 @@ protected void startInternal(HotRodServerConfiguration configuration, EmbeddedCa
       // Initialize query-specific stuff
       List<QueryFacade> queryFacades = loadQueryFacades();
       queryFacade = queryFacades.size() > 0 ? queryFacades.get(0) : null;
-      clientListenerRegistry = new ClientListenerRegistry(cacheManager.getGlobalComponentRegistry().getComponent(EncoderRegistry.class));
+      clientListenerRegistry = new ClientListenerRegistry(cacheManager.getGlobalComponentRegistry().getComponent(EncoderRegistry.class), configuration);
       clientCounterNotificationManager = new ClientCounterManagerNotificationManager(asCounterManager(cacheManager));
 
       addKeyValueFilterConverterFactory(ToEmptyBytesKeyValueFilterConverter.class.getName(), new ToEmptyBytesFactory());
@@ -429,12 +429,17 @@ public CacheInfo getCacheInfo(AdvancedCache<byte[], byte[]> cache, HotRodHeader
                .noFlags().withFlags(LOCAL_NON_BLOCKING_GET);
          if (cache.getStatus() != ComponentStatus.RUNNING) {
             // stay on the safe side
-            return new CacheInfo(localNonBlocking, true, true);
+            return new CacheInfo(localNonBlocking, true, false, false, true);
          }
          ComponentRegistry cr = SecurityActions.getCacheComponentRegistry(cache);
          PersistenceManager pm = cr.getComponent(PersistenceManager.class);
-         boolean hasIndexing = SecurityActions.getCacheConfiguration(cache).indexing().index().isEnabled();
-         info = new CacheInfo(localNonBlocking, pm.isEnabled(), hasIndexing);
+         Configuration cacheConfiguration = SecurityActions.getCacheConfiguration(cache);
+         boolean hasIndexing = cacheConfiguration.indexing().index().isEnabled();
+         boolean nonBlockingReads = pm.isEnabled() && pm.isNonBlocking();
+         // Transactional stores are written during the commit, and passivation writes to the stores during eviction
+         boolean nonBlockingWrites = nonBlockingReads && !cacheConfiguration.transaction().transactionMode().isTransactional()
+               && !cacheConfiguration.persistence().passivation();
+         info = new CacheInfo(localNonBlocking, pm.isEnabled(), nonBlockingReads, nonBlockingWrites, hasIndexing);
          cacheInfo.put(cache.getName() + header.getKeyMediaType().getTypeSubtype() + header.getValueMediaType().getTypeSubtype(), info);
       }
       return info;
@@ -668,11 +673,20 @@ public int getWorkerThreads() {
    public static class CacheInfo {
       final AdvancedCache<byte[], byte[]> localNonBlocking;
       final boolean persistence;
+      /**
+       * Whether the single key reads and writes do not block on the stores, as the persistence manager invokes them
+       * asynchronously.
+       */
+      final boolean nonBlockingKeyReads;
+      final boolean nonBlockingKeyWrites;
       final boolean indexing;
 
-      CacheInfo(AdvancedCache<byte[], byte[]> localNonBlocking, boolean persistence, boolean indexing) {
+      CacheInfo(AdvancedCache<byte[], byte[]> localNonBlocking, boolean persistence, boolean nonBlockingKeyReads,
+                boolean nonBlockingKeyWrites, boolean indexing) {
          this.localNonBlocking = localNonBlocking;
          this.persistence = persistence;
+         this.nonBlockingKeyReads = nonBlockingKeyReads;
+         this.nonBlockingKeyWrites = nonBlockingKeyWrites;
          this.indexing = indexing;
       }
 
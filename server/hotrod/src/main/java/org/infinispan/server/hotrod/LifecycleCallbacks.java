@@ -11,6 +11,7 @@
 import static org.infinispan.server.core.ExternalizerIds.KEY_VALUE_WITH_PREVIOUS_CONVERTER;
 import static org.infinispan.server.core.ExternalizerIds.PREPARED_FUNCTION;
 import static org.infinispan.server.core.ExternalizerIds.PREPARING_FUNCTION;
+import static org.infinispan.server.core.ExternalizerIds.REPLACE_IF_UNMODIFIED_FUNCTION;
 import static org.infinispan.server.core.ExternalizerIds.SERVER_ADDRESS;
 import static org.infinispan.server.core.ExternalizerIds.TX_STATE;
 import static org.infinispan.server.core.ExternalizerIds.XID_PREDICATE;
@@ -83,6 +84,7 @@ public void cacheManagerStarting(GlobalComponentRegistry gcr, GlobalConfiguratio
       externalizers.put(PREPARED_FUNCTION, SetPreparedFunction.EXTERNALIZER);
       externalizers.put(XID_PREDICATE, XidPredicate.EXTERNALIZER);
       externalizers.put(CONDITIONAL_MARK_ROLLBACK_FUNCTION, ConditionalMarkAsRollbackFunction.EXTERNALIZER);
+      externalizers.put(REPLACE_IF_UNMODIFIED_FUNCTION, ReplaceIfUnmodifiedFunction.EXTERNALIZER);
    }
 
    @Override
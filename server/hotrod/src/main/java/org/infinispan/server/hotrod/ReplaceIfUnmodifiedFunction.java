@@ -0,0 +1,108 @@
+package org.infinispan.server.hotrod;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.infinispan.commons.marshall.AdvancedExternalizer;
+import org.infinispan.commons.marshall.MarshallUtil;
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.container.versioning.EntryVersion;
+import org.infinispan.container.versioning.NumericVersion;
+import org.infinispan.functional.EntryView;
+import org.infinispan.functional.impl.EntryViews;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.server.core.ExternalizerIds;
+
+/**
+ * It replaces the value of each entry if its version is still the version read by the client, like the replace if
+ * unmodified operation does for a single key.
+ * <p>
+ * It returns the key if the entry doesn't exist or was modified, and {@code null} if the value was replaced.
+ *
+ * @since 9.4
+ */
+public class ReplaceIfUnmodifiedFunction implements Function<EntryView.ReadWriteEntryView<byte[], byte[]>, byte[]> {
+
+   public static final AdvancedExternalizer<ReplaceIfUnmodifiedFunction> EXTERNALIZER = new Externalizer();
+
+   private final Map<WrappedByteArray, byte[]> values;
+   private final Map<WrappedByteArray, Long> versions;
+   private final Metadata metadata;
+
+   private ReplaceIfUnmodifiedFunction(Map<WrappedByteArray, byte[]> values, Map<WrappedByteArray, Long> versions,
+         Metadata metadata) {
+      this.values = values;
+      this.versions = versions;
+      this.metadata = metadata;
+   }
+
+   static ReplaceIfUnmodifiedFunction create(Map<byte[], byte[]> entries, Map<byte[], Long> entryVersions, Metadata metadata) {
+      Map<WrappedByteArray, byte[]> values = new HashMap<>(entries.size());
+      Map<WrappedByteArray, Long> versions = new HashMap<>(entries.size());
+      entries.forEach((key, value) -> {
+         WrappedByteArray wrappedKey = new WrappedByteArray(key);
+         values.put(wrappedKey, value);
+         versions.put(wrappedKey, entryVersions.get(key));
+      });
+      return new ReplaceIfUnmodifiedFunction(values, versions, metadata);
+   }
+
+   @Override
+   public byte[] apply(EntryView.ReadWriteEntryView<byte[], byte[]> view) {
+      WrappedByteArray key = new WrappedByteArray(view.key());
+      // The entries are written through the Cache API, so their version is not a meta param
+      Optional<EntryVersion> version = EntryViews.findVersion(view);
+      if (view.find().isPresent() && version.isPresent() &&
+            version.get().equals(new NumericVersion(versions.get(key)))) {
+         view.set(values.get(key), metadata);
+         return null;
+      } else {
+         return view.key();
+      }
+   }
+
+   private static class Externalizer implements AdvancedExternalizer<ReplaceIfUnmodifiedFunction> {
+
+      @Override
+      public Set<Class<? extends ReplaceIfUnmodifiedFunction>> getTypeClasses() {
+         return Collections.singleton(ReplaceIfUnmodifiedFunction.class);
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.REPLACE_IF_UNMODIFIED_FUNCTION;
+      }
+
+      @Override
+      public void writeObject(ObjectOutput output, ReplaceIfUnmodifiedFunction object) throws IOException {
+         output.writeObject(object.metadata);
+         output.writeInt(object.values.size());
+         for (Map.Entry<WrappedByteArray, byte[]> entry : object.values.entrySet()) {
+            MarshallUtil.marshallByteArray(entry.getKey().getBytes(), output);
+            MarshallUtil.marshallByteArray(entry.getValue(), output);
+            output.writeLong(object.versions.get(entry.getKey()));
+         }
+      }
+
+      @Override
+      public ReplaceIfUnmodifiedFunction readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+         Metadata metadata = (Metadata) input.readObject();
+         int size = input.readInt();
+         Map<WrappedByteArray, byte[]> values = new HashMap<>(size);
+         Map<WrappedByteArray, Long> versions = new HashMap<>(size);
+         for (int i = 0; i < size; i++) {
+            WrappedByteArray key = new WrappedByteArray(MarshallUtil.unmarshallByteArray(input));
+            values.put(key, MarshallUtil.unmarshallByteArray(input));
+            versions.put(key, input.readLong());
+         }
+         return new ReplaceIfUnmodifiedFunction(values, versions, metadata);
+      }
+   }
+}
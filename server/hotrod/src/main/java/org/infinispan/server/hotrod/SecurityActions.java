@@ -7,8 +7,10 @@
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.factories.GlobalComponentRegistry;
+import org.infinispan.functional.impl.FunctionalMapImpl;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.notifications.Listenable;
+import org.infinispan.security.AuthorizationPermission;
 import org.infinispan.security.Security;
 import org.infinispan.security.actions.AddCacheManagerListenerAction;
 import org.infinispan.security.actions.GetCacheAction;
@@ -80,6 +82,15 @@ static <K, V> AdvancedCache<K, V> getUnwrappedCache(final AdvancedCache<K, V> ca
       }
    }
 
+   static <K, V> FunctionalMapImpl<K, V> getFunctionalMap(AdvancedCache<K, V> cache, AuthorizationPermission permission) {
+      if (cache instanceof SecureCacheImpl) {
+         // The functional commands bypass the secure cache, so its permission check is performed here
+         doPrivileged(cache::getAuthorizationManager).checkPermission(permission);
+      }
+      AdvancedCache<K, V> unwrapped = getUnwrappedCache(cache);
+      return doPrivileged(() -> FunctionalMapImpl.create(unwrapped));
+   }
+
    static <K, V> AdvancedCache<K, V> anonymizeSecureCache(AdvancedCache<K, V> cache) {
       return doPrivileged(() -> cache.transform(SecurityActions::unsetSubject));
    }
@@ -61,6 +61,8 @@ default ByteBuf emptyResponseWithMediaTypes(HotRodHeader header, HotRodServer se
 
    ByteBuf getAllResponse(HotRodHeader header, HotRodServer server, ByteBufAllocator alloc, Map<byte[], byte[]> map);
 
+   ByteBuf keysResponse(HotRodHeader header, HotRodServer server, ByteBufAllocator alloc, Collection<byte[]> keys);
+
    ByteBuf bulkGetKeysResponse(HotRodHeader header, HotRodServer server, ByteBufAllocator alloc, CloseableIterator<byte[]> iterator);
 
    ByteBuf iterationStartResponse(HotRodHeader header, HotRodServer server, ByteBufAllocator alloc, String iterationId);
@@ -48,4 +48,24 @@ public HotRodServerChildConfigurationBuilder topologyStateTransfer(boolean topol
       return builder.topologyStateTransfer(topologyStateTransfer);
    }
 
+   @Override
+   public HotRodServerChildConfigurationBuilder eventQueueSize(int eventQueueSize) {
+      return builder.eventQueueSize(eventQueueSize);
+   }
+
+   @Override
+   public HotRodServerChildConfigurationBuilder eventOverflowPolicy(EventOverflowPolicy eventOverflowPolicy) {
+      return builder.eventOverflowPolicy(eventOverflowPolicy);
+   }
+
+   @Override
+   public HotRodServerChildConfigurationBuilder eventBatchSize(int eventBatchSize) {
+      return builder.eventBatchSize(eventBatchSize);
+   }
+
+   @Override
+   public HotRodServerChildConfigurationBuilder eventCoalescingWindow(long eventCoalescingWindow) {
+      return builder.eventCoalescingWindow(eventCoalescingWindow);
+   }
+
 }
@@ -0,0 +1,19 @@
+package org.infinispan.server.hotrod.configuration;
+
+/**
+ * What to do when a client listener has more events waiting to be sent than its event queue can hold, usually because
+ * the client reads them slower than they are generated.
+ *
+ * @since 9.4
+ */
+public enum EventOverflowPolicy {
+   /**
+    * The operations generating the events wait until the client reads enough of them.
+    */
+   BLOCK,
+   /**
+    * The connection of the client listener is closed and its events are discarded. The client fails over the listener,
+    * and clears its near cache if it has one.
+    */
+   DISCONNECT
+}
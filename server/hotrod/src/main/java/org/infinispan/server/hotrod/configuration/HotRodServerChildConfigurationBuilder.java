@@ -52,4 +52,27 @@ public interface HotRodServerChildConfigurationBuilder {
     */
    HotRodServerChildConfigurationBuilder topologyStateTransfer(boolean topologyStateTransfer);
 
+   /**
+    * Configures the maximum number of events waiting to be sent to each client listener. Defaults to 100.
+    */
+   HotRodServerChildConfigurationBuilder eventQueueSize(int eventQueueSize);
+
+   /**
+    * Configures what happens when the event queue of a client listener is full. Defaults to
+    * {@link EventOverflowPolicy#BLOCK}.
+    */
+   HotRodServerChildConfigurationBuilder eventOverflowPolicy(EventOverflowPolicy eventOverflowPolicy);
+
+   /**
+    * Configures the maximum number of events of a client listener written to the connection at once. Defaults to 64.
+    */
+   HotRodServerChildConfigurationBuilder eventBatchSize(int eventBatchSize);
+
+   /**
+    * Configures how long, in milliseconds, the events of a client listener are held before being sent. Only the latest
+    * event of the keys modified several times during this window is sent. Events of the initial state are never
+    * coalesced. Defaults to 0, i.e. events are sent as soon as possible and are not coalesced.
+    */
+   HotRodServerChildConfigurationBuilder eventCoalescingWindow(long eventCoalescingWindow);
+
 }
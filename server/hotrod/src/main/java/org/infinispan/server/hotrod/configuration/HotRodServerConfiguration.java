@@ -17,6 +17,10 @@ public class HotRodServerConfiguration extends ProtocolServerConfiguration {
    public static final AttributeDefinition<Long> TOPOLOGY_LOCK_TIMEOUT = AttributeDefinition.builder("topology-lock-timeout", 10000L).immutable().build();
    public static final AttributeDefinition<Long> TOPOLOGY_REPL_TIMEOUT = AttributeDefinition.builder("topology-repl-timeout", 10000L).immutable().build();
    public static final AttributeDefinition<Boolean> TOPOLOGY_STATE_TRANSFER = AttributeDefinition.builder("topology-state-transfer", true).immutable().build();
+   public static final AttributeDefinition<Integer> EVENT_QUEUE_SIZE = AttributeDefinition.builder("event-queue-size", 100).immutable().build();
+   public static final AttributeDefinition<EventOverflowPolicy> EVENT_OVERFLOW_POLICY = AttributeDefinition.builder("event-overflow-policy", EventOverflowPolicy.BLOCK).immutable().build();
+   public static final AttributeDefinition<Integer> EVENT_BATCH_SIZE = AttributeDefinition.builder("event-batch-size", 64).immutable().build();
+   public static final AttributeDefinition<Long> EVENT_COALESCING_WINDOW = AttributeDefinition.builder("event-coalescing-window", 0L).immutable().build();
 
    private final Attribute<String> proxyHost;
    private final Attribute<Integer> proxyPort;
@@ -24,11 +28,16 @@ public class HotRodServerConfiguration extends ProtocolServerConfiguration {
    private final Attribute<Long> topologyReplTimeout;
    private final Attribute<Boolean> topologyAwaitInitialTransfer;
    private final Attribute<Boolean> topologyStateTransfer;
+   private final Attribute<Integer> eventQueueSize;
+   private final Attribute<EventOverflowPolicy> eventOverflowPolicy;
+   private final Attribute<Integer> eventBatchSize;
+   private final Attribute<Long> eventCoalescingWindow;
    private final AuthenticationConfiguration authentication;
 
    public static AttributeSet attributeDefinitionSet() {
       return new AttributeSet(HotRodServerConfiguration.class, ProtocolServerConfiguration.attributeDefinitionSet(),
-            PROXY_HOST, PROXY_PORT, TOPOLOGY_STATE_TRANSFER, TOPOLOGY_AWAIT_INITIAL_TRANSFER, TOPOLOGY_LOCK_TIMEOUT, TOPOLOGY_REPL_TIMEOUT);
+            PROXY_HOST, PROXY_PORT, TOPOLOGY_STATE_TRANSFER, TOPOLOGY_AWAIT_INITIAL_TRANSFER, TOPOLOGY_LOCK_TIMEOUT, TOPOLOGY_REPL_TIMEOUT,
+            EVENT_QUEUE_SIZE, EVENT_OVERFLOW_POLICY, EVENT_BATCH_SIZE, EVENT_COALESCING_WINDOW);
    }
 
    HotRodServerConfiguration(AttributeSet attributes, SslConfiguration ssl, AuthenticationConfiguration authentication) {
@@ -41,6 +50,10 @@ public static AttributeSet attributeDefinitionSet() {
       topologyReplTimeout = attributes.attribute(TOPOLOGY_REPL_TIMEOUT);
       topologyAwaitInitialTransfer = attributes.attribute(TOPOLOGY_AWAIT_INITIAL_TRANSFER);
       topologyStateTransfer = attributes.attribute(TOPOLOGY_STATE_TRANSFER);
+      eventQueueSize = attributes.attribute(EVENT_QUEUE_SIZE);
+      eventOverflowPolicy = attributes.attribute(EVENT_OVERFLOW_POLICY);
+      eventBatchSize = attributes.attribute(EVENT_BATCH_SIZE);
+      eventCoalescingWindow = attributes.attribute(EVENT_COALESCING_WINDOW);
    }
 
    public String proxyHost() {
@@ -80,6 +93,22 @@ public boolean topologyStateTransfer() {
       return topologyStateTransfer.get();
    }
 
+   public int eventQueueSize() {
+      return eventQueueSize.get();
+   }
+
+   public EventOverflowPolicy eventOverflowPolicy() {
+      return eventOverflowPolicy.get();
+   }
+
+   public int eventBatchSize() {
+      return eventBatchSize.get();
+   }
+
+   public long eventCoalescingWindow() {
+      return eventCoalescingWindow.get();
+   }
+
    public AuthenticationConfiguration authentication() {
       return authentication;
    }
@@ -11,6 +11,10 @@
 import org.infinispan.util.logging.LogFactory;
 
 import static org.infinispan.server.core.configuration.ProtocolServerConfiguration.HOST;
+import static org.infinispan.server.hotrod.configuration.HotRodServerConfiguration.EVENT_BATCH_SIZE;
+import static org.infinispan.server.hotrod.configuration.HotRodServerConfiguration.EVENT_COALESCING_WINDOW;
+import static org.infinispan.server.hotrod.configuration.HotRodServerConfiguration.EVENT_OVERFLOW_POLICY;
+import static org.infinispan.server.hotrod.configuration.HotRodServerConfiguration.EVENT_QUEUE_SIZE;
 import static org.infinispan.server.hotrod.configuration.HotRodServerConfiguration.PROXY_HOST;
 import static org.infinispan.server.hotrod.configuration.HotRodServerConfiguration.PROXY_PORT;
 import static org.infinispan.server.hotrod.configuration.HotRodServerConfiguration.TOPOLOGY_AWAIT_INITIAL_TRANSFER;
@@ -102,6 +106,45 @@ public HotRodServerConfigurationBuilder topologyStateTransfer(boolean topologySt
       return this;
    }
 
+   /**
+    * Configures the maximum number of events waiting to be sent to each client listener. Defaults to 100.
+    */
+   @Override
+   public HotRodServerConfigurationBuilder eventQueueSize(int eventQueueSize) {
+      attributes.attribute(EVENT_QUEUE_SIZE).set(eventQueueSize);
+      return this;
+   }
+
+   /**
+    * Configures what happens when the event queue of a client listener is full. Defaults to
+    * {@link EventOverflowPolicy#BLOCK}.
+    */
+   @Override
+   public HotRodServerConfigurationBuilder eventOverflowPolicy(EventOverflowPolicy eventOverflowPolicy) {
+      attributes.attribute(EVENT_OVERFLOW_POLICY).set(eventOverflowPolicy);
+      return this;
+   }
+
+   /**
+    * Configures the maximum number of events of a client listener written to the connection at once. Defaults to 64.
+    */
+   @Override
+   public HotRodServerConfigurationBuilder eventBatchSize(int eventBatchSize) {
+      attributes.attribute(EVENT_BATCH_SIZE).set(eventBatchSize);
+      return this;
+   }
+
+   /**
+    * Configures how long, in milliseconds, the events of a client listener are held before being sent. Only the latest
+    * event of the keys modified several times during this window is sent. Events of the initial state are never
+    * coalesced. Defaults to 0, i.e. events are sent as soon as possible and are not coalesced.
+    */
+   @Override
+   public HotRodServerConfigurationBuilder eventCoalescingWindow(long eventCoalescingWindow) {
+      attributes.attribute(EVENT_COALESCING_WINDOW).set(eventCoalescingWindow);
+      return this;
+   }
+
    @Override
    public HotRodServerConfiguration create() {
       return new HotRodServerConfiguration(attributes.protect(), ssl.create(), authentication.create());
@@ -120,6 +163,15 @@ public void validate() {
       if (attributes.attribute(PROXY_HOST).isNull() && attributes.attribute(HOST).isNull()) {
          throw log.missingHostAddress();
       }
+      if (attributes.attribute(EVENT_QUEUE_SIZE).get() <= 0) {
+         throw log.invalidEventQueueSize(attributes.attribute(EVENT_QUEUE_SIZE).get());
+      }
+      if (attributes.attribute(EVENT_BATCH_SIZE).get() <= 0) {
+         throw log.invalidEventBatchSize(attributes.attribute(EVENT_BATCH_SIZE).get());
+      }
+      if (attributes.attribute(EVENT_COALESCING_WINDOW).get() < 0) {
+         throw log.invalidEventCoalescingWindow(attributes.attribute(EVENT_COALESCING_WINDOW).get());
+      }
       authentication.validate();
    }
 
@@ -127,6 +127,19 @@ public interface Log extends BasicLogger {
    @Message(value = "Cache '%s' must have REPEATABLE_READ isolation level", id = 6021)
    IllegalStateException unexpectedIsolationLevel(String cacheName);
 
+   @Message(value = "The event queue size must be greater than 0, but it is %d", id = 6022)
+   CacheConfigurationException invalidEventQueueSize(int eventQueueSize);
+
+   @Message(value = "The event batch size must be greater than 0, but it is %d", id = 6023)
+   CacheConfigurationException invalidEventBatchSize(int eventBatchSize);
+
+   @Message(value = "The event coalescing window must not be negative, but it is %d", id = 6024)
+   CacheConfigurationException invalidEventCoalescingWindow(long eventCoalescingWindow);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Closing the connection of client listener %s, whose event queue is full with %d events", id = 6025)
+   void eventQueueFull(String listenerId, int size);
+
    @Message(value = "Expects a STRONG counter for '%s'", id = 28023)
    CounterException invalidWeakCounter(String name);
 
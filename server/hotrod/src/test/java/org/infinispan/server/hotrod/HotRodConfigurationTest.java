@@ -9,9 +9,12 @@
 
 import java.util.function.BiConsumer;
 
+import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.configuration.cache.ClusterLoaderConfiguration;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.server.core.test.Stoppable;
+import org.infinispan.server.hotrod.configuration.EventOverflowPolicy;
+import org.infinispan.server.hotrod.configuration.HotRodServerConfiguration;
 import org.infinispan.server.hotrod.configuration.HotRodServerConfigurationBuilder;
 import org.infinispan.test.AbstractInfinispanTest;
 import org.infinispan.test.fwk.TestCacheManagerFactory;
@@ -50,6 +53,31 @@ public void testLazyLoadTopology() {
       });
    }
 
+   public void testEventDelivery() {
+      HotRodServerConfiguration defaults = new HotRodServerConfigurationBuilder().build();
+      assertEquals(100, defaults.eventQueueSize());
+      assertEquals(EventOverflowPolicy.BLOCK, defaults.eventOverflowPolicy());
+      assertEquals(0, defaults.eventCoalescingWindow());
+
+      HotRodServerConfiguration cfg = new HotRodServerConfigurationBuilder()
+            .eventQueueSize(500).eventOverflowPolicy(EventOverflowPolicy.DISCONNECT)
+            .eventBatchSize(16).eventCoalescingWindow(50).build();
+      assertEquals(500, cfg.eventQueueSize());
+      assertEquals(EventOverflowPolicy.DISCONNECT, cfg.eventOverflowPolicy());
+      assertEquals(16, cfg.eventBatchSize());
+      assertEquals(50, cfg.eventCoalescingWindow());
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class)
+   public void testInvalidEventQueueSize() {
+      new HotRodServerConfigurationBuilder().eventQueueSize(0).build();
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class)
+   public void testInvalidEventCoalescingWindow() {
+      new HotRodServerConfigurationBuilder().eventCoalescingWindow(-1).build();
+   }
+
    private void withClusteredServer(HotRodServerConfigurationBuilder builder,
                                     BiConsumer<Configuration, Long> consumer) {
       Stoppable.useCacheManager(TestCacheManagerFactory.createClusteredCacheManager(hotRodCacheConfiguration()), cm ->
@@ -0,0 +1,73 @@
+package org.infinispan.server.hotrod.event;
+
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.k;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.v;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.withClientListener;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.notifications.cachelistener.event.Event;
+import org.infinispan.server.hotrod.HotRodServer;
+import org.infinispan.server.hotrod.HotRodSingleNodeTest;
+import org.infinispan.server.hotrod.configuration.HotRodServerConfigurationBuilder;
+import org.infinispan.server.hotrod.test.HotRodTestingUtil;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the events of a key modified several times within the coalescing window are sent as a single event, and
+ * that the events of different keys are all sent in batches.
+ *
+ * @since 9.4
+ */
+@Test(groups = "functional", testName = "server.hotrod.event.HotRodCoalescedEventsTest")
+public class HotRodCoalescedEventsTest extends HotRodSingleNodeTest {
+
+   @Override
+   protected HotRodServer createStartHotRodServer(EmbeddedCacheManager cacheManager) {
+      HotRodServerConfigurationBuilder builder = new HotRodServerConfigurationBuilder();
+      builder.eventCoalescingWindow(1000).eventBatchSize(8);
+      return HotRodTestingUtil.startHotRodServer(cacheManager, builder);
+   }
+
+   public void testModificationsCoalesced(Method m) {
+      EventLogListener eventListener = new EventLogListener();
+      withClientListener(client(), eventListener, Optional.empty(), Optional.empty(), () -> {
+         eventListener.expectNoEvents(Optional.empty());
+         byte[] key = k(m);
+         client().put(key, 0, 0, v(m));
+         client().put(key, 0, 0, v(m, "v2-"));
+         client().put(key, 0, 0, v(m, "v3-"));
+         eventListener.expectOnlyModifiedEvent(cache, key);
+      });
+   }
+
+   public void testCreationAndRemovalCoalesced(Method m) {
+      EventLogListener eventListener = new EventLogListener();
+      withClientListener(client(), eventListener, Optional.empty(), Optional.empty(), () -> {
+         eventListener.expectNoEvents(Optional.empty());
+         byte[] key = k(m);
+         client().put(key, 0, 0, v(m));
+         client().remove(key);
+         eventListener.expectOnlyRemovedEvent(cache, key);
+      });
+   }
+
+   public void testEventsOfDifferentKeysSent(Method m) {
+      EventLogListener eventListener = new EventLogListener();
+      withClientListener(client(), eventListener, Optional.empty(), Optional.empty(), () -> {
+         eventListener.expectNoEvents(Optional.empty());
+         List<byte[]> keys = new ArrayList<>();
+         for (int i = 0; i < 50; i++) {
+            byte[] key = k(m, "k" + i + "-");
+            keys.add(key);
+            client().put(key, 0, 0, v(m));
+         }
+         eventListener.expectUnorderedEvents(cache, keys, Event.Type.CACHE_ENTRY_CREATED);
+         eventListener.expectNoEvents(Optional.empty());
+      });
+   }
+}
@@ -108,6 +108,11 @@ public Object segmented(boolean b) {
       return null;
    }
 
+   @Override
+   public Object bloomFilter(boolean b) {
+      return null;
+   }
+
    @Override
    public Object addProperty(String key, String value) {
       return null;